@@ -25,6 +25,8 @@ import org.apache.nifi.processor.DataUnit;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.registry.VariableRegistry;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -217,6 +219,31 @@ public interface PropertyValue {
      */
     PropertyValue evaluateAttributeExpressions(FlowFile flowFile) throws ProcessException;
 
+    /**
+     * <p>
+     * Replaces values in the Property Value using the NiFi Expression Language
+     * for each of the given FlowFiles, such as a batch that was obtained from
+     * the ProcessSession at once. This provides the same results as calling
+     * {@link #evaluateAttributeExpressions(FlowFile)} for each FlowFile, but
+     * implementations may be able to share work across the FlowFiles.
+     * </p>
+     *
+     * @param flowFiles the FlowFiles to evaluate attributes of
+     * @return the evaluated values, in the same order as the given FlowFiles
+     *
+     * @throws ProcessException if the Expression cannot be compiled or
+     * evaluating the Expression against the attributes of any of the FlowFiles
+     * causes an Exception to be thrown
+     */
+    default List<String> evaluateAttributeExpressions(List<FlowFile> flowFiles) throws ProcessException {
+        final List<String> values = new ArrayList<>(flowFiles.size());
+        for (final FlowFile flowFile : flowFiles) {
+            values.add(evaluateAttributeExpressions(flowFile).getValue());
+        }
+
+        return values;
+    }
+
     /**
      * <p>
      * Replaces values in the Property Value using the NiFi Expression Language;
@@ -18,22 +18,98 @@
 package org.apache.nifi.attribute.expression.language;
 
 import org.antlr.runtime.tree.Tree;
+import org.apache.nifi.attribute.expression.language.compile.EvaluatorFunction;
+import org.apache.nifi.attribute.expression.language.compile.EvaluatorFunctionCompiler;
 import org.apache.nifi.attribute.expression.language.evaluation.Evaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.BooleanCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.DateCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.DecimalCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.NumberCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.StringCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.WholeNumberCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EvaluateELStringEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.GetStateVariableEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.HostnameEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.IPEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.MathEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.NowEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.OneUpSequenceEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.RandomNumberGeneratorEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ThreadEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.UuidEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.StringLiteralEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.reduce.ReduceEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.selection.AttributeEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.selection.IteratingEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.selection.MappingEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.selection.ParameterEvaluator;
 import org.apache.nifi.expression.AttributeValueDecorator;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public class CompiledExpression implements Expression {
+    // Evaluators whose result depends on something other than the values of the attributes that they reference
+    private static final List<Class<?>> NON_DETERMINISTIC_EVALUATORS = Arrays.asList(NowEvaluator.class, RandomNumberGeneratorEvaluator.class,
+        OneUpSequenceEvaluator.class, UuidEvaluator.class, ThreadEvaluator.class, HostnameEvaluator.class, IPEvaluator.class, GetStateVariableEvaluator.class,
+        ParameterEvaluator.class, EvaluateELStringEvaluator.class, IteratingEvaluator.class, MappingEvaluator.class, ReduceEvaluator.class, MathEvaluator.class);
+
+    // Evaluators that are cheaper to evaluate than to look up a memoized result
+    private static final List<Class<?>> TRIVIAL_EVALUATORS = Arrays.asList(AttributeEvaluator.class, StringLiteralEvaluator.class, StringCastEvaluator.class,
+        BooleanCastEvaluator.class, NumberCastEvaluator.class, WholeNumberCastEvaluator.class, DecimalCastEvaluator.class, DateCastEvaluator.class);
+
     private final Evaluator<?> rootEvaluator;
     private final Tree tree;
     private final String expression;
     private final Set<Evaluator<?>> allEvaluators;
+    private final EvaluatorFunction<?> evaluatorFunction;
+    private final String[] memoizationAttributeNames;
 
     public CompiledExpression(final String expression, final Evaluator<?> rootEvaluator, final Tree tree, final Set<Evaluator<?>> allEvaluators) {
         this.rootEvaluator = rootEvaluator;
         this.tree = tree;
         this.expression = expression;
         this.allEvaluators = allEvaluators;
+        this.evaluatorFunction = EvaluatorFunctionCompiler.compile(rootEvaluator);
+        this.memoizationAttributeNames = findMemoizationAttributeNames(allEvaluators);
+    }
+
+    /**
+     * Determines the names of the attributes whose values determine the result of the Expression
+     *
+     * @return the names of the referenced attributes, or <code>null</code> if the result cannot be memoized because it does not depend only on
+     * the values of attributes with known names, or because the Expression is too cheap to evaluate for memoization to be of any benefit
+     */
+    private static String[] findMemoizationAttributeNames(final Set<Evaluator<?>> allEvaluators) {
+        final Set<String> attributeNames = new HashSet<>();
+        boolean trivial = true;
+
+        for (final Evaluator<?> evaluator : allEvaluators) {
+            if (NON_DETERMINISTIC_EVALUATORS.stream().anyMatch(type -> type.isInstance(evaluator))) {
+                return null;
+            }
+
+            if (evaluator instanceof AttributeEvaluator) {
+                final Evaluator<String> nameEvaluator = ((AttributeEvaluator) evaluator).getNameEvaluator();
+                if (!(nameEvaluator instanceof StringLiteralEvaluator)) {
+                    return null;
+                }
+
+                attributeNames.add(((StringLiteralEvaluator) nameEvaluator).getValue());
+            }
+
+            if (TRIVIAL_EVALUATORS.stream().noneMatch(type -> type.isInstance(evaluator))) {
+                trivial = false;
+            }
+        }
+
+        if (trivial || attributeNames.isEmpty()) {
+            return null;
+        }
+
+        return attributeNames.stream().sorted().toArray(String[]::new);
     }
 
     public Evaluator<?> getRootEvaluator() {
@@ -52,8 +128,50 @@ public class CompiledExpression implements Expression {
         return allEvaluators;
     }
 
+    /**
+     * @return <code>true</code> if the expression is evaluated by a compiled function rather than by interpreting the tree of Evaluators
+     */
+    public boolean isFunctionCompiled() {
+        return evaluatorFunction != null;
+    }
+
+    /**
+     * @return <code>true</code> if results of the expression can be memoized, because they depend only on the values of the attributes that it references
+     */
+    public boolean isMemoizable() {
+        return memoizationAttributeNames != null;
+    }
+
     @Override
     public String evaluate(final EvaluationContext evaluationContext, final AttributeValueDecorator decorator) {
-        return Query.evaluateExpression(tree, rootEvaluator, expression, evaluationContext, decorator);
+        final String value;
+        final ExpressionCache expressionCache = ExpressionCache.getInstance();
+        if (memoizationAttributeNames != null && expressionCache.isMemoizationEnabled()) {
+            final String[] attributeValues = new String[memoizationAttributeNames.length];
+            for (int i = 0; i < memoizationAttributeNames.length; i++) {
+                attributeValues[i] = evaluationContext.getExpressionValue(memoizationAttributeNames[i]);
+            }
+
+            value = expressionCache.getMemoizedResult(this, attributeValues, evaluationContext);
+        } else {
+            value = evaluateUndecorated(evaluationContext);
+        }
+
+        if (value == null) {
+            return null;
+        }
+
+        return decorator == null ? value : decorator.decorate(value);
+    }
+
+    String evaluateUndecorated(final EvaluationContext evaluationContext) {
+        final Object evaluated;
+        if (evaluatorFunction == null) {
+            evaluated = Query.evaluateExpression(tree, rootEvaluator, expression, evaluationContext, null);
+        } else {
+            evaluated = evaluatorFunction.evaluate(evaluationContext);
+        }
+
+        return evaluated == null ? null : evaluated.toString();
     }
 }
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.nifi.attribute.expression.language.compile.ExpressionCompiler;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>
+ * Caches the Expressions that are compiled by all components, keyed by the text of the Expression. Identical Expressions that are
+ * configured on many components, such as <code>${filename:substringAfterLast('.')}</code>, are then parsed only once, and share the same
+ * Evaluators. Evaluators hold no state of their own, so a single CompiledExpression can be evaluated by any number of threads.
+ * </p>
+ *
+ * <p>
+ * In addition, results of deterministic Expressions can be memoized, keyed by the text of the Expression and the values of the attributes
+ * that it references. This allows an Expression that is evaluated for the same FlowFile by several components to be evaluated only once.
+ * Memoization is disabled by default, as it only pays off for Expressions that are expensive to evaluate.
+ * </p>
+ *
+ * <p>
+ * The size of the caches is configured by the <code>nifi.expression.language.cache.size</code> and
+ * <code>nifi.expression.language.memoization.size</code> system properties. A size of 0 disables the cache.
+ * </p>
+ */
+public class ExpressionCache {
+    public static final String CACHE_SIZE_PROPERTY = "nifi.expression.language.cache.size";
+    public static final String MEMOIZATION_SIZE_PROPERTY = "nifi.expression.language.memoization.size";
+
+    static final int DEFAULT_CACHE_SIZE = 10_000;
+    static final int DEFAULT_MEMOIZATION_SIZE = 0;
+
+    // Results are not memoized if the referenced attribute values are large, so that the memoization cache cannot hold on to large amounts of heap
+    static final int MAX_MEMOIZED_VALUES_LENGTH = 4096;
+
+    private static final ExpressionCache INSTANCE = new ExpressionCache(Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE),
+        Integer.getInteger(MEMOIZATION_SIZE_PROPERTY, DEFAULT_MEMOIZATION_SIZE));
+
+    private final Cache<String, CompiledExpression> compiledExpressions;
+    private final Cache<MemoizationKey, Optional<String>> memoizedResults;
+
+    ExpressionCache(final int cacheSize, final int memoizationSize) {
+        compiledExpressions = cacheSize > 0 ? Caffeine.newBuilder().maximumSize(cacheSize).recordStats().build() : null;
+        memoizedResults = memoizationSize > 0 ? Caffeine.newBuilder().maximumSize(memoizationSize).recordStats().build() : null;
+    }
+
+    public static ExpressionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the compiled form of the given Expression, compiling it only if it is not already cached
+     *
+     * @param expression the text of the Expression, including the surrounding <code>${</code> and <code>}</code>
+     * @return the compiled Expression
+     * @throws org.apache.nifi.attribute.expression.language.exception.AttributeExpressionLanguageParsingException if the Expression is not valid
+     */
+    public CompiledExpression getCompiledExpression(final String expression) {
+        if (compiledExpressions == null) {
+            return new ExpressionCompiler().compile(expression);
+        }
+
+        // ExpressionCompiler is not thread-safe, so a new instance is needed for each Expression
+        return compiledExpressions.get(expression, text -> new ExpressionCompiler().compile(text));
+    }
+
+    /**
+     * @return <code>true</code> if results of deterministic Expressions are memoized
+     */
+    public boolean isMemoizationEnabled() {
+        return memoizedResults != null;
+    }
+
+    /**
+     * Returns the memoized result of the given Expression, evaluating it if no result has been memoized for the given attribute values
+     *
+     * @param compiledExpression the Expression to evaluate
+     * @param attributeValues the values of all attributes that are referenced by the Expression
+     * @param evaluationContext the context to evaluate the Expression against if no result has been memoized
+     * @return the result of the Expression, before any decorator is applied
+     */
+    String getMemoizedResult(final CompiledExpression compiledExpression, final String[] attributeValues, final EvaluationContext evaluationContext) {
+        if (memoizedResults == null || exceedsMemoizedValuesLength(attributeValues)) {
+            return compiledExpression.evaluateUndecorated(evaluationContext);
+        }
+
+        final MemoizationKey key = new MemoizationKey(compiledExpression.getExpression(), attributeValues);
+        final Optional<String> memoized = memoizedResults.getIfPresent(key);
+        if (memoized != null) {
+            return memoized.orElse(null);
+        }
+
+        final String result = compiledExpression.evaluateUndecorated(evaluationContext);
+        memoizedResults.put(key, Optional.ofNullable(result));
+        return result;
+    }
+
+    private static boolean exceedsMemoizedValuesLength(final String[] attributeValues) {
+        int length = 0;
+        for (final String value : attributeValues) {
+            if (value != null) {
+                length += value.length();
+            }
+        }
+
+        return length > MAX_MEMOIZED_VALUES_LENGTH;
+    }
+
+    /**
+     * @return the number of Expressions that are currently cached
+     */
+    public long getCompiledExpressionCount() {
+        return compiledExpressions == null ? 0L : compiledExpressions.estimatedSize();
+    }
+
+    /**
+     * @return hit and miss counts for the cache of compiled Expressions
+     */
+    public CacheStats getCompiledExpressionStats() {
+        return compiledExpressions == null ? CacheStats.empty() : compiledExpressions.stats();
+    }
+
+    /**
+     * @return the number of Expression results that are currently memoized
+     */
+    public long getMemoizedResultCount() {
+        return memoizedResults == null ? 0L : memoizedResults.estimatedSize();
+    }
+
+    /**
+     * @return hit and miss counts for memoized Expression results
+     */
+    public CacheStats getMemoizedResultStats() {
+        return memoizedResults == null ? CacheStats.empty() : memoizedResults.stats();
+    }
+
+    private static class MemoizationKey {
+        private final String expression;
+        private final String[] attributeValues;
+        private final int hashCode;
+
+        private MemoizationKey(final String expression, final String[] attributeValues) {
+            this.expression = expression;
+            this.attributeValues = attributeValues;
+            this.hashCode = 31 * expression.hashCode() + Arrays.hashCode(attributeValues);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MemoizationKey)) {
+                return false;
+            }
+
+            final MemoizationKey other = (MemoizationKey) obj;
+            return hashCode == other.hashCode && Objects.equals(expression, other.expression) && Arrays.equals(attributeValues, other.attributeValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -19,12 +19,32 @@ package org.apache.nifi.attribute.expression.language;
 import org.apache.nifi.expression.AttributeValueDecorator;
 import org.apache.nifi.processor.exception.ProcessException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 public interface PreparedQuery {
 
     String evaluateExpressions(EvaluationContext evaluationContext, AttributeValueDecorator decorator) throws ProcessException;
 
+    /**
+     * Evaluates the Prepared Query against each of the given contexts, such as one context for each FlowFile in a batch.
+     * Parameters are resolved only once for the whole batch, so all of the given contexts must provide the same Parameters.
+     *
+     * @param evaluationContexts the contexts to evaluate the Prepared Query against
+     * @param decorator the decorator to apply to the results of Expressions, or <code>null</code>
+     * @return the results of the Prepared Query, in the same order as the given contexts
+     * @throws ProcessException if unable to evaluate the Prepared Query against any of the contexts
+     */
+    default List<String> evaluateExpressions(List<? extends EvaluationContext> evaluationContexts, AttributeValueDecorator decorator) throws ProcessException {
+        final List<String> results = new ArrayList<>(evaluationContexts.size());
+        for (final EvaluationContext evaluationContext : evaluationContexts) {
+            results.add(evaluateExpressions(evaluationContext, decorator));
+        }
+
+        return results;
+    }
+
     boolean isExpressionLanguagePresent();
 
     /**
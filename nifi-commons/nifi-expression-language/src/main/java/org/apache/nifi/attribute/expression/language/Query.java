@@ -34,8 +34,10 @@ import org.apache.nifi.processor.exception.ProcessException;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -355,14 +357,19 @@ public class Query {
         }
 
         final ExpressionCompiler compiler = new ExpressionCompiler();
+        final ExpressionCache expressionCache = ExpressionCache.getInstance();
 
         try {
             final List<Expression> expressions = new ArrayList<>();
+            final Set<String> cachedExpressions = new HashSet<>();
 
             int lastIndex = 0;
             for (final Range range : ranges) {
                 final String treeText = unescapeLeadingDollarSigns(query.substring(range.getStart(), range.getEnd() + 1));
-                final CompiledExpression compiledExpression = compiler.compile(treeText);
+
+                // An Expression that occurs more than once in the query must not share Evaluators with its other occurrences,
+                // because some Evaluators keep state in the EvaluationContext, which is shared by all Expressions of the query
+                final CompiledExpression compiledExpression = cachedExpressions.add(treeText) ? expressionCache.getCompiledExpression(treeText) : compiler.compile(treeText);
 
                 if (range.getStart() > lastIndex) {
                     String substring = unescapeLeadingDollarSigns(query.substring(lastIndex, range.getStart()));
@@ -28,6 +28,7 @@ import org.apache.nifi.attribute.expression.language.evaluation.selection.MultiN
 import org.apache.nifi.expression.AttributeValueDecorator;
 import org.apache.nifi.processor.exception.ProcessException;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -66,6 +67,50 @@ public class StandardPreparedQuery implements PreparedQuery {
         return sb.toString();
     }
 
+    @Override
+    public List<String> evaluateExpressions(final List<? extends EvaluationContext> evaluationContexts, final AttributeValueDecorator decorator) throws ProcessException {
+        final List<String> results = new ArrayList<>(evaluationContexts.size());
+        if (evaluationContexts.isEmpty()) {
+            return results;
+        }
+
+        if (expressions.size() <= 1) {
+            for (final EvaluationContext evaluationContext : evaluationContexts) {
+                results.add(evaluateExpressions(evaluationContext, decorator));
+            }
+
+            return results;
+        }
+
+        // String Literals and Parameters evaluate to the same value for every context of the batch, so evaluate them only once
+        final int expressionCount = expressions.size();
+        final String[] constantValues = new String[expressionCount];
+        final boolean[] constant = new boolean[expressionCount];
+        for (int i = 0; i < expressionCount; i++) {
+            final Expression expression = expressions.get(i);
+            if (expression instanceof StringLiteralExpression || expression instanceof ParameterExpression) {
+                constantValues[i] = expression.evaluate(evaluationContexts.get(0), decorator);
+                constant[i] = true;
+            }
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        for (final EvaluationContext evaluationContext : evaluationContexts) {
+            sb.setLength(0);
+
+            for (int i = 0; i < expressionCount; i++) {
+                final String evaluated = constant[i] ? constantValues[i] : expressions.get(i).evaluate(evaluationContext, decorator);
+                if (evaluated != null) {
+                    sb.append(evaluated);
+                }
+            }
+
+            results.add(sb.toString());
+        }
+
+        return results;
+    }
+
 
     @Override
     public boolean isExpressionLanguagePresent() {
@@ -33,6 +33,9 @@ import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.registry.VariableRegistry;
 import org.apache.nifi.util.FormatUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -182,6 +185,21 @@ public class StandardPropertyValue implements PropertyValue {
         return new StandardPropertyValue(resourceContext, evaluated, serviceLookup, parameterLookup, new EmptyPreparedQuery(evaluated), null);
     }
 
+    @Override
+    public List<String> evaluateAttributeExpressions(final List<FlowFile> flowFiles) throws ProcessException {
+        if (rawValue == null || preparedQuery == null) {
+            return new ArrayList<>(Collections.nCopies(flowFiles.size(), rawValue));
+        }
+
+        final List<EvaluationContext> evaluationContexts = new ArrayList<>(flowFiles.size());
+        for (final FlowFile flowFile : flowFiles) {
+            final ValueLookup lookup = new ValueLookup(variableRegistry, flowFile);
+            evaluationContexts.add(new StandardEvaluationContext(lookup, null, parameterLookup));
+        }
+
+        return preparedQuery.evaluateExpressions(evaluationContexts, null);
+    }
+
     @Override
     public String toString() {
         return rawValue;
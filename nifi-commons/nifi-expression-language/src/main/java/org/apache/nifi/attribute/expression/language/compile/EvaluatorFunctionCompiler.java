@@ -0,0 +1,397 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language.compile;
+
+import org.apache.nifi.attribute.expression.language.evaluation.Evaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.BooleanCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.NumberCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.StringCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.AndEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.AppendEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ContainsEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EndsWithEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EqualsEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EqualsIgnoreCaseEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.GreaterThanEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.GreaterThanOrEqualEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.IfElseEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.IsEmptyEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.IsNullEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.LessThanEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.LessThanOrEqualEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.NotEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.NotNullEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.OrEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.PrependEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ReplaceEmptyEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ReplaceNullEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.StartsWithEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ToLowerEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ToUpperEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.TrimEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.BooleanLiteralEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.StringLiteralEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.WholeNumberLiteralEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.selection.AttributeEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.util.NumberParsing;
+import org.apache.nifi.expression.AttributeExpression.ResultType;
+
+import java.util.Date;
+
+/**
+ * Compiles a tree of {@link Evaluator}s into a tree of {@link EvaluatorFunction}s. The functions return values directly instead of
+ * allocating a QueryResult for every node, and boolean results are always one of the cached {@link Boolean} constants.
+ *
+ * Only the most commonly used functions are compiled. Any other Evaluator, along with everything beneath it, is wrapped in a function
+ * that delegates to the Evaluator itself, so expressions that use other functions still benefit for the parts that can be compiled.
+ * Evaluators that iterate over multiple attributes are always at the root of an expression and are never compiled.
+ */
+public class EvaluatorFunctionCompiler {
+
+    private EvaluatorFunctionCompiler() {
+    }
+
+    /**
+     * Compiles the given Evaluator and everything beneath it.
+     *
+     * @param evaluator the root Evaluator of an expression
+     * @return a function that provides the same result as the Evaluator, or <code>null</code> if the root Evaluator cannot be compiled,
+     * in which case there is no benefit to compiling the expression and it should be interpreted
+     */
+    public static EvaluatorFunction<?> compile(final Evaluator<?> evaluator) {
+        return compileEvaluator(evaluator);
+    }
+
+    private static EvaluatorFunction<?> compileOrInterpret(final Evaluator<?> evaluator) {
+        final EvaluatorFunction<?> compiled = compileEvaluator(evaluator);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        return evaluationContext -> evaluator.evaluate(evaluationContext).getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EvaluatorFunction<String> compileString(final Evaluator<?> evaluator) {
+        return (EvaluatorFunction<String>) compileOrInterpret(evaluator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EvaluatorFunction<Boolean> compileBoolean(final Evaluator<?> evaluator) {
+        return (EvaluatorFunction<Boolean>) compileOrInterpret(evaluator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EvaluatorFunction<Number> compileNumber(final Evaluator<?> evaluator) {
+        return (EvaluatorFunction<Number>) compileOrInterpret(evaluator);
+    }
+
+    private static EvaluatorFunction<?> compileEvaluator(final Evaluator<?> evaluator) {
+        if (evaluator instanceof StringLiteralEvaluator) {
+            final String value = ((StringLiteralEvaluator) evaluator).getValue();
+            return evaluationContext -> value;
+        } else if (evaluator instanceof BooleanLiteralEvaluator) {
+            final Boolean value = ((BooleanLiteralEvaluator) evaluator).getValue();
+            return evaluationContext -> value;
+        } else if (evaluator instanceof WholeNumberLiteralEvaluator) {
+            final Long value = ((WholeNumberLiteralEvaluator) evaluator).getValue();
+            return evaluationContext -> value;
+        } else if (evaluator instanceof AttributeEvaluator) {
+            return compileAttribute((AttributeEvaluator) evaluator);
+        } else if (evaluator instanceof StringCastEvaluator) {
+            final EvaluatorFunction<?> subject = compileOrInterpret(evaluator.getSubjectEvaluator());
+            return evaluationContext -> {
+                final Object value = subject.evaluate(evaluationContext);
+                return value == null ? null : String.valueOf(value);
+            };
+        } else if (evaluator instanceof BooleanCastEvaluator) {
+            final EvaluatorFunction<String> subject = compileString(evaluator.getSubjectEvaluator());
+            return evaluationContext -> {
+                final String value = subject.evaluate(evaluationContext);
+                return value == null ? null : Boolean.valueOf(value.trim());
+            };
+        } else if (evaluator instanceof NumberCastEvaluator) {
+            return compileNumberCast((NumberCastEvaluator) evaluator);
+        } else if (evaluator instanceof EqualsEvaluator) {
+            return compileEquals(evaluator.getSubjectEvaluator(), ((EqualsEvaluator) evaluator).getCompareToEvaluator());
+        } else if (evaluator instanceof EqualsIgnoreCaseEvaluator) {
+            final EvaluatorFunction<?> subject = compileOrInterpret(evaluator.getSubjectEvaluator());
+            final EvaluatorFunction<?> compareTo = compileOrInterpret(((EqualsIgnoreCaseEvaluator) evaluator).getCompareToEvaluator());
+            return evaluationContext -> {
+                final Object a = subject.evaluate(evaluationContext);
+                if (a == null) {
+                    return Boolean.FALSE;
+                }
+                final Object b = compareTo.evaluate(evaluationContext);
+                if (b == null) {
+                    return Boolean.FALSE;
+                }
+                if (a instanceof String && b instanceof String) {
+                    return ((String) a).equalsIgnoreCase((String) b);
+                }
+                return a.equals(b);
+            };
+        } else if (evaluator instanceof StartsWithEvaluator) {
+            return compileSearch(evaluator.getSubjectEvaluator(), ((StartsWithEvaluator) evaluator).getSearchEvaluator(), StringSearch.STARTS_WITH);
+        } else if (evaluator instanceof EndsWithEvaluator) {
+            return compileSearch(evaluator.getSubjectEvaluator(), ((EndsWithEvaluator) evaluator).getSearchEvaluator(), StringSearch.ENDS_WITH);
+        } else if (evaluator instanceof ContainsEvaluator) {
+            return compileSearch(evaluator.getSubjectEvaluator(), ((ContainsEvaluator) evaluator).getSearchEvaluator(), StringSearch.CONTAINS);
+        } else if (evaluator instanceof IsEmptyEvaluator) {
+            final EvaluatorFunction<?> subject = compileOrInterpret(evaluator.getSubjectEvaluator());
+            return evaluationContext -> {
+                final Object value = subject.evaluate(evaluationContext);
+                return value == null || value.toString().trim().isEmpty();
+            };
+        } else if (evaluator instanceof IsNullEvaluator) {
+            final EvaluatorFunction<?> subject = compileOrInterpret(evaluator.getSubjectEvaluator());
+            return evaluationContext -> subject.evaluate(evaluationContext) == null;
+        } else if (evaluator instanceof NotNullEvaluator) {
+            final EvaluatorFunction<?> subject = compileOrInterpret(evaluator.getSubjectEvaluator());
+            return evaluationContext -> subject.evaluate(evaluationContext) != null;
+        } else if (evaluator instanceof NotEvaluator) {
+            final EvaluatorFunction<Boolean> subject = compileBoolean(evaluator.getSubjectEvaluator());
+            return evaluationContext -> !subject.evaluate(evaluationContext);
+        } else if (evaluator instanceof AndEvaluator) {
+            final EvaluatorFunction<Boolean> subject = compileBoolean(evaluator.getSubjectEvaluator());
+            final EvaluatorFunction<Boolean> rhs = compileBoolean(((AndEvaluator) evaluator).getRhsEvaluator());
+            return evaluationContext -> Boolean.FALSE.equals(subject.evaluate(evaluationContext)) ? Boolean.FALSE : rhs.evaluate(evaluationContext);
+        } else if (evaluator instanceof OrEvaluator) {
+            final EvaluatorFunction<Boolean> subject = compileBoolean(evaluator.getSubjectEvaluator());
+            final EvaluatorFunction<Boolean> rhs = compileBoolean(((OrEvaluator) evaluator).getRhsEvaluator());
+            return evaluationContext -> Boolean.TRUE.equals(subject.evaluate(evaluationContext)) ? Boolean.TRUE : rhs.evaluate(evaluationContext);
+        } else if (evaluator instanceof IfElseEvaluator) {
+            final IfElseEvaluator ifElseEvaluator = (IfElseEvaluator) evaluator;
+            final EvaluatorFunction<Boolean> subject = compileBoolean(ifElseEvaluator.getSubjectEvaluator());
+            final EvaluatorFunction<String> trueFunction = compileString(ifElseEvaluator.getTrueEvaluator());
+            final EvaluatorFunction<String> falseFunction = compileString(ifElseEvaluator.getFalseEvaluator());
+            return evaluationContext -> Boolean.TRUE.equals(subject.evaluate(evaluationContext)) ? trueFunction.evaluate(evaluationContext) : falseFunction.evaluate(evaluationContext);
+        } else if (evaluator instanceof ToLowerEvaluator) {
+            final EvaluatorFunction<String> subject = compileString(evaluator.getSubjectEvaluator());
+            return evaluationContext -> {
+                final String value = subject.evaluate(evaluationContext);
+                return value == null ? null : value.toLowerCase();
+            };
+        } else if (evaluator instanceof ToUpperEvaluator) {
+            final EvaluatorFunction<String> subject = compileString(evaluator.getSubjectEvaluator());
+            return evaluationContext -> {
+                final String value = subject.evaluate(evaluationContext);
+                return value == null ? null : value.toUpperCase();
+            };
+        } else if (evaluator instanceof TrimEvaluator) {
+            final EvaluatorFunction<String> subject = compileString(evaluator.getSubjectEvaluator());
+            return evaluationContext -> {
+                final String value = subject.evaluate(evaluationContext);
+                return value == null ? null : value.trim();
+            };
+        } else if (evaluator instanceof AppendEvaluator) {
+            final EvaluatorFunction<String> subject = compileString(evaluator.getSubjectEvaluator());
+            final EvaluatorFunction<String> append = compileString(((AppendEvaluator) evaluator).getAppendEvaluator());
+            return evaluationContext -> {
+                final String subjectValue = subject.evaluate(evaluationContext);
+                final String appendValue = append.evaluate(evaluationContext);
+                return (subjectValue == null ? "" : subjectValue) + (appendValue == null ? "" : appendValue);
+            };
+        } else if (evaluator instanceof PrependEvaluator) {
+            final EvaluatorFunction<String> subject = compileString(evaluator.getSubjectEvaluator());
+            final EvaluatorFunction<String> prepend = compileString(((PrependEvaluator) evaluator).getPrependEvaluator());
+            return evaluationContext -> {
+                final String subjectValue = subject.evaluate(evaluationContext);
+                final String prependValue = prepend.evaluate(evaluationContext);
+                return (prependValue == null ? "" : prependValue) + (subjectValue == null ? "" : subjectValue);
+            };
+        } else if (evaluator instanceof ReplaceNullEvaluator) {
+            final EvaluatorFunction<String> subject = compileString(evaluator.getSubjectEvaluator());
+            final EvaluatorFunction<String> replacement = compileString(((ReplaceNullEvaluator) evaluator).getResultEvaluator());
+            return evaluationContext -> {
+                final String value = subject.evaluate(evaluationContext);
+                return value == null ? replacement.evaluate(evaluationContext) : value;
+            };
+        } else if (evaluator instanceof ReplaceEmptyEvaluator) {
+            final EvaluatorFunction<String> subject = compileString(evaluator.getSubjectEvaluator());
+            final EvaluatorFunction<String> replacement = compileString(((ReplaceEmptyEvaluator) evaluator).getReplacementEvaluator());
+            return evaluationContext -> {
+                final String value = subject.evaluate(evaluationContext);
+                return value == null || value.trim().isEmpty() ? replacement.evaluate(evaluationContext) : value;
+            };
+        } else if (evaluator instanceof GreaterThanEvaluator) {
+            return compileComparison(evaluator.getSubjectEvaluator(), ((GreaterThanEvaluator) evaluator).getComparisonEvaluator(), (a, b) -> a > b, (a, b) -> a > b);
+        } else if (evaluator instanceof GreaterThanOrEqualEvaluator) {
+            return compileComparison(evaluator.getSubjectEvaluator(), ((GreaterThanOrEqualEvaluator) evaluator).getComparisonEvaluator(), (a, b) -> a >= b, (a, b) -> a >= b);
+        } else if (evaluator instanceof LessThanEvaluator) {
+            return compileComparison(evaluator.getSubjectEvaluator(), ((LessThanEvaluator) evaluator).getComparisonEvaluator(), (a, b) -> a < b, (a, b) -> a < b);
+        } else if (evaluator instanceof LessThanOrEqualEvaluator) {
+            return compileComparison(evaluator.getSubjectEvaluator(), ((LessThanOrEqualEvaluator) evaluator).getComparisonEvaluator(), (a, b) -> a <= b, (a, b) -> a <= b);
+        }
+
+        return null;
+    }
+
+    private static EvaluatorFunction<String> compileAttribute(final AttributeEvaluator evaluator) {
+        final Evaluator<String> nameEvaluator = evaluator.getNameEvaluator();
+        if (nameEvaluator instanceof StringLiteralEvaluator) {
+            final String attributeName = ((StringLiteralEvaluator) nameEvaluator).getValue();
+            return evaluationContext -> evaluationContext.getExpressionValue(attributeName);
+        }
+
+        final EvaluatorFunction<String> name = compileString(nameEvaluator);
+        return evaluationContext -> evaluationContext.getExpressionValue(name.evaluate(evaluationContext));
+    }
+
+    private static EvaluatorFunction<Boolean> compileEquals(final Evaluator<?> subjectEvaluator, final Evaluator<?> compareToEvaluator) {
+        final EvaluatorFunction<?> subject = compileOrInterpret(subjectEvaluator);
+        final EvaluatorFunction<?> compareTo = compileOrInterpret(compareToEvaluator);
+        final ResultType subjectType = subjectEvaluator.getResultType();
+        final ResultType compareToType = compareToEvaluator.getResultType();
+
+        if (subjectType == compareToType) {
+            return evaluationContext -> {
+                final Object a = subject.evaluate(evaluationContext);
+                if (a == null) {
+                    return Boolean.FALSE;
+                }
+                final Object b = compareTo.evaluate(evaluationContext);
+                return b != null && a.equals(b);
+            };
+        }
+
+        return evaluationContext -> {
+            final Object a = subject.evaluate(evaluationContext);
+            if (a == null) {
+                return Boolean.FALSE;
+            }
+            final Object b = compareTo.evaluate(evaluationContext);
+            if (b == null) {
+                return Boolean.FALSE;
+            }
+
+            final String normalizedSubjectValue = EqualsEvaluator.normalizeValue(subjectType, a);
+            if (normalizedSubjectValue == null) {
+                return Boolean.FALSE;
+            }
+            return normalizedSubjectValue.equals(EqualsEvaluator.normalizeValue(compareToType, b));
+        };
+    }
+
+    private static EvaluatorFunction<Boolean> compileSearch(final Evaluator<?> subjectEvaluator, final Evaluator<String> searchEvaluator, final StringSearch stringSearch) {
+        final EvaluatorFunction<String> subject = compileString(subjectEvaluator);
+        final EvaluatorFunction<String> search = compileString(searchEvaluator);
+        return evaluationContext -> {
+            final String subjectValue = subject.evaluate(evaluationContext);
+            if (subjectValue == null) {
+                return Boolean.FALSE;
+            }
+            final String searchValue = search.evaluate(evaluationContext);
+            return searchValue != null && stringSearch.test(subjectValue, searchValue);
+        };
+    }
+
+    private static EvaluatorFunction<Boolean> compileComparison(final Evaluator<?> subjectEvaluator, final Evaluator<Number> comparisonEvaluator,
+                                                                final WholeNumberComparison wholeNumberComparison, final DecimalComparison decimalComparison) {
+        final EvaluatorFunction<Number> subject = compileNumber(subjectEvaluator);
+        final EvaluatorFunction<Number> comparison = compileNumber(comparisonEvaluator);
+        return evaluationContext -> {
+            final Number subjectValue = subject.evaluate(evaluationContext);
+            if (subjectValue == null) {
+                return Boolean.FALSE;
+            }
+            final Number comparisonValue = comparison.evaluate(evaluationContext);
+            if (comparisonValue == null) {
+                return Boolean.FALSE;
+            }
+
+            if (subjectValue instanceof Double || comparisonValue instanceof Double) {
+                return decimalComparison.compare(subjectValue.doubleValue(), comparisonValue.doubleValue());
+            }
+            return wholeNumberComparison.compare(subjectValue.longValue(), comparisonValue.longValue());
+        };
+    }
+
+    private static EvaluatorFunction<Number> compileNumberCast(final NumberCastEvaluator evaluator) {
+        final Evaluator<?> subjectEvaluator = evaluator.getSubjectEvaluator();
+        switch (subjectEvaluator.getResultType()) {
+            case NUMBER:
+            case WHOLE_NUMBER:
+            case DECIMAL:
+                return compileNumber(subjectEvaluator);
+            case STRING: {
+                final EvaluatorFunction<String> subject = compileString(subjectEvaluator);
+                return evaluationContext -> {
+                    final String value = subject.evaluate(evaluationContext);
+                    return value == null ? null : parseNumber(value.trim());
+                };
+            }
+            case DATE: {
+                final EvaluatorFunction<?> subject = compileOrInterpret(subjectEvaluator);
+                return evaluationContext -> {
+                    final Date value = (Date) subject.evaluate(evaluationContext);
+                    return value == null ? null : value.getTime();
+                };
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static Number parseNumber(final String trimmed) {
+        switch (NumberParsing.parse(trimmed)) {
+            case DECIMAL:
+                return Double.valueOf(trimmed);
+            case WHOLE_NUMBER:
+                try {
+                    return Long.valueOf(trimmed);
+                } catch (final NumberFormatException e) {
+                    // Will only occur if trimmed is a hex number
+                    return Long.decode(trimmed);
+                }
+            case NOT_NUMBER:
+            default:
+                return null;
+        }
+    }
+
+    private enum StringSearch {
+        STARTS_WITH {
+            @Override
+            boolean test(final String subject, final String search) {
+                return subject.startsWith(search);
+            }
+        },
+        ENDS_WITH {
+            @Override
+            boolean test(final String subject, final String search) {
+                return subject.endsWith(search);
+            }
+        },
+        CONTAINS {
+            @Override
+            boolean test(final String subject, final String search) {
+                return subject.contains(search);
+            }
+        };
+
+        abstract boolean test(String subject, String search);
+    }
+
+    private interface WholeNumberComparison {
+        boolean compare(long a, long b);
+    }
+
+    private interface DecimalComparison {
+        boolean compare(double a, double b);
+    }
+}
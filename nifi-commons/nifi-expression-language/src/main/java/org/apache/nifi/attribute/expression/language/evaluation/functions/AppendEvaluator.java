@@ -42,6 +42,10 @@ public class AppendEvaluator extends StringEvaluator {
         return new StringQueryResult(result);
     }
 
+    public Evaluator<String> getAppendEvaluator() {
+        return appendEvaluator;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
@@ -64,7 +64,7 @@ public class EqualsEvaluator extends BooleanEvaluator {
         return new BooleanQueryResult(normalizedSubjectValue.equals(normalizedCompareToValue));
     }
 
-    private String normalizeValue(final ResultType type, final Object value) {
+    public static String normalizeValue(final ResultType type, final Object value) {
         if (value == null) {
             return null;
         }
@@ -81,6 +81,10 @@ public class EqualsEvaluator extends BooleanEvaluator {
         }
     }
 
+    public Evaluator<?> getCompareToEvaluator() {
+        return compareTo;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
@@ -51,6 +51,10 @@ public class EqualsIgnoreCaseEvaluator extends BooleanEvaluator {
         return new BooleanQueryResult(a.equals(b));
     }
 
+    public Evaluator<?> getCompareToEvaluator() {
+        return compareTo;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
@@ -44,6 +44,14 @@ public class IfElseEvaluator extends StringEvaluator {
         return new StringQueryResult(ifElseValue);
     }
 
+    public Evaluator<String> getTrueEvaluator() {
+        return trueEvaluator;
+    }
+
+    public Evaluator<String> getFalseEvaluator() {
+        return falseEvaluator;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
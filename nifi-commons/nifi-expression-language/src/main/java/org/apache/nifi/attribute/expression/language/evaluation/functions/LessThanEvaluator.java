@@ -51,6 +51,10 @@ public class LessThanEvaluator extends BooleanEvaluator {
         }
     }
 
+    public Evaluator<Number> getComparisonEvaluator() {
+        return comparison;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
@@ -43,6 +43,10 @@ public class ReplaceEmptyEvaluator extends StringEvaluator {
         }
     }
 
+    public Evaluator<String> getReplacementEvaluator() {
+        return replacementEvaluator;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subjectEvaluator;
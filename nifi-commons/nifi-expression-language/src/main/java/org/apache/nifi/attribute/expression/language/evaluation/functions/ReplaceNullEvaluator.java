@@ -38,6 +38,10 @@ public class ReplaceNullEvaluator extends StringEvaluator {
         return new StringQueryResult(subjectValue == null ? resultEvaluator.evaluate(evaluationContext).getValue() : subjectValue);
     }
 
+    public Evaluator<String> getResultEvaluator() {
+        return resultEvaluator;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return subject;
@@ -35,6 +35,10 @@ public class BooleanLiteralEvaluator extends BooleanEvaluator {
         return new BooleanQueryResult(value);
     }
 
+    public boolean getValue() {
+        return value;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return null;
@@ -68,6 +68,10 @@ public class StringLiteralEvaluator extends StringEvaluator {
         return new StringQueryResult(value);
     }
 
+    public String getValue() {
+        return value;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return null;
@@ -35,6 +35,10 @@ public class WholeNumberLiteralEvaluator extends WholeNumberEvaluator {
         return new WholeNumberQueryResult(literal);
     }
 
+    public long getValue() {
+        return literal;
+    }
+
     @Override
     public Evaluator<?> getSubjectEvaluator() {
         return null;
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language;
+
+import org.apache.nifi.attribute.expression.language.exception.AttributeExpressionLanguageParsingException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestExpressionCache {
+
+    private static final String EXTENSION_EXPRESSION = "${filename:substringAfterLast('.')}";
+
+    @Test
+    public void testCompiledExpressionCached() {
+        final ExpressionCache cache = new ExpressionCache(10, 0);
+
+        final CompiledExpression first = cache.getCompiledExpression(EXTENSION_EXPRESSION);
+        final CompiledExpression second = cache.getCompiledExpression(EXTENSION_EXPRESSION);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getCompiledExpressionCount());
+        assertEquals(1, cache.getCompiledExpressionStats().hitCount());
+        assertEquals(1, cache.getCompiledExpressionStats().missCount());
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        final ExpressionCache cache = new ExpressionCache(0, 0);
+
+        assertNotSame(cache.getCompiledExpression(EXTENSION_EXPRESSION), cache.getCompiledExpression(EXTENSION_EXPRESSION));
+        assertEquals(0, cache.getCompiledExpressionCount());
+        assertFalse(cache.isMemoizationEnabled());
+    }
+
+    @Test
+    public void testInvalidExpressionNotCached() {
+        final ExpressionCache cache = new ExpressionCache(10, 0);
+
+        assertThrows(AttributeExpressionLanguageParsingException.class, () -> cache.getCompiledExpression("${filename:unknownFunction()}"));
+        assertEquals(0, cache.getCompiledExpressionCount());
+    }
+
+    @Test
+    public void testMemoizedResult() {
+        final ExpressionCache cache = new ExpressionCache(10, 10);
+        final CompiledExpression expression = cache.getCompiledExpression(EXTENSION_EXPRESSION);
+        assertTrue(expression.isMemoizable());
+
+        assertEquals("csv", evaluateMemoized(cache, expression, "data.csv"));
+        assertEquals("csv", evaluateMemoized(cache, expression, "data.csv"));
+        assertEquals("json", evaluateMemoized(cache, expression, "data.json"));
+
+        assertEquals(1, cache.getMemoizedResultStats().hitCount());
+        assertEquals(2, cache.getMemoizedResultStats().missCount());
+        assertEquals(2, cache.getMemoizedResultCount());
+    }
+
+    @Test
+    public void testNullResultMemoized() {
+        final ExpressionCache cache = new ExpressionCache(10, 10);
+        final CompiledExpression expression = cache.getCompiledExpression("${missing:toUpper()}");
+
+        assertNull(evaluateMemoized(cache, expression, null));
+        assertNull(evaluateMemoized(cache, expression, null));
+        assertEquals(1, cache.getMemoizedResultStats().hitCount());
+    }
+
+    @Test
+    public void testLargeAttributeValuesNotMemoized() {
+        final ExpressionCache cache = new ExpressionCache(10, 10);
+        final CompiledExpression expression = cache.getCompiledExpression(EXTENSION_EXPRESSION);
+        final String filename = String.join("", Collections.nCopies(ExpressionCache.MAX_MEMOIZED_VALUES_LENGTH, "a")) + ".csv";
+
+        assertEquals("csv", evaluateMemoized(cache, expression, filename));
+        assertEquals("csv", evaluateMemoized(cache, expression, filename));
+        assertEquals(0, cache.getMemoizedResultCount());
+    }
+
+    @Test
+    public void testMemoizable() {
+        final ExpressionCache cache = new ExpressionCache(10, 10);
+
+        assertTrue(cache.getCompiledExpression("${filename:toUpper():equals(${other})}").isMemoizable());
+        assertFalse(cache.getCompiledExpression("${filename}").isMemoizable());
+        assertFalse(cache.getCompiledExpression("${literal('abc'):toUpper()}").isMemoizable());
+        assertFalse(cache.getCompiledExpression("${now():format('yyyy')}").isMemoizable());
+        assertFalse(cache.getCompiledExpression("${filename:append(${UUID()})}").isMemoizable());
+        assertFalse(cache.getCompiledExpression("${${name}:toUpper()}").isMemoizable());
+        assertFalse(cache.getCompiledExpression("${allAttributes('a', 'b'):isEmpty()}").isMemoizable());
+        assertFalse(cache.getCompiledExpression("${filename:append(${math('random')})}").isMemoizable());
+    }
+
+    @Test
+    public void testRandomMathNotMemoized() {
+        final ExpressionCache cache = new ExpressionCache(10, 10);
+        final Map<String, String> attributes = Collections.singletonMap("filename", "data.csv");
+
+        for (final String expression : new String[] {"${math('random')}", "${filename:append(${math('random')})}"}) {
+            final CompiledExpression compiledExpression = cache.getCompiledExpression(expression);
+            final String first = compiledExpression.evaluate(new StandardEvaluationContext(attributes), null);
+            final String second = compiledExpression.evaluate(new StandardEvaluationContext(attributes), null);
+            assertNotEquals(first, second);
+        }
+    }
+
+    private String evaluateMemoized(final ExpressionCache cache, final CompiledExpression expression, final String filename) {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("filename", filename);
+        return cache.getMemoizedResult(expression, new String[] {filename}, new StandardEvaluationContext(attributes));
+    }
+}
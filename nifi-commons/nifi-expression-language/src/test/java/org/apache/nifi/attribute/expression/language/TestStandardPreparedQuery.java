@@ -16,15 +16,19 @@
  */
 package org.apache.nifi.attribute.expression.language;
 
+import org.apache.nifi.attribute.expression.language.compile.ExpressionCompiler;
 import org.apache.nifi.parameter.Parameter;
 import org.apache.nifi.parameter.ParameterDescriptor;
 import org.apache.nifi.parameter.ParameterLookup;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -327,6 +331,124 @@ public class TestStandardPreparedQuery {
         assertFalse(Query.prepare("#{param}").isExpressionLanguagePresent());
     }
 
+    @Test
+    public void testCompiledFunctionMatchesInterpretedEvaluators() {
+        final Map<String, String> attrs = new HashMap<>();
+        attrs.put("filename", "Data.CSV");
+        attrs.put("size", " 1024 ");
+        attrs.put("hex", "0x10");
+        attrs.put("ratio", "0.5");
+        attrs.put("blank", "  ");
+        attrs.put("flag", "TRUE");
+        attrs.put("name", "filename");
+
+        final List<String> expressions = Arrays.asList(
+            "${filename:toLower():endsWith('.csv')}",
+            "${filename:startsWith('Data'):and(${size:gt(1000)})}",
+            "${filename:contains('x'):or(${hex:equals(16)})}",
+            "${missing:isEmpty():and(${blank:isEmpty()})}",
+            "${missing:isNull():not()}",
+            "${filename:notNull()}",
+            "${size:trim():ge(1024)}",
+            "${ratio:lt(1)}",
+            "${ratio:le(${size})}",
+            "${size:gt(${missing})}",
+            "${filename:equalsIgnoreCase('data.csv')}",
+            "${size:trim():equals(1024)}",
+            "${flag:ifElse('yes', 'no')}",
+            "${missing:ifElse('yes', 'no')}",
+            "${missing:replaceNull('default'):toUpper()}",
+            "${blank:replaceEmpty(${filename}):append('.gz'):prepend('/tmp/')}",
+            "${${name}:substringBefore('.'):equals('Data')}",
+            "${literal('abc'):length():gt(2)}",
+            "${size:trim():toNumber():gt(5)}",
+            "${filename:substring(0, 2):equals('Da')}");
+
+        for (final String expression : expressions) {
+            final CompiledExpression compiled = new ExpressionCompiler().compile(expression);
+            assertTrue(expression, compiled.isFunctionCompiled());
+
+            final String interpreted = Query.evaluateExpression(compiled.getTree(), compiled.getRootEvaluator(), expression, new StandardEvaluationContext(attrs), null);
+            assertEquals(expression, interpreted, compiled.evaluate(new StandardEvaluationContext(attrs), null));
+        }
+    }
+
+    @Test
+    public void testMultiAttributeExpressionInterpreted() {
+        final Map<String, String> attrs = new HashMap<>();
+        attrs.put("a", "x");
+        attrs.put("b", "y");
+
+        final CompiledExpression compiled = new ExpressionCompiler().compile("${anyAttribute('a', 'b'):equals('y')}");
+        assertFalse(compiled.isFunctionCompiled());
+        assertEquals("true", compiled.evaluate(new StandardEvaluationContext(attrs), null));
+    }
+
+    @Test
+    public void testBatchEvaluation() {
+        final Parameter parameter = new Parameter(new ParameterDescriptor.Builder().name("env").build(), "prod");
+        final ParameterLookup parameterLookup = new ParameterLookup() {
+            @Override
+            public Optional<Parameter> getParameter(final String parameterName) {
+                return "env".equals(parameterName) ? Optional.of(parameter) : Optional.empty();
+            }
+
+            @Override
+            public long getVersion() {
+                return 0;
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return false;
+            }
+        };
+
+        final PreparedQuery prepared = Query.prepare("#{env}/${filename:toUpper()}-${missing}");
+        final List<EvaluationContext> contexts = new ArrayList<>();
+        for (final String filename : Arrays.asList("a.txt", "b.csv", "c")) {
+            contexts.add(new StandardEvaluationContext(Collections.singletonMap("filename", filename), Collections.emptyMap(), parameterLookup));
+        }
+
+        final List<String> results = prepared.evaluateExpressions(contexts, null);
+        assertEquals(Arrays.asList("prod/A.TXT-", "prod/B.CSV-", "prod/C-"), results);
+
+        for (int i = 0; i < contexts.size(); i++) {
+            assertEquals(prepared.evaluateExpressions(contexts.get(i), null), results.get(i));
+        }
+
+        assertTrue(prepared.evaluateExpressions(Collections.<EvaluationContext>emptyList(), null).isEmpty());
+    }
+
+    @Test
+    @Disabled("Intended for manual performance testing; should not be run in an automated environment")
+    public void testCompiledFunctionPerformance() {
+        final Map<String, String> attrs = new HashMap<>();
+        attrs.put("filename", "data.csv");
+        attrs.put("fileSize", "1024");
+
+        final String expression = "${filename:toLower():endsWith('.csv'):and(${fileSize:gt(1000)}):and(${mime.type:isEmpty()})}";
+        final CompiledExpression compiled = new ExpressionCompiler().compile(expression);
+
+        // A new context is created for each evaluation, as a processor would for each FlowFile, because the interpreted
+        // and() caches its right-hand side result in the context's evaluator state
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 10_000_000; i++) {
+                Query.evaluateExpression(compiled.getTree(), compiled.getRootEvaluator(), expression, new StandardEvaluationContext(attrs), null);
+            }
+            final long interpretedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < 10_000_000; i++) {
+                compiled.evaluate(new StandardEvaluationContext(attrs), null);
+            }
+            final long compiledMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            System.out.println("Interpreted: " + interpretedMillis + " millis, Compiled: " + compiledMillis + " millis");
+        }
+    }
+
     private String evaluate(final String query, final Map<String, String> attrs) {
         final String evaluated = ((StandardPreparedQuery) Query.prepare(query)).evaluateExpressions(new StandardEvaluationContext(attrs), null);
         return evaluated;
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.record.path;
+
+import org.apache.nifi.serialization.record.Record;
+
+/**
+ * <p>
+ * A RecordPath that can be evaluated directly against a Record, without creating a Stream or intermediate FieldValue objects.
+ * Only RecordPaths that select at most a single field can be compiled this way: Absolute RecordPaths that are made up solely of
+ * child field references, single array indices and single map keys, such as <code>/name</code>, <code>/address/city</code>,
+ * <code>/numbers[0]</code> or <code>/attributes['key']</code>.
+ * </p>
+ *
+ * <p>
+ * The fields referenced by the RecordPath are resolved once for each Record Schema that is encountered, so evaluating the same
+ * CompiledRecordPath against many Records that share a schema avoids repeated field lookups. Instances are thread-safe.
+ * </p>
+ */
+public interface CompiledRecordPath {
+
+    /**
+     * Evaluates the RecordPath against the given Record, returning the value of the selected field
+     *
+     * @param record the Record to evaluate
+     * @return the value of the selected field, or <code>null</code> if the field has no value or the RecordPath does not select any field
+     */
+    default Object getValue(Record record) {
+        return getValueOrElse(record, null);
+    }
+
+    /**
+     * Evaluates the RecordPath against the given Record, returning the value of the selected field. This allows callers to distinguish
+     * between a selected field whose value is <code>null</code> and a RecordPath that selects no field at all.
+     *
+     * @param record the Record to evaluate
+     * @param other the value to return if the RecordPath does not select any field
+     * @return the value of the selected field, or <code>other</code> if the RecordPath does not select any field
+     */
+    Object getValueOrElse(Record record, Object other);
+
+    /**
+     * Evaluates the RecordPath against the given Record, returning the FieldValue that {@link RecordPath#evaluate(Record)} would select.
+     * The returned FieldValue may be used to update the Record.
+     *
+     * @param record the Record to evaluate
+     * @return the selected FieldValue, or <code>null</code> if the RecordPath does not select any field
+     */
+    FieldValue getFieldValue(Record record);
+}
@@ -30,6 +30,8 @@ import org.apache.nifi.record.path.paths.RecordPathSegment;
 import org.apache.nifi.record.path.paths.RootPath;
 import org.apache.nifi.serialization.record.Record;
 
+import java.util.Optional;
+
 public interface RecordPath {
 
     /**
@@ -67,6 +69,16 @@ public interface RecordPath {
      */
     boolean isAbsolute();
 
+    /**
+     * Returns a CompiledRecordPath that can evaluate this RecordPath directly against a Record, without creating a Stream of FieldValues.
+     * Only Absolute RecordPaths that are made up solely of child field references, single array indices and single map keys can be compiled.
+     *
+     * @return the CompiledRecordPath for this RecordPath, or an empty Optional if this RecordPath must be evaluated via {@link #evaluate(Record)}
+     */
+    default Optional<CompiledRecordPath> getCompiledPath() {
+        return Optional.empty();
+    }
+
     /**
      * Compiles a RecordPath from the given text
      *
@@ -36,6 +36,13 @@ public class ArrayIndexPath extends RecordPathSegment {
         this.index = index;
     }
 
+    @Override
+    CompiledFieldPath compile() {
+        final RecordPathSegment parent = getParentPath();
+        final CompiledFieldPath compiledParent = parent == null ? null : parent.compile();
+        return compiledParent == null ? null : compiledParent.arrayIndex(index);
+    }
+
     @Override
     public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
         final Stream<FieldValue> parentResult = getParentPath().evaluate(context);
@@ -36,6 +36,13 @@ public class ChildFieldPath extends RecordPathSegment {
         this.childName = childName;
     }
 
+    @Override
+    CompiledFieldPath compile() {
+        final RecordPathSegment parent = getParentPath();
+        final CompiledFieldPath compiledParent = parent == null ? null : parent.compile();
+        return compiledParent == null ? null : compiledParent.child(childName);
+    }
+
     private FieldValue missingChild(final FieldValue parent) {
         final RecordField field = new RecordField(childName, RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.STRING.getDataType(), RecordFieldType.RECORD.getDataType()));
         return new StandardFieldValue(null, field, parent);
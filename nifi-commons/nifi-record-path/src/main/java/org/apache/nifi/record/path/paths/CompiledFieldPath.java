@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.record.path.paths;
+
+import org.apache.nifi.record.path.ArrayIndexFieldValue;
+import org.apache.nifi.record.path.CompiledRecordPath;
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.MapEntryFieldValue;
+import org.apache.nifi.record.path.StandardFieldValue;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A CompiledRecordPath made up of a chain of steps, each of which selects a single child field, array element or map value from
+ * the value selected by the previous step. The steps mirror {@link ChildFieldPath}, {@link ArrayIndexPath} and {@link SingularMapKeyPath}
+ * so that evaluating a CompiledFieldPath selects the same field as evaluating the RecordPath that it was compiled from.
+ */
+class CompiledFieldPath implements CompiledRecordPath {
+    private static final Object NO_MATCH = new Object();
+    private static final DataType MISSING_CHILD_TYPE = RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.STRING.getDataType(), RecordFieldType.RECORD.getDataType());
+
+    private final Step[] steps;
+
+    CompiledFieldPath() {
+        this(new Step[0]);
+    }
+
+    private CompiledFieldPath(final Step[] steps) {
+        this.steps = steps;
+    }
+
+    CompiledFieldPath child(final String childName) {
+        return append(new ChildStep(childName));
+    }
+
+    CompiledFieldPath arrayIndex(final int index) {
+        return append(new ArrayIndexStep(index));
+    }
+
+    CompiledFieldPath mapKey(final String mapKey) {
+        return append(new MapKeyStep(mapKey));
+    }
+
+    private CompiledFieldPath append(final Step step) {
+        final Step[] appended = Arrays.copyOf(steps, steps.length + 1);
+        appended[steps.length] = step;
+        return new CompiledFieldPath(appended);
+    }
+
+    @Override
+    public Object getValueOrElse(final Record record, final Object other) {
+        // A null Data Type denotes the root Record, so that no Record Data Type needs to be created for each evaluation
+        Object value = record;
+        DataType dataType = null;
+
+        for (final Step step : steps) {
+            final Object selected = step.selectValue(value, dataType);
+            if (selected == NO_MATCH) {
+                return other;
+            }
+
+            dataType = step.getSelectedDataType(value, dataType, selected);
+            value = selected;
+        }
+
+        return value;
+    }
+
+    @Override
+    public FieldValue getFieldValue(final Record record) {
+        final RecordField rootField = new RecordField("root", RecordFieldType.RECORD.getRecordDataType(record.getSchema()));
+        FieldValue fieldValue = new StandardFieldValue(record, rootField, null);
+
+        for (final Step step : steps) {
+            fieldValue = step.selectField(fieldValue);
+            if (fieldValue == null) {
+                return null;
+            }
+        }
+
+        return fieldValue;
+    }
+
+    private static boolean isType(final DataType dataType, final RecordFieldType fieldType) {
+        return dataType != null && dataType.getFieldType() == fieldType;
+    }
+
+    private abstract static class Step {
+        /**
+         * Selects the value of this step from the value selected by the previous step
+         *
+         * @param parentValue the value selected by the previous step
+         * @param parentType the Data Type of the value selected by the previous step, or <code>null</code> for the root Record
+         * @return the selected value, or NO_MATCH if this step does not select anything
+         */
+        abstract Object selectValue(Object parentValue, DataType parentType);
+
+        abstract DataType getSelectedDataType(Object parentValue, DataType parentType, Object selectedValue);
+
+        abstract FieldValue selectField(FieldValue parent);
+    }
+
+    private static class ChildStep extends Step {
+        private final String childName;
+        private volatile ResolvedField resolvedField;
+
+        ChildStep(final String childName) {
+            this.childName = childName;
+        }
+
+        private RecordField getField(final RecordSchema schema) {
+            final ResolvedField resolved = resolvedField;
+            if (resolved != null && resolved.schema == schema) {
+                return resolved.field;
+            }
+
+            final RecordField field = schema.getField(childName).orElse(null);
+            resolvedField = new ResolvedField(schema, field);
+            return field;
+        }
+
+        @Override
+        Object selectValue(final Object parentValue, final DataType parentType) {
+            if (!(parentValue instanceof Record)) {
+                return null;
+            }
+
+            final Record record = (Record) parentValue;
+            final RecordField field = getField(record.getSchema());
+            return field == null ? null : record.getValue(field);
+        }
+
+        @Override
+        DataType getSelectedDataType(final Object parentValue, final DataType parentType, final Object selectedValue) {
+            if (selectedValue == null) {
+                return MISSING_CHILD_TYPE;
+            }
+
+            return getField(((Record) parentValue).getSchema()).getDataType();
+        }
+
+        @Override
+        FieldValue selectField(final FieldValue parent) {
+            final Object parentValue = parent.getValue();
+            final Object value = selectValue(parentValue, parent.getField().getDataType());
+            if (value == null) {
+                return new StandardFieldValue(null, new RecordField(childName, MISSING_CHILD_TYPE), parent);
+            }
+
+            return new StandardFieldValue(value, getField(((Record) parentValue).getSchema()), parent);
+        }
+    }
+
+    private static class ResolvedField {
+        private final RecordSchema schema;
+        private final RecordField field;
+
+        ResolvedField(final RecordSchema schema, final RecordField field) {
+            this.schema = schema;
+            this.field = field;
+        }
+    }
+
+    private static class ArrayIndexStep extends Step {
+        private final int index;
+
+        ArrayIndexStep(final int index) {
+            this.index = index;
+        }
+
+        private int getArrayIndex(final int arrayLength) {
+            return index < 0 ? arrayLength + index : index;
+        }
+
+        @Override
+        Object selectValue(final Object parentValue, final DataType parentType) {
+            if (!isType(parentType, RecordFieldType.ARRAY) || parentValue == null) {
+                return NO_MATCH;
+            }
+
+            final Object[] values = (Object[]) parentValue;
+            final int arrayIndex = getArrayIndex(values.length);
+            if (values.length <= arrayIndex) {
+                return NO_MATCH;
+            }
+
+            return values[arrayIndex];
+        }
+
+        @Override
+        DataType getSelectedDataType(final Object parentValue, final DataType parentType, final Object selectedValue) {
+            return ((ArrayDataType) parentType).getElementType();
+        }
+
+        @Override
+        FieldValue selectField(final FieldValue parent) {
+            final DataType parentType = parent.getField().getDataType();
+            final Object value = selectValue(parent.getValue(), parentType);
+            if (value == NO_MATCH) {
+                return null;
+            }
+
+            final DataType elementDataType = ((ArrayDataType) parentType).getElementType();
+            final RecordField elementField = new RecordField(parent.getField().getFieldName(), elementDataType);
+            return new ArrayIndexFieldValue(value, elementField, parent, getArrayIndex(((Object[]) parent.getValue()).length));
+        }
+    }
+
+    private static class MapKeyStep extends Step {
+        private final String mapKey;
+
+        MapKeyStep(final String mapKey) {
+            this.mapKey = mapKey;
+        }
+
+        @Override
+        Object selectValue(final Object parentValue, final DataType parentType) {
+            if (!isType(parentType, RecordFieldType.MAP)) {
+                return NO_MATCH;
+            }
+
+            final Map<?, ?> map = (Map<?, ?>) parentValue;
+            return map == null ? null : map.get(mapKey);
+        }
+
+        @Override
+        DataType getSelectedDataType(final Object parentValue, final DataType parentType, final Object selectedValue) {
+            return ((MapDataType) parentType).getValueType();
+        }
+
+        @Override
+        FieldValue selectField(final FieldValue parent) {
+            final DataType parentType = parent.getField().getDataType();
+            final Object value = selectValue(parent.getValue(), parentType);
+            if (value == NO_MATCH) {
+                return null;
+            }
+
+            final DataType valueType = ((MapDataType) parentType).getValueType();
+            final RecordField elementField = new RecordField(parent.getField().getFieldName(), valueType);
+            return new MapEntryFieldValue(value, elementField, parent, mapKey);
+        }
+    }
+}
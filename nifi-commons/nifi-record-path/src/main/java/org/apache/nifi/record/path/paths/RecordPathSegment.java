@@ -18,8 +18,10 @@
 package org.apache.nifi.record.path.paths;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Stream;
 
+import org.apache.nifi.record.path.CompiledRecordPath;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.RecordPathEvaluationContext;
@@ -31,6 +33,7 @@ public abstract class RecordPathSegment implements RecordPath {
     private final String path;
     private final RecordPathSegment parentPath;
     private final boolean absolute;
+    private volatile Optional<CompiledRecordPath> compiledPath;
 
     public RecordPathSegment(final String path, final RecordPathSegment parentPath, final boolean absolute) {
         this.path = path;
@@ -78,10 +81,37 @@ public abstract class RecordPathSegment implements RecordPath {
         return getPath().equals(other.getPath());
     }
 
+    @Override
+    public Optional<CompiledRecordPath> getCompiledPath() {
+        Optional<CompiledRecordPath> compiled = compiledPath;
+        if (compiled == null) {
+            compiled = Optional.ofNullable(compile());
+            compiledPath = compiled;
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Compiles this segment, along with its parents, into a CompiledFieldPath
+     *
+     * @return the CompiledFieldPath, or <code>null</code> if this segment cannot be evaluated without a Stream of FieldValues
+     */
+    CompiledFieldPath compile() {
+        return null;
+    }
+
     @Override
     public final RecordPathResult evaluate(final Record record) {
-        final RecordPathEvaluationContext context = new StandardRecordPathEvaluationContext(record);
-        final Stream<FieldValue> selectedFields = evaluate(context);
+        final Optional<CompiledRecordPath> compiled = getCompiledPath();
+        final Stream<FieldValue> selectedFields;
+        if (compiled.isPresent()) {
+            final FieldValue selectedField = compiled.get().getFieldValue(record);
+            selectedFields = selectedField == null ? Stream.empty() : Stream.of(selectedField);
+        } else {
+            final RecordPathEvaluationContext context = new StandardRecordPathEvaluationContext(record);
+            selectedFields = evaluate(context);
+        }
 
         return new RecordPathResult() {
             @Override
@@ -32,6 +32,11 @@ public class RootPath extends RecordPathSegment {
         super(PATH, null, true);
     }
 
+    @Override
+    CompiledFieldPath compile() {
+        return new CompiledFieldPath();
+    }
+
     @Override
     public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
         final RecordField field = new RecordField("root", RecordFieldType.RECORD.getRecordDataType(context.getRecord().getSchema()));
@@ -37,6 +37,13 @@ public class SingularMapKeyPath extends RecordPathSegment {
         this.mapKey = mapKey;
     }
 
+    @Override
+    CompiledFieldPath compile() {
+        final RecordPathSegment parent = getParentPath();
+        final CompiledFieldPath compiledParent = parent == null ? null : parent.compile();
+        return compiledParent == null ? null : compiledParent.mapKey(mapKey);
+    }
+
     @Override
     public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
         final Stream<FieldValue> parentResult = getParentPath().evaluate(context);
@@ -18,6 +18,7 @@
 package org.apache.nifi.record.path;
 
 import org.apache.nifi.record.path.exception.RecordPathException;
+import org.apache.nifi.record.path.paths.RecordPathSegment;
 import org.apache.nifi.serialization.SimpleRecordSchema;
 import org.apache.nifi.serialization.record.DataType;
 import org.apache.nifi.serialization.record.MapRecord;
@@ -1940,6 +1941,54 @@ public class TestRecordPath {
         assertEquals(Boolean.FALSE, RecordPath.compile("not(/id = 48)").evaluate(record).getSelectedFields().findFirst().get().getValue());
     }
 
+    @Test
+    public void testCompiledPath() {
+        final Map<String, Object> accountValues = new HashMap<>();
+        accountValues.put("id", 1);
+        accountValues.put("balance", 123.45D);
+        final Record accountRecord = new MapRecord(getAccountSchema(), accountValues);
+
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("city", "New York");
+
+        final RecordSchema schema = new SimpleRecordSchema(getDefaultFields());
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", 48);
+        values.put("name", "John Doe");
+        values.put("attributes", attributes);
+        values.put("mainAccount", accountRecord);
+        values.put("numbers", new Object[] {1, 2, 3});
+        values.put("accounts", new Object[] {accountRecord});
+        final Record record = new MapRecord(schema, values);
+
+        final List<String> paths = Arrays.asList("/id", "/name", "/mainAccount", "/mainAccount/balance", "/mainAccount/missing", "/missing/id", "/numbers[0]", "/numbers[-1]",
+            "/numbers[3]", "/accounts[0]/id", "/attributes['city']", "/attributes['state']", "/name[0]", "/name['key']", "/missing['key']");
+        final Object noMatch = new Object();
+
+        for (final String path : paths) {
+            final RecordPath recordPath = RecordPath.compile(path);
+            final CompiledRecordPath compiled = recordPath.getCompiledPath().orElseThrow(() -> new AssertionError("Could not compile " + path));
+
+            final List<FieldValue> expected = ((RecordPathSegment) recordPath).evaluate(new StandardRecordPathEvaluationContext(record)).collect(Collectors.toList());
+            final FieldValue fieldValue = compiled.getFieldValue(record);
+            assertEquals(path, expected, fieldValue == null ? Collections.emptyList() : Collections.singletonList(fieldValue));
+            assertEquals(path, expected, recordPath.evaluate(record).getSelectedFields().collect(Collectors.toList()));
+            assertEquals(path, expected.isEmpty() ? noMatch : expected.get(0).getValue(), compiled.getValueOrElse(record, noMatch));
+        }
+
+        assertEquals(123.45D, RecordPath.compile("/mainAccount/balance").getCompiledPath().get().getValue(record));
+        assertNull(RecordPath.compile("/numbers[3]").getCompiledPath().get().getValue(record));
+
+        final CompiledRecordPath compiledName = RecordPath.compile("/name").getCompiledPath().get();
+        compiledName.getFieldValue(record).updateValue("Jane Doe");
+        assertEquals("Jane Doe", record.getValue("name"));
+        assertEquals("Jane Doe", compiledName.getValue(record));
+
+        for (final String path : Arrays.asList("//id", "/numbers[0..1]", "/attributes['city', 'state']", "/mainAccount/*", "/accounts[*]/id", "/numbers[. > 1]", "./id", "substring(/name, 0, 1)")) {
+            assertFalse(path, RecordPath.compile(path).getCompiledPath().isPresent());
+        }
+    }
+
     private List<RecordField> getDefaultFields() {
         final List<RecordField> fields = new ArrayList<>();
         fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
@@ -24,6 +24,7 @@ import java.util.Map;
 
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSet;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 public abstract class AbstractRecordSetWriter implements RecordSetWriter {
     private final OutputStream out;
@@ -60,6 +61,14 @@ public abstract class AbstractRecordSetWriter implements RecordSetWriter {
         return WriteResult.of(++recordCount, attributes);
     }
 
+    @Override
+    public final WriteResult write(final RecordBatch batch) throws IOException {
+        final int previousRecordCount = recordCount;
+        final Map<String, String> attributes = writeRecords(batch);
+        recordCount = previousRecordCount + batch.getRowCount();
+        return WriteResult.of(recordCount, attributes);
+    }
+
     protected OutputStream getOutputStream() {
         return out;
     }
@@ -118,4 +127,21 @@ public abstract class AbstractRecordSetWriter implements RecordSetWriter {
     }
 
     protected abstract Map<String, String> writeRecord(Record record) throws IOException;
+
+    /**
+     * Writes each row of the given batch. By default, the Record of each row is written by {@link #write(Record)}. Subclasses may override this
+     * method in order to convert the values of the batch one column at a time. The record count is updated once the whole batch has been written.
+     *
+     * @param batch the batch of records to write
+     * @return a Map of key/value pairs that should be added to the FlowFile as attributes
+     * @throws IOException if unable to write to the underlying stream
+     */
+    protected Map<String, String> writeRecords(final RecordBatch batch) throws IOException {
+        Map<String, String> attributes = Collections.emptyMap();
+        for (int row = 0; row < batch.getRowCount(); row++) {
+            attributes = write(batch.getRecord(row)).getAttributes();
+        }
+
+        return attributes;
+    }
 }
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization;
+
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * A RecordReader for line-delimited formats, such as CSV whose values do not contain line breaks or JSON with one object per line,
+ * that parses the content in parallel. The content is split into chunks of approximately the configured size, each chunk ending on a
+ * line feed, so that every chunk starts at the beginning of a record. Each chunk is then parsed on its own by a RecordReader that is
+ * created by the given {@link ChunkReaderFactory}, using the threads of the given ExecutorService.
+ * </p>
+ *
+ * <p>
+ * Records are returned in the same order in which they appear in the content. The content is read on the thread that calls
+ * {@link #nextRecord(boolean, boolean)}, and at most the configured number of chunks are read ahead of the Record that is returned.
+ * If parsing a chunk fails, the Records of all previous chunks are returned before the failure is thrown.
+ * </p>
+ *
+ * <p>
+ * If the first line of the content is a header, it is prepended to each subsequent chunk so that every chunk can be parsed the same way.
+ * The <code>coerceTypes</code> and <code>dropUnknownFields</code> flags of the call that reads a chunk apply to all Records of that chunk,
+ * so callers are expected to use the same flags for every call. This class is not thread-safe.
+ * </p>
+ */
+public class ParallelRecordReader implements RecordReader {
+    private static final byte LINE_FEED = '\n';
+
+    private final InputStream in;
+    private final RecordSchema schema;
+    private final ChunkReaderFactory readerFactory;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+    private final boolean firstLineIsHeader;
+    private final Deque<Future<List<Record>>> pendingChunks = new ArrayDeque<>();
+
+    private byte[] buffer;
+    private int bufferLength = 0;
+    private boolean endOfStream = false;
+    private byte[] header;
+    private long chunkCount = 0L;
+
+    private List<Record> currentRecords;
+    private int recordIndex = 0;
+
+    /**
+     * Creates a new ParallelRecordReader
+     *
+     * @param in the content to read
+     * @param schema the schema of the Records
+     * @param readerFactory the factory used to create a RecordReader for each chunk of the content
+     * @param executor the ExecutorService that is used to parse the chunks
+     * @param chunkSize the approximate number of bytes in each chunk; a chunk is extended to the next line feed
+     * @param maxPendingChunks the maximum number of chunks that are read ahead of the Records that have been returned
+     * @param firstLineIsHeader whether or not the first line of the content is a header that is to be prepended to each chunk
+     */
+    public ParallelRecordReader(final InputStream in, final RecordSchema schema, final ChunkReaderFactory readerFactory, final ExecutorService executor,
+                                final int chunkSize, final int maxPendingChunks, final boolean firstLineIsHeader) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk Size must be positive but was " + chunkSize);
+        }
+        if (maxPendingChunks < 1) {
+            throw new IllegalArgumentException("Maximum number of pending chunks must be positive but was " + maxPendingChunks);
+        }
+
+        this.in = in;
+        this.schema = schema;
+        this.readerFactory = readerFactory;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = maxPendingChunks;
+        this.firstLineIsHeader = firstLineIsHeader;
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        while (true) {
+            if (currentRecords != null && recordIndex < currentRecords.size()) {
+                // Release the Record so that it can be garbage collected while the rest of the chunk is consumed
+                return currentRecords.set(recordIndex++, null);
+            }
+
+            submitChunks(coerceTypes, dropUnknownFields);
+
+            final Future<List<Record>> nextChunk = pendingChunks.poll();
+            if (nextChunk == null) {
+                currentRecords = null;
+                return null;
+            }
+
+            currentRecords = getRecords(nextChunk);
+            recordIndex = 0;
+        }
+    }
+
+    @Override
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public void close() throws IOException {
+        Future<List<Record>> pendingChunk;
+        while ((pendingChunk = pendingChunks.poll()) != null) {
+            pendingChunk.cancel(true);
+        }
+
+        currentRecords = null;
+        in.close();
+    }
+
+    private void submitChunks(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException {
+        while (pendingChunks.size() < maxPendingChunks) {
+            final InputStream chunkIn = nextChunk();
+            if (chunkIn == null) {
+                return;
+            }
+
+            pendingChunks.add(executor.submit(() -> readRecords(chunkIn, coerceTypes, dropUnknownFields)));
+        }
+    }
+
+    private List<Record> readRecords(final InputStream chunkIn, final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        try (final RecordReader reader = readerFactory.createRecordReader(chunkIn)) {
+            final List<Record> records = new ArrayList<>();
+
+            Record record;
+            while ((record = reader.nextRecord(coerceTypes, dropUnknownFields)) != null) {
+                records.add(record);
+            }
+
+            return records;
+        }
+    }
+
+    private List<Record> getRecords(final Future<List<Record>> chunk) throws IOException, MalformedRecordException {
+        try {
+            return chunk.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for records to be parsed", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof MalformedRecordException) {
+                throw (MalformedRecordException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IOException("Failed to parse records", cause);
+        }
+    }
+
+    /**
+     * Reads the next chunk of the content, which ends on a line feed unless it is the last chunk
+     *
+     * @return an InputStream of the next chunk, including the header if there is one, or <code>null</code> if all content has been read
+     */
+    private InputStream nextChunk() throws IOException {
+        int searchStart = bufferLength;
+        while (true) {
+            while (!endOfStream && bufferLength < buffer.length) {
+                final int bytesRead = in.read(buffer, bufferLength, buffer.length - bufferLength);
+                if (bytesRead < 0) {
+                    endOfStream = true;
+                } else {
+                    bufferLength += bytesRead;
+                }
+            }
+
+            final int chunkLength;
+            if (endOfStream) {
+                chunkLength = bufferLength;
+            } else {
+                chunkLength = lastIndexOf(LINE_FEED, searchStart, bufferLength) + 1;
+            }
+
+            if (endOfStream || chunkLength > 0) {
+                if (chunkLength == 0) {
+                    return null;
+                }
+
+                final byte[] chunk = Arrays.copyOf(buffer, chunkLength);
+                bufferLength -= chunkLength;
+
+                // Shrink the buffer again if it was grown to hold a long line
+                final byte[] remainder = buffer.length > chunkSize && bufferLength <= chunkSize ? new byte[chunkSize] : buffer;
+                System.arraycopy(buffer, chunkLength, remainder, 0, bufferLength);
+                buffer = remainder;
+                return createChunkStream(chunk);
+            }
+
+            // The buffer holds part of a single line, so grow the buffer until the line is complete
+            searchStart = bufferLength;
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+    }
+
+    private InputStream createChunkStream(final byte[] chunk) {
+        final InputStream chunkIn = new ByteArrayInputStream(chunk);
+        if (!firstLineIsHeader) {
+            return chunkIn;
+        }
+
+        if (chunkCount++ == 0) {
+            final int headerLength = indexOf(LINE_FEED, chunk) + 1;
+            header = headerLength == 0 ? chunk : Arrays.copyOf(chunk, headerLength);
+            return chunkIn;
+        }
+
+        return new SequenceInputStream(new ByteArrayInputStream(header), chunkIn);
+    }
+
+    private static int indexOf(final byte value, final byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int lastIndexOf(final byte value, final int fromIndex, final int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Creates the RecordReader that parses a single chunk of the content
+     */
+    @FunctionalInterface
+    public interface ChunkReaderFactory {
+        /**
+         * Creates a RecordReader for the given chunk of content. The RecordReader will be used on a thread other than the thread that created
+         * the ParallelRecordReader, and only by a single thread.
+         *
+         * @param chunk the chunk of content, beginning with the header if the content has one
+         * @return a RecordReader for the chunk
+         */
+        RecordReader createRecordReader(InputStream chunk) throws IOException, MalformedRecordException;
+    }
+}
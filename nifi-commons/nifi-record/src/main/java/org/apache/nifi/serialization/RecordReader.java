@@ -20,6 +20,7 @@ package org.apache.nifi.serialization;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.serialization.record.RecordSet;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -76,6 +77,31 @@ public interface RecordReader extends Closeable {
      */
     RecordSchema getSchema() throws MalformedRecordException;
 
+    /**
+     * Clears the given RecordBatch and fills it with the next records from the underlying stream, until the batch is full or no more records are
+     * available. The flags are applied as they are by {@link #nextRecord(boolean, boolean)}. The default implementation adds each record that is returned
+     * by {@link #nextRecord(boolean, boolean)} to the batch. Readers that know the schema of the data may override this method in order to populate the
+     * columns of the batch directly, without creating a Record for each row.
+     *
+     * @param batch the batch to fill
+     * @param coerceTypes whether or not fields should be validated against the schema and coerced when necessary
+     * @param dropUnknownFields whether or not any field that is found in the data but is not present in the schema should be dropped
+     *
+     * @return the number of rows in the batch, which is <code>0</code> if no more records are available
+     * @throws IOException if unable to read from the underlying data
+     * @throws MalformedRecordException if an unrecoverable failure occurs when trying to parse a record
+     */
+    default int nextBatch(final RecordBatch batch, final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        batch.clear();
+
+        Record record;
+        while (!batch.isFull() && (record = nextRecord(coerceTypes, dropUnknownFields)) != null) {
+            batch.addRecord(record);
+        }
+
+        return batch.getRowCount();
+    }
+
     /**
      * @return a RecordSet that returns the records in this Record Reader in a streaming fashion
      */
@@ -21,6 +21,7 @@ import java.io.Closeable;
 import java.io.IOException;
 
 import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 public interface RecordWriter extends Closeable {
     /**
@@ -32,6 +33,23 @@ public interface RecordWriter extends Closeable {
      */
     WriteResult write(Record record) throws IOException;
 
+    /**
+     * Writes each row of the given batch to the underlying stream. The default implementation writes the {@link RecordBatch#getRecord(int) Record}
+     * of each row, while writers may override this method in order to convert the values of the batch one column at a time.
+     *
+     * @param batch the batch of records to write
+     * @return the results of writing the data
+     * @throws IOException if unable to write to the underlying stream
+     */
+    default WriteResult write(final RecordBatch batch) throws IOException {
+        WriteResult writeResult = WriteResult.EMPTY;
+        for (int row = 0; row < batch.getRowCount(); row++) {
+            writeResult = write(batch.getRecord(row));
+        }
+
+        return writeResult;
+    }
+
     /**
      * @return the MIME Type that the Record Writer produces. This will be added to FlowFiles using
      *         the mime.type attribute.
@@ -34,6 +34,7 @@ import java.util.stream.Collectors;
 public class SimpleRecordSchema implements RecordSchema {
     private List<RecordField> fields = null;
     private Map<String, RecordField> fieldMap = null;
+    private Map<String, Integer> fieldIndices = null;
     private final boolean textAvailable;
     private final AtomicReference<String> text = new AtomicReference<>();
     private final String schemaFormat;
@@ -101,18 +102,24 @@ public class SimpleRecordSchema implements RecordSchema {
 
         this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
         this.fieldMap = new HashMap<>(fields.size() * 2);
+        this.fieldIndices = new HashMap<>(fields.size() * 2);
+
+        for (int i = 0; i < fields.size(); i++) {
+            final RecordField field = fields.get(i);
+            final Integer index = i;
 
-        for (final RecordField field : fields) {
             RecordField previousValue = fieldMap.put(field.getFieldName(), field);
             if (previousValue != null) {
                 throw new IllegalArgumentException("Two fields are given with the same name (or alias) of '" + field.getFieldName() + "'");
             }
+            fieldIndices.put(field.getFieldName(), index);
 
             for (final String alias : field.getAliases()) {
                 previousValue = fieldMap.put(alias, field);
                 if (previousValue != null) {
                     throw new IllegalArgumentException("Two fields are given with the same name (or alias) of '" + field.getFieldName() + "'");
                 }
+                fieldIndices.put(alias, index);
             }
         }
     }
@@ -153,6 +160,16 @@ public class SimpleRecordSchema implements RecordSchema {
         return Optional.ofNullable(fieldMap.get(fieldName));
     }
 
+    @Override
+    public int getFieldIndex(final String fieldName) {
+        if (fieldIndices == null) {
+            return -1;
+        }
+
+        final Integer index = fieldIndices.get(fieldName);
+        return index == null ? -1 : index;
+    }
+
 
     @Override
     public boolean equals(final Object obj) {
@@ -0,0 +1,618 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record;
+
+import org.apache.nifi.serialization.SchemaValidationException;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.IllegalTypeConversionException;
+
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A Record whose values are held in an array that is indexed by the position of each field in the Record's schema. This avoids hashing
+ * field names and allocating a map entry for every value, as {@link MapRecord} does, and is intended to be created by Record Readers
+ * that know the schema of the data before the values are read.
+ * </p>
+ *
+ * <p>
+ * The array is always indexed by the schema that the Record was created with. If the schema is later changed by {@link #incorporateSchema(RecordSchema)}
+ * or {@link #incorporateInactiveFields()}, or a value is set for a field that is not part of the original schema, those values are held in a map,
+ * as they would be by a MapRecord. Two Records are considered equal if they have the same schema and values, regardless of whether they are
+ * ArrayRecords or MapRecords.
+ * </p>
+ */
+public class ArrayRecord implements Record {
+    private final RecordSchema indexSchema;
+    private RecordSchema schema;
+    private final Object[] values;
+    private final BitSet presentFields;
+    private Map<String, Object> unknownValues = null;
+    private Optional<SerializedForm> serializedForm;
+    private final boolean checkTypes;
+    private final boolean dropUnknownFields;
+    private Set<RecordField> inactiveFields = null;
+
+    /**
+     * Creates a Record whose values are given in the order of the schema's fields
+     *
+     * @param schema the schema of the Record
+     * @param values the value of each field in the schema, indexed by the position of the field
+     */
+    public ArrayRecord(final RecordSchema schema, final Object[] values) {
+        this(schema, values, null, null, false, false);
+    }
+
+    public ArrayRecord(final RecordSchema schema, final Object[] values, final boolean checkTypes, final boolean dropUnknownFields) {
+        this(schema, values, null, null, checkTypes, dropUnknownFields);
+    }
+
+    /**
+     * Creates a Record whose values are given in the order of the schema's fields
+     *
+     * @param schema the schema of the Record
+     * @param values the value of each field in the schema, indexed by the position of the field
+     * @param presentFields the positions of the fields that have a value, even if that value is <code>null</code>, or <code>null</code> if all fields have a value.
+     *            This determines the {@link #getRawFieldNames() raw field names} of the Record. The Record takes ownership of the given BitSet.
+     * @param serializedForm the serialized form of the Record, or <code>null</code> if not available
+     * @param checkTypes whether or not the values should be validated against the schema
+     * @param dropUnknownFields whether or not values for fields that are not in the schema should be dropped
+     */
+    public ArrayRecord(final RecordSchema schema, final Object[] values, final BitSet presentFields, final SerializedForm serializedForm,
+                       final boolean checkTypes, final boolean dropUnknownFields) {
+        Objects.requireNonNull(values);
+        this.schema = Objects.requireNonNull(schema);
+        if (values.length != schema.getFieldCount()) {
+            throw new IllegalArgumentException("Record has " + values.length + " values but its schema has " + schema.getFieldCount() + " fields");
+        }
+
+        this.indexSchema = schema;
+        this.values = values;
+        this.presentFields = presentFields;
+        this.serializedForm = Optional.ofNullable(serializedForm);
+        this.checkTypes = checkTypes;
+        this.dropUnknownFields = dropUnknownFields;
+
+        if (checkTypes) {
+            checkTypes();
+        }
+    }
+
+    private void checkTypes() {
+        for (final RecordField field : schema.getFields()) {
+            final Object value = getExplicitValue(field);
+
+            if (value == null) {
+                if (field.isNullable() || field.getDefaultValue() != null) {
+                    continue;
+                }
+
+                throw new SchemaValidationException("Field " + field.getFieldName() + " cannot be null");
+            }
+
+            if (!DataTypeUtils.isCompatibleDataType(value, field.getDataType())) {
+                throw new SchemaValidationException("Field " + field.getFieldName() + " has a value of " + value
+                    + ", which cannot be coerced into the appropriate data type of " + field.getDataType());
+            }
+        }
+    }
+
+    @Override
+    public boolean isDropUnknownFields() {
+        return dropUnknownFields;
+    }
+
+    @Override
+    public boolean isTypeChecked() {
+        return checkTypes;
+    }
+
+    @Override
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public Object[] getValues() {
+        final Object[] values = new Object[schema.getFieldCount()];
+        int i = 0;
+        for (final RecordField recordField : schema.getFields()) {
+            Object value = getExplicitValue(recordField);
+            if (value == null) {
+                value = recordField.getDefaultValue();
+            }
+
+            values[i++] = value;
+        }
+        return values;
+    }
+
+    @Override
+    public Object getValue(final String fieldName) {
+        final Optional<RecordField> fieldOption = schema.getField(fieldName);
+        if (fieldOption.isPresent()) {
+            return getValue(fieldOption.get());
+        }
+
+        if (dropUnknownFields) {
+            return null;
+        }
+
+        return getExplicitValue(fieldName);
+    }
+
+    @Override
+    public Object getValue(final RecordField field) {
+        Object explicitValue = getExplicitValue(field);
+        if (explicitValue != null) {
+            return explicitValue;
+        }
+
+        final Optional<RecordField> resolvedField = resolveField(field);
+        final boolean resolvedFieldDifferent = resolvedField.isPresent() && !resolvedField.get().equals(field);
+        if (resolvedFieldDifferent) {
+            explicitValue = getExplicitValue(resolvedField.get());
+            if (explicitValue != null) {
+                return explicitValue;
+            }
+        }
+
+        final Object defaultValue = field.getDefaultValue();
+        if (defaultValue != null) {
+            return defaultValue;
+        }
+
+        if (resolvedFieldDifferent) {
+            return resolvedField.get().getDefaultValue();
+        }
+
+        return null;
+    }
+
+    private Optional<RecordField> resolveField(final RecordField field) {
+        Optional<RecordField> resolved = schema.getField(field.getFieldName());
+        if (resolved.isPresent()) {
+            return resolved;
+        }
+
+        for (final String alias : field.getAliases()) {
+            resolved = schema.getField(alias);
+            if (resolved.isPresent()) {
+                return resolved;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Object getExplicitValue(final RecordField field) {
+        Object value = getExplicitValue(field.getFieldName());
+        if (value != null) {
+            return value;
+        }
+
+        for (final String alias : field.getAliases()) {
+            value = getExplicitValue(alias);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    private Object getExplicitValue(final String fieldName) {
+        final int index = indexSchema.getFieldIndex(fieldName);
+        if (index >= 0) {
+            return values[index];
+        }
+
+        return unknownValues == null ? null : unknownValues.get(fieldName);
+    }
+
+    private boolean isPresent(final int index) {
+        return presentFields == null || presentFields.get(index);
+    }
+
+    /**
+     * Indicates whether the values of this Record are held in the order of the fields of the given schema, in which case
+     * {@link #getValue(int)} and {@link #isFieldPresent(int)} may be used to access them by position
+     *
+     * @param schema the schema to check
+     * @return <code>true</code> if this Record was created with the given schema
+     */
+    public boolean isIndexedBy(final RecordSchema schema) {
+        return indexSchema == schema;
+    }
+
+    /**
+     * Returns the value of the field at the given position of the schema that this Record was created with, without looking up the field by name
+     *
+     * @param fieldIndex the position of the field
+     * @return the value of the field, or the field's default value if the field has no value
+     */
+    public Object getValue(final int fieldIndex) {
+        final Object value = values[fieldIndex];
+        return value == null ? indexSchema.getFields().get(fieldIndex).getDefaultValue() : value;
+    }
+
+    /**
+     * Indicates whether the field at the given position of the schema that this Record was created with has a value, even if that value is <code>null</code>
+     *
+     * @param fieldIndex the position of the field
+     * @return <code>true</code> if the field is one of the {@link #getRawFieldNames() raw field names} of this Record
+     */
+    public boolean isFieldPresent(final int fieldIndex) {
+        return isPresent(fieldIndex);
+    }
+
+    @Override
+    public String getAsString(final String fieldName) {
+        final Optional<DataType> dataTypeOption = schema.getDataType(fieldName);
+        if (dataTypeOption.isPresent()) {
+            return convertToString(getValue(fieldName), dataTypeOption.get().getFormat());
+        }
+
+        return DataTypeUtils.toString(getValue(fieldName), (Supplier<DateFormat>) null);
+    }
+
+    @Override
+    public String getAsString(final String fieldName, final String format) {
+        return convertToString(getValue(fieldName), format);
+    }
+
+    @Override
+    public String getAsString(final RecordField field, final String format) {
+        return convertToString(getValue(field), format);
+    }
+
+    private String convertToString(final Object value, final String format) {
+        if (value == null) {
+            return null;
+        }
+
+        return DataTypeUtils.toString(value, format);
+    }
+
+    @Override
+    public Long getAsLong(final String fieldName) {
+        return DataTypeUtils.toLong(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Integer getAsInt(final String fieldName) {
+        return DataTypeUtils.toInteger(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Double getAsDouble(final String fieldName) {
+        return DataTypeUtils.toDouble(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Float getAsFloat(final String fieldName) {
+        return DataTypeUtils.toFloat(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Record getAsRecord(final String fieldName, final RecordSchema schema) {
+        return DataTypeUtils.toRecord(getValue(fieldName), schema, fieldName);
+    }
+
+    @Override
+    public Boolean getAsBoolean(final String fieldName) {
+        return DataTypeUtils.toBoolean(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Date getAsDate(final String fieldName, final String format) {
+        return DataTypeUtils.toDate(getValue(fieldName), () -> DataTypeUtils.getDateFormat(format), fieldName);
+    }
+
+    @Override
+    public Object[] getAsArray(final String fieldName) {
+        return DataTypeUtils.toArray(getValue(fieldName), fieldName, null, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int hashCode() {
+        // Computed in the same way as Map.hashCode() so that an ArrayRecord has the same hash code as an equal MapRecord
+        int valuesHashCode = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (isPresent(i)) {
+                valuesHashCode += indexSchema.getField(i).getFieldName().hashCode() ^ Objects.hashCode(values[i]);
+            }
+        }
+        if (unknownValues != null) {
+            valuesHashCode += unknownValues.hashCode();
+        }
+
+        return 31 + 41 * valuesHashCode + 7 * schema.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ArrayRecord) && !(obj instanceof MapRecord)) {
+            return false;
+        }
+
+        final Record other = (Record) obj;
+        return schema.equals(other.getSchema()) && MapRecord.valuesEqual(toMap(), other.toMap());
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayRecord[" + toMap() + "]";
+    }
+
+    @Override
+    public Optional<SerializedForm> getSerializedForm() {
+        return serializedForm;
+    }
+
+    @Override
+    public Map<String, Object> toMap() {
+        final Map<String, Object> map = new LinkedHashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            if (isPresent(i)) {
+                map.put(indexSchema.getField(i).getFieldName(), values[i]);
+            }
+        }
+        if (unknownValues != null) {
+            map.putAll(unknownValues);
+        }
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    public Map<String, Object> toMap(final boolean convertSubRecords) {
+        return convertSubRecords ? MapRecord.convertSubRecords(toMap()) : toMap();
+    }
+
+    @Override
+    public void setValue(final RecordField field, final Object value) {
+        final Optional<RecordField> existingField = setValueAndGetField(field.getFieldName(), value);
+
+        if (!existingField.isPresent()) {
+            if (inactiveFields == null) {
+                inactiveFields = new LinkedHashSet<>();
+            }
+
+            inactiveFields.add(field);
+        }
+    }
+
+    @Override
+    public void setValue(final String fieldName, final Object value) {
+        final Optional<RecordField> existingField = setValueAndGetField(fieldName, value);
+
+        if (!existingField.isPresent()) {
+            if (inactiveFields == null) {
+                inactiveFields = new LinkedHashSet<>();
+            }
+
+            final DataType inferredDataType = DataTypeUtils.inferDataType(value, RecordFieldType.STRING.getDataType());
+            final RecordField field = new RecordField(fieldName, inferredDataType);
+            inactiveFields.add(field);
+        }
+    }
+
+    private Optional<RecordField> setValueAndGetField(final String fieldName, final Object value) {
+        final Optional<RecordField> field = getSchema().getField(fieldName);
+        if (!field.isPresent()) {
+            if (dropUnknownFields) {
+                return field;
+            }
+
+            putValue(fieldName, value);
+            return field;
+        }
+
+        final RecordField recordField = field.get();
+        final Object coerced = isTypeChecked() ? DataTypeUtils.convertType(value, recordField.getDataType(), fieldName) : value;
+        putValue(recordField.getFieldName(), coerced);
+        return field;
+    }
+
+    private void putValue(final String fieldName, final Object value) {
+        final int index = indexSchema.getFieldIndex(fieldName);
+
+        final Object previousValue;
+        if (index >= 0) {
+            previousValue = values[index];
+            values[index] = value;
+
+            if (presentFields != null) {
+                presentFields.set(index);
+            }
+        } else {
+            if (unknownValues == null) {
+                unknownValues = new LinkedHashMap<>();
+            }
+
+            previousValue = unknownValues.put(fieldName, value);
+        }
+
+        if (!Objects.equals(value, previousValue)) {
+            serializedForm = Optional.empty();
+        }
+    }
+
+    @Override
+    public void setArrayValue(final String fieldName, final int arrayIndex, final Object value) {
+        final Optional<RecordField> field = getSchema().getField(fieldName);
+        if (!field.isPresent()) {
+            return;
+        }
+
+        final RecordField recordField = field.get();
+        final DataType dataType = recordField.getDataType();
+        if (dataType.getFieldType() != RecordFieldType.ARRAY) {
+            throw new IllegalTypeConversionException("Cannot set the value of an array index on Record because the field '" + fieldName
+                + "' is of type '" + dataType + "' and cannot be coerced into an ARRAY type");
+        }
+
+        final Object arrayObject = getExplicitValue(recordField.getFieldName());
+        if (!(arrayObject instanceof Object[])) {
+            return;
+        }
+
+        final Object[] array = (Object[]) arrayObject;
+        if (arrayIndex >= array.length) {
+            return;
+        }
+
+        final ArrayDataType arrayDataType = (ArrayDataType) dataType;
+        final DataType elementType = arrayDataType.getElementType();
+        final Object coerced = DataTypeUtils.convertType(value, elementType, fieldName);
+
+        final boolean update = !Objects.equals(coerced, array[arrayIndex]);
+        if (update) {
+            array[arrayIndex] = coerced;
+            serializedForm = Optional.empty();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setMapValue(final String fieldName, final String mapKey, final Object value) {
+        final Optional<RecordField> field = getSchema().getField(fieldName);
+        if (!field.isPresent()) {
+            return;
+        }
+
+        final RecordField recordField = field.get();
+        final DataType dataType = recordField.getDataType();
+        if (dataType.getFieldType() != RecordFieldType.MAP) {
+            throw new IllegalTypeConversionException("Cannot set the value of map entry on Record because the field '" + fieldName
+                + "' is of type '" + dataType + "' and cannot be coerced into an MAP type");
+        }
+
+        Object mapObject = getExplicitValue(recordField.getFieldName());
+        if (mapObject == null) {
+            mapObject = new HashMap<String, Object>();
+        }
+        if (!(mapObject instanceof Map)) {
+            return;
+        }
+
+        final Map<String, Object> map = (Map<String, Object>) mapObject;
+
+        final MapDataType mapDataType = (MapDataType) dataType;
+        final DataType valueDataType = mapDataType.getValueType();
+        final Object coerced = DataTypeUtils.convertType(value, valueDataType, fieldName);
+
+        final Object replaced = map.put(mapKey, coerced);
+        if (replaced == null || !replaced.equals(coerced)) {
+            serializedForm = Optional.empty();
+        }
+    }
+
+    @Override
+    public void incorporateSchema(final RecordSchema other) {
+        this.schema = DataTypeUtils.merge(this.schema, other);
+    }
+
+    @Override
+    public void incorporateInactiveFields() {
+        final List<RecordField> updatedFields = new ArrayList<>();
+
+        boolean fieldUpdated = false;
+        for (final RecordField field : schema.getFields()) {
+            final RecordField updated = MapRecord.getUpdatedRecordField(this, field);
+            if (!updated.equals(field)) {
+                fieldUpdated = true;
+            }
+
+            updatedFields.add(updated);
+        }
+
+        if (!fieldUpdated && (inactiveFields == null || inactiveFields.isEmpty())) {
+            return;
+        }
+
+        if (inactiveFields != null) {
+            for (final RecordField field : inactiveFields) {
+                if (!updatedFields.contains(field)) {
+                    updatedFields.add(field);
+                }
+            }
+        }
+
+        this.schema = new SimpleRecordSchema(updatedFields);
+    }
+
+    @Override
+    public Set<String> getRawFieldNames() {
+        return new RawFieldNames();
+    }
+
+    /**
+     * A read-only view of the names of the fields that have a value. Record Writers check whether the set contains each field of the schema,
+     * so this avoids creating a new Set for every Record.
+     */
+    private class RawFieldNames extends AbstractSet<String> {
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof String)) {
+                return false;
+            }
+
+            final String fieldName = (String) o;
+            final int index = indexSchema.getFieldIndex(fieldName);
+            if (index >= 0) {
+                return isPresent(index) && indexSchema.getField(index).getFieldName().equals(fieldName);
+            }
+
+            return unknownValues != null && unknownValues.containsKey(fieldName);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return toMap().keySet().iterator();
+        }
+
+        @Override
+        public int size() {
+            final int presentCount = presentFields == null ? values.length : presentFields.cardinality();
+            return unknownValues == null ? presentCount : presentCount + unknownValues.size();
+        }
+    }
+}
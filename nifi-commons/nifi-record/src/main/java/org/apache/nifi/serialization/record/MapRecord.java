@@ -294,6 +294,10 @@ public class MapRecord implements Record {
         if (obj == null) {
             return false;
         }
+        if (obj instanceof ArrayRecord) {
+            final ArrayRecord other = (ArrayRecord) obj;
+            return schema.equals(other.getSchema()) && valuesEqual(values, other.toMap());
+        }
         if (!(obj instanceof MapRecord)) {
             return false;
         }
@@ -301,7 +305,7 @@ public class MapRecord implements Record {
         return schema.equals(other.schema) && valuesEqual(values, other.values);
     }
 
-    private boolean valuesEqual(final Map<String, Object> thisValues, final Map<String, Object> otherValues) {
+    static boolean valuesEqual(final Map<String, Object> thisValues, final Map<String, Object> otherValues) {
         if (thisValues == null || otherValues == null) {
             return false;
         }
@@ -346,45 +350,60 @@ public class MapRecord implements Record {
 
     public Map<String, Object> toMap(boolean convertSubRecords) {
         if (convertSubRecords) {
-            Map<String, Object> newMap = new HashMap<>();
-            values.forEach((key, value) -> {
-                Object valueToAdd;
-
-                if (value instanceof MapRecord) {
-                    valueToAdd = ((MapRecord) value).toMap(true);
-                } else if (value != null
-                        && value.getClass().isArray()
-                        && ((Object[]) value)[0] instanceof MapRecord) {
-                    Object[] records = (Object[]) value;
-                    Map<String, Object>[] maps = new Map[records.length];
-                    for (int index = 0; index < records.length; index++) {
-                        maps[index] = ((MapRecord) records[index]).toMap(true);
-                    }
-                    valueToAdd = maps;
-                } else if (value instanceof List) {
-                    List valueList = (List) value;
-                    if (!valueList.isEmpty() && valueList.get(0) instanceof MapRecord) {
-                        List<Map<String, Object>> newRecords = new ArrayList<>();
-                        for (Object o : valueList) {
-                            MapRecord rec = (MapRecord) o;
-                            newRecords.add(rec.toMap(true));
-                        }
-
-                        valueToAdd = newRecords;
-                    } else {
-                        valueToAdd = value;
+            return convertSubRecords(values);
+        } else {
+            return Collections.unmodifiableMap(values);
+        }
+    }
+
+    static Map<String, Object> convertSubRecords(final Map<String, Object> values) {
+        Map<String, Object> newMap = new HashMap<>();
+        values.forEach((key, value) -> {
+            Object valueToAdd;
+
+            if (isConvertibleRecord(value)) {
+                valueToAdd = convertSubRecord(value);
+            } else if (value != null
+                    && value.getClass().isArray()
+                    && isConvertibleRecord(((Object[]) value)[0])) {
+                Object[] records = (Object[]) value;
+                Map<String, Object>[] maps = new Map[records.length];
+                for (int index = 0; index < records.length; index++) {
+                    maps[index] = convertSubRecord(records[index]);
+                }
+                valueToAdd = maps;
+            } else if (value instanceof List) {
+                List valueList = (List) value;
+                if (!valueList.isEmpty() && isConvertibleRecord(valueList.get(0))) {
+                    List<Map<String, Object>> newRecords = new ArrayList<>();
+                    for (Object o : valueList) {
+                        newRecords.add(convertSubRecord(o));
                     }
+
+                    valueToAdd = newRecords;
                 } else {
                     valueToAdd = value;
                 }
+            } else {
+                valueToAdd = value;
+            }
 
-                newMap.put(key, valueToAdd);
-            });
+            newMap.put(key, valueToAdd);
+        });
 
-            return newMap;
-        } else {
-            return Collections.unmodifiableMap(values);
+        return newMap;
+    }
+
+    private static boolean isConvertibleRecord(final Object value) {
+        return value instanceof MapRecord || value instanceof ArrayRecord;
+    }
+
+    private static Map<String, Object> convertSubRecord(final Object record) {
+        if (record instanceof ArrayRecord) {
+            return ((ArrayRecord) record).toMap(true);
         }
+
+        return ((MapRecord) record).toMap(true);
     }
 
     @Override
@@ -527,7 +546,7 @@ public class MapRecord implements Record {
 
         boolean fieldUpdated = false;
         for (final RecordField field : schema.getFields()) {
-            final RecordField updated = getUpdatedRecordField(field);
+            final RecordField updated = getUpdatedRecordField(this, field);
             if (!updated.equals(field)) {
                 fieldUpdated = true;
             }
@@ -550,7 +569,7 @@ public class MapRecord implements Record {
         this.schema = new SimpleRecordSchema(updatedFields);
     }
 
-    private RecordField getUpdatedRecordField(final RecordField field) {
+    static RecordField getUpdatedRecordField(final Record record, final RecordField field) {
         final DataType dataType = field.getDataType();
         final RecordFieldType fieldType = dataType.getFieldType();
 
@@ -558,7 +577,7 @@ public class MapRecord implements Record {
             return field;
         }
 
-        final Object value = getValue(field);
+        final Object value = record.getValue(field);
         if (value == null) {
             return field;
         }
@@ -589,9 +608,9 @@ public class MapRecord implements Record {
                         continue;
                     }
 
-                    final Record record = (Record) element;
-                    record.incorporateInactiveFields();
-                    mergedSchema = DataTypeUtils.merge(mergedSchema, record.getSchema());
+                    final Record elementRecord = (Record) element;
+                    elementRecord.incorporateInactiveFields();
+                    mergedSchema = DataTypeUtils.merge(mergedSchema, elementRecord.getSchema());
                 }
 
                 final DataType mergedRecordType = RecordFieldType.RECORD.getRecordDataType(mergedSchema);
@@ -637,7 +656,7 @@ public class MapRecord implements Record {
         return field;
     }
 
-    private boolean isSimpleType(final RecordFieldType fieldType) {
+    private static boolean isSimpleType(final RecordFieldType fieldType) {
         switch (fieldType) {
             case ARRAY:
             case RECORD:
@@ -72,6 +72,22 @@ public interface RecordSchema {
      */
     Optional<RecordField> getField(String fieldName);
 
+    /**
+     * @param fieldName the name or an alias of the field
+     * @return the 0-based index of the field with the given name or alias, or <code>-1</code> if the schema does not contain such a field
+     */
+    default int getFieldIndex(final String fieldName) {
+        final List<RecordField> fields = getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            final RecordField field = fields.get(i);
+            if (field.getFieldName().equals(fieldName) || field.getAliases().contains(fieldName)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
     /**
      * @return the SchemaIdentifier, which provides various attributes for identifying a schema
      */
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.RecordField;
+
+import java.util.BitSet;
+
+/**
+ * A ColumnVector for BOOLEAN fields that stores the values in a bitmap
+ */
+public class BooleanColumnVector extends ColumnVector {
+    private final BitSet values;
+
+    public BooleanColumnVector(final RecordField field, final int capacity) {
+        super(field, capacity);
+        this.values = new BitSet(capacity);
+    }
+
+    /**
+     * @param row a row for which {@link #isTyped(int)} returns <code>true</code>
+     * @return the value of the row
+     */
+    public boolean getBoolean(final int row) {
+        checkRow(row);
+        return values.get(row);
+    }
+
+    /**
+     * Appends the given value as the next row without boxing it
+     *
+     * @param value the value to append
+     */
+    public void appendBoolean(final boolean value) {
+        values.set(reserveRow(), value);
+    }
+
+    @Override
+    protected boolean setTypedValue(final int row, final Object value) {
+        if (!(value instanceof Boolean)) {
+            return false;
+        }
+
+        values.set(row, (Boolean) value);
+        return true;
+    }
+
+    @Override
+    protected Object getTypedObject(final int row) {
+        return values.get(row);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.RecordField;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * <p>
+ * Holds the values of a single field for each row of a {@link RecordBatch}. Null values are tracked in a bitmap rather than stored.
+ * Typed subclasses, such as {@link LongColumnVector}, store the values of the field's type in a primitive array. A value that is not
+ * of the field's type, which is possible if the values were not coerced into the field's type, is held as an Object instead,
+ * in which case {@link #isTyped(int)} returns <code>false</code> for its row.
+ * </p>
+ *
+ * <p>
+ * A ColumnVector has a fixed capacity and is not thread-safe.
+ * </p>
+ */
+public abstract class ColumnVector {
+    private final RecordField field;
+    private final int capacity;
+    private final BitSet nulls;
+    private Object[] otherValues;
+    private int size = 0;
+
+    protected ColumnVector(final RecordField field, final int capacity) {
+        this.field = field;
+        this.capacity = capacity;
+        this.nulls = new BitSet(capacity);
+    }
+
+    /**
+     * Creates a ColumnVector for the given field, choosing the typed vector that matches the field's type
+     *
+     * @param field the field whose values are to be held
+     * @param capacity the maximum number of values
+     * @return a ColumnVector for the field
+     */
+    public static ColumnVector create(final RecordField field, final int capacity) {
+        switch (field.getDataType().getFieldType()) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return new LongColumnVector(field, capacity);
+            case FLOAT:
+            case DOUBLE:
+                return new DoubleColumnVector(field, capacity);
+            case BOOLEAN:
+                return new BooleanColumnVector(field, capacity);
+            default:
+                return new ObjectColumnVector(field, capacity);
+        }
+    }
+
+    public RecordField getField() {
+        return field;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(final int row) {
+        checkRow(row);
+        return nulls.get(row);
+    }
+
+    /**
+     * @param row the row
+     * @return <code>true</code> if the row holds a non-null value of the field's type, which can be obtained from the typed getter of the vector
+     */
+    public boolean isTyped(final int row) {
+        checkRow(row);
+        return !nulls.get(row) && (otherValues == null || otherValues[row] == null);
+    }
+
+    /**
+     * @param row the row
+     * @return the value of the given row, or <code>null</code> if the row is null
+     */
+    public Object getObject(final int row) {
+        checkRow(row);
+        if (nulls.get(row)) {
+            return null;
+        }
+
+        if (otherValues != null && otherValues[row] != null) {
+            return otherValues[row];
+        }
+
+        return getTypedObject(row);
+    }
+
+    /**
+     * Appends the given value as the next row
+     *
+     * @param value the value to append, may be <code>null</code>
+     * @throws IllegalStateException if the vector is full
+     */
+    public void append(final Object value) {
+        final int row = reserveRow();
+        if (value == null) {
+            nulls.set(row);
+        } else if (!setTypedValue(row, value)) {
+            if (otherValues == null) {
+                otherValues = new Object[capacity];
+            }
+
+            otherValues[row] = value;
+        }
+    }
+
+    /**
+     * Removes all values so that the vector can be reused
+     */
+    public void clear() {
+        nulls.clear();
+        if (otherValues != null) {
+            Arrays.fill(otherValues, 0, size, null);
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Adds a row to the vector, for use by typed append methods that store the value of the row themselves
+     *
+     * @return the index of the added row
+     * @throws IllegalStateException if the vector is full
+     */
+    protected int reserveRow() {
+        if (size >= capacity) {
+            throw new IllegalStateException("Cannot append value to column " + field.getFieldName() + " because it already holds " + capacity + " values");
+        }
+
+        return size++;
+    }
+
+    protected void checkRow(final int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for column " + field.getFieldName() + " with " + size + " values");
+        }
+    }
+
+    /**
+     * Stores the given value at the given row if it is of the field's type
+     *
+     * @param row the row
+     * @param value the non-null value
+     * @return <code>true</code> if the value was stored, <code>false</code> if it is not of the field's type
+     */
+    protected abstract boolean setTypedValue(int row, Object value);
+
+    /**
+     * @param row a row that was stored by {@link #setTypedValue(int, Object)}
+     * @return the stored value, boxed into the Java type of the field
+     */
+    protected abstract Object getTypedObject(int row);
+}
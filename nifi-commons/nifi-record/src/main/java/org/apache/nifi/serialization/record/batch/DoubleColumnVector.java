@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+
+/**
+ * A ColumnVector for FLOAT and DOUBLE fields that stores the values as primitive doubles
+ */
+public class DoubleColumnVector extends ColumnVector {
+    private final boolean floatField;
+    private final double[] values;
+
+    public DoubleColumnVector(final RecordField field, final int capacity) {
+        super(field, capacity);
+
+        final RecordFieldType fieldType = field.getDataType().getFieldType();
+        if (fieldType != RecordFieldType.FLOAT && fieldType != RecordFieldType.DOUBLE) {
+            throw new IllegalArgumentException("Cannot create a DoubleColumnVector for field " + field.getFieldName() + " of type " + fieldType);
+        }
+
+        this.floatField = fieldType == RecordFieldType.FLOAT;
+        this.values = new double[capacity];
+    }
+
+    /**
+     * @param row a row for which {@link #isTyped(int)} returns <code>true</code>
+     * @return the value of the row
+     */
+    public double getDouble(final int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    /**
+     * Appends the given value as the next row without boxing it
+     *
+     * @param value the value to append, which must be within the range of the field's type
+     */
+    public void appendDouble(final double value) {
+        values[reserveRow()] = value;
+    }
+
+    @Override
+    protected boolean setTypedValue(final int row, final Object value) {
+        if (value.getClass() != (floatField ? Float.class : Double.class)) {
+            return false;
+        }
+
+        values[row] = ((Number) value).doubleValue();
+        return true;
+    }
+
+    @Override
+    protected Object getTypedObject(final int row) {
+        final double value = values[row];
+        return floatField ? (Object) (float) value : (Object) value;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+
+/**
+ * A ColumnVector for BYTE, SHORT, INT and LONG fields that stores the values as primitive longs
+ */
+public class LongColumnVector extends ColumnVector {
+    private final RecordFieldType fieldType;
+    private final Class<?> valueType;
+    private final long[] values;
+
+    public LongColumnVector(final RecordField field, final int capacity) {
+        super(field, capacity);
+        this.fieldType = field.getDataType().getFieldType();
+        this.values = new long[capacity];
+
+        switch (fieldType) {
+            case BYTE:
+                valueType = Byte.class;
+                break;
+            case SHORT:
+                valueType = Short.class;
+                break;
+            case INT:
+                valueType = Integer.class;
+                break;
+            case LONG:
+                valueType = Long.class;
+                break;
+            default:
+                throw new IllegalArgumentException("Cannot create a LongColumnVector for field " + field.getFieldName() + " of type " + fieldType);
+        }
+    }
+
+    /**
+     * @param row a row for which {@link #isTyped(int)} returns <code>true</code>
+     * @return the value of the row
+     */
+    public long getLong(final int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    /**
+     * Appends the given value as the next row without boxing it
+     *
+     * @param value the value to append, which must be within the range of the field's type
+     */
+    public void appendLong(final long value) {
+        values[reserveRow()] = value;
+    }
+
+    @Override
+    protected boolean setTypedValue(final int row, final Object value) {
+        if (value.getClass() != valueType) {
+            return false;
+        }
+
+        values[row] = ((Number) value).longValue();
+        return true;
+    }
+
+    @Override
+    protected Object getTypedObject(final int row) {
+        final long value = values[row];
+        switch (fieldType) {
+            case BYTE:
+                return (byte) value;
+            case SHORT:
+                return (short) value;
+            case INT:
+                return (int) value;
+            default:
+                return value;
+        }
+    }
+}
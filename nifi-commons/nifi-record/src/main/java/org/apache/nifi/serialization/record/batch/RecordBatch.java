@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.ArrayRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>
+ * Holds up to a fixed number of rows that share a Record Schema, with the values of each field held in a {@link ColumnVector}.
+ * A RecordBatch allows schema-aware readers and writers to exchange many Records at once, without creating a Record object for each row,
+ * and allows conversions to be performed one column at a time. A RecordBatch may be filled by
+ * {@link org.apache.nifi.serialization.RecordReader#nextBatch(RecordBatch, boolean, boolean)} and reused for each subsequent batch.
+ * </p>
+ *
+ * <p>
+ * Some Records cannot be represented by the values of the schema's fields alone, such as Records that have a different schema, that have values
+ * for fields that are not in the schema, or that do not have a value for every field of the schema. When such a Record is added, the values of the
+ * schema's fields are still added to the columns, but the Record is also retained, and {@link #getRecord(int)} returns the Record itself.
+ * Consumers that read the columns directly must check {@link #isColumnar()} first, falling back to {@link #getRecord(int)} if it returns <code>false</code>.
+ * </p>
+ *
+ * <p>
+ * A RecordBatch is not thread-safe.
+ * </p>
+ */
+public class RecordBatch {
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final RecordSchema schema;
+    private final List<RecordField> fields;
+    private final ColumnVector[] columns;
+    private final int capacity;
+    private Record[] rowRecords;
+    private int retainedRecordCount = 0;
+    private int rowCount = 0;
+
+    public RecordBatch(final RecordSchema schema) {
+        this(schema, DEFAULT_CAPACITY);
+    }
+
+    public RecordBatch(final RecordSchema schema, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive but was " + capacity);
+        }
+
+        this.schema = schema;
+        this.fields = schema.getFields();
+        this.capacity = capacity;
+        this.columns = new ColumnVector[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = ColumnVector.create(fields.get(i), capacity);
+        }
+    }
+
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    public boolean isFull() {
+        return rowCount >= capacity;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param fieldIndex the index of the field in the schema
+     * @return the column that holds the values of the field
+     */
+    public ColumnVector getColumn(final int fieldIndex) {
+        return columns[fieldIndex];
+    }
+
+    /**
+     * @param fieldName the name or an alias of the field
+     * @return the column that holds the values of the field, or an empty Optional if the schema has no such field
+     */
+    public Optional<ColumnVector> getColumn(final String fieldName) {
+        final int fieldIndex = schema.getFieldIndex(fieldName);
+        return fieldIndex < 0 ? Optional.empty() : Optional.of(columns[fieldIndex]);
+    }
+
+    /**
+     * @return <code>true</code> if every row is fully represented by the values in the columns, <code>false</code> if any row retains its Record
+     */
+    public boolean isColumnar() {
+        return retainedRecordCount == 0;
+    }
+
+    /**
+     * Adds a row whose values are given in the order of the schema's fields. Every field is considered to have a value, which may be <code>null</code>.
+     *
+     * @param values the values of the row
+     * @throws IllegalStateException if the batch is full
+     */
+    public void addRow(final Object[] values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Row has " + values.length + " values but the schema has " + columns.length + " fields");
+        }
+
+        checkCapacity();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].append(values[i]);
+        }
+
+        rowCount++;
+    }
+
+    /**
+     * Adds the given Record as a row
+     *
+     * @param record the Record to add
+     * @throws IllegalStateException if the batch is full
+     */
+    public void addRecord(final Record record) {
+        checkCapacity();
+
+        final boolean columnar = isColumnar(record);
+        if (columnar && record instanceof ArrayRecord && ((ArrayRecord) record).isIndexedBy(schema)) {
+            final ArrayRecord arrayRecord = (ArrayRecord) record;
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].append(arrayRecord.getValue(i));
+            }
+        } else {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].append(record.getValue(fields.get(i)));
+            }
+        }
+
+        if (!columnar) {
+            if (rowRecords == null) {
+                rowRecords = new Record[capacity];
+            }
+
+            rowRecords[rowCount] = record;
+            retainedRecordCount++;
+        }
+
+        rowCount++;
+    }
+
+    /**
+     * @param row the row
+     * @return the Record that was added as the given row if it could not be represented by the columns alone, or otherwise a Record
+     *          that holds the values of the row
+     */
+    public Record getRecord(final int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for batch with " + rowCount + " rows");
+        }
+
+        if (rowRecords != null && rowRecords[row] != null) {
+            return rowRecords[row];
+        }
+
+        final Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].getObject(row);
+        }
+
+        return new ArrayRecord(schema, values);
+    }
+
+    /**
+     * Removes all rows so that the batch can be reused
+     */
+    public void clear() {
+        for (final ColumnVector column : columns) {
+            column.clear();
+        }
+
+        if (retainedRecordCount > 0) {
+            Arrays.fill(rowRecords, 0, rowCount, null);
+            retainedRecordCount = 0;
+        }
+
+        rowCount = 0;
+    }
+
+    private void checkCapacity() {
+        if (isFull()) {
+            throw new IllegalStateException("Cannot add row because the batch already holds " + capacity + " rows");
+        }
+    }
+
+    /**
+     * Determines whether the given Record is fully represented by the values of the schema's fields, meaning that it has the same schema
+     * and a value for exactly the fields of the schema
+     */
+    private boolean isColumnar(final Record record) {
+        final RecordSchema recordSchema = record.getSchema();
+        if (recordSchema != schema && !schema.equals(recordSchema)) {
+            return false;
+        }
+
+        final Set<String> rawFieldNames = record.getRawFieldNames();
+        if (rawFieldNames.size() != fields.size()) {
+            return false;
+        }
+
+        for (final RecordField field : fields) {
+            if (!rawFieldNames.contains(field.getFieldName())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record.util;
+
+import org.apache.nifi.serialization.record.ArrayRecord;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.text.DateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A plan for converting the values of Records with a source schema into the field types of a target schema. For each field of the target schema,
+ * the plan holds the position of the corresponding field in the source schema and a {@link ValueConverter} that was specialized for the
+ * target field's type when the plan was created. Converting a value then requires neither inspecting the DataType nor resolving date formats,
+ * as {@link DataTypeUtils#convertType(Object, DataType, String)} does for every value. Values that are already of the target type, and Strings that
+ * are parsed into numbers, dates, times or timestamps, take the shortest path.
+ * </p>
+ *
+ * <p>
+ * Plans are cached by the fields of the source and target schemas and by the date, time and timestamp formats, so that all Record Readers and
+ * Writers that handle the same schemas share a single plan. Plans are thread-safe.
+ * </p>
+ */
+public class RecordConversionPlan {
+    static final int MAX_CACHED_PLANS = 1000;
+
+    private static final Map<PlanKey, RecordConversionPlan> PLANS = new ConcurrentHashMap<>();
+
+    private static final Supplier<DateFormat> NO_FORMAT = () -> null;
+
+    private final RecordSchema sourceSchema;
+    private final RecordSchema targetSchema;
+    private final int[] sourceIndices;
+    private final ValueConverter[] converters;
+
+    private RecordConversionPlan(final RecordSchema sourceSchema, final RecordSchema targetSchema, final String dateFormat, final String timeFormat,
+                                 final String timestampFormat) {
+        this.sourceSchema = sourceSchema;
+        this.targetSchema = targetSchema;
+
+        final Supplier<DateFormat> dateFormatSupplier = createFormatSupplier(dateFormat);
+        final Supplier<DateFormat> timeFormatSupplier = createFormatSupplier(timeFormat);
+        final Supplier<DateFormat> timestampFormatSupplier = createFormatSupplier(timestampFormat);
+        final DateTimeFormatter dateFormatter = createDateFormatter(dateFormat);
+
+        final List<RecordField> targetFields = targetSchema.getFields();
+        this.sourceIndices = new int[targetFields.size()];
+        this.converters = new ValueConverter[targetFields.size()];
+
+        for (int i = 0; i < targetFields.size(); i++) {
+            final RecordField targetField = targetFields.get(i);
+            sourceIndices[i] = findSourceIndex(sourceSchema, targetField);
+            converters[i] = createConverter(targetField.getDataType(), targetField.getFieldName(), dateFormatSupplier, timeFormatSupplier,
+                timestampFormatSupplier, dateFormatter);
+        }
+    }
+
+    /**
+     * Returns a plan for converting values into the field types of the given schema, using the default date, time and timestamp formats,
+     * as {@link DataTypeUtils#convertType(Object, DataType, String)} does
+     *
+     * @param schema the schema whose field types values are to be converted into
+     * @return the conversion plan
+     */
+    public static RecordConversionPlan getPlan(final RecordSchema schema) {
+        return getPlan(schema, schema);
+    }
+
+    /**
+     * Returns a plan for converting Records of the source schema into Records of the target schema, using the default date, time and timestamp
+     * formats, as {@link DataTypeUtils#convertType(Object, DataType, String)} does
+     *
+     * @param sourceSchema the schema of the Records to convert
+     * @param targetSchema the schema of the converted Records
+     * @return the conversion plan
+     */
+    public static RecordConversionPlan getPlan(final RecordSchema sourceSchema, final RecordSchema targetSchema) {
+        return getPlan(sourceSchema, targetSchema, RecordFieldType.DATE.getDefaultFormat(), RecordFieldType.TIME.getDefaultFormat(),
+            RecordFieldType.TIMESTAMP.getDefaultFormat());
+    }
+
+    /**
+     * Returns a plan for converting Records of the source schema into Records of the target schema
+     *
+     * @param sourceSchema the schema of the Records to convert
+     * @param targetSchema the schema of the converted Records
+     * @param dateFormat the format to parse Strings into Dates with, or <code>null</code> if Strings are to be parsed as milliseconds since epoch
+     * @param timeFormat the format to parse Strings into Times with, or <code>null</code> if Strings are to be parsed as milliseconds since epoch
+     * @param timestampFormat the format to parse Strings into Timestamps with, or <code>null</code> if Strings are to be parsed as milliseconds since epoch
+     * @return the conversion plan
+     */
+    public static RecordConversionPlan getPlan(final RecordSchema sourceSchema, final RecordSchema targetSchema, final String dateFormat,
+                                               final String timeFormat, final String timestampFormat) {
+        Objects.requireNonNull(sourceSchema);
+        Objects.requireNonNull(targetSchema);
+
+        final PlanKey key = new PlanKey(sourceSchema.getFields(), targetSchema.getFields(), dateFormat, timeFormat, timestampFormat);
+        final RecordConversionPlan plan = PLANS.get(key);
+        if (plan != null) {
+            return plan;
+        }
+
+        // Schemas that are inferred from the data may differ for every FlowFile, so the cache is bounded by starting over when it fills up
+        if (PLANS.size() >= MAX_CACHED_PLANS) {
+            PLANS.clear();
+        }
+
+        return PLANS.computeIfAbsent(key, k -> new RecordConversionPlan(sourceSchema, targetSchema, dateFormat, timeFormat, timestampFormat));
+    }
+
+    static int getCachedPlanCount() {
+        return PLANS.size();
+    }
+
+    public RecordSchema getSourceSchema() {
+        return sourceSchema;
+    }
+
+    public RecordSchema getTargetSchema() {
+        return targetSchema;
+    }
+
+    /**
+     * @param targetFieldIndex the position of the field in the target schema
+     * @return the converter for values of the field
+     */
+    public ValueConverter getConverter(final int targetFieldIndex) {
+        return converters[targetFieldIndex];
+    }
+
+    /**
+     * Converts the given value into the type of the field at the given position of the target schema
+     *
+     * @param targetFieldIndex the position of the field in the target schema
+     * @param value the value to convert
+     * @return the converted value
+     */
+    public Object convert(final int targetFieldIndex, final Object value) {
+        return converters[targetFieldIndex].convert(value);
+    }
+
+    /**
+     * Converts the given Record into a Record of the target schema. Fields of the target schema that do not exist in the source schema are
+     * looked up by name and aliases.
+     *
+     * @param record the Record to convert
+     * @return a Record of the target schema
+     */
+    public Record convert(final Record record) {
+        final List<RecordField> targetFields = targetSchema.getFields();
+        final boolean sourceSchemaMatches = record.getSchema() == sourceSchema || record.getSchema().getFields().equals(sourceSchema.getFields());
+        final Object[] sourceValues = sourceSchemaMatches ? record.getValues() : null;
+
+        final Object[] values = new Object[targetFields.size()];
+        for (int i = 0; i < values.length; i++) {
+            final int sourceIndex = sourceIndices[i];
+            final Object value = sourceValues != null && sourceIndex >= 0 ? sourceValues[sourceIndex] : record.getValue(targetFields.get(i));
+            values[i] = converters[i].convert(value);
+        }
+
+        return new ArrayRecord(targetSchema, values);
+    }
+
+    private static int findSourceIndex(final RecordSchema sourceSchema, final RecordField targetField) {
+        int index = sourceSchema.getFieldIndex(targetField.getFieldName());
+        if (index >= 0) {
+            return index;
+        }
+
+        for (final String alias : targetField.getAliases()) {
+            index = sourceSchema.getFieldIndex(alias);
+            if (index >= 0) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    private static Supplier<DateFormat> createFormatSupplier(final String pattern) {
+        if (pattern == null) {
+            return NO_FORMAT;
+        }
+
+        // DateFormat is not thread-safe, so each thread that uses the plan gets its own instance
+        final ThreadLocal<DateFormat> dateFormat = ThreadLocal.withInitial(() -> DataTypeUtils.getDateFormat(pattern));
+        return dateFormat::get;
+    }
+
+    private static DateTimeFormatter createDateFormatter(final String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+
+        try {
+            return DateTimeFormatter.ofPattern(pattern);
+        } catch (final IllegalArgumentException e) {
+            // Dates are then converted by DataTypeUtils, which reports the invalid pattern when a value is converted
+            return null;
+        }
+    }
+
+    private static ValueConverter createConverter(final DataType dataType, final String fieldName, final Supplier<DateFormat> dateFormat,
+                                                  final Supplier<DateFormat> timeFormat, final Supplier<DateFormat> timestampFormat,
+                                                  final DateTimeFormatter dateFormatter) {
+        switch (dataType.getFieldType()) {
+            case STRING:
+                return value -> value instanceof String ? value : DataTypeUtils.toString(value, NO_FORMAT, StandardCharsets.UTF_8);
+            case INT:
+                return value -> {
+                    if (value instanceof Integer) {
+                        return value;
+                    }
+                    return value instanceof String ? Integer.valueOf(Integer.parseInt((String) value)) : DataTypeUtils.toInteger(value, fieldName);
+                };
+            case LONG:
+                return value -> {
+                    if (value instanceof Long) {
+                        return value;
+                    }
+                    return value instanceof String ? Long.valueOf(Long.parseLong((String) value)) : DataTypeUtils.toLong(value, fieldName);
+                };
+            case DOUBLE:
+                return value -> {
+                    if (value instanceof Double) {
+                        return value;
+                    }
+                    return value instanceof String ? Double.valueOf(Double.parseDouble((String) value)) : DataTypeUtils.toDouble(value, fieldName);
+                };
+            case FLOAT:
+                return value -> {
+                    if (value instanceof Float) {
+                        return value;
+                    }
+                    return value instanceof String ? Float.valueOf(Float.parseFloat((String) value)) : DataTypeUtils.toFloat(value, fieldName);
+                };
+            case BOOLEAN:
+                return value -> value instanceof Boolean ? value : DataTypeUtils.toBoolean(value, fieldName);
+            case TIMESTAMP:
+                return value -> value instanceof Timestamp ? value : DataTypeUtils.toTimestamp(value, timestampFormat, fieldName);
+            case TIME:
+                return value -> value instanceof Time ? value : DataTypeUtils.toTime(value, timeFormat, fieldName);
+            case DATE:
+                if (dateFormatter != null) {
+                    return value -> {
+                        final LocalDate localDate = DataTypeUtils.toLocalDate(value, () -> dateFormatter, fieldName);
+                        return value == null ? null : Date.valueOf(localDate);
+                    };
+                }
+                break;
+        }
+
+        return value -> DataTypeUtils.convertType(value, dataType, dateFormat, timeFormat, timestampFormat, fieldName);
+    }
+
+    private static class PlanKey {
+        private final List<RecordField> sourceFields;
+        private final List<RecordField> targetFields;
+        private final String[] formats;
+        private final int hashCode;
+
+        private PlanKey(final List<RecordField> sourceFields, final List<RecordField> targetFields, final String dateFormat, final String timeFormat,
+                        final String timestampFormat) {
+            this.sourceFields = sourceFields;
+            this.targetFields = targetFields;
+            this.formats = new String[] {dateFormat, timeFormat, timestampFormat};
+            this.hashCode = Objects.hash(sourceFields, targetFields, Arrays.hashCode(formats));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PlanKey)) {
+                return false;
+            }
+
+            final PlanKey other = (PlanKey) obj;
+            return hashCode == other.hashCode && sourceFields.equals(other.sourceFields) && targetFields.equals(other.targetFields)
+                && Arrays.equals(formats, other.formats);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
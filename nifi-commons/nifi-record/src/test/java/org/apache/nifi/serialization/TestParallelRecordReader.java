@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization;
+
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestParallelRecordReader {
+    private static final RecordSchema SCHEMA = new SimpleRecordSchema(Collections.singletonList(new RecordField("value", RecordFieldType.STRING.getDataType())));
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRecordsReturnedInOrder() throws IOException, MalformedRecordException {
+        final StringBuilder content = new StringBuilder();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final String value = "value-" + i;
+            expected.add(value);
+            content.append(value).append('\n');
+        }
+
+        assertEquals(expected, readValues(content.toString(), 16, false));
+        assertEquals(expected, readValues(content.toString(), 1, false));
+        assertEquals(expected, readValues(content.toString(), 1024 * 1024, false));
+    }
+
+    @Test
+    public void testLastLineWithoutLineFeed() throws IOException, MalformedRecordException {
+        assertEquals(List.of("a", "b", "c"), readValues("a\nb\nc", 2, false));
+        assertEquals(Collections.emptyList(), readValues("", 2, false));
+    }
+
+    @Test
+    public void testLineLongerThanChunk() throws IOException, MalformedRecordException {
+        final String longValue = String.join("", Collections.nCopies(100, "abcdefghij"));
+        assertEquals(List.of("a", longValue, "b"), readValues("a\n" + longValue + "\nb\n", 4, false));
+    }
+
+    @Test
+    public void testHeaderPrependedToEachChunk() throws IOException, MalformedRecordException {
+        final List<String> headers = Collections.synchronizedList(new ArrayList<>());
+        final ParallelRecordReader.ChunkReaderFactory readerFactory = chunk -> {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(chunk, StandardCharsets.UTF_8));
+            headers.add(reader.readLine());
+            return new LineRecordReader(reader);
+        };
+
+        final InputStream in = new ByteArrayInputStream("header\na\nb\nc\nd\n".getBytes(StandardCharsets.UTF_8));
+        try (final RecordReader reader = new ParallelRecordReader(in, SCHEMA, readerFactory, executor, 4, 2, true)) {
+            assertEquals(List.of("a", "b", "c", "d"), getValues(reader));
+        }
+
+        assertEquals(Collections.nCopies(headers.size(), "header"), headers);
+        assertEquals(3, headers.size());
+    }
+
+    @Test
+    public void testParseFailureAfterPreviousRecords() throws IOException, MalformedRecordException {
+        final InputStream in = new ByteArrayInputStream("a\nb\nfail\nc\n".getBytes(StandardCharsets.UTF_8));
+        try (final RecordReader reader = new ParallelRecordReader(in, SCHEMA, LineRecordReader::new, executor, 2, 4, false)) {
+            assertEquals("a", reader.nextRecord().getValue("value"));
+            assertEquals("b", reader.nextRecord().getValue("value"));
+            assertThrows(MalformedRecordException.class, reader::nextRecord);
+        }
+    }
+
+    private List<String> readValues(final String content, final int chunkSize, final boolean firstLineIsHeader) throws IOException, MalformedRecordException {
+        final InputStream in = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        try (final RecordReader reader = new ParallelRecordReader(in, SCHEMA, LineRecordReader::new, executor, chunkSize, 3, firstLineIsHeader)) {
+            return getValues(reader);
+        }
+    }
+
+    private List<String> getValues(final RecordReader reader) throws IOException, MalformedRecordException {
+        final List<String> values = new ArrayList<>();
+        Record record;
+        while ((record = reader.nextRecord()) != null) {
+            values.add(record.getAsString("value"));
+        }
+
+        assertNull(reader.nextRecord());
+        return values;
+    }
+
+    private static class LineRecordReader implements RecordReader {
+        private final BufferedReader reader;
+
+        LineRecordReader(final InputStream in) {
+            this(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        }
+
+        LineRecordReader(final BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+            final String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            if (line.equals("fail")) {
+                throw new MalformedRecordException("Failed to parse line");
+            }
+
+            final Map<String, Object> values = new HashMap<>();
+            values.put("value", line);
+            return new MapRecord(SCHEMA, values);
+        }
+
+        @Override
+        public RecordSchema getSchema() {
+            return SCHEMA;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record;
+
+import org.apache.nifi.serialization.SchemaValidationException;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestArrayRecord {
+
+    private RecordSchema createSchema() {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType(), null, Collections.singleton("fullName")));
+        fields.add(new RecordField("greeting", RecordFieldType.STRING.getDataType(), "hello"));
+        return new SimpleRecordSchema(fields);
+    }
+
+    @Test
+    public void testGetValue() {
+        final Record record = new ArrayRecord(createSchema(), new Object[] {1, "John Doe", null});
+
+        assertEquals(1, record.getValue("id"));
+        assertEquals("John Doe", record.getValue("name"));
+        assertEquals("John Doe", record.getValue("fullName"));
+        assertEquals("hello", record.getValue("greeting"));
+        assertEquals(Integer.valueOf(1), record.getAsInt("id"));
+        assertEquals("1", record.getAsString("id"));
+        assertNull(record.getValue("unknown"));
+        assertEquals(Arrays.asList(1, "John Doe", "hello"), Arrays.asList(record.getValues()));
+    }
+
+    @Test
+    public void testValuesMustMatchSchema() {
+        assertThrows(IllegalArgumentException.class, () -> new ArrayRecord(createSchema(), new Object[] {1, "John Doe"}));
+        assertThrows(SchemaValidationException.class, () -> new ArrayRecord(createSchema(), new Object[] {"one", "John Doe", null}, true, false));
+    }
+
+    @Test
+    public void testRawFieldNames() {
+        final BitSet presentFields = new BitSet();
+        presentFields.set(1);
+        final Record record = new ArrayRecord(createSchema(), new Object[] {null, null, null}, presentFields, null, false, false);
+
+        assertEquals(Collections.singleton("name"), record.getRawFieldNames());
+        assertFalse(record.getRawFieldNames().contains("id"));
+        assertFalse(record.getRawFieldNames().contains("fullName"));
+
+        record.setValue("id", 5);
+        record.setValue("other", "value");
+        assertTrue(record.getRawFieldNames().contains("id"));
+        assertTrue(record.getRawFieldNames().contains("other"));
+        assertEquals(3, record.getRawFieldNames().size());
+    }
+
+    @Test
+    public void testIndexedAccess() {
+        final RecordSchema schema = createSchema();
+        final BitSet presentFields = new BitSet();
+        presentFields.set(0);
+        presentFields.set(1);
+        final ArrayRecord record = new ArrayRecord(schema, new Object[] {1, null, null}, presentFields, null, false, false);
+
+        assertTrue(record.isIndexedBy(schema));
+        assertFalse(record.isIndexedBy(new SimpleRecordSchema(schema.getFields())));
+        assertEquals(1, record.getValue(0));
+        assertNull(record.getValue(1));
+        assertEquals("hello", record.getValue(2));
+        assertTrue(record.isFieldPresent(1));
+        assertFalse(record.isFieldPresent(2));
+    }
+
+    @Test
+    public void testSetValue() {
+        final Record record = new ArrayRecord(createSchema(), new Object[] {1, "John Doe", null}, null,
+            SerializedForm.of("{}", "application/json"), true, false);
+
+        record.setValue("id", 1);
+        assertTrue(record.getSerializedForm().isPresent());
+
+        record.setValue("id", "2");
+        assertEquals(2, record.getValue("id"));
+        assertFalse(record.getSerializedForm().isPresent());
+
+        record.setValue("other", "value");
+        assertEquals("value", record.getValue("other"));
+        record.incorporateInactiveFields();
+        assertEquals(Optional.of(RecordFieldType.STRING.getDataType()), record.getSchema().getDataType("other"));
+        assertEquals("value", record.getValue("other"));
+    }
+
+    @Test
+    public void testDropUnknownFields() {
+        final Record record = new ArrayRecord(createSchema(), new Object[] {1, "John Doe", null}, false, true);
+
+        record.setValue("other", "value");
+        assertNull(record.getValue("other"));
+        assertEquals(3, record.getRawFieldNames().size());
+    }
+
+    @Test
+    public void testEqualToMapRecord() {
+        final RecordSchema schema = createSchema();
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", 1);
+        values.put("name", "John Doe");
+        values.put("greeting", null);
+
+        final Record mapRecord = new MapRecord(schema, values);
+        final Record arrayRecord = new ArrayRecord(schema, new Object[] {1, "John Doe", null});
+
+        assertEquals(mapRecord, arrayRecord);
+        assertEquals(arrayRecord, mapRecord);
+        assertEquals(mapRecord.hashCode(), arrayRecord.hashCode());
+        assertEquals(mapRecord.toMap(), arrayRecord.toMap());
+
+        arrayRecord.setValue("name", "Jane Doe");
+        assertFalse(arrayRecord.equals(mapRecord));
+    }
+
+    @Test
+    public void testNestedSchema() {
+        final List<RecordField> nestedFields = new ArrayList<>();
+        nestedFields.add(new RecordField("test", RecordFieldType.STRING.getDataType()));
+        final RecordSchema nestedSchema = new SimpleRecordSchema(nestedFields);
+
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("nested", new RecordDataType(nestedSchema)));
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+
+        final Record nestedRecord = new ArrayRecord(nestedSchema, new Object[] {"Hello, world!"});
+        final ArrayRecord record = new ArrayRecord(schema, new Object[] {nestedRecord});
+
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("test", "Hello, world!");
+        assertEquals(expected, record.toMap(true).get("nested"));
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("nested", nestedRecord);
+        assertEquals(expected, new MapRecord(schema, values).toMap(true).get("nested"));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.RecordReader;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.ArrayRecord;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRecordBatch {
+
+    private static final RecordSchema SCHEMA = new SimpleRecordSchema(Arrays.asList(
+        new RecordField("id", RecordFieldType.INT.getDataType()),
+        new RecordField("name", RecordFieldType.STRING.getDataType()),
+        new RecordField("balance", RecordFieldType.DOUBLE.getDataType()),
+        new RecordField("active", RecordFieldType.BOOLEAN.getDataType())));
+
+    @Test
+    public void testTypedColumns() {
+        final RecordBatch batch = new RecordBatch(SCHEMA, 4);
+        batch.addRow(new Object[] {1, "John", 4.5D, true});
+        batch.addRow(new Object[] {null, null, null, null});
+        batch.addRow(new Object[] {"3", "Jane", 1.25F, false});
+
+        assertEquals(3, batch.getRowCount());
+        assertTrue(batch.isColumnar());
+
+        final LongColumnVector ids = (LongColumnVector) batch.getColumn(0);
+        assertTrue(ids.isTyped(0));
+        assertEquals(1L, ids.getLong(0));
+        assertEquals(1, ids.getObject(0));
+        assertTrue(ids.isNull(1));
+        assertFalse(ids.isTyped(1));
+        assertNull(ids.getObject(1));
+        assertFalse(ids.isTyped(2));
+        assertEquals("3", ids.getObject(2));
+
+        final DoubleColumnVector balances = (DoubleColumnVector) batch.getColumn("balance").get();
+        assertEquals(4.5D, balances.getDouble(0));
+        assertEquals(1.25F, balances.getObject(2));
+
+        final BooleanColumnVector active = (BooleanColumnVector) batch.getColumn(3);
+        assertTrue(active.getBoolean(0));
+        assertEquals(false, active.getObject(2));
+
+        assertTrue(batch.getColumn(1) instanceof ObjectColumnVector);
+        assertFalse(batch.getColumn("missing").isPresent());
+
+        final Record record = batch.getRecord(0);
+        assertEquals(SCHEMA, record.getSchema());
+        assertEquals(1, record.getValue("id"));
+        assertEquals("John", record.getValue("name"));
+        assertEquals(4.5D, record.getValue("balance"));
+        assertEquals(true, record.getValue("active"));
+    }
+
+    @Test
+    public void testCapacityAndClear() {
+        final RecordBatch batch = new RecordBatch(SCHEMA, 1);
+        batch.addRow(new Object[] {1, "John", 4.5D, true});
+        assertTrue(batch.isFull());
+        assertThrows(IllegalStateException.class, () -> batch.addRow(new Object[] {2, "Jane", 1.0D, false}));
+
+        batch.clear();
+        assertTrue(batch.isEmpty());
+        batch.addRow(new Object[] {2, null, 1.0D, false});
+        assertEquals(2, batch.getRecord(0).getValue("id"));
+        assertNull(batch.getRecord(0).getValue("name"));
+    }
+
+    @Test
+    public void testAddRecord() {
+        final RecordBatch batch = new RecordBatch(SCHEMA, 4);
+
+        batch.addRecord(new ArrayRecord(SCHEMA, new Object[] {1, "John", 4.5D, true}));
+        assertTrue(batch.isColumnar());
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", 2);
+        values.put("name", "Jane");
+        values.put("balance", 1.0D);
+        values.put("active", false);
+        batch.addRecord(new MapRecord(SCHEMA, values));
+        assertTrue(batch.isColumnar());
+
+        // A Record with a value for a field that is not in the schema must be retained
+        final Map<String, Object> extraValues = new HashMap<>(values);
+        extraValues.put("extra", "value");
+        final Record extraRecord = new MapRecord(SCHEMA, extraValues);
+        batch.addRecord(extraRecord);
+        assertFalse(batch.isColumnar());
+        assertSame(extraRecord, batch.getRecord(2));
+        assertEquals("Jane", batch.getColumn(1).getObject(2));
+
+        // A Record that has no value for a field must be retained
+        final Record missingRecord = new MapRecord(SCHEMA, Collections.singletonMap("id", 4));
+        batch.addRecord(missingRecord);
+        assertSame(missingRecord, batch.getRecord(3));
+        assertTrue(batch.getColumn(1).isNull(3));
+
+        assertEquals(1, batch.getRecord(0).getValue("id"));
+        assertEquals("Jane", batch.getRecord(1).getValue("name"));
+
+        batch.clear();
+        assertTrue(batch.isColumnar());
+    }
+
+    @Test
+    public void testNextBatch() throws IOException, MalformedRecordException {
+        final List<Record> records = Arrays.asList(
+            new ArrayRecord(SCHEMA, new Object[] {1, "a", 1.0D, true}),
+            new ArrayRecord(SCHEMA, new Object[] {2, "b", 2.0D, false}),
+            new ArrayRecord(SCHEMA, new Object[] {3, "c", 3.0D, true}));
+
+        final Iterator<Record> iterator = records.iterator();
+        final RecordReader reader = new RecordReader() {
+            @Override
+            public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public RecordSchema getSchema() {
+                return SCHEMA;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        final RecordBatch batch = new RecordBatch(SCHEMA, 2);
+        assertEquals(2, reader.nextBatch(batch, true, false));
+        assertEquals(2L, ((LongColumnVector) batch.getColumn(0)).getLong(1));
+        assertEquals(1, reader.nextBatch(batch, true, false));
+        assertEquals("c", batch.getRecord(0).getValue("name"));
+        assertEquals(0, reader.nextBatch(batch, true, false));
+    }
+}
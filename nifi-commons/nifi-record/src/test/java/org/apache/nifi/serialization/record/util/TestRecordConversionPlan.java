@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization.record.util;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRecordConversionPlan {
+
+    private static final RecordSchema TARGET_SCHEMA = new SimpleRecordSchema(Arrays.asList(
+        new RecordField("id", RecordFieldType.INT.getDataType()),
+        new RecordField("name", RecordFieldType.STRING.getDataType()),
+        new RecordField("amount", RecordFieldType.DOUBLE.getDataType()),
+        new RecordField("created", RecordFieldType.TIMESTAMP.getDataType()),
+        new RecordField("birthday", RecordFieldType.DATE.getDataType()),
+        new RecordField("tags", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType()))));
+
+    @Test
+    public void testPlanCached() {
+        final RecordSchema equalSchema = new SimpleRecordSchema(TARGET_SCHEMA.getFields());
+
+        assertSame(RecordConversionPlan.getPlan(TARGET_SCHEMA), RecordConversionPlan.getPlan(equalSchema));
+        assertTrue(RecordConversionPlan.getCachedPlanCount() <= RecordConversionPlan.MAX_CACHED_PLANS);
+    }
+
+    @Test
+    public void testConvertValues() {
+        final RecordConversionPlan plan = RecordConversionPlan.getPlan(TARGET_SCHEMA);
+
+        final Integer id = 42;
+        assertSame(id, plan.convert(0, id));
+        assertEquals(42, plan.convert(0, "42"));
+        assertEquals(42, plan.convert(0, 42L));
+        assertNull(plan.convert(0, null));
+
+        assertEquals("42", plan.convert(1, 42));
+        assertEquals(4.5D, plan.convert(2, "4.5"));
+
+        final Timestamp timestamp = new Timestamp(1000L);
+        assertSame(timestamp, plan.convert(3, timestamp));
+        assertEquals(Timestamp.valueOf("2022-03-04 05:06:07"), plan.convert(3, "2022-03-04 05:06:07"));
+        assertEquals(Date.valueOf("2022-03-04"), plan.convert(4, "2022-03-04"));
+
+        final Object[] tags = new Object[] {"a", 1};
+        assertArrayEquals((Object[]) DataTypeUtils.convertType(tags, TARGET_SCHEMA.getDataType("tags").get(), "tags"), (Object[]) plan.convert(5, tags));
+        assertThrows(NumberFormatException.class, () -> plan.convert(0, "forty-two"));
+    }
+
+    @Test
+    public void testConvertValuesWithFormats() {
+        final RecordConversionPlan plan = RecordConversionPlan.getPlan(TARGET_SCHEMA, TARGET_SCHEMA, "dd/MM/yyyy", null, null);
+
+        assertEquals(Date.valueOf("2022-03-04"), plan.convert(4, "04/03/2022"));
+        assertEquals(new Timestamp(1000L), plan.convert(3, "1000"));
+    }
+
+    @Test
+    public void testConvertRecord() {
+        final RecordSchema sourceSchema = new SimpleRecordSchema(Arrays.asList(
+            new RecordField("fullName", RecordFieldType.STRING.getDataType()),
+            new RecordField("id", RecordFieldType.STRING.getDataType()),
+            new RecordField("amount", RecordFieldType.STRING.getDataType())));
+        final RecordSchema targetSchema = new SimpleRecordSchema(Arrays.asList(
+            new RecordField("id", RecordFieldType.LONG.getDataType()),
+            new RecordField("name", RecordFieldType.STRING.getDataType(), null, Collections.singleton("fullName")),
+            new RecordField("amount", RecordFieldType.DECIMAL.getDecimalDataType(5, 2)),
+            new RecordField("missing", RecordFieldType.INT.getDataType())));
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("fullName", "John Doe");
+        values.put("id", "7");
+        values.put("amount", "1.25");
+        final Record record = new MapRecord(sourceSchema, values);
+
+        final Record converted = RecordConversionPlan.getPlan(sourceSchema, targetSchema).convert(record);
+        assertEquals(targetSchema, converted.getSchema());
+        assertEquals(7L, converted.getValue("id"));
+        assertEquals("John Doe", converted.getValue("name"));
+        assertEquals(new BigDecimal("1.25"), converted.getValue("amount"));
+        assertNull(converted.getValue("missing"));
+    }
+}
@@ -16,12 +16,17 @@
  */
 package org.apache.nifi.remote.client;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import org.apache.nifi.remote.Transaction;
+import org.apache.nifi.remote.TransactionCompletion;
 
 public abstract class AbstractSiteToSiteClient implements SiteToSiteClient {
 
     protected final SiteToSiteClientConfig config;
     protected final SiteInfoProvider siteInfoProvider;
+    protected final TransactionConfirmationPipeline confirmationPipeline;
 
     public AbstractSiteToSiteClient(final SiteToSiteClientConfig config) {
         this.config = config;
@@ -35,6 +40,13 @@ public abstract class AbstractSiteToSiteClient implements SiteToSiteClient {
         siteInfoProvider.setCachedContentsExpirationMillis(config.getCacheExpiration(TimeUnit.MILLISECONDS));
         siteInfoProvider.setProxy(config.getHttpProxy());
         siteInfoProvider.setLocalAddress(config.getLocalAddress());
+
+        confirmationPipeline = new TransactionConfirmationPipeline(config.getMaxOutstandingTransactions());
+    }
+
+    @Override
+    public CompletableFuture<TransactionCompletion> completeAsync(final Transaction transaction) throws IOException {
+        return confirmationPipeline.submit(transaction);
     }
 
     @Override
@@ -27,6 +27,7 @@ import java.security.KeyStore;
 import java.security.SecureRandom;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
@@ -34,6 +35,7 @@ import javax.net.ssl.TrustManagerFactory;
 import org.apache.nifi.components.state.StateManager;
 import org.apache.nifi.events.EventReporter;
 import org.apache.nifi.remote.Transaction;
+import org.apache.nifi.remote.TransactionCompletion;
 import org.apache.nifi.remote.TransferDirection;
 import org.apache.nifi.remote.client.http.HttpClient;
 import org.apache.nifi.remote.client.socket.SocketClient;
@@ -115,6 +117,43 @@ public interface SiteToSiteClient extends Closeable {
      */
     Transaction createTransaction(TransferDirection direction) throws HandshakeException, PortNotRunningException, ProtocolException, UnknownPortException, IOException;
 
+    /**
+     * <p>
+     * Confirms and completes the given Transaction in the background, so that the caller
+     * can create its next Transaction while the confirmation round trips to the remote
+     * instance are still outstanding. At most
+     * {@link SiteToSiteClientConfig#getMaxOutstandingTransactions()} Transactions per peer
+     * can be outstanding; when that many are in flight, this method blocks until one of them
+     * has completed.
+     * </p>
+     *
+     * <p>
+     * The data of the Transaction has been delivered only once the returned future completes
+     * successfully. If the future completes exceptionally, the Transaction has been marked as
+     * errored and the data must be sent again, so callers must keep the data until then.
+     * </p>
+     *
+     * <p>
+     * The default implementation confirms and completes the Transaction on the calling thread
+     * and returns a future that has already completed.
+     * </p>
+     *
+     * @param transaction a Transaction for which all data has been sent or received
+     * @return a future that completes once the remote instance has acknowledged the Transaction
+     * @throws IOException if interrupted while waiting for an outstanding Transaction, or if the client has been closed
+     */
+    default CompletableFuture<TransactionCompletion> completeAsync(final Transaction transaction) throws IOException {
+        final CompletableFuture<TransactionCompletion> future = new CompletableFuture<>();
+        try {
+            transaction.confirm();
+            future.complete(transaction.complete());
+        } catch (final IOException | RuntimeException e) {
+            transaction.error();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * <p>
      * In order to determine whether the server is configured for secure
@@ -175,6 +214,7 @@ public interface SiteToSiteClient extends Closeable {
         private InetAddress localAddress;
         private SiteToSiteTransportProtocol transportProtocol = SiteToSiteTransportProtocol.RAW;
         private HttpProxy httpProxy;
+        private int maxOutstandingTransactions = 1;
 
         /**
          * Populates the builder with values from the provided config
@@ -206,6 +246,7 @@ public interface SiteToSiteClient extends Closeable {
             this.batchNanos = config.getPreferredBatchDuration(TimeUnit.NANOSECONDS);
             this.localAddress = config.getLocalAddress();
             this.httpProxy = config.getHttpProxy();
+            this.maxOutstandingTransactions = config.getMaxOutstandingTransactions();
 
             return this;
         }
@@ -614,6 +655,24 @@ public interface SiteToSiteClient extends Closeable {
             return this;
         }
 
+        /**
+         * Specifies how many Transactions per peer may await confirmation at the same
+         * time when they are completed through {@link SiteToSiteClient#completeAsync(Transaction)}.
+         * Over high-latency links, a larger window allows throughput that is not bounded by
+         * the round trip time of each confirmation. The default value is 1.
+         *
+         * @param maxOutstandingTransactions maximum number of outstanding Transactions per peer
+         * @return the builder
+         * @throws IllegalArgumentException if the maximum is less than 1
+         */
+        public Builder maxOutstandingTransactions(final int maxOutstandingTransactions) {
+            if (maxOutstandingTransactions < 1) {
+                throw new IllegalArgumentException("Max Outstanding Transactions must be at least 1");
+            }
+            this.maxOutstandingTransactions = maxOutstandingTransactions;
+            return this;
+        }
+
         /**
          * @return a {@link SiteToSiteClientConfig} for the configured values
          * but does not create a SiteToSiteClient
@@ -753,6 +812,13 @@ public interface SiteToSiteClient extends Closeable {
             return httpProxy;
         }
 
+        /**
+         * @return the maximum number of Transactions per peer that may await confirmation at the same time
+         */
+        public int getMaxOutstandingTransactions() {
+            return maxOutstandingTransactions;
+        }
+
     }
 
 
@@ -786,6 +852,7 @@ public interface SiteToSiteClient extends Closeable {
         private final long batchNanos;
         private final HttpProxy httpProxy;
         private final InetAddress localAddress;
+        private final int maxOutstandingTransactions;
 
         // some serialization frameworks require a default constructor
         private StandardSiteToSiteClientConfig() {
@@ -812,6 +879,7 @@ public interface SiteToSiteClient extends Closeable {
             this.transportProtocol = null;
             this.httpProxy = null;
             this.localAddress = null;
+            this.maxOutstandingTransactions = 1;
         }
 
         private StandardSiteToSiteClientConfig(final SiteToSiteClient.Builder builder) {
@@ -841,6 +909,7 @@ public interface SiteToSiteClient extends Closeable {
             this.transportProtocol = builder.getTransportProtocol();
             this.httpProxy = builder.getHttpProxy();
             this.localAddress = builder.localAddress;
+            this.maxOutstandingTransactions = builder.getMaxOutstandingTransactions();
         }
 
         @Override
@@ -1027,5 +1096,10 @@ public interface SiteToSiteClient extends Closeable {
         public InetAddress getLocalAddress() {
             return localAddress;
         }
+
+        @Override
+        public int getMaxOutstandingTransactions() {
+            return maxOutstandingTransactions;
+        }
     }
 }
@@ -200,4 +200,13 @@ public interface SiteToSiteClientConfig extends Serializable {
      *         {@code null} to bind to the {@code anyLocal} address.
      */
     InetAddress getLocalAddress();
+
+    /**
+     * @return the maximum number of Transactions per peer that may await confirmation at the same time
+     * when they are completed through {@link SiteToSiteClient#completeAsync(org.apache.nifi.remote.Transaction)}.
+     * The default is 1.
+     */
+    default int getMaxOutstandingTransactions() {
+        return 1;
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import org.apache.nifi.remote.Transaction;
+import org.apache.nifi.remote.TransactionCompletion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Confirms and completes Transactions on background threads, so that the thread that filled a Transaction
+ * can start the next one without waiting for the confirmation round trips to the remote instance.
+ * The number of Transactions awaiting completion is bounded for each peer; once that window is full,
+ * {@link #submit(Transaction)} blocks until one of the outstanding Transactions of that peer has finished.
+ */
+public class TransactionConfirmationPipeline implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionConfirmationPipeline.class);
+
+    private final int maxOutstandingTransactions;
+    private final ConcurrentMap<String, Semaphore> windows = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public TransactionConfirmationPipeline(final int maxOutstandingTransactions) {
+        if (maxOutstandingTransactions < 1) {
+            throw new IllegalArgumentException("maxOutstandingTransactions must be at least 1");
+        }
+        this.maxOutstandingTransactions = maxOutstandingTransactions;
+
+        executor = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = defaultFactory.newThread(r);
+                thread.setName("Site-to-Site Transaction Confirmation");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Confirms and completes the given Transaction in the background. If the confirmation fails,
+     * for instance because the CRC of the sender and receiver do not match, the Transaction is
+     * marked as errored and the returned future completes exceptionally.
+     *
+     * @param transaction a Transaction for which all data has been sent or received
+     * @return a future that completes once the remote instance has acknowledged the Transaction
+     * @throws IOException if interrupted while waiting for a free slot in the peer's window, or if the pipeline has been closed
+     */
+    public CompletableFuture<TransactionCompletion> submit(final Transaction transaction) throws IOException {
+        final String peerUrl = transaction.getCommunicant().getUrl();
+        final Semaphore window = windows.computeIfAbsent(peerUrl, url -> new Semaphore(maxOutstandingTransactions));
+
+        try {
+            window.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an outstanding Transaction with " + peerUrl + " to complete", e);
+        }
+
+        final CompletableFuture<TransactionCompletion> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    transaction.confirm();
+                    future.complete(transaction.complete());
+                } catch (final Throwable t) {
+                    logger.warn("Failed to confirm Transaction with {} due to {}", peerUrl, t.toString());
+                    transaction.error();
+                    future.completeExceptionally(t);
+                } finally {
+                    window.release();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            window.release();
+            throw new IOException("Transaction Confirmation Pipeline has been closed", e);
+        }
+
+        return future;
+    }
+
+    /**
+     * @return the maximum number of Transactions per peer that can await completion at the same time
+     */
+    public int getMaxOutstandingTransactions() {
+        return maxOutstandingTransactions;
+    }
+
+    /**
+     * Stops accepting new Transactions. Transactions that have already been submitted are still completed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
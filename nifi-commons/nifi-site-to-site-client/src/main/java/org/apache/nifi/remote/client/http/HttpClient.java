@@ -28,6 +28,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.nifi.remote.Peer;
 import org.apache.nifi.remote.PeerDescription;
 import org.apache.nifi.remote.PeerStatus;
@@ -53,7 +54,11 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
 
     private static final Logger logger = LoggerFactory.getLogger(HttpClient.class);
 
+    // Upper bound of pooled connections to a single peer, shared by all concurrent transactions to that peer
+    private static final int MAX_CONNECTIONS_PER_PEER = 100;
+
     private final ScheduledExecutorService taskExecutor;
+    private final CloseableHttpClient sharedHttpClient;
     private final PeerSelector peerSelector;
     private final Set<HttpClientTransaction> activeTransactions = Collections.synchronizedSet(new HashSet<>());
 
@@ -63,6 +68,9 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
         peerSelector = new PeerSelector(this, config.getPeerPersistence());
         peerSelector.setEventReporter(config.getEventReporter());
 
+        sharedHttpClient = SiteToSiteRestApiClient.createSharedHttpClient(config.getSslContext(), config.getHttpProxy(), config.getEventReporter(),
+                MAX_CONNECTIONS_PER_PEER, config.getIdleConnectionExpiration(TimeUnit.MILLISECONDS));
+
         taskExecutor = Executors.newScheduledThreadPool(1, new ThreadFactory() {
             private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
 
@@ -99,7 +107,7 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
     public Set<PeerStatus> fetchRemotePeerStatuses(PeerDescription peerDescription) throws IOException {
         // Each node should have the same URL structure and network reachability with the proxy configuration
         // Construct API client and provide to retrieval method
-        try (final SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(config.getSslContext(), config.getHttpProxy(), config.getEventReporter())) {
+        try (final SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(config.getSslContext(), config.getHttpProxy(), config.getEventReporter(), sharedHttpClient)) {
             final String scheme = peerDescription.isSecure() ? "https" : "http";
             apiClient.setBaseUrl(scheme, peerDescription.getHostname(), peerDescription.getPort());
 
@@ -161,7 +169,7 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
                 }
             }
 
-            final SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(config.getSslContext(), config.getHttpProxy(), config.getEventReporter());
+            final SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(config.getSslContext(), config.getHttpProxy(), config.getEventReporter(), sharedHttpClient);
 
             apiClient.setBaseUrl(peer.getUrl());
             apiClient.setConnectTimeoutMillis(timeoutMillis);
@@ -237,11 +245,14 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
     @Override
     public void close() throws IOException {
         taskExecutor.shutdown();
+        confirmationPipeline.close();
         peerSelector.clear();
 
         for (final HttpClientTransaction transaction : activeTransactions) {
             transaction.getCommunicant().getCommunicationsSession().interrupt();
         }
+
+        sharedHttpClient.close();
     }
 
     @Override
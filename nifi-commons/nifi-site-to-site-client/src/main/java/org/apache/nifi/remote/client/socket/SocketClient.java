@@ -216,6 +216,7 @@ public class SocketClient extends AbstractSiteToSiteClient {
     @Override
     public void close() throws IOException {
         closed = true;
+        confirmationPipeline.close();
         pool.shutdown();
     }
 
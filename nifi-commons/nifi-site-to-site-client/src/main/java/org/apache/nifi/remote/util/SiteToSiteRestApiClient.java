@@ -94,6 +94,7 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URIUtils;
 import org.apache.http.conn.ManagedHttpClientConnection;
 import org.apache.http.entity.BasicHttpEntity;
@@ -150,6 +151,8 @@ public class SiteToSiteRestApiClient implements Closeable {
     private static final int RESPONSE_CODE_FORBIDDEN = 403;
     private static final int RESPONSE_CODE_NOT_FOUND = 404;
 
+    private static final String TRUSTED_PEER_DN_ATTRIBUTE = "nifi.s2s.trusted.peer.dn";
+
     private static final Logger logger = LoggerFactory.getLogger(SiteToSiteRestApiClient.class);
 
     private String baseUrl;
@@ -161,7 +164,9 @@ public class SiteToSiteRestApiClient implements Closeable {
     private RequestConfig requestConfig;
     private CredentialsProvider credentialsProvider;
     private CloseableHttpClient httpClient;
+    private final boolean httpClientShared;
     private CloseableHttpAsyncClient httpAsyncClient;
+    private volatile CloseableHttpResponse receiveResponse;
 
     private boolean compress = false;
     private InetAddress localAddress = null;
@@ -188,9 +193,22 @@ public class SiteToSiteRestApiClient implements Closeable {
     private volatile long lastPruneTimestamp = System.currentTimeMillis();
 
     public SiteToSiteRestApiClient(final SSLContext sslContext, final HttpProxy proxy, final EventReporter eventReporter) {
+        this(sslContext, proxy, eventReporter, null);
+    }
+
+    /**
+     * Creates a client that sends its synchronous requests through the given shared HTTP client,
+     * so that persistent connections to a peer can be reused across transactions.
+     * The shared client is not closed when this client is closed.
+     *
+     * @param sharedHttpClient a client created by {@link #createSharedHttpClient}, or null to create a dedicated client
+     */
+    public SiteToSiteRestApiClient(final SSLContext sslContext, final HttpProxy proxy, final EventReporter eventReporter, final CloseableHttpClient sharedHttpClient) {
         this.sslContext = sslContext;
         this.proxy = proxy;
         this.eventReporter = eventReporter;
+        this.httpClient = sharedHttpClient;
+        this.httpClientShared = sharedHttpClient != null;
 
         ttlExtendTaskExecutor = Executors.newScheduledThreadPool(1, new ThreadFactory() {
             private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
@@ -208,10 +226,40 @@ public class SiteToSiteRestApiClient implements Closeable {
     @Override
     public void close() throws IOException {
         stopExtendingTransaction();
-        closeSilently(httpClient);
+        // Release the connection of a receive transaction that was not read to the end, so that it is not leaked from the shared pool
+        closeReceiveResponse();
+        if (!httpClientShared) {
+            closeSilently(httpClient);
+        }
         closeSilently(httpAsyncClient);
     }
 
+    /**
+     * Creates an HTTP client with a connection pool that can be shared by many {@link SiteToSiteRestApiClient} instances.
+     * Connection state tracking is disabled so that connections authenticated with the client certificate of the
+     * given SSLContext can be leased by any transaction, rather than only by the one that opened them.
+     *
+     * @param sslContext SSLContext to use for secure connections, may be null
+     * @param proxy HTTP proxy to use, may be null
+     * @param eventReporter reporter for warnings about peer certificates
+     * @param maxConnectionsPerPeer maximum number of pooled connections for each peer
+     * @param idleConnectionExpirationMillis how long an idle pooled connection is kept open
+     * @return the shared client, which has to be closed by the caller
+     */
+    public static CloseableHttpClient createSharedHttpClient(final SSLContext sslContext, final HttpProxy proxy, final EventReporter eventReporter,
+                                                             final int maxConnectionsPerPeer, final long idleConnectionExpirationMillis) {
+        final HttpClientBuilder clientBuilder = createHttpClientBuilder(sslContext, createCredentialsProvider(proxy), eventReporter)
+            .setMaxConnPerRoute(maxConnectionsPerPeer)
+            .setMaxConnTotal(Integer.MAX_VALUE)
+            .disableConnectionState();
+
+        if (idleConnectionExpirationMillis > 0) {
+            clientBuilder.evictIdleConnections(idleConnectionExpirationMillis, TimeUnit.MILLISECONDS);
+        }
+
+        return clientBuilder.build();
+    }
+
     private CloseableHttpClient getHttpClient() {
         if (httpClient == null) {
             setupClient();
@@ -258,7 +306,11 @@ public class SiteToSiteRestApiClient implements Closeable {
     }
 
     private void setupCredentialsProvider() {
-        credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider = createCredentialsProvider(proxy);
+    }
+
+    private static CredentialsProvider createCredentialsProvider(final HttpProxy proxy) {
+        final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
         if (proxy != null) {
             if (!isEmpty(proxy.getUsername()) && !isEmpty(proxy.getPassword())) {
                 credentialsProvider.setCredentials(
@@ -267,18 +319,22 @@ public class SiteToSiteRestApiClient implements Closeable {
             }
 
         }
+        return credentialsProvider;
     }
 
     private void setupClient() {
+        httpClient = createHttpClientBuilder(sslContext, getCredentialsProvider(), eventReporter).build();
+    }
+
+    private static HttpClientBuilder createHttpClientBuilder(final SSLContext sslContext, final CredentialsProvider credentialsProvider, final EventReporter eventReporter) {
         final HttpClientBuilder clientBuilder = HttpClients.custom();
 
         if (sslContext != null) {
             clientBuilder.setSSLContext(sslContext);
-            clientBuilder.addInterceptorFirst(new HttpsResponseInterceptor());
+            clientBuilder.addInterceptorFirst(new HttpsResponseInterceptor(eventReporter));
         }
 
-        httpClient = clientBuilder
-            .setDefaultCredentialsProvider(getCredentialsProvider()).build();
+        return clientBuilder.setDefaultCredentialsProvider(credentialsProvider);
     }
 
     private void setupAsyncClient() {
@@ -286,14 +342,24 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         if (sslContext != null) {
             clientBuilder.setSSLContext(sslContext);
-            clientBuilder.addInterceptorFirst(new HttpsResponseInterceptor());
+            clientBuilder.addInterceptorFirst(new HttpsResponseInterceptor(eventReporter));
         }
 
         httpAsyncClient = clientBuilder.setDefaultCredentialsProvider(getCredentialsProvider()).build();
         httpAsyncClient.start();
     }
 
-    private class HttpsResponseInterceptor implements HttpResponseInterceptor {
+    /**
+     * Stores the subject DN of the peer certificate in the HttpContext, so that it can be read by
+     * the client that sent the request even if the HTTP client is shared.
+     */
+    private static class HttpsResponseInterceptor implements HttpResponseInterceptor {
+        private final EventReporter eventReporter;
+
+        private HttpsResponseInterceptor(final EventReporter eventReporter) {
+            this.eventReporter = eventReporter;
+        }
+
         @Override
         public void process(final HttpResponse response, final HttpContext httpContext) throws HttpException, IOException {
             final HttpCoreContext coreContext = HttpCoreContext.adapt(httpContext);
@@ -320,7 +386,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
                 try {
                     final X509Certificate cert = CertificateUtils.convertAbstractX509Certificate(certChain[0]);
-                    trustedPeerDn = cert.getSubjectDN().getName().trim();
+                    httpContext.setAttribute(TRUSTED_PEER_DN_ATTRIBUTE, cert.getSubjectDN().getName().trim());
                 } catch (final CertificateException e) {
                     final String msg = "Could not extract subject DN from SSL session peer certificate";
                     logger.warn(msg);
@@ -515,7 +581,7 @@ public class SiteToSiteRestApiClient implements Closeable {
      * @throws IOException thrown if the post request failed
      */
     private HttpResponse initiateTransactionForReceive(final HttpPost post) throws IOException {
-        return getHttpClient().execute(post);
+        return executeRequest(post);
     }
 
     /**
@@ -631,10 +697,12 @@ public class SiteToSiteRestApiClient implements Closeable {
             }
         };
 
-        final Future<HttpResponse> responseFuture = getHttpAsyncClient().execute(asyncRequestProducer, new BasicAsyncResponseConsumer(), null);
+        final HttpClientContext context = HttpClientContext.create();
+        final Future<HttpResponse> responseFuture = getHttpAsyncClient().execute(asyncRequestProducer, new BasicAsyncResponseConsumer(), context, null);
         final HttpResponse response;
         try {
             response = responseFuture.get(readTimeoutMillis, TimeUnit.MILLISECONDS);
+            captureTrustedPeerDn(context);
 
         } catch (final ExecutionException e) {
             logger.debug("Something has happened at initiate transaction requesting thread. {}", e.getMessage());
@@ -672,6 +740,20 @@ public class SiteToSiteRestApiClient implements Closeable {
         }
     }
 
+    private CloseableHttpResponse executeRequest(final HttpRequestBase request) throws IOException {
+        final HttpClientContext context = HttpClientContext.create();
+        final CloseableHttpResponse response = getHttpClient().execute(request, context);
+        captureTrustedPeerDn(context);
+        return response;
+    }
+
+    private void captureTrustedPeerDn(final HttpContext context) {
+        final Object peerDn = context.getAttribute(TRUSTED_PEER_DN_ATTRIBUTE);
+        if (peerDn != null) {
+            trustedPeerDn = (String) peerDn;
+        }
+    }
+
     private IOException toIOException(ExecutionException e) {
         final Throwable cause = e.getCause();
         if (cause instanceof IOException) {
@@ -695,7 +777,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         setHandshakeProperties(get);
 
-        final CloseableHttpResponse response = getHttpClient().execute(get);
+        final CloseableHttpResponse response = executeRequest(get);
         final int responseCode = response.getStatusLine().getStatusCode();
         logger.debug("responseCode={}", responseCode);
 
@@ -717,13 +799,21 @@ public class SiteToSiteRestApiClient implements Closeable {
                             if (closed) {
                                 return -1;
                             }
-                            final int r = httpIn.read();
+                            final int r;
+                            try {
+                                r = httpIn.read();
+                            } catch (final IOException | RuntimeException e) {
+                                closed = true;
+                                stopExtendingTransaction();
+                                closeReceiveResponse();
+                                throw e;
+                            }
                             if (r < 0) {
                                 closed = true;
                                 logger.debug("Reached to end of input stream. Closing resources...");
                                 stopExtendingTransaction();
                                 closeSilently(httpIn);
-                                closeSilently(response);
+                                closeReceiveResponse();
                             }
                             return r;
                         }
@@ -731,6 +821,7 @@ public class SiteToSiteRestApiClient implements Closeable {
                     ((HttpInput) peer.getCommunicationsSession().getInput()).setInputStream(streamCapture);
 
                     startExtendingTransaction(transactionUrl);
+                    receiveResponse = response;
                     keepItOpen = true;
                     return true;
 
@@ -747,6 +838,14 @@ public class SiteToSiteRestApiClient implements Closeable {
     }
 
 
+    private void closeReceiveResponse() {
+        final CloseableHttpResponse response = receiveResponse;
+        if (response != null) {
+            receiveResponse = null;
+            closeSilently(response);
+        }
+    }
+
     public void openConnectionForSend(final String transactionUrl, final Peer peer) throws IOException {
 
         final CommunicationsSession commSession = peer.getCommunicationsSession();
@@ -1001,7 +1100,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         setHandshakeProperties(put);
 
-        try (final CloseableHttpResponse response = getHttpClient().execute(put)) {
+        try (final CloseableHttpResponse response = executeRequest(put)) {
             final int responseCode = response.getStatusLine().getStatusCode();
             logger.debug("extendTransaction responseCode={}", responseCode);
 
@@ -1160,13 +1259,11 @@ public class SiteToSiteRestApiClient implements Closeable {
     }
 
     private String execute(final HttpGet get) throws IOException {
-        final CloseableHttpClient httpClient = getHttpClient();
-
         if (logger.isTraceEnabled()) {
             Arrays.stream(get.getAllHeaders()).forEach(h -> logger.debug("REQ| {}", h));
         }
 
-        try (final CloseableHttpResponse response = httpClient.execute(get)) {
+        try (final CloseableHttpResponse response = executeRequest(get)) {
             if (logger.isTraceEnabled()) {
                 Arrays.stream(response.getAllHeaders()).forEach(h -> logger.debug("RES| {}", h));
             }
@@ -1439,7 +1536,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         setHandshakeProperties(delete);
 
-        try (CloseableHttpResponse response = getHttpClient().execute(delete)) {
+        try (CloseableHttpResponse response = executeRequest(delete)) {
             final int responseCode = response.getStatusLine().getStatusCode();
             logger.debug("commitReceivingFlowFiles responseCode={}", responseCode);
 
@@ -1469,7 +1566,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         setHandshakeProperties(delete);
 
-        try (CloseableHttpResponse response = getHttpClient().execute(delete)) {
+        try (CloseableHttpResponse response = executeRequest(delete)) {
             final int responseCode = response.getStatusLine().getStatusCode();
             logger.debug("commitTransferFlowFiles responseCode={}", responseCode);
 
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.client;
+
+import org.apache.nifi.remote.Communicant;
+import org.apache.nifi.remote.Transaction;
+import org.apache.nifi.remote.TransactionCompletion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Timeout(10)
+public class TestTransactionConfirmationPipeline {
+    private static final String PEER_URL = "http://localhost:8080/nifi-api";
+
+    private static final String OTHER_PEER_URL = "http://localhost:8081/nifi-api";
+
+    private TransactionConfirmationPipeline pipeline;
+
+    @BeforeEach
+    public void setPipeline() {
+        pipeline = new TransactionConfirmationPipeline(2);
+    }
+
+    @AfterEach
+    public void closePipeline() {
+        pipeline.close();
+    }
+
+    @Test
+    public void testSubmitCompletesTransaction() throws Exception {
+        final TransactionCompletion completion = mock(TransactionCompletion.class);
+        final Transaction transaction = mockTransaction(PEER_URL);
+        when(transaction.complete()).thenReturn(completion);
+
+        final CompletableFuture<TransactionCompletion> future = pipeline.submit(transaction);
+
+        assertSame(completion, future.get());
+        verify(transaction).confirm();
+        verify(transaction, never()).error();
+    }
+
+    @Test
+    public void testSubmitConfirmFailed() throws Exception {
+        final Transaction transaction = mockTransaction(PEER_URL);
+        doThrow(new IOException("CRC mismatch")).when(transaction).confirm();
+
+        final CompletableFuture<TransactionCompletion> future = pipeline.submit(transaction);
+
+        final ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IOException.class, e.getCause());
+        verify(transaction, never()).complete();
+        verify(transaction).error();
+    }
+
+    @Test
+    public void testSubmitBlocksWhenWindowFull() throws Exception {
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+        final Transaction first = mockBlockingTransaction(PEER_URL, releaseLatch);
+        final Transaction second = mockBlockingTransaction(PEER_URL, releaseLatch);
+        final Transaction otherPeer = mockTransaction(OTHER_PEER_URL);
+        final Transaction third = mockTransaction(PEER_URL);
+
+        final CompletableFuture<TransactionCompletion> firstFuture = pipeline.submit(first);
+        final CompletableFuture<TransactionCompletion> secondFuture = pipeline.submit(second);
+
+        // A full window for one peer must not hold back Transactions with other peers
+        pipeline.submit(otherPeer).get();
+
+        final CompletableFuture<CompletableFuture<TransactionCompletion>> thirdSubmission = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pipeline.submit(third);
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        Thread.sleep(100L);
+        assertFalse(thirdSubmission.isDone());
+
+        releaseLatch.countDown();
+
+        thirdSubmission.get().get();
+        firstFuture.get();
+        secondFuture.get();
+        assertTrue(thirdSubmission.isDone());
+        verify(third).complete();
+    }
+
+    @Test
+    public void testSubmitAfterClose() {
+        pipeline.close();
+
+        assertThrows(IOException.class, () -> pipeline.submit(mockTransaction(PEER_URL)));
+    }
+
+    @Test
+    public void testInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionConfirmationPipeline(0));
+        assertEquals(2, pipeline.getMaxOutstandingTransactions());
+    }
+
+    private Transaction mockTransaction(final String peerUrl) {
+        final Communicant communicant = mock(Communicant.class);
+        when(communicant.getUrl()).thenReturn(peerUrl);
+
+        final Transaction transaction = mock(Transaction.class);
+        when(transaction.getCommunicant()).thenReturn(communicant);
+        return transaction;
+    }
+
+    private Transaction mockBlockingTransaction(final String peerUrl, final CountDownLatch releaseLatch) throws IOException {
+        final Transaction transaction = mockTransaction(peerUrl);
+        when(transaction.complete()).then(invocation -> {
+            releaseLatch.await(5, TimeUnit.SECONDS);
+            return mock(TransactionCompletion.class);
+        });
+        return transaction;
+    }
+}
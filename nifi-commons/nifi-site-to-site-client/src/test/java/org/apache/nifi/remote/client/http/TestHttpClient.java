@@ -61,6 +61,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -1337,6 +1338,26 @@ public class TestHttpClient {
         }
     }
 
+    @Test
+    @Timeout(60)
+    public void testReceiveCanceledReleasesConnection() throws Exception {
+
+        try (
+                SiteToSiteClient client = getDefaultBuilder()
+                        .portName("output-running")
+                        .build()
+        ) {
+            // Cancel more transactions than the connection pool allows for a peer, before their data has been read to the end
+            for (int i = 0; i < 110; i++) {
+                final Transaction transaction = client.createTransaction(TransferDirection.RECEIVE);
+                assertNotNull(transaction);
+
+                consumeDataPacket(transaction.receive());
+                transaction.cancel("Canceled by test");
+            }
+        }
+    }
+
     @Test
     public void testReceiveTimeout() throws Exception {
 
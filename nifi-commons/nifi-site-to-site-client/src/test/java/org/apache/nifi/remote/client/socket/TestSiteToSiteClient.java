@@ -24,6 +24,7 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TestSiteToSiteClient {
 
@@ -40,4 +41,14 @@ public class TestSiteToSiteClient {
         assertEquals("http://node1:8080/nifi", config.getUrl());
         assertEquals(urls, config.getUrls());
     }
+
+    @Test
+    public void testMaxOutstandingTransactions() {
+        final SiteToSiteClient.Builder builder = new SiteToSiteClient.Builder().url("http://node1:8080/nifi");
+        assertEquals(1, builder.buildConfig().getMaxOutstandingTransactions());
+        assertEquals(4, builder.maxOutstandingTransactions(4).buildConfig().getMaxOutstandingTransactions());
+
+        assertThrows(IllegalArgumentException.class, () -> builder.maxOutstandingTransactions(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxOutstandingTransactions(-1));
+    }
 }
@@ -143,6 +143,21 @@ public interface ContentRepository {
      */
     ContentClaim clone(ContentClaim original, boolean lossTolerant) throws IOException;
 
+    /**
+     * Optional operation that creates a new content claim for an existing range of bytes within the given resource claim, without
+     * copying the content. This allows content that is stored contiguously, such as FlowFiles that were written one after another,
+     * to be merged in place. The claimant count of the resource claim is incremented if the claim is created.
+     *
+     * @param resourceClaim the resource claim that holds the content
+     * @param offset the offset of the first byte of the content within the resource claim
+     * @param length the number of bytes of content
+     * @return the new claim, or <code>null</code> if this repository cannot reference a range of a resource claim, in which case
+     * the content has to be copied to a new claim instead
+     */
+    default ContentClaim createClaimReference(ResourceClaim resourceClaim, long offset, long length) {
+        return null;
+    }
+
     /**
      * Creates a new content item that is the merger in iteration order of all
      * content for the given claims
@@ -26,20 +26,33 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * <p>
  * This class is thread safe
+ * </p>
  *
+ * <p>
+ * The bins of each group are guarded by one of a fixed number of locks, chosen by the group identifier, so that FlowFiles
+ * can be offered to different groups concurrently. In addition to the bins of each group, the manager keeps an index of all
+ * bins in the order in which they were created, and an index of the bins that may be ready because they were full enough
+ * after the last FlowFile was offered to them. This allows ready, expired and oldest bins to be found without examining every bin.
+ * </p>
  */
 public class BinManager {
 
+    private static final int STRIPE_COUNT = 16;
+
     private final AtomicLong minSizeBytes = new AtomicLong(0L);
     private final AtomicLong maxSizeBytes = new AtomicLong(Long.MAX_VALUE);
     private final AtomicInteger minEntries = new AtomicInteger(0);
@@ -47,28 +60,42 @@ public class BinManager {
     private final AtomicReference<String> fileCountAttribute = new AtomicReference<>(null);
 
     private final AtomicInteger maxBinAgeSeconds = new AtomicInteger(Integer.MAX_VALUE);
-    private final Map<String, List<Bin>> groupBinMap = new HashMap<>();
-    private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
-    private final Lock rLock = rwLock.readLock();
-    private final Lock wLock = rwLock.writeLock();
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final AtomicLong binSequence = new AtomicLong(0L);
+    private final ConcurrentNavigableMap<Long, ManagedBin> binsByAge = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Long, ManagedBin> possiblyReadyBins = new ConcurrentSkipListMap<>();
 
-    private int binCount = 0;   // guarded by read/write lock
+    private final AtomicInteger binCount = new AtomicInteger(0);
 
     public BinManager() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
     }
 
     public void purge() {
-        wLock.lock();
+        for (final Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+
         try {
-            for (final List<Bin> binList : groupBinMap.values()) {
-                for (final Bin bin : binList) {
-                    bin.getSession().rollback();
+            for (final Stripe stripe : stripes) {
+                for (final List<ManagedBin> binList : stripe.groupBinMap.values()) {
+                    for (final ManagedBin managedBin : binList) {
+                        managedBin.removed = true;
+                        managedBin.bin.getSession().rollback();
+                    }
                 }
+                stripe.groupBinMap.clear();
             }
-            groupBinMap.clear();
-            binCount = 0;
+
+            binsByAge.clear();
+            possiblyReadyBins.clear();
+            binCount.set(0);
         } finally {
-            wLock.unlock();
+            for (final Stripe stripe : stripes) {
+                stripe.lock.unlock();
+            }
         }
     }
 
@@ -89,12 +116,7 @@ public class BinManager {
     }
 
     public int getBinCount() {
-        rLock.lock();
-        try {
-            return binCount;
-        } finally {
-            rLock.unlock();
-        }
+        return binCount.get();
     }
 
     public void setMinimumSize(final long numBytes) {
@@ -125,34 +147,14 @@ public class BinManager {
         if (flowFile.getSize() > currentMaxSizeBytes) { //won't fit into any new bins (and probably none existing)
             return false;
         }
-        wLock.lock();
-        try {
-            final List<Bin> currentBins = groupBinMap.get(groupIdentifier);
-            if (currentBins == null) { // this is a new group we need to register
-                final List<Bin> bins = new ArrayList<>();
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                bins.add(bin);
-                groupBinMap.put(groupIdentifier, bins);
-                binCount++;
-                return bin.offer(flowFile, session);
-            } else {
-                for (final Bin bin : currentBins) {
-                    final boolean accepted = bin.offer(flowFile, session);
-                    if (accepted) {
-                        return true;
-                    }
-                }
 
-                //if we've reached this point then we couldn't fit it into any existing bins - gotta make a new one
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                currentBins.add(bin);
-                binCount++;
-                return bin.offer(flowFile, session);
-            }
+        final Stripe stripe = getStripe(groupIdentifier);
+        stripe.lock.lock();
+        try {
+            final List<ManagedBin> currentBins = stripe.groupBinMap.computeIfAbsent(groupIdentifier, k -> new ArrayList<>());
+            return offer(groupIdentifier, currentBins, flowFile, session, sessionFactory, currentMaxSizeBytes);
         } finally {
-            wLock.unlock();
+            stripe.lock.unlock();
         }
     }
 
@@ -171,41 +173,64 @@ public class BinManager {
         final long currentMaxSizeBytes = maxSizeBytes.get();
         final Set<FlowFile> unbinned = new HashSet<>();
 
-        wLock.lock();
+        final Stripe stripe = getStripe(groupIdentifier);
+        stripe.lock.lock();
         try {
-            flowFileLoop: for (final FlowFile flowFile : flowFiles) {
+            final List<ManagedBin> currentBins = stripe.groupBinMap.computeIfAbsent(groupIdentifier, k -> new ArrayList<>());
+            for (final FlowFile flowFile : flowFiles) {
                 if (flowFile.getSize() > currentMaxSizeBytes) { //won't fit into any new bins (and probably none existing)
                     unbinned.add(flowFile);
                     continue;
                 }
 
-                final List<Bin> currentBins = groupBinMap.computeIfAbsent(groupIdentifier, k -> new ArrayList<>());
-                for (final Bin bin : currentBins) {
-                    final boolean accepted = bin.offer(flowFile, session);
-                    if (accepted) {
-                        continue flowFileLoop;
-                    }
-                }
-
-                // if we've reached this point then the groupIdentifier was a brand new one,
-                // or we couldn't fit it into any existing bins - gotta make a new one
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                currentBins.add(bin);
-                binCount++;
-                final boolean added = bin.offer(flowFile, session);
-                if (!added) {
+                if (!offer(groupIdentifier, currentBins, flowFile, session, sessionFactory, currentMaxSizeBytes)) {
                     unbinned.add(flowFile);
                 }
+            }
 
+            if (currentBins.isEmpty()) {
+                stripe.groupBinMap.remove(groupIdentifier);
             }
         } finally {
-            wLock.unlock();
+            stripe.lock.unlock();
         }
 
         return unbinned;
     }
 
+    // must be called while holding the lock of the group's stripe
+    private boolean offer(final String groupIdentifier, final List<ManagedBin> currentBins, final FlowFile flowFile, final ProcessSession session,
+                          final ProcessSessionFactory sessionFactory, final long currentMaxSizeBytes) {
+        for (final ManagedBin managedBin : currentBins) {
+            final boolean accepted = managedBin.bin.offer(flowFile, session);
+
+            // A failed offer can also make a bin full, so its readiness has to be checked either way
+            updatePossiblyReady(managedBin);
+            if (accepted) {
+                return true;
+            }
+        }
+
+        // if we've reached this point then the groupIdentifier was a brand new one,
+        // or we couldn't fit it into any existing bins - gotta make a new one
+        final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
+            maxEntries.get(), fileCountAttribute.get());
+        final ManagedBin managedBin = new ManagedBin(bin, groupIdentifier, binSequence.getAndIncrement());
+        currentBins.add(managedBin);
+        binsByAge.put(managedBin.sequence, managedBin);
+        binCount.incrementAndGet();
+
+        final boolean added = bin.offer(flowFile, session);
+        updatePossiblyReady(managedBin);
+        return added;
+    }
+
+    private void updatePossiblyReady(final ManagedBin managedBin) {
+        if (managedBin.bin.isFullEnough()) {
+            possiblyReadyBins.put(managedBin.sequence, managedBin);
+        }
+    }
+
     /**
      * Finds all bins that are considered full and removes them from the manager.
      * <p/>
@@ -214,88 +239,129 @@ public class BinManager {
      * @return bins that are considered full
      */
     public Collection<Bin> removeReadyBins(boolean relaxFullnessConstraint) {
-        final Map<String, List<Bin>> newGroupMap = new HashMap<>();
         final List<Bin> readyBins = new ArrayList<>();
 
-        wLock.lock();
-        try {
-            for (final Map.Entry<String, List<Bin>> group : groupBinMap.entrySet()) {
-                final List<Bin> remainingBins = new ArrayList<>();
-                for (final Bin bin : group.getValue()) {
-                    if (relaxFullnessConstraint && bin.isFullEnough()) {
-                        bin.setEvictionReason(bin.determineFullness());
-                        readyBins.add(bin);
-                    } else if (!relaxFullnessConstraint && bin.isFull()) { //strict check
-                        bin.setEvictionReason(bin.determineFullness());
-                        readyBins.add(bin);
-                    } else if (relaxFullnessConstraint && bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS)) {
-                        bin.setEvictionReason(EvictionReason.TIMEOUT);
-                        readyBins.add(bin);
-                    } else { //it isn't time yet...
-                        remainingBins.add(bin);
-                    }
+        for (final ManagedBin managedBin : possiblyReadyBins.values()) {
+            final Stripe stripe = getStripe(managedBin.groupIdentifier);
+            stripe.lock.lock();
+            try {
+                if (managedBin.removed) {
+                    possiblyReadyBins.remove(managedBin.sequence);
+                    continue;
                 }
-                if (!remainingBins.isEmpty()) {
-                    newGroupMap.put(group.getKey(), remainingBins);
+
+                final Bin bin = managedBin.bin;
+                if (relaxFullnessConstraint && bin.isFullEnough()) {
+                    bin.setEvictionReason(bin.determineFullness());
+                } else if (!relaxFullnessConstraint && bin.isFull()) { //strict check
+                    bin.setEvictionReason(bin.determineFullness());
+                } else {
+                    // a bin that is full enough but not yet full stays in the index for a relaxed check
+                    if (!bin.isFullEnough()) {
+                        possiblyReadyBins.remove(managedBin.sequence);
+                    }
+                    continue;
                 }
+
+                remove(stripe, managedBin);
+                readyBins.add(bin);
+            } finally {
+                stripe.lock.unlock();
             }
-            groupBinMap.clear();
-            groupBinMap.putAll(newGroupMap);
-            binCount -= readyBins.size();
-        } finally {
-            wLock.unlock();
         }
-        return readyBins;
-    }
 
-    public Bin removeOldestBin() {
-        wLock.lock();
-        try {
-            Bin oldestBin = null;
-            String oldestBinGroup = null;
-
-            for (final Map.Entry<String, List<Bin>> group : groupBinMap.entrySet()) {
-                for (final Bin bin : group.getValue()) {
-                    if (oldestBin == null || bin.isOlderThan(oldestBin)) {
-                        oldestBin = bin;
-                        oldestBinGroup = group.getKey();
+        if (relaxFullnessConstraint) {
+            final int maxAgeSeconds = maxBinAgeSeconds.get();
+
+            // bins are ordered by age, so there are no more old bins once a bin that is not old has been found
+            for (final ManagedBin managedBin : binsByAge.values()) {
+                if (!managedBin.bin.isOlderThan(maxAgeSeconds, TimeUnit.SECONDS)) {
+                    break;
+                }
+
+                final Stripe stripe = getStripe(managedBin.groupIdentifier);
+                stripe.lock.lock();
+                try {
+                    if (!managedBin.removed) {
+                        managedBin.bin.setEvictionReason(EvictionReason.TIMEOUT);
+                        remove(stripe, managedBin);
+                        readyBins.add(managedBin.bin);
                     }
+                } finally {
+                    stripe.lock.unlock();
                 }
             }
+        }
 
-            if (oldestBin == null) {
-                return null;
-            }
+        return readyBins;
+    }
 
-            binCount--;
-            final List<Bin> bins = groupBinMap.get(oldestBinGroup);
-            bins.remove(oldestBin);
-            if (bins.isEmpty()) {
-                groupBinMap.remove(oldestBinGroup);
+    public Bin removeOldestBin() {
+        for (final ManagedBin managedBin : binsByAge.values()) {
+            final Stripe stripe = getStripe(managedBin.groupIdentifier);
+            stripe.lock.lock();
+            try {
+                if (!managedBin.removed) {
+                    remove(stripe, managedBin);
+                    return managedBin.bin;
+                }
+            } finally {
+                stripe.lock.unlock();
             }
-            return oldestBin;
-        } finally {
-            wLock.unlock();
         }
+
+        return null;
     }
 
     /**
      * @return true if any current bins are older than the allowable max
      */
     public boolean containsOldBins() {
-        rLock.lock();
-        try {
-            for (final List<Bin> bins : groupBinMap.values()) {
-                for (final Bin bin : bins) {
-                    if (bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS)) {
-                        return true;
-                    }
-                }
+        final Map.Entry<Long, ManagedBin> oldest = binsByAge.firstEntry();
+        return oldest != null && oldest.getValue().bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS);
+    }
+
+    // must be called while holding the lock of the given stripe
+    private void remove(final Stripe stripe, final ManagedBin managedBin) {
+        managedBin.removed = true;
+
+        final List<ManagedBin> bins = stripe.groupBinMap.get(managedBin.groupIdentifier);
+        if (bins != null) {
+            bins.remove(managedBin);
+            if (bins.isEmpty()) {
+                stripe.groupBinMap.remove(managedBin.groupIdentifier);
             }
-        } finally {
-            rLock.unlock();
         }
-        return false;
+
+        binsByAge.remove(managedBin.sequence);
+        possiblyReadyBins.remove(managedBin.sequence);
+        binCount.decrementAndGet();
     }
 
+    private Stripe getStripe(final String groupIdentifier) {
+        final int hash = Objects.hashCode(groupIdentifier);
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    private static class Stripe {
+        private final Lock lock = new ReentrantLock();
+        private final Map<String, List<ManagedBin>> groupBinMap = new HashMap<>(); // guarded by lock
+    }
+
+    /**
+     * A Bin along with its group and its position in the order in which the bins were created. All fields other than the
+     * final ones are guarded by the lock of the group's stripe.
+     */
+    private static class ManagedBin {
+        private final Bin bin;
+        private final String groupIdentifier;
+        private final long sequence;
+        private boolean removed = false;
+
+        private ManagedBin(final Bin bin, final String groupIdentifier, final long sequence) {
+            this.bin = bin;
+            this.groupIdentifier = groupIdentifier;
+            this.sequence = sequence;
+        }
+    }
 }
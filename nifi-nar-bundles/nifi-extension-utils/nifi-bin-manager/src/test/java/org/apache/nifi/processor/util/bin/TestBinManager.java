@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processor.util.bin;
+
+import org.apache.nifi.flowfile.FlowFile;
+import org.apache.nifi.processor.ProcessSession;
+import org.apache.nifi.processor.ProcessSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestBinManager {
+
+    private static final long FLOW_FILE_SIZE = 10;
+
+    private final AtomicLong flowFileIds = new AtomicLong();
+
+    private ProcessSession session;
+    private ProcessSessionFactory sessionFactory;
+    private BinManager binManager;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(ProcessSession.class);
+        sessionFactory = mock(ProcessSessionFactory.class);
+        when(sessionFactory.createSession()).thenAnswer(invocation -> mock(ProcessSession.class));
+        binManager = new BinManager();
+    }
+
+    @Test
+    public void testOfferAcrossGroups() {
+        binManager.setMaximumEntries(2);
+
+        final FlowFile firstA = createFlowFile();
+        final FlowFile secondA = createFlowFile();
+        final FlowFile firstB = createFlowFile();
+        assertTrue(binManager.offer("A", firstA, session, sessionFactory));
+        assertTrue(binManager.offer("B", firstB, session, sessionFactory));
+        assertTrue(binManager.offer("A", secondA, session, sessionFactory));
+        assertTrue(binManager.offer(null, createFlowFile(), session, sessionFactory));
+        assertEquals(3, binManager.getBinCount());
+
+        // the bin of group A is full, so another bin is created for the group
+        final FlowFile thirdA = createFlowFile();
+        assertTrue(binManager.offer("A", thirdA, session, sessionFactory));
+        assertEquals(4, binManager.getBinCount());
+
+        final Set<FlowFile> unbinned = binManager.offer("B", Arrays.asList(createFlowFile(), createFlowFile()), session, sessionFactory);
+        assertTrue(unbinned.isEmpty());
+        assertEquals(5, binManager.getBinCount());
+
+        // a FlowFile that is larger than the maximum size is not binned
+        binManager.setMaximumSize(FLOW_FILE_SIZE);
+        assertFalse(binManager.offer("C", createFlowFile(FLOW_FILE_SIZE + 1), session, sessionFactory));
+        assertEquals(5, binManager.getBinCount());
+
+        final Collection<Bin> readyBins = binManager.removeReadyBins(false);
+        assertEquals(2, readyBins.size());
+        final Set<FlowFile> readyContents = getContents(readyBins);
+        assertEquals(4, readyContents.size());
+        assertTrue(readyContents.containsAll(Arrays.asList(firstA, secondA, firstB)));
+        assertFalse(readyContents.contains(thirdA));
+    }
+
+    @Test
+    public void testRemoveReadyBins() {
+        binManager.setMinimumEntries(2);
+        binManager.setMaximumEntries(3);
+
+        offer("A", 3);
+        offer("B", 2);
+        offer("C", 1);
+        assertEquals(3, binManager.getBinCount());
+
+        final List<Bin> fullBins = new ArrayList<>(binManager.removeReadyBins(false));
+        assertEquals(1, fullBins.size());
+        assertEquals(3, fullBins.get(0).getContents().size());
+        assertEquals(EvictionReason.MAX_ENTRIES_THRESHOLD_REACHED, fullBins.get(0).getEvictionReason());
+        assertEquals(2, binManager.getBinCount());
+
+        // a bin that is full enough remains ready for a relaxed check
+        assertTrue(binManager.removeReadyBins(false).isEmpty());
+        final List<Bin> fullEnoughBins = new ArrayList<>(binManager.removeReadyBins(true));
+        assertEquals(1, fullEnoughBins.size());
+        assertEquals(2, fullEnoughBins.get(0).getContents().size());
+        assertEquals(EvictionReason.MIN_THRESHOLDS_REACHED, fullEnoughBins.get(0).getEvictionReason());
+        assertEquals(1, binManager.getBinCount());
+
+        assertTrue(binManager.removeReadyBins(true).isEmpty());
+
+        // the bin becomes ready once it is offered enough FlowFiles
+        offer("C", 1);
+        final List<Bin> readyBins = new ArrayList<>(binManager.removeReadyBins(true));
+        assertEquals(1, readyBins.size());
+        assertEquals(2, readyBins.get(0).getContents().size());
+        assertEquals(0, binManager.getBinCount());
+    }
+
+    @Test
+    public void testRemoveOldestBin() {
+        final List<FlowFile> flowFiles = new ArrayList<>();
+        for (final String group : new String[] {"B", "A", "C"}) {
+            final FlowFile flowFile = createFlowFile();
+            flowFiles.add(flowFile);
+            assertTrue(binManager.offer(group, flowFile, session, sessionFactory));
+        }
+
+        // offering to an existing bin does not change its age
+        assertTrue(binManager.offer("B", createFlowFile(), session, sessionFactory));
+
+        for (final FlowFile flowFile : flowFiles) {
+            final Bin oldestBin = binManager.removeOldestBin();
+            assertSame(flowFile, oldestBin.getContents().get(0));
+        }
+
+        assertNull(binManager.removeOldestBin());
+        assertEquals(0, binManager.getBinCount());
+    }
+
+    @Test
+    public void testContainsOldBins() throws InterruptedException {
+        binManager.setMinimumEntries(10);
+        binManager.setMaxBinAge(3600);
+        assertFalse(binManager.containsOldBins());
+
+        offer("A", 1);
+        offer("B", 2);
+        assertFalse(binManager.containsOldBins());
+        assertTrue(binManager.removeReadyBins(true).isEmpty());
+
+        binManager.setMaxBinAge(0);
+        Thread.sleep(5);
+        assertTrue(binManager.containsOldBins());
+
+        final Collection<Bin> expiredBins = binManager.removeReadyBins(true);
+        assertEquals(2, expiredBins.size());
+        for (final Bin bin : expiredBins) {
+            assertEquals(EvictionReason.TIMEOUT, bin.getEvictionReason());
+        }
+        assertEquals(3, getContents(expiredBins).size());
+        assertFalse(binManager.containsOldBins());
+        assertEquals(0, binManager.getBinCount());
+    }
+
+    @Test
+    public void testMaxBinEviction() {
+        final int maxBins = 2;
+        binManager.setMinimumEntries(2);
+        binManager.setMaximumEntries(2);
+
+        offer("A", 2);
+        offer("B", 1);
+        offer("C", 1);
+
+        // evict the oldest bins as BinFiles does when there are more bins than allowed
+        final List<Bin> evictedBins = new ArrayList<>();
+        while (binManager.getBinCount() > maxBins) {
+            evictedBins.add(binManager.removeOldestBin());
+        }
+        assertEquals(1, evictedBins.size());
+        assertEquals(2, evictedBins.get(0).getContents().size());
+
+        // the evicted bin was ready, but it is no longer returned as a ready bin
+        assertTrue(binManager.removeReadyBins(true).isEmpty());
+        assertEquals(maxBins, binManager.getBinCount());
+
+        offer("B", 1);
+        final List<Bin> readyBins = new ArrayList<>(binManager.removeReadyBins(false));
+        assertEquals(1, readyBins.size());
+        assertEquals(2, readyBins.get(0).getContents().size());
+        assertEquals(1, binManager.getBinCount());
+    }
+
+    @Test
+    @Timeout(60)
+    public void testConcurrentOfferAndRemove() throws Exception {
+        final int threads = 8;
+        final int flowFilesPerThread = 1000;
+        binManager.setMinimumEntries(10);
+        binManager.setMaximumEntries(10);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final AtomicBoolean offering = new AtomicBoolean(true);
+            final List<Future<Set<FlowFile>>> offers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                offers.add(executor.submit(() -> {
+                    final ProcessSession threadSession = mock(ProcessSession.class);
+                    final Set<FlowFile> offered = new HashSet<>();
+                    start.await();
+                    for (int i = 0; i < flowFilesPerThread; i++) {
+                        final FlowFile flowFile = createFlowFile();
+                        assertTrue(binManager.offer("group-" + (i % 20), flowFile, threadSession, sessionFactory));
+                        offered.add(flowFile);
+                    }
+                    return offered;
+                }));
+            }
+
+            final Future<List<Bin>> removal = executor.submit(() -> {
+                final List<Bin> removedBins = new ArrayList<>();
+                start.await();
+                while (offering.get()) {
+                    removedBins.addAll(binManager.removeReadyBins(false));
+                    final Bin oldestBin = binManager.removeOldestBin();
+                    if (oldestBin != null) {
+                        removedBins.add(oldestBin);
+                    }
+                }
+                return removedBins;
+            });
+
+            start.countDown();
+            final Set<FlowFile> offered = new HashSet<>();
+            for (final Future<Set<FlowFile>> offer : offers) {
+                offered.addAll(offer.get());
+            }
+            offering.set(false);
+
+            final List<Bin> removedBins = new ArrayList<>(removal.get());
+            removedBins.addAll(binManager.removeReadyBins(true));
+            Bin oldestBin;
+            while ((oldestBin = binManager.removeOldestBin()) != null) {
+                removedBins.add(oldestBin);
+            }
+
+            // every FlowFile is in exactly one bin, and no bin is removed more than once
+            final List<FlowFile> binned = new ArrayList<>();
+            for (final Bin bin : removedBins) {
+                assertTrue(bin.getContents().size() <= 10);
+                binned.addAll(bin.getContents());
+            }
+            assertEquals(threads * flowFilesPerThread, offered.size());
+            assertEquals(offered.size(), binned.size());
+            assertEquals(offered, new HashSet<>(binned));
+            assertEquals(0, binManager.getBinCount());
+            assertFalse(binManager.containsOldBins());
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private void offer(final String group, final int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(binManager.offer(group, createFlowFile(), session, sessionFactory));
+        }
+    }
+
+    private Set<FlowFile> getContents(final Collection<Bin> bins) {
+        final Set<FlowFile> contents = new HashSet<>();
+        for (final Bin bin : bins) {
+            contents.addAll(bin.getContents());
+        }
+        return contents;
+    }
+
+    private FlowFile createFlowFile() {
+        return createFlowFile(FLOW_FILE_SIZE);
+    }
+
+    private FlowFile createFlowFile(final long size) {
+        final FlowFile flowFile = mock(FlowFile.class);
+        final long id = flowFileIds.incrementAndGet();
+        when(flowFile.getId()).thenReturn(id);
+        when(flowFile.getSize()).thenReturn(size);
+        return flowFile;
+    }
+}
@@ -43,6 +43,8 @@ import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.serialization.record.SchemaIdentifier;
 import org.apache.nifi.serialization.record.StandardSchemaIdentifier;
+import org.apache.nifi.serialization.record.batch.ColumnVector;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 import org.apache.nifi.serialization.record.type.ArrayDataType;
 import org.apache.nifi.serialization.record.type.ChoiceDataType;
 import org.apache.nifi.serialization.record.type.DecimalDataType;
@@ -645,6 +647,80 @@ public class AvroTypeUtil {
         return rec;
     }
 
+    public static List<GenericRecord> createAvroRecords(final RecordBatch batch, final Schema avroSchema) throws IOException {
+        return createAvroRecords(batch, avroSchema, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates an Avro Record for each row of the given batch, producing the same Avro Records as {@link #createAvroRecord(Record, Schema, Charset)}.
+     * The values are converted one column at a time, so that the Avro field and schema of each column and the default values of the Avro schema
+     * are resolved once for the whole batch rather than once for each Record.
+     *
+     * @param batch the batch of records to convert
+     * @param avroSchema the Avro schema of the resulting records
+     * @param charset the character set to use when converting Strings
+     * @return an Avro Record for each row of the batch, in the order of the rows
+     */
+    public static List<GenericRecord> createAvroRecords(final RecordBatch batch, final Schema avroSchema, final Charset charset) throws IOException {
+        final int rowCount = batch.getRowCount();
+        final List<GenericRecord> avroRecords = new ArrayList<>(rowCount);
+        if (!batch.isColumnar()) {
+            for (int row = 0; row < rowCount; row++) {
+                avroRecords.add(createAvroRecord(batch.getRecord(row), avroSchema, charset));
+            }
+
+            return avroRecords;
+        }
+
+        for (int row = 0; row < rowCount; row++) {
+            avroRecords.add(new GenericData.Record(avroSchema));
+        }
+
+        for (int columnIndex = 0; columnIndex < batch.getColumnCount(); columnIndex++) {
+            final ColumnVector column = batch.getColumn(columnIndex);
+            final RecordField recordField = column.getField();
+
+            Field field = avroSchema.getField(recordField.getFieldName());
+            if (field == null) {
+                field = lookupField(avroSchema, recordField).getRight();
+                if (field == null) {
+                    continue;
+                }
+            }
+
+            final int position = field.pos();
+            final Schema fieldSchema = field.schema();
+            final String fieldName = field.name();
+            for (int row = 0; row < rowCount; row++) {
+                final Object rawValue = column.getObject(row);
+                if (rawValue != null) {
+                    avroRecords.get(row).put(position, convertToAvroObject(rawValue, fieldSchema, fieldName, charset));
+                }
+            }
+        }
+
+        // Populate default values for fields that were not given a value, normalizing each default value only once
+        for (final Field field : avroSchema.getFields()) {
+            final Object defaultValue = field.defaultVal();
+            if (defaultValue == null || defaultValue == JsonProperties.NULL_VALUE) {
+                continue;
+            }
+
+            Object normalized = null;
+            for (final GenericRecord avroRecord : avroRecords) {
+                if (avroRecord.get(field.pos()) == null) {
+                    if (normalized == null) {
+                        normalized = convertToAvroObject(defaultValue, field.schema());
+                    }
+
+                    avroRecord.put(field.pos(), normalized);
+                }
+            }
+        }
+
+        return avroRecords;
+    }
+
     /**
      * Convert a raw value to an Avro object to serialize in Avro type system, using the provided character set when necessary.
      * The counter-part method which reads an Avro object back to a raw value is {@link #normalizeValue(Object, Schema, String)}.
@@ -902,39 +978,63 @@ public class AvroTypeUtil {
         final Map<String, Object> values = new HashMap<>(recordSchema.getFieldCount());
 
         for (final RecordField recordField : recordSchema.getFields()) {
+            values.put(recordField.getFieldName(), convertAvroFieldValue(avroRecord, recordField, charset));
+        }
 
-            Object value = avroRecord.get(recordField.getFieldName());
-            if (value == null) {
-                for (final String alias : recordField.getAliases()) {
-                    value = avroRecord.get(alias);
-                    if (value != null) {
-                        break;
-                    }
+        return values;
+    }
+
+    public static Object[] convertAvroRecordToArray(final GenericRecord avroRecord, final RecordSchema recordSchema) {
+        return convertAvroRecordToArray(avroRecord, recordSchema, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Converts the given Avro Record into the values of a Record with the given schema, in the order of the schema's fields,
+     * so that they can be held by an {@link org.apache.nifi.serialization.record.ArrayRecord}
+     *
+     * @param avroRecord the Avro Record to convert
+     * @param recordSchema the schema of the resulting Record
+     * @param charset the character set to use when converting byte arrays to Strings
+     * @return the value of each field of the schema
+     */
+    public static Object[] convertAvroRecordToArray(final GenericRecord avroRecord, final RecordSchema recordSchema, final Charset charset) {
+        final List<RecordField> recordFields = recordSchema.getFields();
+        final Object[] values = new Object[recordFields.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = convertAvroFieldValue(avroRecord, recordFields.get(i), charset);
+        }
+
+        return values;
+    }
+
+    private static Object convertAvroFieldValue(final GenericRecord avroRecord, final RecordField recordField, final Charset charset) {
+        Object value = avroRecord.get(recordField.getFieldName());
+        if (value == null) {
+            for (final String alias : recordField.getAliases()) {
+                value = avroRecord.get(alias);
+                if (value != null) {
+                    break;
                 }
             }
+        }
 
-            final String fieldName = recordField.getFieldName();
-            try {
+        final String fieldName = recordField.getFieldName();
+        try {
             final Field avroField = avroRecord.getSchema().getField(fieldName);
             if (avroField == null) {
-                values.put(fieldName, null);
-                continue;
+                return null;
             }
 
             final Schema fieldSchema = avroField.schema();
             final Object rawValue = normalizeValue(value, fieldSchema, fieldName);
 
             final DataType desiredType = recordField.getDataType();
-            final Object coercedValue = DataTypeUtils.convertType(rawValue, desiredType, fieldName, charset);
-
-            values.put(fieldName, coercedValue);
-            } catch (Exception ex) {
-                logger.debug("fail to convert field " + fieldName, ex );
-                throw ex;
-            }
+            return DataTypeUtils.convertType(rawValue, desiredType, fieldName, charset);
+        } catch (Exception ex) {
+            logger.debug("fail to convert field " + fieldName, ex );
+            throw ex;
         }
-
-        return values;
     }
 
     /**
@@ -16,7 +16,10 @@
  */
 package org.apache.nifi.cluster.protocol;
 
+import org.apache.nifi.cluster.coordination.node.DisconnectionCode;
+import org.apache.nifi.cluster.coordination.node.NodeConnectionState;
 import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
+import org.apache.nifi.cluster.coordination.node.OffloadCode;
 import org.apache.nifi.xml.processing.ProcessingException;
 import org.apache.nifi.xml.processing.stream.StandardXMLStreamReaderProvider;
 import org.apache.nifi.xml.processing.stream.XMLStreamReaderProvider;
@@ -26,23 +29,48 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The payload of the heartbeat. The payload contains status to inform the cluster manager the current workload of this node.
  *
+ * The payload is marshalled using a compact binary encoding, prefixed with a magic header. Payloads that do not start with
+ * that header are unmarshalled as XML, so that heartbeats of nodes that still use the XML encoding are understood. Nodes
+ * send the XML encoding until the Cluster Coordinator indicates that it supports the binary encoding, so that Cluster
+ * Coordinators that only understand XML keep receiving heartbeats during a rolling upgrade.
+ *
+ * The Cluster Status may be omitted from the binary encoding from the payload when it has not changed since the last heartbeat that was acknowledged
+ * by the Cluster Coordinator. In that case, only the Cluster Status Digest is provided and the Cluster Coordinator uses the
+ * Cluster Status that it last received from the node, as long as the digests match.
  */
 @XmlRootElement
 public class HeartbeatPayload {
 
     private static final JAXBContext JAXB_CONTEXT;
 
+    private static final byte[] BINARY_MAGIC_HEADER = {'N', 'H', 'B'};
+    private static final int BINARY_ENCODING_VERSION = 1;
+
     static {
         try {
             JAXB_CONTEXT = JAXBContext.newInstance(HeartbeatPayload.class);
@@ -57,6 +85,7 @@ public class HeartbeatPayload {
     private long systemStartTime;
     private List<NodeConnectionStatus> clusterStatus;
     private long revisionUpdateCount;
+    private long clusterStatusDigest;
 
     public int getActiveThreadCount() {
         return activeThreadCount;
@@ -106,6 +135,51 @@ public class HeartbeatPayload {
         this.revisionUpdateCount = revisionUpdateCount;
     }
 
+    /**
+     * @return the digest of the Cluster Status that this payload describes, or <code>0</code> if no digest was provided.
+     * The Cluster Status itself may be <code>null</code> if it is unchanged since the last heartbeat. The digest is only part of the binary encoding.
+     */
+    @XmlTransient
+    public long getClusterStatusDigest() {
+        return clusterStatusDigest;
+    }
+
+    public void setClusterStatusDigest(final long clusterStatusDigest) {
+        this.clusterStatusDigest = clusterStatusDigest;
+    }
+
+    /**
+     * Computes a digest of the given Cluster Status that changes whenever the identifier or connection state of any of the nodes changes.
+     * These are the only parts of the Cluster Status that the Cluster Coordinator compares against its own view of the cluster.
+     *
+     * @param clusterStatus the Cluster Status
+     * @return a non-zero digest of the Cluster Status
+     */
+    public static long computeClusterStatusDigest(final List<NodeConnectionStatus> clusterStatus) {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new ProtocolException(e);
+        }
+
+        if (clusterStatus != null) {
+            final List<NodeConnectionStatus> sortedStatus = new ArrayList<>(clusterStatus);
+            sortedStatus.sort(Comparator.comparing(status -> status.getNodeIdentifier() == null ? "" : status.getNodeIdentifier().getId()));
+
+            for (final NodeConnectionStatus status : sortedStatus) {
+                final NodeIdentifier nodeId = status.getNodeIdentifier();
+                messageDigest.update((nodeId == null ? "" : nodeId.getId()).getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) 0);
+                messageDigest.update(String.valueOf(status.getState()).getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) 0);
+            }
+        }
+
+        final long digest = ByteBuffer.wrap(messageDigest.digest()).getLong();
+        return digest == 0L ? 1L : digest;
+    }
+
     public byte[] marshal() throws ProtocolException {
         final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
         marshal(this, payloadBytes);
@@ -113,15 +187,69 @@ public class HeartbeatPayload {
     }
 
     public static void marshal(final HeartbeatPayload payload, final OutputStream os) throws ProtocolException {
+        try {
+            final DataOutputStream dos = new DataOutputStream(os);
+            dos.write(BINARY_MAGIC_HEADER);
+            dos.writeByte(BINARY_ENCODING_VERSION);
+            dos.writeInt(payload.getActiveThreadCount());
+            dos.writeLong(payload.getTotalFlowFileCount());
+            dos.writeLong(payload.getTotalFlowFileBytes());
+            dos.writeLong(payload.getSystemStartTime());
+            dos.writeLong(payload.getRevisionUpdateCount());
+            dos.writeLong(payload.getClusterStatusDigest());
+
+            final List<NodeConnectionStatus> clusterStatus = payload.getClusterStatus();
+            if (clusterStatus == null) {
+                dos.writeInt(-1);
+            } else {
+                dos.writeInt(clusterStatus.size());
+                for (final NodeConnectionStatus status : clusterStatus) {
+                    writeNodeConnectionStatus(status, dos);
+                }
+            }
+            dos.flush();
+        } catch (final IOException ioe) {
+            throw new ProtocolException(ioe);
+        }
+    }
+
+    /**
+     * @return the payload marshalled as XML, which Cluster Coordinators that do not support the binary encoding understand
+     */
+    public byte[] marshalXml() throws ProtocolException {
+        final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
         try {
             final Marshaller marshaller = JAXB_CONTEXT.createMarshaller();
-            marshaller.marshal(payload, os);
+            marshaller.marshal(this, payloadBytes);
         } catch (final JAXBException je) {
             throw new ProtocolException(je);
         }
+        return payloadBytes.toByteArray();
     }
 
     public static HeartbeatPayload unmarshal(final InputStream is) throws ProtocolException {
+        final BufferedInputStream in = new BufferedInputStream(is);
+        try {
+            in.mark(BINARY_MAGIC_HEADER.length);
+            final byte[] header = new byte[BINARY_MAGIC_HEADER.length];
+            final int headerLength = in.readNBytes(header, 0, header.length);
+            if (headerLength == header.length && Arrays.equals(header, BINARY_MAGIC_HEADER)) {
+                return unmarshalBinary(new DataInputStream(in));
+            }
+
+            in.reset();
+        } catch (final IOException ioe) {
+            throw new ProtocolException(ioe);
+        }
+
+        return unmarshalXml(in);
+    }
+
+    public static HeartbeatPayload unmarshal(final byte[] bytes) throws ProtocolException {
+        return unmarshal(new ByteArrayInputStream(bytes));
+    }
+
+    private static HeartbeatPayload unmarshalXml(final InputStream is) throws ProtocolException {
         try {
             final Unmarshaller unmarshaller = JAXB_CONTEXT.createUnmarshaller();
             final XMLStreamReaderProvider provider = new StandardXMLStreamReaderProvider();
@@ -132,7 +260,128 @@ public class HeartbeatPayload {
         }
     }
 
-    public static HeartbeatPayload unmarshal(final byte[] bytes) throws ProtocolException {
-        return unmarshal(new ByteArrayInputStream(bytes));
+    private static HeartbeatPayload unmarshalBinary(final DataInputStream in) throws IOException {
+        final int version = in.readUnsignedByte();
+        if (version != BINARY_ENCODING_VERSION) {
+            throw new ProtocolException("Unsupported Heartbeat Payload encoding version: " + version);
+        }
+
+        final HeartbeatPayload payload = new HeartbeatPayload();
+        payload.setActiveThreadCount(in.readInt());
+        payload.setTotalFlowFileCount(in.readLong());
+        payload.setTotalFlowFileBytes(in.readLong());
+        payload.setSystemStartTime(in.readLong());
+        payload.setRevisionUpdateCount(in.readLong());
+        payload.setClusterStatusDigest(in.readLong());
+
+        final int statusCount = in.readInt();
+        if (statusCount >= 0) {
+            final List<NodeConnectionStatus> clusterStatus = new ArrayList<>(statusCount);
+            for (int i = 0; i < statusCount; i++) {
+                clusterStatus.add(readNodeConnectionStatus(in));
+            }
+            payload.setClusterStatus(clusterStatus);
+        }
+
+        return payload;
+    }
+
+    private static void writeNodeConnectionStatus(final NodeConnectionStatus status, final DataOutputStream out) throws IOException {
+        out.writeLong(status.getUpdateIdentifier());
+
+        final NodeIdentifier nodeId = status.getNodeIdentifier();
+        out.writeBoolean(nodeId != null);
+        if (nodeId != null) {
+            writeString(nodeId.getId(), out);
+            writeString(nodeId.getApiAddress(), out);
+            out.writeInt(nodeId.getApiPort());
+            writeString(nodeId.getSocketAddress(), out);
+            out.writeInt(nodeId.getSocketPort());
+            writeString(nodeId.getLoadBalanceAddress(), out);
+            out.writeInt(nodeId.getLoadBalancePort());
+            writeString(nodeId.getSiteToSiteAddress(), out);
+            writeInteger(nodeId.getSiteToSitePort(), out);
+            writeInteger(nodeId.getSiteToSiteHttpApiPort(), out);
+            out.writeBoolean(nodeId.isSiteToSiteSecure());
+
+            final Set<String> nodeIdentities = nodeId.getNodeIdentities();
+            out.writeInt(nodeIdentities.size());
+            for (final String nodeIdentity : nodeIdentities) {
+                writeString(nodeIdentity, out);
+            }
+        }
+
+        writeString(status.getState() == null ? null : status.getState().name(), out);
+        writeString(status.getOffloadCode() == null ? null : status.getOffloadCode().name(), out);
+        writeString(status.getDisconnectCode() == null ? null : status.getDisconnectCode().name(), out);
+        writeString(status.getReason(), out);
+
+        final Long connectionRequestTime = status.getConnectionRequestTime();
+        out.writeBoolean(connectionRequestTime != null);
+        if (connectionRequestTime != null) {
+            out.writeLong(connectionRequestTime);
+        }
+    }
+
+    private static NodeConnectionStatus readNodeConnectionStatus(final DataInputStream in) throws IOException {
+        final long updateId = in.readLong();
+
+        NodeIdentifier nodeId = null;
+        if (in.readBoolean()) {
+            final String id = readString(in);
+            final String apiAddress = readString(in);
+            final int apiPort = in.readInt();
+            final String socketAddress = readString(in);
+            final int socketPort = in.readInt();
+            final String loadBalanceAddress = readString(in);
+            final int loadBalancePort = in.readInt();
+            final String siteToSiteAddress = readString(in);
+            final Integer siteToSitePort = readInteger(in);
+            final Integer siteToSiteHttpApiPort = readInteger(in);
+            final boolean siteToSiteSecure = in.readBoolean();
+
+            final int identityCount = in.readInt();
+            final Set<String> nodeIdentities = new HashSet<>(identityCount);
+            for (int i = 0; i < identityCount; i++) {
+                nodeIdentities.add(readString(in));
+            }
+
+            nodeId = new NodeIdentifier(id, apiAddress, apiPort, socketAddress, socketPort, loadBalanceAddress, loadBalancePort,
+                    siteToSiteAddress, siteToSitePort, siteToSiteHttpApiPort, siteToSiteSecure, nodeIdentities);
+        }
+
+        final String state = readString(in);
+        final String offloadCode = readString(in);
+        final String disconnectCode = readString(in);
+        final String reason = readString(in);
+        final Long connectionRequestTime = in.readBoolean() ? in.readLong() : null;
+
+        return new NodeConnectionStatus(updateId, nodeId,
+                state == null ? null : NodeConnectionState.valueOf(state),
+                offloadCode == null ? null : OffloadCode.valueOf(offloadCode),
+                disconnectCode == null ? null : DisconnectionCode.valueOf(disconnectCode),
+                reason, connectionRequestTime);
+    }
+
+    private static void writeString(final String value, final DataOutputStream out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInteger(final Integer value, final DataOutputStream out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
     }
 }
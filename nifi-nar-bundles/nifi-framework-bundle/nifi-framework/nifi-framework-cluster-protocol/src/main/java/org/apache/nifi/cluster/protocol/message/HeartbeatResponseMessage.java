@@ -29,6 +29,8 @@ public class HeartbeatResponseMessage extends ProtocolMessage {
     private List<NodeConnectionStatus> updatedNodeStatuses = new ArrayList<>();
     private String flowElectionMessage = null;
     private CommsTimingDetails commsTimingDetails;
+    private boolean clusterStatusRequired = false;
+    private boolean binaryPayloadSupported = false;
 
     @Override
     public MessageType getType() {
@@ -51,6 +53,30 @@ public class HeartbeatResponseMessage extends ProtocolMessage {
         this.flowElectionMessage = flowElectionMessage;
     }
 
+    /**
+     * @return <code>true</code> if the heartbeat omitted the Cluster Status and the Cluster Coordinator does not have the Cluster Status
+     * that the heartbeat's digest refers to, in which case the next heartbeat must include the full Cluster Status
+     */
+    public boolean isClusterStatusRequired() {
+        return clusterStatusRequired;
+    }
+
+    public void setClusterStatusRequired(final boolean clusterStatusRequired) {
+        this.clusterStatusRequired = clusterStatusRequired;
+    }
+
+    /**
+     * @return <code>true</code> if the Cluster Coordinator understands the binary encoding of the Heartbeat Payload. Cluster Coordinators
+     * of earlier versions do not provide this flag, so nodes send them the XML encoding.
+     */
+    public boolean isBinaryPayloadSupported() {
+        return binaryPayloadSupported;
+    }
+
+    public void setBinaryPayloadSupported(final boolean binaryPayloadSupported) {
+        this.binaryPayloadSupported = binaryPayloadSupported;
+    }
+
     public CommsTimingDetails getCommsTimingDetails() {
         return commsTimingDetails;
     }
@@ -58,6 +58,7 @@ public class ClusterProtocolHeartbeatMonitor extends AbstractHeartbeatMonitor im
 
     private final String heartbeatAddress;
     private final ConcurrentMap<NodeIdentifier, NodeHeartbeat> heartbeatMessages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<NodeIdentifier, ReportedClusterStatus> reportedClusterStatuses = new ConcurrentHashMap<>();
 
     private volatile long purgeTimestamp = System.currentTimeMillis();
 
@@ -100,6 +101,7 @@ public class ClusterProtocolHeartbeatMonitor extends AbstractHeartbeatMonitor im
         // that if we go the required amount of time without receiving a heartbeat, we do know to mark the node
         // as disconnected.
         heartbeatMessages.clear();
+        reportedClusterStatuses.clear();
         for (final NodeIdentifier nodeId : clusterCoordinator.getNodeIdentifiers()) {
             final NodeHeartbeat heartbeat = new StandardNodeHeartbeat(nodeId, System.currentTimeMillis(),
                     clusterCoordinator.getConnectionStatus(nodeId), 0, 0L, 0, System.currentTimeMillis(), 0L);
@@ -120,12 +122,14 @@ public class ClusterProtocolHeartbeatMonitor extends AbstractHeartbeatMonitor im
     public synchronized void removeHeartbeat(final NodeIdentifier nodeId) {
         logger.debug("Deleting heartbeat for node {}", nodeId);
         heartbeatMessages.remove(nodeId);
+        reportedClusterStatuses.remove(nodeId);
     }
 
     @Override
     public synchronized void purgeHeartbeats() {
         logger.debug("Purging old heartbeats");
         heartbeatMessages.clear();
+        reportedClusterStatuses.clear();
         purgeTimestamp = System.currentTimeMillis();
     }
 
@@ -165,16 +169,18 @@ public class ClusterProtocolHeartbeatMonitor extends AbstractHeartbeatMonitor im
         heartbeatMessages.put(heartbeat.getNodeIdentifier(), nodeHeartbeat);
         logger.debug("Received new heartbeat from {}", nodeId);
 
+        final HeartbeatResponseMessage responseMessage = new HeartbeatResponseMessage();
+        responseMessage.setBinaryPayloadSupported(true);
+
         // Formulate a List of differences between our view of the cluster topology and the node's view
         // and send that back to the node so that it is in-sync with us
-        List<NodeConnectionStatus> nodeStatusList = payload.getClusterStatus();
+        final List<NodeConnectionStatus> nodeStatusList = getReportedClusterStatus(nodeId, payload);
         if (nodeStatusList == null) {
-            nodeStatusList = Collections.emptyList();
+            logger.debug("Heartbeat from {} omitted its Cluster Status, which is unknown to us; requesting the full Cluster Status", nodeId);
+            responseMessage.setClusterStatusRequired(true);
+        } else {
+            responseMessage.setUpdatedNodeStatuses(getUpdatedStatuses(nodeStatusList));
         }
-        final List<NodeConnectionStatus> updatedStatuses = getUpdatedStatuses(nodeStatusList);
-
-        final HeartbeatResponseMessage responseMessage = new HeartbeatResponseMessage();
-        responseMessage.setUpdatedNodeStatuses(updatedStatuses);
 
         if (!getClusterCoordinator().isFlowElectionComplete()) {
             responseMessage.setFlowElectionMessage(getClusterCoordinator().getFlowElectionStatus());
@@ -183,6 +189,35 @@ public class ClusterProtocolHeartbeatMonitor extends AbstractHeartbeatMonitor im
         return responseMessage;
     }
 
+    /**
+     * Determines the node's view of the cluster. Nodes omit the Cluster Status from their heartbeats while it is unchanged
+     * and provide only its digest, in which case the Cluster Status most recently reported by the node is used.
+     *
+     * @return the node's Cluster Status, or <code>null</code> if the heartbeat refers to a Cluster Status that is not known
+     */
+    private List<NodeConnectionStatus> getReportedClusterStatus(final NodeIdentifier nodeId, final HeartbeatPayload payload) {
+        final List<NodeConnectionStatus> clusterStatus = payload.getClusterStatus();
+        final long digest = payload.getClusterStatusDigest();
+
+        if (clusterStatus != null) {
+            if (digest != 0L) {
+                reportedClusterStatuses.put(nodeId, new ReportedClusterStatus(digest, clusterStatus));
+            }
+            return clusterStatus;
+        }
+
+        if (digest == 0L) {
+            return Collections.emptyList();
+        }
+
+        final ReportedClusterStatus reported = reportedClusterStatuses.get(nodeId);
+        if (reported == null || reported.getDigest() != digest) {
+            return null;
+        }
+
+        return reported.getClusterStatus();
+    }
+
     private ProtocolMessage handleClusterWorkload(final ClusterWorkloadRequestMessage msg) {
 
         final ClusterWorkloadResponseMessage response = new ClusterWorkloadResponseMessage();
@@ -237,4 +272,22 @@ public class ClusterProtocolHeartbeatMonitor extends AbstractHeartbeatMonitor im
     public boolean canHandle(ProtocolMessage msg) {
         return msg.getType() == MessageType.HEARTBEAT || msg.getType() == MessageType.CLUSTER_WORKLOAD_REQUEST;
     }
+
+    private static class ReportedClusterStatus {
+        private final long digest;
+        private final List<NodeConnectionStatus> clusterStatus;
+
+        ReportedClusterStatus(final long digest, final List<NodeConnectionStatus> clusterStatus) {
+            this.digest = digest;
+            this.clusterStatus = clusterStatus;
+        }
+
+        long getDigest() {
+            return digest;
+        }
+
+        List<NodeConnectionStatus> getClusterStatus() {
+            return clusterStatus;
+        }
+    }
 }
@@ -59,4 +59,15 @@ public interface EndpointResponseMerger {
      */
     NodeResponse merge(URI uri, String method, Set<NodeResponse> successfulResponses, Set<NodeResponse> problematicResponses, NodeResponse clientResponse);
 
+    /**
+     * Indicates the type of entity that this EndpointResponseMerger reads from each successful Node Response.
+     * When known, each Node Response is parsed into this type as soon as it is received, so that the
+     * responses are parsed concurrently rather than one after another once all nodes have responded.
+     *
+     * @return the type of entity that is read from each Node Response, or <code>null</code> if not known
+     */
+    default Class<?> getNodeResponseEntityClass() {
+        return null;
+    }
+
 }
@@ -62,4 +62,15 @@ public interface HttpResponseMapper {
      * @return <code>true</code> if the response must be interpreted, <code>false</code> otherwise
      */
     boolean isResponseInterpreted(URI uri, String httpMethod);
+
+    /**
+     * Prepares the response of a single node for merging as soon as it has been received, while the responses
+     * of other nodes may still be outstanding. This allows the work of interpreting each response to be done
+     * by the thread that received it, instead of by the thread that maps all responses once they are complete.
+     *
+     * @param uri the URI of the request
+     * @param httpMethod the HTTP Method of the request
+     * @param nodeResponse the response received from a single node
+     */
+    void prepareNodeResponse(URI uri, String httpMethod, NodeResponse nodeResponse);
 }
@@ -80,6 +80,7 @@ import org.apache.nifi.cluster.coordination.http.endpoints.UsersEndpointMerger;
 import org.apache.nifi.cluster.coordination.http.endpoints.VariableRegistryEndpointMerger;
 import org.apache.nifi.cluster.coordination.http.endpoints.VerifyConfigEndpointMerger;
 import org.apache.nifi.cluster.coordination.http.replication.RequestReplicator;
+import org.apache.nifi.cluster.coordination.http.replication.okhttp.JacksonResponse;
 import org.apache.nifi.cluster.manager.NodeResponse;
 import org.apache.nifi.stream.io.NullOutputStream;
 import org.apache.nifi.util.FormatUtils;
@@ -87,6 +88,7 @@ import org.apache.nifi.util.NiFiProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 import java.io.IOException;
 import java.net.URI;
@@ -235,6 +237,30 @@ public class StandardHttpResponseMapper implements HttpResponseMapper {
         }
     }
 
+    @Override
+    public void prepareNodeResponse(final URI uri, final String httpMethod, final NodeResponse nodeResponse) {
+        if (nodeResponse.hasThrowable() || !nodeResponse.is2xx()) {
+            return;
+        }
+
+        final Response clientResponse = nodeResponse.getClientResponse();
+        if (!(clientResponse instanceof JacksonResponse)) {
+            return;
+        }
+
+        final EndpointResponseMerger merger = getEndpointResponseMerger(uri, httpMethod);
+        if (merger == null || merger.getNodeResponseEntityClass() == null) {
+            return;
+        }
+
+        try {
+            ((JacksonResponse) clientResponse).prepareEntity(merger.getNodeResponseEntityClass());
+        } catch (final Exception e) {
+            // The response will be parsed again when merging, which reports the failure
+            logger.debug("Failed to parse response from {} for {} {}", nodeResponse.getNodeId(), httpMethod, uri, e);
+        }
+    }
+
     @Override
     public boolean isResponseInterpreted(final URI uri, final String httpMethod) {
         return getEndpointResponseMerger(uri, httpMethod) != null;
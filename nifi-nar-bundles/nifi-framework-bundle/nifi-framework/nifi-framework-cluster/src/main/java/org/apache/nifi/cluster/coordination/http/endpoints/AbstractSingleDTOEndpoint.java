@@ -49,6 +49,11 @@ public abstract class AbstractSingleDTOEndpoint<EntityType extends Entity, DtoTy
         return new NodeResponse(clientResponse, responseEntity);
     }
 
+    @Override
+    public Class<?> getNodeResponseEntityClass() {
+        return getEntityClass();
+    }
+
     /**
      * @return the class that represents the type of Entity that is expected by this response mapper
      */
@@ -74,6 +74,11 @@ public class ProvenanceQueryEndpointMerger implements EndpointResponseMerger {
         return new NodeResponse(clientResponse, responseEntity);
     }
 
+    @Override
+    public Class<?> getNodeResponseEntityClass() {
+        return ProvenanceEntity.class;
+    }
+
 
     protected void mergeResponses(ProvenanceDTO clientDto, Map<NodeIdentifier, ProvenanceDTO> dtoMap, Set<NodeResponse> successfulResponses, Set<NodeResponse> problematicResponses) {
         final ProvenanceResultsDTO results = clientDto.getResults();
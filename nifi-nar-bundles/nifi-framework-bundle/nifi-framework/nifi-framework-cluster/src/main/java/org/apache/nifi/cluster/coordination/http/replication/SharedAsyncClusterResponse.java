@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.cluster.coordination.http.replication;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonInclude.Value;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
+import org.apache.nifi.cluster.manager.NodeResponse;
+import org.apache.nifi.cluster.protocol.NodeIdentifier;
+import org.apache.nifi.web.api.entity.Entity;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The view of a replicated request that is shared by a client whose identical request was made while the request was in flight.
+ * Every client that shares the request gets its own copy of the merged entity, so that changes that one client makes to the
+ * entity, such as filtering it for authorization, do not affect the responses of the others.
+ */
+class SharedAsyncClusterResponse implements AsyncClusterResponse {
+    private static final ObjectMapper ENTITY_CODEC = new ObjectMapper();
+
+    static {
+        ENTITY_CODEC.setDefaultPropertyInclusion(Value.construct(Include.NON_NULL, Include.ALWAYS));
+        ENTITY_CODEC.setAnnotationIntrospector(new JaxbAnnotationIntrospector(ENTITY_CODEC.getTypeFactory()));
+    }
+
+    private final AsyncClusterResponse sharedResponse;
+    private NodeResponse mergedResponse; // guarded by synchronizing on this
+
+    SharedAsyncClusterResponse(final AsyncClusterResponse sharedResponse) {
+        this.sharedResponse = sharedResponse;
+    }
+
+    @Override
+    public String getRequestIdentifier() {
+        return sharedResponse.getRequestIdentifier();
+    }
+
+    @Override
+    public String getMethod() {
+        return sharedResponse.getMethod();
+    }
+
+    @Override
+    public String getURIPath() {
+        return sharedResponse.getURIPath();
+    }
+
+    @Override
+    public Set<NodeIdentifier> getNodesInvolved() {
+        return sharedResponse.getNodesInvolved();
+    }
+
+    @Override
+    public Set<NodeIdentifier> getCompletedNodeIdentifiers() {
+        return sharedResponse.getCompletedNodeIdentifiers();
+    }
+
+    @Override
+    public Set<NodeResponse> getCompletedNodeResponses() {
+        return sharedResponse.getCompletedNodeResponses();
+    }
+
+    @Override
+    public boolean isComplete() {
+        return sharedResponse.isComplete();
+    }
+
+    @Override
+    public boolean isOlderThan(final long time, final TimeUnit timeUnit) {
+        return sharedResponse.isOlderThan(time, timeUnit);
+    }
+
+    @Override
+    public NodeResponse getMergedResponse() {
+        return copyOf(sharedResponse.getMergedResponse());
+    }
+
+    @Override
+    public NodeResponse awaitMergedResponse() throws InterruptedException {
+        return copyOf(sharedResponse.awaitMergedResponse());
+    }
+
+    @Override
+    public NodeResponse awaitMergedResponse(final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+        return copyOf(sharedResponse.awaitMergedResponse(timeout, timeUnit));
+    }
+
+    @Override
+    public NodeResponse getNodeResponse(final NodeIdentifier nodeId) {
+        return sharedResponse.getNodeResponse(nodeId);
+    }
+
+    private synchronized NodeResponse copyOf(final NodeResponse response) {
+        if (response == null || response.getUpdatedEntity() == null) {
+            return response;
+        }
+
+        if (mergedResponse == null) {
+            final Entity entity = response.getUpdatedEntity();
+            try {
+                final Entity entityCopy = ENTITY_CODEC.readValue(ENTITY_CODEC.writeValueAsBytes(entity), entity.getClass());
+                mergedResponse = new NodeResponse(response, entityCopy);
+            } catch (final IOException e) {
+                throw new IllegalStateException("Failed to copy the merged response to Request ID " + getRequestIdentifier(), e);
+            }
+        }
+
+        return mergedResponse;
+    }
+
+    @Override
+    public String toString() {
+        return "SharedAsyncClusterResponse[" + sharedResponse + "]";
+    }
+}
@@ -284,6 +284,12 @@ public class StandardAsyncClusterResponse implements AsyncClusterResponse {
             throw new IllegalStateException("Node " + nodeResponse.getNodeId() + " is not known for this request");
         }
 
+        if (merge) {
+            final long start = System.nanoTime();
+            responseMapper.prepareNodeResponse(uri, method, nodeResponse);
+            addTiming("Prepare Response", nodeResponse.getNodeId().toString(), System.nanoTime() - start);
+        }
+
         responseHolder.setResponse(nodeResponse);
         final int completedCount = requestsCompleted.incrementAndGet();
 
@@ -93,6 +93,9 @@ public class ThreadPoolRequestReplicator implements RequestReplicator {
     private final ConcurrentMap<String, StandardAsyncClusterResponse> responseMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<NodeIdentifier, AtomicInteger> sequentialLongRequestCounts = new ConcurrentHashMap<>();
 
+    // GET requests that are currently being replicated, so that identical requests made concurrently can share their responses
+    private final ConcurrentMap<SharedRequestKey, StandardAsyncClusterResponse> inFlightSharedRequests = new ConcurrentHashMap<>();
+
     private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
     private final Lock readLock = rwLock.readLock();
     private final Lock writeLock = rwLock.writeLock();
@@ -248,6 +251,18 @@ public class ThreadPoolRequestReplicator implements RequestReplicator {
         // include the proxied entities header
         updateRequestHeaders(updatedHeaders, user);
 
+        // If an identical request for the same user is already being replicated, wait for its responses instead
+        // of replicating the request again. This avoids hitting every node with the same request many times when
+        // many clients poll the same resources, as is the case with status requests made by the UI.
+        final SharedRequestKey sharedRequestKey = createSharedRequestKey(nodeIds, method, uri, entity, updatedHeaders, true);
+        if (sharedRequestKey != null) {
+            final StandardAsyncClusterResponse inFlightResponse = inFlightSharedRequests.get(sharedRequestKey);
+            if (inFlightResponse != null && !inFlightResponse.isComplete()) {
+                logger.debug("Request {} {} is identical to in-flight Request ID {}; will use a copy of its response", method, uri, inFlightResponse.getRequestIdentifier());
+                return new SharedAsyncClusterResponse(inFlightResponse);
+            }
+        }
+
         if (indicateReplicated) {
             // If we are replicating a request and indicating that it is replicated, then this means that we are
             // performing an action, rather than simply proxying the request to the cluster coordinator. In this case,
@@ -370,10 +385,16 @@ public class ThreadPoolRequestReplicator implements RequestReplicator {
 
             // create a response object if one was not already passed to us
             if (response == null) {
+                final SharedRequestKey sharedRequestKey = createSharedRequestKey(nodeIds, method, uri, entity, headers, merge);
+
                 // create the request objects and replicate to all nodes.
                 // When the request has completed, we need to ensure that we notify the monitor, if there is one.
                 final CompletionCallback completionCallback = clusterResponse -> {
                     try {
+                        if (sharedRequestKey != null) {
+                            inFlightSharedRequests.remove(sharedRequestKey, clusterResponse);
+                        }
+
                         onCompletedResponse(requestId);
                     } finally {
                         if (monitor != null) {
@@ -391,6 +412,10 @@ public class ThreadPoolRequestReplicator implements RequestReplicator {
                 response = new StandardAsyncClusterResponse(requestId, uri, method, nodeIds,
                         responseMapper, completionCallback, responseConsumedCallback, merge);
                 responseMap.put(requestId, response);
+
+                if (sharedRequestKey != null) {
+                    inFlightSharedRequests.put(sharedRequestKey, response);
+                }
             }
 
             if (verifyClusterStateNanos > -1) {
@@ -638,6 +663,26 @@ public class ThreadPoolRequestReplicator implements RequestReplicator {
         }
     }
 
+    /**
+     * Creates the key under which a replicated request may be shared with identical requests that are made while it is in flight.
+     * Only GET requests whose responses are merged into a new entity are shared, as only those responses can be written
+     * to more than one client. The headers that are unique to each request are not part of the key.
+     *
+     * @return the key, or <code>null</code> if the request may not be shared
+     */
+    private SharedRequestKey createSharedRequestKey(final Set<NodeIdentifier> nodeIds, final String method, final URI uri, final Object entity,
+                                                    final Map<String, String> headers, final boolean merge) {
+        if (!merge || !HttpMethod.GET.equalsIgnoreCase(method) || !responseMapper.isResponseInterpreted(uri, method)) {
+            return null;
+        }
+
+        final Map<String, String> sharedHeaders = new HashMap<>(headers);
+        sharedHeaders.remove(RequestReplicator.CLUSTER_ID_GENERATION_SEED_HEADER);
+        sharedHeaders.remove(REQUEST_TRANSACTION_ID_HEADER);
+
+        return new SharedRequestKey(nodeIds, uri, entity, sharedHeaders);
+    }
+
     private boolean isDeleteConnection(final String method, final String uriPath) {
         if (!HttpMethod.DELETE.equalsIgnoreCase(method)) {
             return false;
@@ -825,6 +870,38 @@ public class ThreadPoolRequestReplicator implements RequestReplicator {
         void onCompletion(NodeResponse nodeResponse);
     }
 
+    private static class SharedRequestKey {
+        private final Set<NodeIdentifier> nodeIds;
+        private final URI uri;
+        private final Object entity;
+        private final Map<String, String> headers;
+
+        private SharedRequestKey(final Set<NodeIdentifier> nodeIds, final URI uri, final Object entity, final Map<String, String> headers) {
+            this.nodeIds = new HashSet<>(nodeIds);
+            this.uri = uri;
+            this.entity = entity;
+            this.headers = headers;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SharedRequestKey)) {
+                return false;
+            }
+
+            final SharedRequestKey other = (SharedRequestKey) obj;
+            return nodeIds.equals(other.nodeIds) && uri.equals(other.uri) && Objects.equals(entity, other.entity) && headers.equals(other.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(nodeIds, uri, headers);
+        }
+    }
+
     private synchronized int purgeExpiredRequests() {
         final Set<String> expiredRequestIds = ThreadPoolRequestReplicator.this.responseMap.entrySet().stream()
                 .filter(entry -> entry.getValue().isOlderThan(30, TimeUnit.SECONDS)) // older than 30 seconds
@@ -833,6 +910,7 @@ public class ThreadPoolRequestReplicator implements RequestReplicator {
                 .collect(Collectors.toSet());
 
         expiredRequestIds.forEach(id -> onResponseConsumed(id));
+        inFlightSharedRequests.values().removeIf(StandardAsyncClusterResponse::isComplete);
         return responseMap.size();
     }
 
@@ -53,6 +53,8 @@ public class JacksonResponse extends Response {
 
     private final JsonFactory jsonFactory = new JsonFactory();
 
+    private PreparedEntity preparedEntity; // guarded by synchronizing on this
+
     public JacksonResponse(final ObjectMapper codec, final byte[] responseBody, final MultivaluedMap<String, String> responseHeaders, final URI location, final int statusCode,
             final Runnable closeCallback) {
         this.codec = codec;
@@ -84,9 +86,38 @@ public class JacksonResponse extends Response {
         }
     }
 
+    /**
+     * Parses the response body into an entity of the given type ahead of time, so that the next call to
+     * {@link #readEntity(Class)} for that type returns it without parsing. Only the next call gets the prepared
+     * entity; any further calls parse the body again, as each caller may modify the entity it receives.
+     *
+     * @param entityType the type of entity to prepare
+     */
+    public void prepareEntity(final Class<?> entityType) {
+        final Object entity = readEntity(entityType);
+        synchronized (this) {
+            preparedEntity = new PreparedEntity(entityType, entity);
+        }
+    }
+
+    private synchronized Object takePreparedEntity(final Class<?> entityType) {
+        if (preparedEntity == null || !preparedEntity.entityType.equals(entityType)) {
+            return null;
+        }
+
+        final Object entity = preparedEntity.entity;
+        preparedEntity = null;
+        return entity;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T readEntity(Class<T> entityType) {
+        final Object prepared = takePreparedEntity(entityType);
+        if (prepared != null) {
+            return (T) prepared;
+        }
+
         if (InputStream.class.equals(entityType)) {
             return (T) new ByteArrayInputStream(responseBody);
         }
@@ -234,4 +265,14 @@ public class JacksonResponse extends Response {
     public String getHeaderString(String name) {
         return responseHeaders.getFirst(name);
     }
+
+    private static class PreparedEntity {
+        private final Class<?> entityType;
+        private final Object entity;
+
+        private PreparedEntity(final Class<?> entityType, final Object entity) {
+            this.entityType = entityType;
+            this.entity = entity;
+        }
+    }
 }
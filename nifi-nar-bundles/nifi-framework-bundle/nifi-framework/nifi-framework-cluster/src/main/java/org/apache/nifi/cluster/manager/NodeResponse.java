@@ -178,8 +178,8 @@ public class NodeResponse {
     }
 
     public Response getResponse() {
-        // if the response encapsulates a throwable, then the input stream is never read and the below warning is irrelevant
-        if (hasCreatedResponse && !hasThrowable()) {
+        // if the response encapsulates a throwable or an updated entity, then the input stream is never read and the below warning is irrelevant
+        if (hasCreatedResponse && !hasThrowable() && updatedEntity == null) {
             logger.warn("ClientResponse's input stream has already been read.  The created response will not contain this data.");
         }
         hasCreatedResponse = true;
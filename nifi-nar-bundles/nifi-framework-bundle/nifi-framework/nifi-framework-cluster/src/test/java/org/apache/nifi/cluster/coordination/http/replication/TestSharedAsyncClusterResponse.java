@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.cluster.coordination.http.replication;
+
+import org.apache.nifi.cluster.manager.NodeResponse;
+import org.apache.nifi.cluster.protocol.NodeIdentifier;
+import org.apache.nifi.web.api.dto.ProcessorDTO;
+import org.apache.nifi.web.api.entity.ProcessorEntity;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestSharedAsyncClusterResponse {
+
+    @Test
+    public void testEachSharedResponseHasOwnEntity() throws URISyntaxException {
+        final NodeIdentifier nodeId = new NodeIdentifier("1", "localhost", 8000, "localhost", 8001, "localhost", 8002, 8003, false);
+        final NodeResponse nodeResponse = new NodeResponse(nodeId, "GET", new URI("http://localhost:8080/nifi-api/processors/1"), mock(Response.class), 0L, "1");
+
+        final ProcessorDTO processor = new ProcessorDTO();
+        processor.setId("1");
+        processor.setName("Processor");
+        final ProcessorEntity entity = new ProcessorEntity();
+        entity.setId("1");
+        entity.setComponent(processor);
+        final NodeResponse mergedResponse = new NodeResponse(nodeResponse, entity);
+
+        final AsyncClusterResponse inFlightResponse = mock(AsyncClusterResponse.class);
+        when(inFlightResponse.getMergedResponse()).thenReturn(mergedResponse);
+
+        final SharedAsyncClusterResponse first = new SharedAsyncClusterResponse(inFlightResponse);
+        final SharedAsyncClusterResponse second = new SharedAsyncClusterResponse(inFlightResponse);
+
+        final ProcessorEntity firstEntity = (ProcessorEntity) first.getMergedResponse().getUpdatedEntity();
+        final ProcessorEntity secondEntity = (ProcessorEntity) second.getMergedResponse().getUpdatedEntity();
+        assertNotSame(entity, firstEntity);
+        assertNotSame(firstEntity, secondEntity);
+        assertEquals("Processor", firstEntity.getComponent().getName());
+        assertEquals("Processor", secondEntity.getComponent().getName());
+
+        // changes to the entity of one response are not seen by the others
+        firstEntity.setComponent(null);
+        assertNull(((ProcessorEntity) first.getMergedResponse().getUpdatedEntity()).getComponent());
+        assertEquals("Processor", secondEntity.getComponent().getName());
+        assertEquals("Processor", entity.getComponent().getName());
+        assertSame(first.getMergedResponse(), first.getMergedResponse());
+    }
+
+    @Test
+    public void testIncompleteResponse() {
+        final AsyncClusterResponse inFlightResponse = mock(AsyncClusterResponse.class);
+        assertNull(new SharedAsyncClusterResponse(inFlightResponse).getMergedResponse());
+    }
+}
@@ -62,6 +62,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -192,6 +193,39 @@ public class TestThreadPoolRequestReplicator {
         }, Response.Status.OK, 0L, null, expectedRequestChain, expectedProxiedEntityGroups);
     }
 
+    @Test(timeout = 15000)
+    public void testIdenticalInFlightRequestsShareResponse() {
+        withReplicator(replicator -> {
+            final Set<NodeIdentifier> nodeIds = new HashSet<>();
+            nodeIds.add(new NodeIdentifier("1", "localhost", 8000, "localhost", 8001, "localhost", 8002, 8003, false));
+            final URI statusUri = new URI("http://localhost:8080/nifi-api/flow/status");
+            final URI processorUri = new URI("http://localhost:8080/processors/1");
+            final Entity entity = new ProcessorEntity();
+
+            // set the user
+            final Authentication authentication = new NiFiAuthenticationToken(new NiFiUserDetails(StandardNiFiUser.ANONYMOUS));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            // merged GET responses can be shared while the request is in flight
+            final AsyncClusterResponse statusResponse = replicator.replicate(nodeIds, HttpMethod.GET, statusUri, entity, new HashMap<>(), false, true);
+            final AsyncClusterResponse sharedStatusResponse = replicator.replicate(nodeIds, HttpMethod.GET, statusUri, entity, new HashMap<>(), false, true);
+            assertNotSame(statusResponse, sharedStatusResponse);
+            assertEquals(statusResponse.getRequestIdentifier(), sharedStatusResponse.getRequestIdentifier());
+
+            // responses that are streamed from a single node cannot be shared
+            final AsyncClusterResponse processorResponse = replicator.replicate(nodeIds, HttpMethod.GET, processorUri, entity, new HashMap<>(), false, true);
+            final AsyncClusterResponse otherProcessorResponse = replicator.replicate(nodeIds, HttpMethod.GET, processorUri, entity, new HashMap<>(), false, true);
+            assertNotSame(processorResponse, otherProcessorResponse);
+
+            // once complete, the request is replicated again
+            while (!statusResponse.isComplete()) {
+                Thread.sleep(10L);
+            }
+            final AsyncClusterResponse laterStatusResponse = replicator.replicate(nodeIds, HttpMethod.GET, statusUri, entity, new HashMap<>(), false, true);
+            assertNotSame(statusResponse, laterStatusResponse);
+        }, Status.OK, 500L, null);
+    }
+
     @Test(timeout = 15000)
     public void testLongWaitForResponse() {
         withReplicator(replicator -> {
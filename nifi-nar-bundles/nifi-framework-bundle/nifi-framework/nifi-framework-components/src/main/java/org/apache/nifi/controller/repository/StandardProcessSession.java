@@ -2875,6 +2875,22 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
 
         final StandardRepositoryRecord destinationRecord = getRecord(destination);
         final ContentRepository contentRepo = context.getContentRepository();
+
+        final ContentClaim referenceClaim = createMergeReferenceClaim(sourceRecords, header, footer, demarcator);
+        if (referenceClaim != null) {
+            claimLog.debug("Creating ContentClaim {} that references the content of {} for 'merge' for {}", referenceClaim, sources, destinationRecord.getCurrent());
+
+            removeTemporaryClaim(destinationRecord);
+            final FlowFileRecord newFile = new StandardFlowFileRecord.Builder()
+                .fromFlowFile(destinationRecord.getCurrent())
+                .contentClaim(referenceClaim)
+                .contentClaimOffset(0L)
+                .size(referenceClaim.getLength())
+                .build();
+            destinationRecord.setWorking(newFile, true);
+            return newFile;
+        }
+
         final ContentClaim newClaim;
         try {
             newClaim = contentRepo.create(context.getConnectable().isLossTolerant());
@@ -2887,8 +2903,9 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         long writtenCount = 0L;
 
         try {
-            try (final OutputStream rawOut = contentRepo.write(newClaim);
-                final OutputStream out = new BufferedOutputStream(rawOut)) {
+            // The repository's stream is used without buffering so that the repository can transfer the content of the sources
+            // directly, and the header, footer and demarcators are written as a whole anyway
+            try (final OutputStream out = contentRepo.write(newClaim)) {
 
                 if (header != null && header.length > 0) {
                     out.write(header);
@@ -3658,6 +3675,42 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         }
     }
 
+    /**
+     * If nothing is to be written in between the content of the given records, and their content is stored one after another
+     * within a single Resource Claim, asks the Content Repository for a claim that references the merged content where it already is.
+     *
+     * @return a claim that references the merged content, or <code>null</code> if the content has to be copied
+     */
+    private ContentClaim createMergeReferenceClaim(final Collection<StandardRepositoryRecord> sourceRecords, final byte[] header, final byte[] footer,
+                                                   final byte[] demarcator) {
+        if (sourceRecords.isEmpty() || (header != null && header.length > 0) || (footer != null && footer.length > 0)
+            || (demarcator != null && demarcator.length > 0 && sourceRecords.size() > 1)) {
+            return null;
+        }
+
+        ResourceClaim resourceClaim = null;
+        long startOffset = 0L;
+        long endOffset = 0L;
+        for (final StandardRepositoryRecord sourceRecord : sourceRecords) {
+            final ContentClaim claim = sourceRecord.getCurrentClaim();
+            if (claim == null) {
+                return null;
+            }
+
+            final long offset = claim.getOffset() + sourceRecord.getCurrentClaimOffset();
+            if (resourceClaim == null) {
+                resourceClaim = claim.getResourceClaim();
+                startOffset = offset;
+            } else if (!resourceClaim.equals(claim.getResourceClaim()) || offset != endOffset) {
+                return null;
+            }
+
+            endOffset = offset + sourceRecord.getCurrent().getSize();
+        }
+
+        return context.getContentRepository().createClaimReference(resourceClaim, startOffset, endOffset - startOffset);
+    }
+
     private void handleContentNotFound(final ContentNotFoundException nfe, final Collection<StandardRepositoryRecord> suspectRecords) {
         for (final StandardRepositoryRecord record : suspectRecords) {
             handleContentNotFound(nfe, record);
@@ -19,6 +19,7 @@ package org.apache.nifi.controller.cluster;
 import org.apache.nifi.cluster.coordination.ClusterCoordinator;
 import org.apache.nifi.cluster.coordination.node.ClusterRoles;
 import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
+import org.apache.nifi.cluster.protocol.Heartbeat;
 import org.apache.nifi.cluster.protocol.HeartbeatPayload;
 import org.apache.nifi.cluster.protocol.NodeIdentifier;
 import org.apache.nifi.cluster.protocol.NodeProtocolSender;
@@ -34,9 +35,11 @@ import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -54,6 +57,17 @@ public class ClusterProtocolHeartbeater implements Heartbeater {
     private final LeaderElectionManager electionManager;
     private final ClusterCoordinator clusterCoordinator;
 
+    // Address of the Cluster Coordinator that indicated that it supports the binary Heartbeat Payload
+    private String binaryPayloadAddress;
+
+    // Address of the Cluster Coordinator that last acknowledged our Cluster Status, and the digest of that Cluster Status
+    private String acknowledgedClusterStatusAddress;
+    private long acknowledgedClusterStatusDigest;
+
+    // Cluster Status that was last sent, and its digest
+    private Set<NodeConnectionStatus> lastClusterStatus;
+    private long lastClusterStatusDigest;
+
     public ClusterProtocolHeartbeater(final NodeProtocolSender protocolSender, final ClusterCoordinator clusterCoordinator, final LeaderElectionManager electionManager) {
         this.protocolSender = protocolSender;
         this.clusterCoordinator = clusterCoordinator;
@@ -78,11 +92,28 @@ public class ClusterProtocolHeartbeater implements Heartbeater {
         final String heartbeatAddress = getHeartbeatAddress();
         final long findCoordinatorNanos = System.nanoTime() - findCoordinatorStart;
 
-        final HeartbeatResponseMessage responseMessage = protocolSender.heartbeat(heartbeatMessage, heartbeatAddress);
-
         final byte[] payloadBytes = heartbeatMessage.getHeartbeat().getPayload();
         final HeartbeatPayload payload = HeartbeatPayload.unmarshal(payloadBytes);
         final List<NodeConnectionStatus> nodeStatusList = payload.getClusterStatus();
+
+        // Cluster Coordinators that have not indicated support for the binary Heartbeat Payload may only understand XML
+        final boolean binaryPayload = heartbeatAddress.equals(binaryPayloadAddress);
+        final long clusterStatusDigest = binaryPayload ? getClusterStatusDigest(nodeStatusList) : 0L;
+        final HeartbeatMessage messageToSend = binaryPayload ? createDeltaHeartbeatMessage(heartbeatMessage, payload, clusterStatusDigest, heartbeatAddress)
+            : createHeartbeatMessage(heartbeatMessage, payload.marshalXml());
+        final HeartbeatResponseMessage responseMessage = protocolSender.heartbeat(messageToSend, heartbeatAddress);
+
+        binaryPayloadAddress = responseMessage.isBinaryPayloadSupported() ? heartbeatAddress : null;
+        if (!binaryPayload || responseMessage.isClusterStatusRequired()) {
+            if (responseMessage.isClusterStatusRequired()) {
+                logger.debug("Cluster Coordinator at {} requested the full Cluster Status with the next heartbeat", heartbeatAddress);
+            }
+            acknowledgedClusterStatusAddress = null;
+        } else {
+            acknowledgedClusterStatusAddress = heartbeatAddress;
+            acknowledgedClusterStatusDigest = clusterStatusDigest;
+        }
+
         final Map<NodeIdentifier, Long> updateIdMap = nodeStatusList.stream().collect(
                 Collectors.toMap(status -> status.getNodeIdentifier(), status -> status.getUpdateIdentifier()));
 
@@ -126,6 +157,44 @@ public class ClusterProtocolHeartbeater implements Heartbeater {
             formattedElectionMessage);
     }
 
+    /**
+     * Creates the heartbeat to send to the Cluster Coordinator. The Cluster Status is left out of the heartbeat if the Cluster Coordinator
+     * has already acknowledged an identical Cluster Status, so that the size of the heartbeat does not grow with the size of the cluster.
+     */
+    private HeartbeatMessage createDeltaHeartbeatMessage(final HeartbeatMessage heartbeatMessage, final HeartbeatPayload payload, final long clusterStatusDigest,
+                                                         final String heartbeatAddress) {
+        final List<NodeConnectionStatus> clusterStatus = payload.getClusterStatus();
+        final boolean clusterStatusUnchanged = heartbeatAddress.equals(acknowledgedClusterStatusAddress) && clusterStatusDigest == acknowledgedClusterStatusDigest;
+
+        payload.setClusterStatusDigest(clusterStatusDigest);
+        payload.setClusterStatus(clusterStatusUnchanged ? null : clusterStatus);
+        final byte[] deltaPayloadBytes = payload.marshal();
+        payload.setClusterStatus(clusterStatus);
+
+        return createHeartbeatMessage(heartbeatMessage, deltaPayloadBytes);
+    }
+
+    private HeartbeatMessage createHeartbeatMessage(final HeartbeatMessage heartbeatMessage, final byte[] payloadBytes) {
+        final Heartbeat heartbeat = heartbeatMessage.getHeartbeat();
+        final HeartbeatMessage message = new HeartbeatMessage();
+        message.setHeartbeat(new Heartbeat(heartbeat.getNodeIdentifier(), heartbeat.getConnectionStatus(), payloadBytes));
+        return message;
+    }
+
+    /**
+     * Returns the digest of the given Cluster Status. The digest is only computed again when the Cluster Status differs from the one
+     * that was last sent, which NodeConnectionStatus equality determines by the same node identifiers and states that the digest covers.
+     */
+    private long getClusterStatusDigest(final List<NodeConnectionStatus> clusterStatus) {
+        final Set<NodeConnectionStatus> clusterStatusSet = new HashSet<>(clusterStatus);
+        if (!clusterStatusSet.equals(lastClusterStatus)) {
+            lastClusterStatus = clusterStatusSet;
+            lastClusterStatusDigest = HeartbeatPayload.computeClusterStatusDigest(clusterStatus);
+        }
+
+        return lastClusterStatusDigest;
+    }
+
     @Override
     public void close() throws IOException {
     }
@@ -46,6 +46,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -651,7 +652,7 @@ public class FileSystemRepository implements ContentRepository {
             // and when we call create(), it will remove it from the Queue, which means that no other
             // thread will get the same Claim until we've finished writing to it.
             final File file = getPath(resourceClaim).toFile();
-            ByteCountingOutputStream claimStream = new SynchronizedByteCountingOutputStream(new FileOutputStream(file, true), file.length());
+            ByteCountingOutputStream claimStream = new ResourceClaimOutputStream(new FileOutputStream(file, true), file.length());
             writableClaimStreams.put(resourceClaim, claimStream);
 
             incrementClaimantCount(resourceClaim, true);
@@ -761,33 +762,44 @@ public class FileSystemRepository implements ContentRepository {
         return newClaim;
     }
 
+    @Override
+    public ContentClaim createClaimReference(final ResourceClaim resourceClaim, final long offset, final long length) {
+        final StandardContentClaim claim = new StandardContentClaim(resourceClaim, offset);
+        claim.setLength(length);
+        incrementClaimantCount(resourceClaim, false);
+        return claim;
+    }
+
     @Override
     public long merge(final Collection<ContentClaim> claims, final ContentClaim destination, final byte[] header, final byte[] footer, final byte[] demarcator) throws IOException {
         if (claims.contains(destination)) {
             throw new IllegalArgumentException("destination cannot be within claims");
         }
 
-        try (final ByteCountingOutputStream out = new ByteCountingOutputStream(write(destination))) {
+        // Write to the repository's stream directly so that the content of the claims can be transferred between files
+        try (final OutputStream out = write(destination)) {
+            long bytesWritten = 0L;
             if (header != null) {
                 out.write(header);
+                bytesWritten += header.length;
             }
 
             int i = 0;
             for (final ContentClaim claim : claims) {
-                try (final InputStream in = read(claim)) {
-                    StreamUtils.copy(in, out);
-                }
+                bytesWritten += exportTo(claim, out);
 
                 if (++i < claims.size() && demarcator != null) {
                     out.write(demarcator);
+                    bytesWritten += demarcator.length;
                 }
             }
 
             if (footer != null) {
                 out.write(footer);
+                bytesWritten += footer.length;
             }
 
-            return out.getBytesWritten();
+            return bytesWritten;
         }
     }
 
@@ -863,6 +875,10 @@ public class FileSystemRepository implements ContentRepository {
             return 0L;
         }
 
+        if (isTransferable(claim, destination)) {
+            return transferTo(claim, (ContentRepositoryOutputStream) destination, 0L, size(claim));
+        }
+
         try (final InputStream in = read(claim)) {
             return StreamUtils.copy(in, destination);
         }
@@ -880,6 +896,9 @@ public class FileSystemRepository implements ContentRepository {
         if (offset == 0 && length == claimSize) {
             return exportTo(claim, destination);
         }
+        if (isTransferable(claim, destination)) {
+            return transferTo(claim, (ContentRepositoryOutputStream) destination, offset, Math.min(length, claimSize - offset));
+        }
         try (final InputStream in = read(claim)) {
             StreamUtils.skip(in, offset);
             final byte[] buffer = new byte[8192];
@@ -893,6 +912,40 @@ public class FileSystemRepository implements ContentRepository {
         }
     }
 
+    /**
+     * Indicates whether the content of the given claim can be appended to the given stream by transferring the bytes between
+     * the Resource Claim files directly, without reading them into the JVM heap. This is the case when the stream was obtained from
+     * {@link #write(ContentClaim)} of a repository that stores content as is, and the content is in a different Resource Claim.
+     */
+    private boolean isTransferable(final ContentClaim claim, final OutputStream destination) {
+        if (!isContentStoredAsIs() || destination.getClass() != ContentRepositoryOutputStream.class) {
+            return false;
+        }
+
+        final ContentRepositoryOutputStream repositoryStream = (ContentRepositoryOutputStream) destination;
+        return repositoryStream.getRepository() == this
+            && repositoryStream.bcos instanceof ResourceClaimOutputStream
+            && !repositoryStream.scc.getResourceClaim().equals(claim.getResourceClaim());
+    }
+
+    private long transferTo(final ContentClaim claim, final ContentRepositoryOutputStream destination, final long offset, final long length) throws IOException {
+        final Path path = getPath(claim, true);
+        try {
+            return destination.transferFrom(path, claim.getOffset() + offset, length);
+        } catch (final EOFException eof) {
+            throw new ContentNotFoundException(claim, eof.getMessage());
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the bytes of a Content Claim are stored in its Resource Claim exactly as they were written, so that
+     * ranges of Resource Claims can be referenced and transferred directly; <code>false</code> if the content is transformed, such as
+     * by encryption, when it is stored
+     */
+    protected boolean isContentStoredAsIs() {
+        return true;
+    }
+
     @Override
     public long size(final ContentClaim claim) throws IOException {
         if (claim == null) {
@@ -1930,6 +1983,35 @@ public class FileSystemRepository implements ContentRepository {
             return "FileSystemRepository Stream [" + scc + "]";
         }
 
+        private FileSystemRepository getRepository() {
+            return FileSystemRepository.this;
+        }
+
+        /**
+         * Appends the given number of bytes of the given file, starting at the given position, to the claim by transferring them
+         * between the files directly
+         */
+        private synchronized long transferFrom(final Path source, final long position, final long length) throws IOException {
+            if (closed) {
+                throw new IOException("Stream is closed");
+            }
+
+            final long transferred;
+            try {
+                transferred = ((ResourceClaimOutputStream) bcos).transferFrom(source, position, length);
+            } catch (final EOFException eof) {
+                recycle = false;
+                throw eof;
+            } catch (final IOException ioe) {
+                recycle = false;
+                throw new IOException("Failed to write to " + this, ioe);
+            }
+
+            bytesWritten += transferred;
+            scc.setLength(bytesWritten + initialLength);
+            return transferred;
+        }
+
         @Override
         public synchronized void write(final int b) throws IOException {
             if (closed) {
@@ -2052,4 +2134,41 @@ public class FileSystemRepository implements ContentRepository {
             }
         }
     }
+
+    /**
+     * The stream that appends to the file of a writable Resource Claim. In addition to writing bytes, it can append a range of another file
+     * by transferring the bytes between the files directly, which the operating system can do without copying them into the JVM heap.
+     */
+    private static class ResourceClaimOutputStream extends SynchronizedByteCountingOutputStream {
+        private final FileOutputStream fileOutputStream;
+        private long bytesTransferred = 0L;
+
+        ResourceClaimOutputStream(final FileOutputStream fileOutputStream, final long byteCount) {
+            super(fileOutputStream, byteCount);
+            this.fileOutputStream = fileOutputStream;
+        }
+
+        synchronized long transferFrom(final Path source, final long position, final long length) throws IOException {
+            final FileChannel destination = fileOutputStream.getChannel();
+            try (final FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ)) {
+                long transferred = 0L;
+                while (transferred < length) {
+                    final long count = sourceChannel.transferTo(position + transferred, length - transferred, destination);
+                    if (count <= 0) {
+                        throw new EOFException("Expected " + length + " bytes starting at offset " + position + " of " + source + " but only " + transferred + " bytes were available");
+                    }
+
+                    transferred += count;
+                    bytesTransferred += count;
+                }
+
+                return transferred;
+            }
+        }
+
+        @Override
+        public synchronized long getBytesWritten() {
+            return super.getBytesWritten() + bytesTransferred;
+        }
+    }
 }
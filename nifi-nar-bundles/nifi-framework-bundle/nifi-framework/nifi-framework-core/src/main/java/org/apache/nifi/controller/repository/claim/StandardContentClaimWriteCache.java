@@ -17,9 +17,10 @@
 
 package org.apache.nifi.controller.repository.claim;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
@@ -28,6 +29,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.apache.nifi.controller.repository.ContentRepository;
 
 public class StandardContentClaimWriteCache implements ContentClaimWriteCache {
+    // Write buffers are kept per thread so that a session that is created for each invocation of a processor does not allocate
+    // new buffers every time. The number of buffers is bounded because a session rarely writes to more than a few Resource Claims.
+    private static final int MAX_POOLED_BUFFERS_PER_THREAD = 4;
+    private static final ThreadLocal<Deque<byte[]>> pooledBuffers = ThreadLocal.withInitial(ArrayDeque::new);
+
     private final ContentRepository contentRepo;
     private final Map<ResourceClaim, OutputStream> streamMap = new ConcurrentHashMap<>();
     private final Queue<ContentClaim> queue = new LinkedList<>();
@@ -67,7 +73,7 @@ public class StandardContentClaimWriteCache implements ContentClaimWriteCache {
 
     private OutputStream registerStream(final ContentClaim contentClaim) throws IOException {
         final OutputStream out = contentRepo.write(contentClaim);
-        final OutputStream buffered = new BufferedOutputStream(out, bufferSize);
+        final OutputStream buffered = new PooledBufferedOutputStream(out, borrowBuffer(bufferSize));
         streamMap.put(contentClaim.getResourceClaim(), buffered);
         return buffered;
     }
@@ -166,6 +172,98 @@ public class StandardContentClaimWriteCache implements ContentClaimWriteCache {
         }
     }
 
+    static byte[] borrowBuffer(final int bufferSize) {
+        final Deque<byte[]> buffers = pooledBuffers.get();
+        final byte[] buffer = buffers.poll();
+        if (buffer != null && buffer.length == bufferSize) {
+            return buffer;
+        }
+
+        return new byte[bufferSize];
+    }
+
+    static void releaseBuffer(final byte[] buffer) {
+        final Deque<byte[]> buffers = pooledBuffers.get();
+        if (buffers.size() < MAX_POOLED_BUFFERS_PER_THREAD) {
+            buffers.push(buffer);
+        }
+    }
+
+    /**
+     * A buffered stream that, unlike {@link java.io.BufferedOutputStream}, does not synchronize on each write, as the stream is only ever
+     * used by the session that owns this cache. The buffer is taken from the pool of the current thread and returned to it when the stream is closed.
+     */
+    private static class PooledBufferedOutputStream extends OutputStream {
+        private final OutputStream out;
+        private byte[] buffer;
+        private int count = 0;
+
+        PooledBufferedOutputStream(final OutputStream out, final byte[] buffer) {
+            this.out = out;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            ensureOpen();
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            ensureOpen();
+            if (len >= buffer.length) {
+                flushBuffer();
+                out.write(b, off, len);
+                return;
+            }
+
+            if (len > buffer.length - count) {
+                flushBuffer();
+            }
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            flushBuffer();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (buffer == null) {
+                return;
+            }
+
+            try {
+                flush();
+            } finally {
+                releaseBuffer(buffer);
+                buffer = null;
+                out.close();
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            if (count > 0) {
+                out.write(buffer, 0, count);
+                count = 0;
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (buffer == null) {
+                throw new IOException("Stream is closed");
+            }
+        }
+    }
+
     private interface StreamProcessor {
         void process(final OutputStream out) throws IOException;
     }
@@ -156,6 +156,19 @@ public class EncryptedFileSystemRepository extends FileSystemRepository {
         return super.exportTo(claim, destination, append, offset, length);
     }
 
+    /**
+     * Each Content Claim is encrypted separately, so ranges of Resource Claims can be neither referenced nor transferred as is.
+     */
+    @Override
+    public ContentClaim createClaimReference(final ResourceClaim resourceClaim, final long offset, final long length) {
+        return null;
+    }
+
+    @Override
+    protected boolean isContentStoredAsIs() {
+        return false;
+    }
+
     @Override
     public InputStream read(final ResourceClaim claim) {
         throw new UnsupportedOperationException("Cannot read full ResourceClaim as a Stream when using EncryptedFileSystemRepository");
@@ -27,6 +27,7 @@ import org.apache.nifi.diagnostics.bootstrap.tasks.ComponentCountTask;
 import org.apache.nifi.diagnostics.bootstrap.tasks.ContentRepositoryScanTask;
 import org.apache.nifi.diagnostics.bootstrap.tasks.DataValveDiagnosticsTask;
 import org.apache.nifi.diagnostics.bootstrap.tasks.DiagnosticAnalysisTask;
+import org.apache.nifi.diagnostics.bootstrap.tasks.ExpressionLanguageCacheDiagnosticTask;
 import org.apache.nifi.diagnostics.bootstrap.tasks.FlowConfigurationDiagnosticTask;
 import org.apache.nifi.diagnostics.bootstrap.tasks.GarbageCollectionDiagnosticTask;
 import org.apache.nifi.diagnostics.bootstrap.tasks.JVMDiagnosticTask;
@@ -83,6 +84,7 @@ public class BootstrapDiagnosticsFactory implements DiagnosticsFactory {
         tasks.add(new NiFiPropertiesDiagnosticTask(nifiProperties));
         tasks.add(new ContentRepositoryScanTask(flowController));
         tasks.add(new DataValveDiagnosticsTask(flowController.getFlowManager()));
+        tasks.add(new ExpressionLanguageCacheDiagnosticTask());
         tasks.add(new ThreadDumpTask());
         return tasks;
     }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.diagnostics.bootstrap.tasks;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.nifi.attribute.expression.language.ExpressionCache;
+import org.apache.nifi.diagnostics.DiagnosticTask;
+import org.apache.nifi.diagnostics.DiagnosticsDumpElement;
+import org.apache.nifi.diagnostics.StandardDiagnosticsDumpElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ExpressionLanguageCacheDiagnosticTask implements DiagnosticTask {
+    @Override
+    public DiagnosticsDumpElement captureDump(final boolean verbose) {
+        final ExpressionCache expressionCache = ExpressionCache.getInstance();
+
+        final List<String> details = new ArrayList<>();
+        details.add("Cached Expressions: " + expressionCache.getCompiledExpressionCount());
+        details.add("Compiled Expression Cache: " + formatStats(expressionCache.getCompiledExpressionStats()));
+
+        if (expressionCache.isMemoizationEnabled()) {
+            details.add("Memoized Results: " + expressionCache.getMemoizedResultCount());
+            details.add("Memoized Result Cache: " + formatStats(expressionCache.getMemoizedResultStats()));
+        } else {
+            details.add("Memoization of Expression results is disabled");
+        }
+
+        return new StandardDiagnosticsDumpElement("Expression Language Cache", details);
+    }
+
+    private String formatStats(final CacheStats stats) {
+        return String.format("%1$,d hits, %2$,d misses, %3$.2f%% hit rate, %4$,d evictions", stats.hitCount(), stats.missCount(), stats.hitRate() * 100D, stats.evictionCount());
+    }
+}
@@ -17,11 +17,24 @@
 package org.apache.nifi.cluster;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import javax.xml.bind.JAXBContext;
+
+import org.apache.nifi.cluster.coordination.node.DisconnectionCode;
+import org.apache.nifi.cluster.coordination.node.NodeConnectionState;
+import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
 import org.apache.nifi.cluster.protocol.HeartbeatPayload;
+import org.apache.nifi.cluster.protocol.NodeIdentifier;
 import org.apache.nifi.util.NiFiProperties;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -68,4 +81,99 @@ public class HeartbeatPayloadTest {
         assertEquals(activeThreadCount, newPayload.getActiveThreadCount());
         assertEquals(totalFlowFileCount, newPayload.getTotalFlowFileCount());
     }
+
+    @Test
+    public void testMarshallingClusterStatus() {
+        final NodeIdentifier nodeId = new NodeIdentifier("node-1", "localhost", 8080, "localhost", 8081, "localhost", 8082,
+                "localhost", 8083, 8080, false, Collections.singleton("CN=node-1"));
+        final NodeConnectionStatus connected = new NodeConnectionStatus(nodeId, NodeConnectionState.CONNECTED);
+        final NodeConnectionStatus disconnected = new NodeConnectionStatus(nodeId, DisconnectionCode.LACK_OF_HEARTBEAT, "No heartbeat");
+        final List<NodeConnectionStatus> clusterStatus = Arrays.asList(connected, disconnected);
+
+        payload.setClusterStatus(clusterStatus);
+        payload.setClusterStatusDigest(HeartbeatPayload.computeClusterStatusDigest(clusterStatus));
+        payload.setRevisionUpdateCount(7L);
+
+        final HeartbeatPayload newPayload = HeartbeatPayload.unmarshal(payload.marshal());
+
+        assertEquals(7L, newPayload.getRevisionUpdateCount());
+        assertEquals(payload.getClusterStatusDigest(), newPayload.getClusterStatusDigest());
+        assertEquals(2, newPayload.getClusterStatus().size());
+
+        final NodeConnectionStatus newConnected = newPayload.getClusterStatus().get(0);
+        assertEquals(connected.getUpdateIdentifier(), newConnected.getUpdateIdentifier());
+        assertEquals(NodeConnectionState.CONNECTED, newConnected.getState());
+        assertEquals(8082, newConnected.getNodeIdentifier().getLoadBalancePort());
+        assertEquals(Collections.singleton("CN=node-1"), newConnected.getNodeIdentifier().getNodeIdentities());
+
+        final NodeConnectionStatus newDisconnected = newPayload.getClusterStatus().get(1);
+        assertEquals(DisconnectionCode.LACK_OF_HEARTBEAT, newDisconnected.getDisconnectCode());
+        assertEquals("No heartbeat", newDisconnected.getReason());
+    }
+
+    @Test
+    public void testMarshallingOmittedClusterStatus() {
+        payload.setClusterStatusDigest(42L);
+
+        final HeartbeatPayload newPayload = HeartbeatPayload.unmarshal(payload.marshal());
+
+        assertNull(newPayload.getClusterStatus());
+        assertEquals(42L, newPayload.getClusterStatusDigest());
+    }
+
+    @Test
+    public void testUnmarshallingXml() throws Exception {
+        payload.setActiveThreadCount(activeThreadCount);
+        payload.setTotalFlowFileCount(totalFlowFileCount);
+
+        JAXBContext.newInstance(HeartbeatPayload.class).createMarshaller().marshal(payload, marshalledBytes);
+        HeartbeatPayload newPayload = HeartbeatPayload.unmarshal(marshalledBytes.toByteArray());
+
+        assertEquals(activeThreadCount, newPayload.getActiveThreadCount());
+        assertEquals(totalFlowFileCount, newPayload.getTotalFlowFileCount());
+        assertEquals(0L, newPayload.getClusterStatusDigest());
+    }
+
+    @Test
+    public void testMarshallingXml() {
+        final NodeIdentifier nodeId = new NodeIdentifier("node-1", "localhost", 8080, "localhost", 8081, "localhost", 8083, 8080, false);
+        payload.setActiveThreadCount(activeThreadCount);
+        payload.setClusterStatus(Collections.singletonList(new NodeConnectionStatus(nodeId, NodeConnectionState.CONNECTED)));
+        payload.setClusterStatusDigest(42L);
+
+        final byte[] xmlBytes = payload.marshalXml();
+        assertTrue(new String(xmlBytes, StandardCharsets.UTF_8).startsWith("<?xml"));
+
+        // the digest is only part of the binary encoding, so the XML is the same as that of nodes without binary encoding support
+        final HeartbeatPayload newPayload = HeartbeatPayload.unmarshal(xmlBytes);
+        assertEquals(activeThreadCount, newPayload.getActiveThreadCount());
+        assertEquals(1, newPayload.getClusterStatus().size());
+        assertEquals(0L, newPayload.getClusterStatusDigest());
+    }
+
+    @Test
+    public void testBinaryEncodingSmallerThanXml() throws Exception {
+        final NodeIdentifier nodeId = new NodeIdentifier("node-1", "localhost", 8080, "localhost", 8081, "localhost", 8083, 8080, false);
+        payload.setClusterStatus(Collections.singletonList(new NodeConnectionStatus(nodeId, NodeConnectionState.CONNECTED)));
+
+        JAXBContext.newInstance(HeartbeatPayload.class).createMarshaller().marshal(payload, marshalledBytes);
+
+        assertTrue(payload.marshal().length < marshalledBytes.size());
+    }
+
+    @Test
+    public void testClusterStatusDigest() {
+        final NodeIdentifier nodeId1 = new NodeIdentifier("node-1", "localhost", 8080, "localhost", 8081, "localhost", 8083, 8080, false);
+        final NodeIdentifier nodeId2 = new NodeIdentifier("node-2", "localhost", 9080, "localhost", 9081, "localhost", 9083, 9080, false);
+        final NodeConnectionStatus status1 = new NodeConnectionStatus(nodeId1, NodeConnectionState.CONNECTED);
+        final NodeConnectionStatus status2 = new NodeConnectionStatus(nodeId2, NodeConnectionState.CONNECTED);
+
+        final long digest = HeartbeatPayload.computeClusterStatusDigest(Arrays.asList(status1, status2));
+
+        // Order of the statuses and update identifiers are irrelevant, but the connection state is not
+        assertEquals(digest, HeartbeatPayload.computeClusterStatusDigest(Arrays.asList(status2, new NodeConnectionStatus(status1))));
+        assertNotEquals(digest, HeartbeatPayload.computeClusterStatusDigest(Arrays.asList(status1,
+                new NodeConnectionStatus(nodeId2, NodeConnectionState.DISCONNECTING))));
+        assertNotEquals(0L, HeartbeatPayload.computeClusterStatusDigest(null));
+    }
 }
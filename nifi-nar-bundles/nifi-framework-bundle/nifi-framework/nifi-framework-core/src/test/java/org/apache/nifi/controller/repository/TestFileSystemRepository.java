@@ -430,6 +430,60 @@ public class TestFileSystemRepository {
         assertTrue(Arrays.equals(doubleExpected, Files.readAllBytes(outPath)));
     }
 
+    @Test
+    public void testExportToRepositoryStreamOfOtherResourceClaim() throws IOException {
+        final byte[] expected = Files.readAllBytes(helloWorldFile.toPath());
+        final ContentClaim source = repository.create(true);
+        final ContentClaim destination;
+
+        // Keep the source stream open so that the destination is created in a different Resource Claim
+        try (final OutputStream sourceOut = repository.write(source)) {
+            sourceOut.write(expected);
+            sourceOut.flush();
+
+            destination = repository.create(true);
+            assertNotSame(source.getResourceClaim(), destination.getResourceClaim());
+
+            try (final OutputStream destinationOut = repository.write(destination)) {
+                destinationOut.write("<".getBytes());
+                assertEquals(expected.length, repository.exportTo(source, destinationOut));
+                assertEquals(5L, repository.exportTo(source, destinationOut, 6L, 5L));
+                destinationOut.write(">".getBytes());
+            }
+        }
+
+        final String expectedText = "<" + new String(expected) + new String(expected, 6, 5) + ">";
+        assertEquals(expectedText.length(), destination.getLength());
+        assertEquals(expectedText, new String(readFully(repository.read(destination), 1024)));
+
+        // Content that is written to the destination's Resource Claim later must follow the transferred bytes
+        final ContentClaim next = repository.create(true);
+        if (next.getResourceClaim().equals(destination.getResourceClaim())) {
+            assertEquals(destination.getOffset() + destination.getLength(), next.getOffset());
+        }
+    }
+
+    @Test
+    public void testCreateClaimReference() throws IOException {
+        final ContentClaim first = repository.create(true);
+        try (final OutputStream out = repository.write(first)) {
+            out.write("Hello, ".getBytes());
+        }
+
+        final ContentClaim second = repository.create(true);
+        try (final OutputStream out = repository.write(second)) {
+            out.write("World!".getBytes());
+        }
+        Assume.assumeTrue(first.getResourceClaim().equals(second.getResourceClaim()));
+
+        final int claimantCount = claimManager.getClaimantCount(first.getResourceClaim());
+        final ContentClaim reference = repository.createClaimReference(first.getResourceClaim(), first.getOffset(), first.getLength() + second.getLength());
+        assertEquals(claimantCount + 1, claimManager.getClaimantCount(first.getResourceClaim()));
+        assertEquals("Hello, World!", new String(readFully(repository.read(reference), 64)));
+
+        assertEquals(claimantCount, repository.decrementClaimantCount(reference));
+    }
+
     @Test
     public void testSize() throws IOException {
         final ContentClaim claim = repository.create(true);
@@ -19,6 +19,7 @@ package org.apache.nifi.controller.repository.claim;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 import java.io.File;
 import java.io.IOException;
@@ -95,4 +96,29 @@ public class TestContentClaimWriteCache {
         Assert.assertArrayEquals("good-dayhello".getBytes(), buff2);
     }
 
+    @Test
+    public void testWriteBufferReturnedToPool() throws IOException {
+        final byte[] buffer = StandardContentClaimWriteCache.borrowBuffer(16);
+        StandardContentClaimWriteCache.releaseBuffer(buffer);
+
+        final ContentClaimWriteCache cache = new StandardContentClaimWriteCache(repository, 16);
+        final ContentClaim claim = cache.getContentClaim();
+        try (final OutputStream out = cache.write(claim)) {
+            out.write("hello".getBytes());
+            out.write("a message that does not fit in the buffer".getBytes());
+            out.write('!');
+        }
+        cache.reset();
+
+        final byte[] expected = "helloa message that does not fit in the buffer!".getBytes();
+        assertEquals(expected.length, claim.getLength());
+        final byte[] buff = new byte[(int) claim.getLength()];
+        try (final InputStream in = repository.read(claim)) {
+            StreamUtils.fillBuffer(in, buff);
+        }
+        Assert.assertArrayEquals(expected, buff);
+
+        // The buffer used by the cache is available for the next session on this thread
+        assertSame(buffer, StandardContentClaimWriteCache.borrowBuffer(16));
+    }
 }
@@ -40,7 +40,6 @@ import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
-import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
 
 import java.io.InputStream;
@@ -179,14 +178,14 @@ public class PutBigQueryStreaming extends AbstractBigQueryProcessor {
         Map<String, Object> result = new HashMap<String, Object>();
         for (String key : map.keySet()) {
             Object obj = map.get(key);
-            if (obj instanceof MapRecord) {
-                result.put(key, convertMapRecord(((MapRecord) obj).toMap()));
+            if (obj instanceof Record) {
+                result.put(key, convertMapRecord(((Record) obj).toMap()));
             } else if (obj instanceof Object[]
                     && ((Object[]) obj).length > 0
-                    && ((Object[]) obj)[0] instanceof MapRecord) {
+                    && ((Object[]) obj)[0] instanceof Record) {
                 List<Map<String, Object>> lmapr = new ArrayList<Map<String, Object>>();
                 for (Object mapr : ((Object[]) obj)) {
-                    lmapr.add(convertMapRecord(((MapRecord) mapr).toMap()));
+                    lmapr.add(convertMapRecord(((Record) mapr).toMap()));
                 }
                 result.put(key, lmapr);
             } else if (obj instanceof Timestamp) {
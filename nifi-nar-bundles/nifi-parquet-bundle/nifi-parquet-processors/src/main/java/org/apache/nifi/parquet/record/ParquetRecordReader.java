@@ -24,6 +24,7 @@ import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 import org.apache.parquet.avro.AvroParquetReader;
 import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.io.InputFile;
@@ -81,6 +82,29 @@ public class ParquetRecordReader implements RecordReader {
         return record;
     }
 
+    @Override
+    public int nextBatch(final RecordBatch batch, final boolean coerceTypes, final boolean dropUnknownFields) throws IOException {
+        if (!recordSchema.equals(batch.getSchema())) {
+            batch.clear();
+
+            Record record;
+            while (!batch.isFull() && (record = nextRecord(coerceTypes, dropUnknownFields)) != null) {
+                batch.addRecord(record);
+            }
+
+            return batch.getRowCount();
+        }
+
+        // Add the values of each Parquet record to the batch directly, rather than creating a Record for each row
+        batch.clear();
+        while (!batch.isFull() && lastParquetRecord != null) {
+            batch.addRow(AvroTypeUtil.convertAvroRecordToArray(lastParquetRecord, recordSchema));
+            lastParquetRecord = parquetReader.read();
+        }
+
+        return batch.getRowCount();
+    }
+
     @Override
     public RecordSchema getSchema() {
         return recordSchema;
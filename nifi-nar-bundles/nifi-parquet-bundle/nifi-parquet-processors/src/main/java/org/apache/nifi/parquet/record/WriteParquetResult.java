@@ -25,6 +25,7 @@ import org.apache.nifi.parquet.stream.NifiParquetOutputFile;
 import org.apache.nifi.parquet.utils.ParquetConfig;
 import org.apache.nifi.serialization.AbstractRecordSetWriter;
 import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 import org.apache.parquet.avro.AvroParquetWriter;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.io.OutputFile;
@@ -63,6 +64,14 @@ public class WriteParquetResult extends AbstractRecordSetWriter {
         return Collections.emptyMap();
     }
 
+    @Override
+    protected Map<String, String> writeRecords(final RecordBatch batch) throws IOException {
+        for (final GenericRecord genericRecord : AvroTypeUtil.createAvroRecords(batch, schema)) {
+            parquetWriter.write(genericRecord);
+        }
+        return Collections.emptyMap();
+    }
+
     @Override
     public void close() throws IOException {
         try {
@@ -36,6 +36,7 @@ import org.apache.nifi.serialization.RecordSetWriterFactory;
 import org.apache.nifi.serialization.WriteResult;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -152,11 +153,19 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
 
                             writer.write(firstRecord);
 
-                            Record record;
-                            long count = 1L;
-                            while ((record = reader.nextRecord()) != null) {
-                                final Record processed = AbstractRecordProcessor.this.process(record, original, context, ++count);
-                                writer.write(processed);
+                            if (isRecordBatchingSupported()) {
+                                // Records are not changed, so they can be passed from the Reader to the Writer in batches
+                                final RecordBatch batch = new RecordBatch(reader.getSchema());
+                                while (reader.nextBatch(batch, true, false) > 0) {
+                                    writer.write(batch);
+                                }
+                            } else {
+                                Record record;
+                                long count = 1L;
+                                while ((record = reader.nextRecord()) != null) {
+                                    final Record processed = AbstractRecordProcessor.this.process(record, original, context, ++count);
+                                    writer.write(processed);
+                                }
                             }
 
                             final WriteResult writeResult = writer.finishRecordSet();
@@ -199,5 +208,16 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
         getLogger().info("Successfully converted {} records for {}", new Object[] {count, flowFile});
     }
 
+    /**
+     * Indicates whether {@link #process(Record, FlowFile, ProcessContext, long)} returns every Record unchanged. If so, all Records but the first
+     * are passed from the Record Reader to the Record Writer in batches, without calling {@link #process(Record, FlowFile, ProcessContext, long)},
+     * which allows Readers and Writers that support batches to convert the values one column at a time.
+     *
+     * @return <code>true</code> if Records may be passed from the Reader to the Writer in batches, <code>false</code> otherwise
+     */
+    protected boolean isRecordBatchingSupported() {
+        return false;
+    }
+
     protected abstract Record process(Record record, FlowFile flowFile, ProcessContext context, long count);
 }
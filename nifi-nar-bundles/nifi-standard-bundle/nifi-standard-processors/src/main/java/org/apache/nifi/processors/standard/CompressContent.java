@@ -16,13 +16,20 @@
  */
 package org.apache.nifi.processors.standard;
 
+import com.github.luben.zstd.RecyclingBufferPool;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
 import lzma.sdk.lzma.Decoder;
 import lzma.streams.LzmaInputStream;
 import lzma.streams.LzmaOutputStream;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
 import org.apache.nifi.annotation.behavior.EventDriven;
 import org.apache.nifi.annotation.behavior.InputRequirement;
 import org.apache.nifi.annotation.behavior.InputRequirement.Requirement;
@@ -34,19 +41,25 @@ import org.apache.nifi.annotation.behavior.SystemResourceConsideration;
 import org.apache.nifi.annotation.behavior.WritesAttribute;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.ValidationContext;
 import org.apache.nifi.components.ValidationResult;
+import org.apache.nifi.compression.CompressionDictionaryService;
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.flowfile.attributes.CoreAttributes;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.processor.AbstractProcessor;
+import org.apache.nifi.processor.DataUnit;
 import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.ProcessorInitializationContext;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.StreamCallback;
+import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.util.ParallelCompressionOutputStream;
 import org.apache.nifi.stream.io.GZIPOutputStream;
 import org.apache.nifi.util.StopWatch;
 import org.tukaani.xz.LZMA2Options;
@@ -72,7 +85,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
@@ -82,7 +98,7 @@ import java.util.zip.InflaterInputStream;
 @SideEffectFree
 @SupportsBatching
 @InputRequirement(Requirement.INPUT_REQUIRED)
-@Tags({"content", "compress", "decompress", "gzip", "bzip2", "lzma", "xz-lzma2", "snappy", "snappy-hadoop", "snappy framed", "lz4-framed", "deflate"})
+@Tags({"content", "compress", "decompress", "gzip", "bzip2", "lzma", "xz-lzma2", "snappy", "snappy-hadoop", "snappy framed", "lz4-framed", "deflate", "zstd"})
 @CapabilityDescription("Compresses or decompresses the contents of FlowFiles using a user-specified compression algorithm and updates the mime.type "
     + "attribute as appropriate. This processor operates in a very memory efficient way so very large objects well beyond the heap size "
     + "are generally fine to process")
@@ -104,16 +120,20 @@ public class CompressContent extends AbstractProcessor {
     public static final String COMPRESSION_FORMAT_SNAPPY_HADOOP = "snappy-hadoop";
     public static final String COMPRESSION_FORMAT_SNAPPY_FRAMED = "snappy framed";
     public static final String COMPRESSION_FORMAT_LZ4_FRAMED ="lz4-framed";
+    public static final String COMPRESSION_FORMAT_ZSTD = "zstd";
+
+    // zstd only starts worker threads for content that is larger than its job size, which is several MB for the default levels
+    private static final long ZSTD_MULTITHREADING_MIN_SIZE = 8 * 1024 * 1024;
 
     public static final String MODE_COMPRESS = "compress";
     public static final String MODE_DECOMPRESS = "decompress";
 
     public static final PropertyDescriptor COMPRESSION_FORMAT = new PropertyDescriptor.Builder()
         .name("Compression Format")
-        .description("The compression format to use. Valid values are: GZIP, Deflate, BZIP2, XZ-LZMA2, LZMA, Snappy, Snappy Hadoop, Snappy Framed, and LZ4-Framed")
+        .description("The compression format to use. Valid values are: GZIP, Deflate, BZIP2, XZ-LZMA2, LZMA, Snappy, Snappy Hadoop, Snappy Framed, LZ4-Framed, and ZSTD")
         .allowableValues(COMPRESSION_FORMAT_ATTRIBUTE, COMPRESSION_FORMAT_GZIP, COMPRESSION_FORMAT_DEFLATE, COMPRESSION_FORMAT_BZIP2,
             COMPRESSION_FORMAT_XZ_LZMA2, COMPRESSION_FORMAT_LZMA, COMPRESSION_FORMAT_SNAPPY, COMPRESSION_FORMAT_SNAPPY_HADOOP, COMPRESSION_FORMAT_SNAPPY_FRAMED,
-            COMPRESSION_FORMAT_LZ4_FRAMED)
+            COMPRESSION_FORMAT_LZ4_FRAMED, COMPRESSION_FORMAT_ZSTD)
         .defaultValue(COMPRESSION_FORMAT_ATTRIBUTE)
         .required(true)
         .build();
@@ -135,6 +155,72 @@ public class CompressContent extends AbstractProcessor {
         .dependsOn(COMPRESSION_FORMAT, COMPRESSION_FORMAT_ATTRIBUTE, COMPRESSION_FORMAT_GZIP, COMPRESSION_FORMAT_DEFLATE, COMPRESSION_FORMAT_XZ_LZMA2)
         .dependsOn(MODE, MODE_COMPRESS)
         .build();
+    public static final PropertyDescriptor ZSTD_COMPRESSION_LEVEL = new PropertyDescriptor.Builder()
+        .name("zstd-compression-level")
+        .displayName("ZSTD Compression Level")
+        .description("The compression level to use for zstd compression, from 1 to 22. Levels up to 3 compress faster than gzip while achieving similar ratios; "
+            + "levels above 19 use much more memory.")
+        .defaultValue("3")
+        .required(true)
+        .addValidator(StandardValidators.createLongValidator(1, 22, true))
+        .dependsOn(COMPRESSION_FORMAT, COMPRESSION_FORMAT_ATTRIBUTE, COMPRESSION_FORMAT_ZSTD)
+        .dependsOn(MODE, MODE_COMPRESS)
+        .build();
+    public static final PropertyDescriptor ZSTD_LONG_WINDOW_LOG = new PropertyDescriptor.Builder()
+        .name("zstd-long-window-log")
+        .displayName("ZSTD Long Window Log")
+        .description("If set, enables zstd long distance matching, which finds repetitions that are up to 2 to the power of this value bytes apart, "
+            + "at the expense of using as much memory for both compression and decompression. When decompressing, this is the largest window that is "
+            + "accepted; content that was compressed with a window log above 27 cannot be decompressed unless this is set at least as high.")
+        .required(false)
+        .addValidator(StandardValidators.createLongValidator(10, 31, true))
+        .dependsOn(COMPRESSION_FORMAT, COMPRESSION_FORMAT_ATTRIBUTE, COMPRESSION_FORMAT_ZSTD)
+        .build();
+    public static final PropertyDescriptor ZSTD_COMPRESSION_THREADS = new PropertyDescriptor.Builder()
+        .name("zstd-compression-threads")
+        .displayName("ZSTD Compression Threads")
+        .description("The number of threads to use for compressing a single FlowFile with zstd. Threads are only used for FlowFiles of at least "
+            + ZSTD_MULTITHREADING_MIN_SIZE / (1024 * 1024) + " MB, because smaller FlowFiles are compressed faster by a single thread.")
+        .defaultValue("1")
+        .required(true)
+        .addValidator(StandardValidators.createLongValidator(1, 64, true))
+        .dependsOn(COMPRESSION_FORMAT, COMPRESSION_FORMAT_ATTRIBUTE, COMPRESSION_FORMAT_ZSTD)
+        .dependsOn(MODE, MODE_COMPRESS)
+        .build();
+    public static final PropertyDescriptor COMPRESSION_DICTIONARY_SERVICE = new PropertyDescriptor.Builder()
+        .fromPropertyDescriptor(CompressionDictionaryService.COMPRESSION_DICTIONARY_SERVICE)
+        .description("Specifies the Controller Service that provides a dictionary for zstd compression. A dictionary greatly improves the compression "
+            + "of small FlowFiles that share the same structure, such as individual JSON messages. FlowFiles that were compressed with a dictionary "
+            + "can only be decompressed with the same dictionary.")
+        .dependsOn(COMPRESSION_FORMAT, COMPRESSION_FORMAT_ATTRIBUTE, COMPRESSION_FORMAT_ZSTD)
+        .build();
+
+    public static final PropertyDescriptor PARALLEL_COMPRESSION_THREADS = new PropertyDescriptor.Builder()
+        .name("parallel-compression-threads")
+        .displayName("Parallel Compression Threads")
+        .description("The number of threads to use for compressing a single FlowFile with gzip, bzip2, lz4-framed or zstd. If greater than 1, FlowFiles that "
+            + "are larger than the Parallel Compression Block Size are split into blocks that are compressed concurrently, and each block is written as "
+            + "a separate gzip member, bzip2 stream, LZ4 frame or zstd frame. Standard tools decompress such concatenated output, as does this Processor, "
+            + "but the compression ratio is slightly lower. The threads are shared by all concurrent tasks of this Processor. When used with zstd, "
+            + "this replaces the ZSTD Compression Threads.")
+        .defaultValue("1")
+        .required(true)
+        .addValidator(StandardValidators.createLongValidator(1, 64, true))
+        .dependsOn(COMPRESSION_FORMAT, COMPRESSION_FORMAT_ATTRIBUTE, COMPRESSION_FORMAT_GZIP, COMPRESSION_FORMAT_BZIP2, COMPRESSION_FORMAT_LZ4_FRAMED,
+            COMPRESSION_FORMAT_ZSTD)
+        .dependsOn(MODE, MODE_COMPRESS)
+        .build();
+    public static final PropertyDescriptor PARALLEL_COMPRESSION_BLOCK_SIZE = new PropertyDescriptor.Builder()
+        .name("parallel-compression-block-size")
+        .displayName("Parallel Compression Block Size")
+        .description("The amount of uncompressed content in each block that is compressed by a single thread when Parallel Compression Threads is greater than 1. "
+            + "Larger blocks compress slightly better. Up to twice as many blocks as there are threads are held in memory for each FlowFile that is being compressed, "
+            + "along with their compressed content.")
+        .defaultValue("1 MB")
+        .required(true)
+        .addValidator(StandardValidators.createDataSizeBoundsValidator(64 * 1024, 64 * 1024 * 1024))
+        .dependsOn(PARALLEL_COMPRESSION_THREADS)
+        .build();
 
     public static final PropertyDescriptor UPDATE_FILENAME = new PropertyDescriptor.Builder()
         .name("Update Filename")
@@ -157,6 +243,11 @@ public class CompressContent extends AbstractProcessor {
     private List<PropertyDescriptor> properties;
     private Set<Relationship> relationships;
     private Map<String, String> compressionFormatMimeTypeMap;
+    private volatile CachedDictionary<ZstdDictCompress> zstdCompressDictionary;
+    private volatile CachedDictionary<ZstdDictDecompress> zstdDecompressDictionary;
+    private volatile ExecutorService parallelCompressionExecutor;
+    private volatile int parallelCompressionThreads;
+    private volatile int parallelCompressionBlockSize;
 
     @Override
     protected void init(final ProcessorInitializationContext context) {
@@ -164,6 +255,12 @@ public class CompressContent extends AbstractProcessor {
         properties.add(MODE);
         properties.add(COMPRESSION_FORMAT);
         properties.add(COMPRESSION_LEVEL);
+        properties.add(ZSTD_COMPRESSION_LEVEL);
+        properties.add(ZSTD_LONG_WINDOW_LOG);
+        properties.add(ZSTD_COMPRESSION_THREADS);
+        properties.add(COMPRESSION_DICTIONARY_SERVICE);
+        properties.add(PARALLEL_COMPRESSION_THREADS);
+        properties.add(PARALLEL_COMPRESSION_BLOCK_SIZE);
         properties.add(UPDATE_FILENAME);
         this.properties = Collections.unmodifiableList(properties);
 
@@ -184,6 +281,8 @@ public class CompressContent extends AbstractProcessor {
         mimeTypeMap.put("application/x-snappy-hadoop", COMPRESSION_FORMAT_SNAPPY_HADOOP);
         mimeTypeMap.put("application/x-snappy-framed", COMPRESSION_FORMAT_SNAPPY_FRAMED);
         mimeTypeMap.put("application/x-lz4-framed", COMPRESSION_FORMAT_LZ4_FRAMED);
+        mimeTypeMap.put("application/zstd", COMPRESSION_FORMAT_ZSTD);
+        mimeTypeMap.put("application/x-zstd", COMPRESSION_FORMAT_ZSTD);
         this.compressionFormatMimeTypeMap = Collections.unmodifiableMap(mimeTypeMap);
     }
 
@@ -211,6 +310,31 @@ public class CompressContent extends AbstractProcessor {
         return validationResults;
     }
 
+    @OnScheduled
+    public void setupParallelCompression(final ProcessContext context) {
+        parallelCompressionThreads = context.getProperty(PARALLEL_COMPRESSION_THREADS).asInteger();
+        parallelCompressionBlockSize = context.getProperty(PARALLEL_COMPRESSION_BLOCK_SIZE).asDataSize(DataUnit.B).intValue();
+        if (parallelCompressionThreads < 2 || !context.getProperty(MODE).getValue().equalsIgnoreCase(MODE_COMPRESS)) {
+            return;
+        }
+
+        final AtomicInteger threadIndex = new AtomicInteger(0);
+        parallelCompressionExecutor = Executors.newFixedThreadPool(parallelCompressionThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "CompressContent " + getIdentifier() + " Compression Thread-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @OnStopped
+    public void shutdownParallelCompression() {
+        final ExecutorService executor = parallelCompressionExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+            parallelCompressionExecutor = null;
+        }
+    }
+
     @Override
     public void onTrigger(final ProcessContext context, final ProcessSession session) {
         FlowFile flowFile = session.get();
@@ -241,6 +365,7 @@ public class CompressContent extends AbstractProcessor {
         }
 
         final String compressionFormat = compressionFormatValue;
+        final boolean parallel = isParallelCompression(compressionMode, compressionFormat, sizeBeforeCompression);
         final AtomicReference<String> mimeTypeRef = new AtomicReference<>(null);
         final StopWatch stopWatch = new StopWatch(true);
 
@@ -273,6 +398,9 @@ public class CompressContent extends AbstractProcessor {
             case COMPRESSION_FORMAT_LZ4_FRAMED:
                 fileExtension = ".lz4";
                 break;
+            case COMPRESSION_FORMAT_ZSTD:
+                fileExtension = ".zst";
+                break;
             default:
                 fileExtension = "";
                 break;
@@ -294,13 +422,13 @@ public class CompressContent extends AbstractProcessor {
 
                             switch (compressionFormat.toLowerCase()) {
                                 case COMPRESSION_FORMAT_GZIP:
-                                    int compressionLevel = context.getProperty(COMPRESSION_LEVEL).asInteger();
-                                    compressionOut = new GZIPOutputStream(bufferedOut, compressionLevel);
+                                    final int gzipCompressionLevel = context.getProperty(COMPRESSION_LEVEL).asInteger();
+                                    compressionOut = createCompressionOutputStream(bufferedOut, parallel, out -> new GZIPOutputStream(out, gzipCompressionLevel));
                                     mimeTypeRef.set("application/gzip");
                                     break;
                                 case COMPRESSION_FORMAT_DEFLATE:
-                                    compressionLevel = context.getProperty(COMPRESSION_LEVEL).asInteger();
-                                    compressionOut = new DeflaterOutputStream(bufferedOut, new Deflater(compressionLevel));
+                                    final int deflateCompressionLevel = context.getProperty(COMPRESSION_LEVEL).asInteger();
+                                    compressionOut = new DeflaterOutputStream(bufferedOut, new Deflater(deflateCompressionLevel));
                                     mimeTypeRef.set("application/gzip");
                                     break;
                                 case COMPRESSION_FORMAT_LZMA:
@@ -326,9 +454,18 @@ public class CompressContent extends AbstractProcessor {
                                     break;
                                 case COMPRESSION_FORMAT_LZ4_FRAMED:
                                     mimeTypeRef.set("application/x-lz4-framed");
-                                    compressionOut = new CompressorStreamFactory().createCompressorOutputStream(compressionFormat.toLowerCase(), bufferedOut);
+                                    compressionOut = createCompressionOutputStream(bufferedOut, parallel, FramedLZ4CompressorOutputStream::new);
+                                    break;
+                                case COMPRESSION_FORMAT_ZSTD:
+                                    // zstd's own worker threads are not used for blocks that are already compressed concurrently
+                                    final long zstdContentSize = parallel ? 0 : sizeBeforeCompression;
+                                    compressionOut = createCompressionOutputStream(bufferedOut, parallel, out -> createZstdOutputStream(context, out, zstdContentSize));
+                                    mimeTypeRef.set("application/zstd");
                                     break;
                                 case COMPRESSION_FORMAT_BZIP2:
+                                    mimeTypeRef.set("application/x-bzip2");
+                                    compressionOut = createCompressionOutputStream(bufferedOut, parallel, BZip2CompressorOutputStream::new);
+                                    break;
                                 default:
                                     mimeTypeRef.set("application/x-bzip2");
                                     compressionOut = new CompressorStreamFactory().createCompressorOutputStream(compressionFormat.toLowerCase(), bufferedOut);
@@ -364,6 +501,9 @@ public class CompressContent extends AbstractProcessor {
                                 case COMPRESSION_FORMAT_LZ4_FRAMED:
                                     compressionIn = new FramedLZ4CompressorInputStream(bufferedIn, true);
                                     break;
+                                case COMPRESSION_FORMAT_ZSTD:
+                                    compressionIn = createZstdInputStream(context, bufferedIn);
+                                    break;
                                 default:
                                     compressionIn = new CompressorStreamFactory().createCompressorInputStream(compressionFormat.toLowerCase(), bufferedIn);
                             }
@@ -415,6 +555,98 @@ public class CompressContent extends AbstractProcessor {
         }
     }
 
+    private boolean isParallelCompression(final String compressionMode, final String compressionFormat, final long contentSize) {
+        if (parallelCompressionExecutor == null || !MODE_COMPRESS.equalsIgnoreCase(compressionMode) || contentSize <= parallelCompressionBlockSize) {
+            return false;
+        }
+
+        switch (compressionFormat.toLowerCase()) {
+            case COMPRESSION_FORMAT_GZIP:
+            case COMPRESSION_FORMAT_BZIP2:
+            case COMPRESSION_FORMAT_LZ4_FRAMED:
+            case COMPRESSION_FORMAT_ZSTD:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private OutputStream createCompressionOutputStream(final OutputStream out, final boolean parallel,
+                                                       final ParallelCompressionOutputStream.CompressorFactory compressorFactory) throws IOException {
+        if (!parallel) {
+            return compressorFactory.create(out);
+        }
+
+        return new ParallelCompressionOutputStream(out, compressorFactory, parallelCompressionExecutor, parallelCompressionBlockSize, parallelCompressionThreads * 2);
+    }
+
+    private OutputStream createZstdOutputStream(final ProcessContext context, final OutputStream out, final long contentSize) throws IOException {
+        final int level = context.getProperty(ZSTD_COMPRESSION_LEVEL).asInteger();
+
+        // The stream is always closed, so it does not need a finalizer, and its buffers are reused across FlowFiles
+        final ZstdOutputStreamNoFinalizer zstdOut = new ZstdOutputStreamNoFinalizer(out, RecyclingBufferPool.INSTANCE);
+        try {
+            zstdOut.setLevel(level);
+
+            final Integer windowLog = context.getProperty(ZSTD_LONG_WINDOW_LOG).asInteger();
+            if (windowLog != null) {
+                zstdOut.setLong(windowLog);
+            }
+
+            final int threads = context.getProperty(ZSTD_COMPRESSION_THREADS).asInteger();
+            if (threads > 1 && contentSize >= ZSTD_MULTITHREADING_MIN_SIZE) {
+                zstdOut.setWorkers(threads);
+            }
+
+            final byte[] dictionary = getDictionary(context);
+            if (dictionary != null) {
+                CachedDictionary<ZstdDictCompress> cached = zstdCompressDictionary;
+                if (cached == null || !cached.isFor(dictionary, level)) {
+                    cached = new CachedDictionary<>(dictionary, level, new ZstdDictCompress(dictionary, level));
+                    zstdCompressDictionary = cached;
+                }
+
+                zstdOut.setDict(cached.getCompiledDictionary());
+            }
+        } catch (final IOException | RuntimeException e) {
+            closeQuietly(zstdOut);
+            throw e;
+        }
+
+        return zstdOut;
+    }
+
+    private InputStream createZstdInputStream(final ProcessContext context, final InputStream in) throws IOException {
+        final ZstdInputStreamNoFinalizer zstdIn = new ZstdInputStreamNoFinalizer(in, RecyclingBufferPool.INSTANCE);
+        try {
+            final Integer windowLog = context.getProperty(ZSTD_LONG_WINDOW_LOG).asInteger();
+            if (windowLog != null) {
+                zstdIn.setLongMax(windowLog);
+            }
+
+            final byte[] dictionary = getDictionary(context);
+            if (dictionary != null) {
+                CachedDictionary<ZstdDictDecompress> cached = zstdDecompressDictionary;
+                if (cached == null || !cached.isFor(dictionary, 0)) {
+                    cached = new CachedDictionary<>(dictionary, 0, new ZstdDictDecompress(dictionary));
+                    zstdDecompressDictionary = cached;
+                }
+
+                zstdIn.setDict(cached.getCompiledDictionary());
+            }
+        } catch (final IOException | RuntimeException e) {
+            closeQuietly(zstdIn);
+            throw e;
+        }
+
+        return zstdIn;
+    }
+
+    private byte[] getDictionary(final ProcessContext context) {
+        final CompressionDictionaryService dictionaryService = context.getProperty(COMPRESSION_DICTIONARY_SERVICE).asControllerService(CompressionDictionaryService.class);
+        return dictionaryService == null ? null : dictionaryService.getDictionary();
+    }
+
     private void closeQuietly(final Closeable closeable) {
         if (closeable != null) {
             try {
@@ -423,4 +655,28 @@ public class CompressContent extends AbstractProcessor {
             }
         }
     }
+
+    /**
+     * A dictionary that has been prepared for use by zstd, which is expensive enough that it should not be done for every FlowFile.
+     * The dictionary is identified by the array that the Compression Dictionary Service returns.
+     */
+    private static class CachedDictionary<T> {
+        private final byte[] dictionary;
+        private final int level;
+        private final T compiledDictionary;
+
+        CachedDictionary(final byte[] dictionary, final int level, final T compiledDictionary) {
+            this.dictionary = dictionary;
+            this.level = level;
+            this.compiledDictionary = compiledDictionary;
+        }
+
+        boolean isFor(final byte[] dictionary, final int level) {
+            return this.dictionary == dictionary && this.level == level;
+        }
+
+        T getCompiledDictionary() {
+            return compiledDictionary;
+        }
+    }
 }
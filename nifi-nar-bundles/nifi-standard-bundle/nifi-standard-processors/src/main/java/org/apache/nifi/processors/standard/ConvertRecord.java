@@ -59,6 +59,11 @@ public class ConvertRecord extends AbstractRecordProcessor {
         return properties;
     }
 
+    @Override
+    protected boolean isRecordBatchingSupported() {
+        return true;
+    }
+
     @Override
     protected Record process(final Record record, final FlowFile flowFile, final ProcessContext context, final long count) {
         return record;
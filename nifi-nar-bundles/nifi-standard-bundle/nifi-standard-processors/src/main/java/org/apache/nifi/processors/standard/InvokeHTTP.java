@@ -47,7 +47,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
@@ -58,8 +60,11 @@ import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.X509TrustManager;
 
 import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.ConnectionPool;
 import okhttp3.Credentials;
+import okhttp3.Dispatcher;
 import okhttp3.Handshake;
 import okhttp3.Headers;
 import okhttp3.JavaNetCookieJar;
@@ -238,6 +243,18 @@ public class InvokeHTTP extends AbstractProcessor {
             .addValidator(StandardValidators.INTEGER_VALIDATOR)
             .build();
 
+    public static final PropertyDescriptor PROP_MAX_CONCURRENT_REQUESTS = new PropertyDescriptor.Builder()
+            .name("max-concurrent-requests")
+            .displayName("Max Concurrent Requests")
+            .description("The maximum number of requests that each Concurrent Task sends without waiting for their responses. Each time the Processor runs, it takes up to this "
+                    + "many FlowFiles from its incoming queue, sends a request for each of them and routes each FlowFile once its response has been received, so that a high rate "
+                    + "of requests to a slow service does not require a large number of Concurrent Tasks. The content of each FlowFile is held in memory while its request is sent, "
+                    + "so FlowFiles larger than 1 MB are sent one at a time. If the Processor has no incoming connection, it sends a single request each time it runs.")
+            .required(true)
+            .defaultValue("1")
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .build();
+
     public static final PropertyDescriptor PROP_DATE_HEADER = new PropertyDescriptor.Builder()
             .name("Include Date Header")
             .description("Include an RFC-2616 Date header in the request.")
@@ -541,6 +558,7 @@ public class InvokeHTTP extends AbstractProcessor {
             PROP_READ_TIMEOUT,
             PROP_IDLE_TIMEOUT,
             PROP_MAX_IDLE_CONNECTIONS,
+            PROP_MAX_CONCURRENT_REQUESTS,
             PROP_DATE_HEADER,
             PROP_FOLLOW_REDIRECTS,
             PROP_COOKIE_STRATEGY,
@@ -613,6 +631,8 @@ public class InvokeHTTP extends AbstractProcessor {
     // Multiple Header Delimiter
     private static final String MULTIPLE_HEADER_DELIMITER = ", ";
 
+    private static final int MAX_CONCURRENT_REQUEST_CONTENT_SIZE = 1024 * 1024;
+
     private volatile Set<String> dynamicPropertyNames = new HashSet<>();
 
     private volatile Pattern regexAttributesToSend = null;
@@ -825,6 +845,13 @@ public class InvokeHTTP extends AbstractProcessor {
                 )
         );
 
+        // Requests that are sent concurrently are limited by the number of FlowFiles that each Concurrent Task takes from the queue
+        final Dispatcher dispatcher = new Dispatcher();
+        final int maxConcurrentRequests = context.getProperty(PROP_MAX_CONCURRENT_REQUESTS).asInteger() * Math.max(1, context.getMaxConcurrentTasks());
+        dispatcher.setMaxRequests(maxConcurrentRequests);
+        dispatcher.setMaxRequestsPerHost(maxConcurrentRequests);
+        okHttpClientBuilder.dispatcher(dispatcher);
+
         // Set whether to follow redirects
         okHttpClientBuilder.followRedirects(context.getProperty(PROP_FOLLOW_REDIRECTS).asBoolean());
 
@@ -892,7 +919,14 @@ public class InvokeHTTP extends AbstractProcessor {
 
     @Override
     public void onTrigger(ProcessContext context, ProcessSession session) throws ProcessException {
-        OkHttpClient okHttpClient = okHttpClientAtomicReference.get();
+        final int maxConcurrentRequests = context.getProperty(PROP_MAX_CONCURRENT_REQUESTS).asInteger();
+        if (maxConcurrentRequests > 1 && context.hasNonLoopConnection()) {
+            final List<FlowFile> requestFlowFiles = session.get(maxConcurrentRequests);
+            if (!requestFlowFiles.isEmpty()) {
+                invokeConcurrently(context, session, requestFlowFiles);
+            }
+            return;
+        }
 
         FlowFile requestFlowFile = session.get();
 
@@ -911,6 +945,72 @@ public class InvokeHTTP extends AbstractProcessor {
             }
         }
 
+        invoke(context, session, requestFlowFile, null);
+    }
+
+    /**
+     * Sends a request for each of the given FlowFiles without waiting for the responses of the previous requests, and then
+     * routes each FlowFile as soon as its response has been received
+     */
+    private void invokeConcurrently(final ProcessContext context, final ProcessSession session, final List<FlowFile> requestFlowFiles) {
+        final OkHttpClient okHttpClient = okHttpClientAtomicReference.get();
+        final BlockingQueue<ConcurrentCall> completedCalls = new LinkedBlockingQueue<>();
+        final List<Call> calls = new ArrayList<>(requestFlowFiles.size());
+        final List<FlowFile> synchronousFlowFiles = new ArrayList<>();
+
+        for (final FlowFile requestFlowFile : requestFlowFiles) {
+            if (requestFlowFile.getSize() > MAX_CONCURRENT_REQUEST_CONTENT_SIZE) {
+                synchronousFlowFiles.add(requestFlowFile);
+                continue;
+            }
+
+            final ConcurrentCall concurrentCall = new ConcurrentCall(requestFlowFile, completedCalls);
+            try {
+                concurrentCall.url = new URL(trimToEmpty(context.getProperty(PROP_URL).evaluateAttributeExpressions(requestFlowFile).getValue()));
+                concurrentCall.request = configureRequest(context, session, requestFlowFile, concurrentCall.url, concurrentCall);
+                logRequest(getLogger(), concurrentCall.request);
+
+                if (concurrentCall.request.body() != null) {
+                    session.getProvenanceReporter().send(requestFlowFile, concurrentCall.url.toExternalForm(), true);
+                }
+
+                concurrentCall.startNanos = System.nanoTime();
+                final Call call = okHttpClient.newCall(concurrentCall.request);
+                calls.add(call);
+                call.enqueue(concurrentCall);
+            } catch (final Exception e) {
+                concurrentCall.complete(null, e);
+            }
+        }
+
+        // The content of large FlowFiles is not read into memory, so their requests are sent while the others are in progress
+        for (final FlowFile requestFlowFile : synchronousFlowFiles) {
+            invoke(context, session, requestFlowFile, null);
+        }
+
+        final int concurrentCallCount = requestFlowFiles.size() - synchronousFlowFiles.size();
+        for (int i = 0; i < concurrentCallCount; i++) {
+            final ConcurrentCall completedCall;
+            try {
+                completedCall = completedCalls.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                calls.forEach(Call::cancel);
+                completedCalls.forEach(ConcurrentCall::close);
+                throw new ProcessException("Interrupted while waiting for the responses of " + concurrentCallCount + " concurrent requests", e);
+            }
+
+            invoke(context, session, completedCall.requestFlowFile, completedCall);
+        }
+    }
+
+    /**
+     * Sends the request for the given FlowFile, or uses the response of the given call that has already been sent for it, and routes the FlowFile and the response
+     */
+    private void invoke(final ProcessContext context, final ProcessSession session, FlowFile requestFlowFile, final ConcurrentCall concurrentCall) {
+        final OkHttpClient okHttpClient = okHttpClientAtomicReference.get();
+        final boolean putToAttribute = context.getProperty(PROP_PUT_OUTPUT_IN_ATTRIBUTE).isSet();
+
         // Setting some initial variables
         final int maxAttributeSize = context.getProperty(PROP_PUT_ATTRIBUTE_MAX_LENGTH).asInteger();
         final ComponentLog logger = getLogger();
@@ -920,23 +1020,35 @@ public class InvokeHTTP extends AbstractProcessor {
 
         FlowFile responseFlowFile = null;
         try {
-            // read the url property from the context
-            final String urlProperty = trimToEmpty(context.getProperty(PROP_URL).evaluateAttributeExpressions(requestFlowFile).getValue());
-            final URL url = new URL(urlProperty);
-
-            Request httpRequest = configureRequest(context, session, requestFlowFile, url);
-
-            // log request
-            logRequest(logger, httpRequest);
+            final URL url;
+            final Request httpRequest;
+            final long startNanos;
+            final Response response;
+            if (concurrentCall == null) {
+                // read the url property from the context
+                final String urlProperty = trimToEmpty(context.getProperty(PROP_URL).evaluateAttributeExpressions(requestFlowFile).getValue());
+                url = new URL(urlProperty);
+
+                httpRequest = configureRequest(context, session, requestFlowFile, url, null);
+
+                // log request
+                logRequest(logger, httpRequest);
+
+                // emit send provenance event if successfully sent to the server
+                if (httpRequest.body() != null) {
+                    session.getProvenanceReporter().send(requestFlowFile, url.toExternalForm(), true);
+                }
 
-            // emit send provenance event if successfully sent to the server
-            if (httpRequest.body() != null) {
-                session.getProvenanceReporter().send(requestFlowFile, url.toExternalForm(), true);
+                startNanos = System.nanoTime();
+                response = okHttpClient.newCall(httpRequest).execute();
+            } else {
+                response = concurrentCall.getResponse();
+                url = concurrentCall.url;
+                httpRequest = concurrentCall.request;
+                startNanos = concurrentCall.startNanos;
             }
 
-            final long startNanos = System.nanoTime();
-
-            try (Response responseHttp = okHttpClient.newCall(httpRequest).execute()) {
+            try (Response responseHttp = response) {
                 // output the raw response headers (DEBUG level only)
                 logResponse(logger, url, responseHttp);
 
@@ -1090,7 +1202,7 @@ public class InvokeHTTP extends AbstractProcessor {
         }
     }
 
-    private Request configureRequest(final ProcessContext context, final ProcessSession session, final FlowFile requestFlowFile, URL url) {
+    private Request configureRequest(final ProcessContext context, final ProcessSession session, final FlowFile requestFlowFile, URL url, final ConcurrentCall concurrentCall) {
         final Request.Builder requestBuilder = new Request.Builder();
 
         requestBuilder.url(url);
@@ -1117,15 +1229,15 @@ public class InvokeHTTP extends AbstractProcessor {
                 requestBuilder.get();
                 break;
             case POST_METHOD:
-                RequestBody requestBody = getRequestBodyToSend(session, context, requestFlowFile);
+                RequestBody requestBody = getRequestBodyToSend(session, context, requestFlowFile, concurrentCall);
                 requestBuilder.post(requestBody);
                 break;
             case PUT_METHOD:
-                requestBody = getRequestBodyToSend(session, context, requestFlowFile);
+                requestBody = getRequestBodyToSend(session, context, requestFlowFile, concurrentCall);
                 requestBuilder.put(requestBody);
                 break;
             case PATCH_METHOD:
-                requestBody = getRequestBodyToSend(session, context, requestFlowFile);
+                requestBody = getRequestBodyToSend(session, context, requestFlowFile, concurrentCall);
                 requestBuilder.patch(requestBody);
                 break;
             case HEAD_METHOD:
@@ -1147,7 +1259,7 @@ public class InvokeHTTP extends AbstractProcessor {
     }
 
     private RequestBody getRequestBodyToSend(final ProcessSession session, final ProcessContext context,
-                                             final FlowFile requestFlowFile) {
+                                             final FlowFile requestFlowFile, final ConcurrentCall concurrentCall) {
 
         boolean sendBody = context.getProperty(PROP_SEND_BODY).asBoolean();
 
@@ -1166,24 +1278,6 @@ public class InvokeHTTP extends AbstractProcessor {
             }
         }
 
-        RequestBody requestBody = new RequestBody() {
-            @Nullable
-            @Override
-            public MediaType contentType() {
-                return MediaType.parse(contentType);
-            }
-
-            @Override
-            public void writeTo(BufferedSink sink) {
-                session.exportTo(requestFlowFile, sink.outputStream());
-            }
-
-            @Override
-            public long contentLength() {
-                return useChunked ? -1 : requestFlowFile.getSize();
-            }
-        };
-
         if (propertyDescriptors.size() > 0 || StringUtils.isNotEmpty(contentKey)) {
             // we have form data
             MultipartBody.Builder builder = new Builder().setType(MultipartBody.FORM);
@@ -1199,15 +1293,49 @@ public class InvokeHTTP extends AbstractProcessor {
                 builder.addFormDataPart(entry.getKey(), propValue);
             }
             if (sendBody) {
-                builder.addFormDataPart(contentKey, contentFileName, requestBody);
+                builder.addFormDataPart(contentKey, contentFileName, createFlowFileRequestBody(session, requestFlowFile, contentType, concurrentCall));
             }
             return builder.build();
         } else if (sendBody) {
-            return requestBody;
+            return createFlowFileRequestBody(session, requestFlowFile, contentType, concurrentCall);
         }
         return RequestBody.create(new byte[0], null);
     }
 
+    private RequestBody createFlowFileRequestBody(final ProcessSession session, final FlowFile requestFlowFile, final String contentType, final ConcurrentCall concurrentCall) {
+        // The body of a request that is sent concurrently is written by a thread of the HTTP client, which must not access the session,
+        // so the content is read beforehand. The body can then be sent again for authentication challenges, redirects and retries.
+        final byte[] requestContent = concurrentCall == null ? null : readContent(session, requestFlowFile);
+
+        return new RequestBody() {
+            @Nullable
+            @Override
+            public MediaType contentType() {
+                return MediaType.parse(contentType);
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                if (requestContent == null) {
+                    session.exportTo(requestFlowFile, sink.outputStream());
+                } else {
+                    sink.write(requestContent);
+                }
+            }
+
+            @Override
+            public long contentLength() {
+                return useChunked ? -1 : requestFlowFile.getSize();
+            }
+        };
+    }
+
+    private byte[] readContent(final ProcessSession session, final FlowFile flowFile) {
+        final byte[] content = new byte[(int) flowFile.getSize()];
+        session.read(flowFile, in -> StreamUtils.fillBuffer(in, content));
+        return content;
+    }
+
     private void setHeaderProperties(final ProcessContext context, final Request.Builder requestBuilder, final FlowFile requestFlowFile) {
         // check if we should send the a Date header with the request
         if (context.getProperty(PROP_DATE_HEADER).asBoolean()) {
@@ -1387,4 +1515,55 @@ public class InvokeHTTP extends AbstractProcessor {
 
         return fileName;
     }
+
+    /**
+     * A request that has been sent for a FlowFile concurrently with the requests of other FlowFiles, which is completed by a thread of the HTTP client
+     */
+    private static class ConcurrentCall implements Callback {
+        private final FlowFile requestFlowFile;
+        private final BlockingQueue<ConcurrentCall> completedCalls;
+        private URL url;
+        private Request request;
+        private long startNanos;
+        private volatile Response response;
+        private volatile Exception failure;
+
+        ConcurrentCall(final FlowFile requestFlowFile, final BlockingQueue<ConcurrentCall> completedCalls) {
+            this.requestFlowFile = requestFlowFile;
+            this.completedCalls = completedCalls;
+        }
+
+        @Override
+        public void onResponse(final Call call, final Response response) {
+            complete(response, null);
+        }
+
+        @Override
+        public void onFailure(final Call call, final IOException e) {
+            complete(null, e);
+        }
+
+        void complete(final Response response, final Exception failure) {
+            this.response = response;
+            this.failure = failure;
+            completedCalls.add(this);
+        }
+
+        /**
+         * @return the response to the request
+         * @throws Exception if the request could not be sent or no response was received
+         */
+        Response getResponse() throws Exception {
+            if (failure != null) {
+                throw failure;
+            }
+            return response;
+        }
+
+        void close() {
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
 }
@@ -50,11 +50,15 @@ import org.apache.nifi.util.Tuple;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileStore;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
+import java.nio.file.FileSystemLoopException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -75,9 +79,14 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
@@ -147,6 +156,19 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             .defaultValue("true")
             .build();
 
+    public static final PropertyDescriptor LISTING_THREADS = new Builder()
+            .name("listing-threads")
+            .displayName("Directory Listing Threads")
+            .description("The number of threads that list the Input Directory and its subdirectories. Each directory is listed by a single thread, but different "
+                + "directories are listed concurrently, which can greatly reduce the time it takes to list a large directory tree, especially on storage with a high latency, "
+                + "such as a network file system. If set to 1, the directory tree is walked on the thread that runs the Processor.")
+            .required(true)
+            .addValidator(POSITIVE_INTEGER_VALIDATOR)
+            .expressionLanguageSupported(VARIABLE_REGISTRY)
+            .defaultValue("1")
+            .dependsOn(RECURSE, "true")
+            .build();
+
     public static final PropertyDescriptor DIRECTORY_LOCATION = new Builder()
             .name("Input Directory Location")
             .description("Specifies where the Input Directory is located. This is used to determine whether state should be stored locally or across the cluster.")
@@ -289,6 +311,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         properties.add(DIRECTORY);
         properties.add(LISTING_STRATEGY);
         properties.add(RECURSE);
+        properties.add(LISTING_THREADS);
         properties.add(RECORD_WRITER);
         properties.add(DIRECTORY_LOCATION);
         properties.add(FILE_FILTER);
@@ -511,7 +534,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             throws IOException {
         final Path basePath = new File(getPath(context)).toPath();
         final Boolean recurse = context.getProperty(RECURSE).asBoolean();
-        final Map<Path, BasicFileAttributes> lastModifiedMap = new HashMap<>();
+        final int listingThreads = recurse ? context.getProperty(LISTING_THREADS).evaluateAttributeExpressions().asInteger() : 1;
 
         final BiPredicate<Path, BasicFileAttributes> fileFilter;
         final PerformanceTracker performanceTracker;
@@ -527,7 +550,8 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         int maxDepth = recurse ? Integer.MAX_VALUE : 1;
 
         final BiPredicate<Path, BasicFileAttributes> matcher = new BiPredicate<Path, BasicFileAttributes>() {
-            private long lastTimestamp = System.currentTimeMillis();
+            // Directories may be listed by several threads, each of which retrieves its files from the OS one at a time
+            private final ThreadLocal<long[]> lastTimestamp = ThreadLocal.withInitial(() -> new long[] {System.currentTimeMillis()});
 
             @Override
             public boolean test(final Path path, final BasicFileAttributes attributes) {
@@ -536,8 +560,9 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
                 }
 
                 final long now = System.currentTimeMillis();
-                final long timeToList = now - lastTimestamp;
-                lastTimestamp = now;
+                final long[] threadTimestamp = lastTimestamp.get();
+                final long timeToList = now - threadTimestamp[0];
+                threadTimestamp[0] = now;
 
                 final Path relativeDirectory = basePath.relativize(path).getParent();
                 final String relativePath = relativeDirectory == null ? "" : relativeDirectory.toString();
@@ -554,15 +579,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
                 try {
                     final boolean matchesFilters = (minTimestamp == null || attributes.lastModifiedTime().toMillis() >= minTimestamp)
                             && fileFilter.test(path, attributes);
-                    if (!isDirectory && (!applyFilters || matchesFilters)) {
-                        // We store the attributes for each Path we are returning in order to avoid
-                        // retrieving them again later when creating the FileInfo
-                        lastModifiedMap.put(path, attributes);
-
-                        return true;
-                    }
-
-                    return false;
+                    return !isDirectory && (!applyFilters || matchesFilters);
                 } finally {
                     performanceTracker.completeOperation(operationKey);
 
@@ -575,69 +592,220 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
 
         try {
             final long start = System.currentTimeMillis();
-            final List<FileInfo> result = new LinkedList<>();
+            final List<FileInfo> result;
 
-            Files.walkFileTree(basePath, Collections.singleton(FileVisitOption.FOLLOW_LINKS), maxDepth, new FileVisitor<Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attributes) {
-                    if (Files.isReadable(dir)) {
-                        return FileVisitResult.CONTINUE;
-                    } else {
-                        getLogger().debug("The following directory is not readable: {}", new Object[]{dir.toString()});
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-                }
+            if (listingThreads > 1) {
+                result = walkFileTreeInParallel(basePath, listingThreads, matcher);
+            } else {
+                result = new LinkedList<>();
+                walkFileTree(basePath, maxDepth, matcher, result);
+            }
 
-                @Override
-                public FileVisitResult visitFile(final Path path, final BasicFileAttributes attributes) {
-                    if (matcher.test(path, attributes)) {
-                        final File file = path.toFile();
-                        final BasicFileAttributes fileAttributes = lastModifiedMap.get(path);
-                        final FileInfo fileInfo = new FileInfo.Builder()
-                                .directory(false)
-                                .filename(file.getName())
-                                .fullPathFileName(file.getAbsolutePath())
-                                .lastModifiedTime(fileAttributes.lastModifiedTime().toMillis())
-                                .size(fileAttributes.size())
-                                .build();
-
-                        result.add(fileInfo);
-                    }
+            final long millis = System.currentTimeMillis() - start;
+
+            getLogger().debug("Took {} milliseconds to perform listing and gather {} entries", new Object[] {millis, result.size()});
+            return result;
+        } catch (final ProcessorStoppedException pse) {
+            getLogger().info("Processor was stopped so will not complete listing of Files");
+            return Collections.emptyList();
+        } finally {
+            if (performanceTracker != null) {
+                performanceTracker.completeActiveDirectory();
+            }
+        }
+    }
 
+    private void walkFileTree(final Path basePath, final int maxDepth, final BiPredicate<Path, BasicFileAttributes> matcher, final List<FileInfo> result) throws IOException {
+        Files.walkFileTree(basePath, Collections.singleton(FileVisitOption.FOLLOW_LINKS), maxDepth, new FileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attributes) {
+                if (Files.isReadable(dir)) {
                     return FileVisitResult.CONTINUE;
+                } else {
+                    getLogger().debug("The following directory is not readable: {}", new Object[]{dir.toString()});
+                    return FileVisitResult.SKIP_SUBTREE;
                 }
+            }
 
-                @Override
-                public FileVisitResult visitFileFailed(final Path path, final IOException e) {
-                    if (e instanceof AccessDeniedException) {
-                        getLogger().debug("The following file is not readable: {}", new Object[]{path.toString()});
-                        return FileVisitResult.SKIP_SUBTREE;
-                    } else {
-                        getLogger().error("Error during visiting file {}: {}", new Object[]{path.toString(), e.getMessage()}, e);
-                        return FileVisitResult.TERMINATE;
-                    }
+            @Override
+            public FileVisitResult visitFile(final Path path, final BasicFileAttributes attributes) {
+                if (matcher.test(path, attributes)) {
+                    result.add(createFileInfo(path, attributes));
                 }
 
-                @Override
-                public FileVisitResult postVisitDirectory(final Path dir, final IOException e) {
-                    if (e != null) {
-                        getLogger().error("Error during visiting directory {}: {}", new Object[]{dir.toString(), e.getMessage()}, e);
-                    }
+                return FileVisitResult.CONTINUE;
+            }
 
-                    return FileVisitResult.CONTINUE;
+            @Override
+            public FileVisitResult visitFileFailed(final Path path, final IOException e) {
+                return isListingContinuedAfterFailure(path, e) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.TERMINATE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException e) {
+                if (e != null) {
+                    getLogger().error("Error during visiting directory {}: {}", new Object[]{dir.toString(), e.getMessage()}, e);
                 }
-            });
 
-            final long millis = System.currentTimeMillis() - start;
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
 
-            getLogger().debug("Took {} milliseconds to perform listing and gather {} entries", new Object[] {millis, result.size()});
-            return result;
-        } catch (final ProcessorStoppedException pse) {
-            getLogger().info("Processor was stopped so will not complete listing of Files");
+    /**
+     * Lists the directory tree in the same way as {@link Files#walkFileTree(Path, Set, int, FileVisitor)} following links, but forks a task for each directory
+     * so that the directories are listed concurrently by the given number of threads. The files are returned in no particular order.
+     */
+    private List<FileInfo> walkFileTreeInParallel(final Path basePath, final int threads, final BiPredicate<Path, BasicFileAttributes> matcher) {
+        final BasicFileAttributes baseAttributes;
+        try {
+            baseAttributes = readAttributes(basePath);
+        } catch (final IOException e) {
+            isListingContinuedAfterFailure(basePath, e);
             return Collections.emptyList();
+        }
+
+        if (!baseAttributes.isDirectory()) {
+            return matcher.test(basePath, baseAttributes) ? Collections.singletonList(createFileInfo(basePath, baseAttributes)) : Collections.emptyList();
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(threads, forkJoinPool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("List Directory [UUID=" + getIdentifier() + "]-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        try {
+            final ParallelListing listing = new ParallelListing(matcher);
+            pool.invoke(listing.new ListDirectoryTask(basePath, baseAttributes.fileKey(), null));
+            return new ArrayList<>(listing.result);
+        } catch (final RuntimeException e) {
+            // A ForkJoinTask may rethrow the exception of a subtask wrapped in an exception of the same type
+            if (e instanceof ProcessorStoppedException || e.getCause() instanceof ProcessorStoppedException) {
+                throw new ProcessorStoppedException();
+            }
+            throw e;
         } finally {
-            if (performanceTracker != null) {
-                performanceTracker.completeActiveDirectory();
+            pool.shutdownNow();
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(final Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            // Like Files.walkFileTree, list a broken link as a file
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (final IOException ignored) {
+                throw e;
+            }
+        }
+    }
+
+    private boolean isListingContinuedAfterFailure(final Path path, final IOException e) {
+        if (e instanceof AccessDeniedException) {
+            getLogger().debug("The following file is not readable: {}", new Object[]{path.toString()});
+            return true;
+        }
+
+        getLogger().error("Error during visiting file {}: {}", new Object[]{path.toString(), e.getMessage()}, e);
+        return false;
+    }
+
+    private FileInfo createFileInfo(final Path path, final BasicFileAttributes attributes) {
+        final File file = path.toFile();
+        return new FileInfo.Builder()
+                .directory(false)
+                .filename(file.getName())
+                .fullPathFileName(file.getAbsolutePath())
+                .lastModifiedTime(attributes.lastModifiedTime().toMillis())
+                .size(attributes.size())
+                .build();
+    }
+
+    private class ParallelListing {
+        private final BiPredicate<Path, BasicFileAttributes> matcher;
+        private final Queue<FileInfo> result = new ConcurrentLinkedQueue<>();
+        private volatile boolean terminated = false;
+
+        ParallelListing(final BiPredicate<Path, BasicFileAttributes> matcher) {
+            this.matcher = matcher;
+        }
+
+        private class ListDirectoryTask extends RecursiveAction {
+            private final Path directory;
+            private final Object fileKey;
+            private final ListDirectoryTask parent;
+
+            ListDirectoryTask(final Path directory, final Object fileKey, final ListDirectoryTask parent) {
+                this.directory = directory;
+                this.fileKey = fileKey;
+                this.parent = parent;
+            }
+
+            @Override
+            protected void compute() {
+                if (terminated) {
+                    return;
+                }
+
+                if (!Files.isReadable(directory)) {
+                    getLogger().debug("The following directory is not readable: {}", new Object[]{directory.toString()});
+                    return;
+                }
+
+                final List<ListDirectoryTask> subdirectoryTasks = new ArrayList<>();
+                try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                    for (final Path path : stream) {
+                        if (terminated) {
+                            break;
+                        }
+
+                        final BasicFileAttributes attributes;
+                        try {
+                            attributes = readAttributes(path);
+                        } catch (final IOException e) {
+                            terminated = terminated || !isListingContinuedAfterFailure(path, e);
+                            continue;
+                        }
+
+                        if (!attributes.isDirectory()) {
+                            if (matcher.test(path, attributes)) {
+                                result.add(createFileInfo(path, attributes));
+                            }
+                        } else if (isAncestor(path, attributes.fileKey())) {
+                            terminated = terminated || !isListingContinuedAfterFailure(path, new FileSystemLoopException(path.toString()));
+                        } else {
+                            subdirectoryTasks.add(new ListDirectoryTask(path, attributes.fileKey(), this));
+                        }
+                    }
+                } catch (final DirectoryIteratorException e) {
+                    getLogger().error("Error during visiting directory {}: {}", new Object[]{directory.toString(), e.getMessage()}, e.getCause());
+                } catch (final IOException e) {
+                    terminated = terminated || !isListingContinuedAfterFailure(directory, e);
+                }
+
+                invokeAll(subdirectoryTasks);
+            }
+
+            private boolean isAncestor(final Path path, final Object subdirectoryKey) {
+                for (ListDirectoryTask ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+                    if (subdirectoryKey != null && ancestor.fileKey != null) {
+                        if (subdirectoryKey.equals(ancestor.fileKey)) {
+                            return true;
+                        }
+                    } else {
+                        try {
+                            if (Files.isSameFile(path, ancestor.directory)) {
+                                return true;
+                            }
+                        } catch (final IOException ignored) {
+                        }
+                    }
+                }
+
+                return false;
             }
         }
     }
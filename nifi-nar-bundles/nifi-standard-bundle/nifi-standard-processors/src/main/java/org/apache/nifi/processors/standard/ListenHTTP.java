@@ -253,6 +253,29 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
             .defaultValue("200")
             .build();
 
+    public static final PropertyDescriptor REQUEST_BATCH_SIZE = new PropertyDescriptor.Builder()
+            .name("request-batch-size")
+            .displayName("Request Batch Size")
+            .description("The maximum number of requests whose FlowFiles are committed together. If greater than 1, the body of each request that "
+                    + "is not a multipart request, does not ask for a hold and is no larger than the Max Buffered Request Size is read without blocking "
+                    + "a thread of the server, and the FlowFiles of the requests that are received at the same time are committed together. "
+                    + "The response to each of these requests is sent once its FlowFiles have been committed. "
+                    + "Requests are always processed one at a time if Max Data to Receive per Second is set.")
+            .required(true)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .defaultValue("1")
+            .build();
+    public static final PropertyDescriptor MAX_BUFFERED_REQUEST_SIZE = new PropertyDescriptor.Builder()
+            .name("max-buffered-request-size")
+            .displayName("Max Buffered Request Size")
+            .description("The maximum size of the body of a request that is read into memory without blocking a thread of the server, "
+                    + "when the Request Batch Size is greater than 1. Larger requests, and requests without a Content-Length, are processed one at a time. "
+                    + "Each request that is read concurrently holds a buffer of its size, so the size is limited to 16 MB.")
+            .required(true)
+            .addValidator(StandardValidators.createDataSizeBoundsValidator(0, 16 * 1024 * 1024))
+            .defaultValue("64 KB")
+            .build();
+
     public static final PropertyDescriptor RECORD_READER = new PropertyDescriptor.Builder()
             .name("record-reader")
             .displayName("Record Reader")
@@ -285,6 +308,8 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
             MULTIPART_REQUEST_MAX_SIZE,
             MULTIPART_READ_BUFFER_SIZE,
             MAX_THREAD_POOL_SIZE,
+            REQUEST_BATCH_SIZE,
+            MAX_BUFFERED_REQUEST_SIZE,
             RECORD_READER,
             RECORD_WRITER
     ));
@@ -307,6 +332,8 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
     public static final String CONTEXT_ATTRIBUTE_MULTIPART_REQUEST_MAX_SIZE = "multipartRequestMaxSize";
     public static final String CONTEXT_ATTRIBUTE_MULTIPART_READ_BUFFER_SIZE = "multipartReadBufferSize";
     public static final String CONTEXT_ATTRIBUTE_PORT = "port";
+    public static final String CONTEXT_ATTRIBUTE_REQUEST_BATCH_SIZE = "requestBatchSize";
+    public static final String CONTEXT_ATTRIBUTE_MAX_BUFFERED_REQUEST_SIZE = "maxBufferedRequestSize";
 
     private volatile Server server = null;
     private final ConcurrentMap<String, FlowFileEntryTimeWrapper> flowFileMap = new ConcurrentHashMap<>();
@@ -394,6 +421,8 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
         long requestMaxSize = context.getProperty(MULTIPART_REQUEST_MAX_SIZE).asDataSize(DataUnit.B).longValue();
         int readBufferSize = context.getProperty(MULTIPART_READ_BUFFER_SIZE).asDataSize(DataUnit.B).intValue();
         int maxThreadPoolSize = context.getProperty(MAX_THREAD_POOL_SIZE).asInteger();
+        int requestBatchSize = context.getProperty(REQUEST_BATCH_SIZE).asInteger();
+        long maxBufferedRequestSize = context.getProperty(MAX_BUFFERED_REQUEST_SIZE).asDataSize(DataUnit.B).longValue();
         throttlerRef.set(streamThrottler);
 
         final boolean sslRequired = sslContextService != null;
@@ -455,6 +484,8 @@ public class ListenHTTP extends AbstractSessionFactoryProcessor {
         contextHandler.setAttribute(CONTEXT_ATTRIBUTE_MULTIPART_REQUEST_MAX_SIZE, requestMaxSize);
         contextHandler.setAttribute(CONTEXT_ATTRIBUTE_MULTIPART_READ_BUFFER_SIZE, readBufferSize);
         contextHandler.setAttribute(CONTEXT_ATTRIBUTE_PORT, port);
+        contextHandler.setAttribute(CONTEXT_ATTRIBUTE_REQUEST_BATCH_SIZE, requestBatchSize);
+        contextHandler.setAttribute(CONTEXT_ATTRIBUTE_MAX_BUFFERED_REQUEST_SIZE, maxBufferedRequestSize);
 
         if (context.getProperty(HEADERS_AS_ATTRIBUTES_REGEX).isSet()) {
             contextHandler.setAttribute(CONTEXT_ATTRIBUTE_HEADER_PATTERN, Pattern.compile(context.getProperty(HEADERS_AS_ATTRIBUTES_REGEX).getValue()));
@@ -45,6 +45,7 @@ import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.InputStreamCallback;
+import org.apache.nifi.record.path.CompiledRecordPath;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.RecordPathResult;
@@ -456,6 +457,19 @@ public class LookupRecord extends AbstractProcessor {
     }
 
 
+    private static List<FieldValue> getLookupFieldValues(final RecordPath recordPath, final Record record) {
+        final Optional<CompiledRecordPath> compiledPath = recordPath.getCompiledPath();
+        if (compiledPath.isPresent()) {
+            final FieldValue fieldValue = compiledPath.get().getFieldValue(record);
+            return fieldValue == null || fieldValue.getValue() == null ? Collections.emptyList() : Collections.singletonList(fieldValue);
+        }
+
+        final RecordPathResult pathResult = recordPath.evaluate(record);
+        return pathResult.getSelectedFields()
+            .filter(fieldVal -> fieldVal.getValue() != null)
+            .collect(Collectors.toList());
+    }
+
     private class InPlaceReplacementStrategy implements ReplacementStrategy {
         private int lookupCount = 0;
 
@@ -472,10 +486,7 @@ public class LookupRecord extends AbstractProcessor {
             for (final Map.Entry<String, RecordPath> entry : recordPaths.entrySet()) {
                 final RecordPath recordPath = entry.getValue();
 
-                final RecordPathResult pathResult = recordPath.evaluate(record);
-                final List<FieldValue> lookupFieldValues = pathResult.getSelectedFields()
-                    .filter(fieldVal -> fieldVal.getValue() != null)
-                    .collect(Collectors.toList());
+                final List<FieldValue> lookupFieldValues = getLookupFieldValues(recordPath, record);
 
                 if (lookupFieldValues.isEmpty()) {
                     final Set<Relationship> rels = routeToMatchedUnmatched ? UNMATCHED_COLLECTION : SUCCESS_COLLECTION;
@@ -657,10 +668,7 @@ public class LookupRecord extends AbstractProcessor {
                 final String coordinateKey = entry.getKey();
                 final RecordPath recordPath = entry.getValue();
 
-                final RecordPathResult pathResult = recordPath.evaluate(record);
-                final List<FieldValue> lookupFieldValues = pathResult.getSelectedFields()
-                    .filter(fieldVal -> fieldVal.getValue() != null)
-                    .collect(Collectors.toList());
+                final List<FieldValue> lookupFieldValues = getLookupFieldValues(recordPath, record);
 
                 if (lookupFieldValues.isEmpty()) {
                     if (logIfNotMatched) {
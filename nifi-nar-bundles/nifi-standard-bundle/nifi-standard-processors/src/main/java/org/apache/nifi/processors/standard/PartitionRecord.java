@@ -39,6 +39,7 @@ import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
+import org.apache.nifi.record.path.CompiledRecordPath;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.util.RecordPathCache;
@@ -63,6 +64,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -98,6 +100,8 @@ import java.util.stream.Stream;
 @SeeAlso({ConvertRecord.class, SplitRecord.class, UpdateRecord.class, QueryRecord.class})
 
 public class PartitionRecord extends AbstractProcessor {
+    private static final Object NO_MATCH = new Object();
+
     private final RecordPathCache recordPathCache = new RecordPathCache(25);
 
     static final PropertyDescriptor RECORD_READER = new PropertyDescriptor.Builder()
@@ -213,10 +217,7 @@ public class PartitionRecord extends AbstractProcessor {
                     final String propName = entry.getKey();
                     final RecordPath recordPath = entry.getValue();
 
-                    final Stream<FieldValue> fieldValueStream = recordPath.evaluate(record).getSelectedFields();
-                    final List<ValueWrapper> fieldValues = fieldValueStream
-                        .map(fieldVal -> new ValueWrapper(fieldVal.getValue()))
-                        .collect(Collectors.toList());
+                    final List<ValueWrapper> fieldValues = getFieldValues(recordPath, record);
                     recordMap.put(propName, fieldValues);
                 }
 
@@ -294,6 +295,20 @@ public class PartitionRecord extends AbstractProcessor {
         session.transfer(flowFile, REL_ORIGINAL);
     }
 
+    private List<ValueWrapper> getFieldValues(final RecordPath recordPath, final Record record) {
+        final Optional<CompiledRecordPath> compiledPath = recordPath.getCompiledPath();
+        if (compiledPath.isPresent()) {
+            // A Compiled RecordPath selects at most one field, so there is no need to create a Stream of FieldValues for each Record
+            final Object value = compiledPath.get().getValueOrElse(record, NO_MATCH);
+            return value == NO_MATCH ? Collections.emptyList() : Collections.singletonList(new ValueWrapper(value));
+        }
+
+        final Stream<FieldValue> fieldValueStream = recordPath.evaluate(record).getSelectedFields();
+        return fieldValueStream
+            .map(fieldVal -> new ValueWrapper(fieldVal.getValue()))
+            .collect(Collectors.toList());
+    }
+
     private RecordPath getRecordPath(final ProcessContext context, final PropertyDescriptor prop, final FlowFile flowFile) {
         final String pathText = context.getProperty(prop).evaluateAttributeExpressions(flowFile).getValue();
         final RecordPath recordPath = recordPathCache.getCompiled(pathText);
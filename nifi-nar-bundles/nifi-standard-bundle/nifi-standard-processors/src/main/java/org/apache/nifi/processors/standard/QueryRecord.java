@@ -397,7 +397,7 @@ public class QueryRecord extends AbstractProcessor {
     }
 
 
-    private synchronized CachedStatement getStatement(final String sql, final RecordSchema schema, final Supplier<CachedStatement> statementBuilder) {
+    private CachedStatement getStatement(final String sql, final RecordSchema schema, final Supplier<CachedStatement> statementBuilder) {
         final Tuple<String, RecordSchema> tuple = new Tuple<>(sql, schema);
         final BlockingQueue<CachedStatement> statementQueue = statementQueues.get(tuple, key -> new LinkedBlockingQueue<>());
 
@@ -406,6 +406,8 @@ public class QueryRecord extends AbstractProcessor {
             return cachedStmt;
         }
 
+        // Planning a statement is expensive, so it is done without holding a lock. Concurrent tasks that find no idle statement
+        // each prepare their own, and all of them are returned to the queue to be shared by subsequent tasks.
         return statementBuilder.get();
     }
 
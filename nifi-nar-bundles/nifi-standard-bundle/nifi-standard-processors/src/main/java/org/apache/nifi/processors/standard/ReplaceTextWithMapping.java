@@ -24,6 +24,7 @@ import org.apache.nifi.annotation.behavior.SideEffectFree;
 import org.apache.nifi.annotation.behavior.SupportsBatching;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.ValidationContext;
 import org.apache.nifi.components.ValidationResult;
@@ -42,16 +43,20 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.StreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.util.MultiLiteralReplacer;
 import org.apache.nifi.stream.io.StreamUtils;
 import org.apache.nifi.util.StopWatch;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -77,6 +82,22 @@ import java.util.regex.Pattern;
         + "matches the Regular Expression with some alternate value provided in a mapping file.")
 public class ReplaceTextWithMapping extends AbstractProcessor {
 
+    static final AllowableValue MATCH_REGEX = new AllowableValue("regular-expression", "Regular Expression",
+            "Searches the content for matches of the Regular Expression and replaces the Matching Group of each match that is a key of the mapping with the key's value. "
+            + "Back-references in the values refer to the capturing groups of the Regular Expression.");
+    static final AllowableValue MATCH_LITERAL_KEYS = new AllowableValue("literal-keys", "Literal Keys",
+            "Searches the content for all keys of the mapping at once and replaces each occurrence of a key, wherever it occurs, with the key's value, which is taken literally. "
+            + "Where occurrences of keys overlap, the one that starts first is replaced, and of those that start at the same position, the longest. "
+            + "The time it takes does not depend on the number of keys, and the content is streamed rather than buffered, so the Maximum Buffer Size does not apply.");
+
+    public static final PropertyDescriptor MATCHING_STRATEGY = new PropertyDescriptor.Builder()
+            .name("mapping-matching-strategy")
+            .displayName("Matching Strategy")
+            .description("Specifies how to find the sections of the content that are replaced with values from the mapping file")
+            .required(true)
+            .allowableValues(MATCH_REGEX, MATCH_LITERAL_KEYS)
+            .defaultValue(MATCH_REGEX.getValue())
+            .build();
     public static final PropertyDescriptor REGEX = new PropertyDescriptor.Builder()
             .name("Regular Expression")
             .description("The Regular Expression to search for in the FlowFile content")
@@ -84,6 +105,7 @@ public class ReplaceTextWithMapping extends AbstractProcessor {
             .addValidator(StandardValidators.createRegexValidator(0, Integer.MAX_VALUE, true))
             .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
             .defaultValue("\\S+")
+            .dependsOn(MATCHING_STRATEGY, MATCH_REGEX)
             .build();
     public static final PropertyDescriptor MATCHING_GROUP_FOR_LOOKUP_KEY = new PropertyDescriptor.Builder()
             .name("Matching Group")
@@ -92,6 +114,7 @@ public class ReplaceTextWithMapping extends AbstractProcessor {
             .required(true)
             .expressionLanguageSupported(ExpressionLanguageScope.VARIABLE_REGISTRY)
             .defaultValue("0")
+            .dependsOn(MATCHING_STRATEGY, MATCH_REGEX)
             .build();
     public static final PropertyDescriptor MAPPING_FILE = new PropertyDescriptor.Builder()
             .name("Mapping File")
@@ -120,6 +143,7 @@ public class ReplaceTextWithMapping extends AbstractProcessor {
             .required(true)
             .addValidator(StandardValidators.DATA_SIZE_VALIDATOR)
             .defaultValue("1 MB")
+            .dependsOn(MATCHING_STRATEGY, MATCH_REGEX)
             .build();
 
     public static final Relationship REL_SUCCESS = new Relationship.Builder()
@@ -144,6 +168,9 @@ public class ReplaceTextWithMapping extends AbstractProcessor {
     @Override
     protected Collection<ValidationResult> customValidate(final ValidationContext context) {
         final List<ValidationResult> errors = new ArrayList<>(super.customValidate(context));
+        if (MATCH_LITERAL_KEYS.getValue().equals(context.getProperty(MATCHING_STRATEGY).getValue())) {
+            return errors;
+        }
 
         final String regexValue = context.getProperty(REGEX).evaluateAttributeExpressions().getValue();
         final int numCapturingGroups = Pattern.compile(regexValue).matcher("").groupCount();
@@ -163,6 +190,7 @@ public class ReplaceTextWithMapping extends AbstractProcessor {
     @Override
     protected void init(final ProcessorInitializationContext context) {
         final List<PropertyDescriptor> properties = new ArrayList<>();
+        properties.add(MATCHING_STRATEGY);
         properties.add(REGEX);
         properties.add(MATCHING_GROUP_FOR_LOOKUP_KEY);
         properties.add(MAPPING_FILE);
@@ -197,6 +225,28 @@ public class ReplaceTextWithMapping extends AbstractProcessor {
 
         final ComponentLog logger = getLogger();
 
+        if (MATCH_LITERAL_KEYS.getValue().equals(context.getProperty(MATCHING_STRATEGY).getValue())) {
+            final Charset charset = Charset.forName(context.getProperty(CHARACTER_SET).getValue());
+            final MultiLiteralReplacer replacer = configurationStateRef.get().getLiteralReplacer();
+
+            for (FlowFile flowFile : flowFiles) {
+                final StopWatch stopWatch = new StopWatch(true);
+
+                if (replacer.getKeyCount() > 0) {
+                    flowFile = session.write(flowFile, (in, out) -> {
+                        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+                        replacer.replace(new InputStreamReader(in, charset), writer);
+                        writer.flush();
+                    });
+                    session.getProvenanceReporter().modifyContent(flowFile, stopWatch.getElapsed(TimeUnit.MILLISECONDS));
+                }
+
+                logger.info("Transferred {} to 'success'", new Object[]{flowFile});
+                session.transfer(flowFile, REL_SUCCESS);
+            }
+            return;
+        }
+
         final int maxBufferSize = context.getProperty(MAX_BUFFER_SIZE).asDataSize(DataUnit.B).intValue();
 
         for (FlowFile flowFile : flowFiles) {
@@ -297,6 +347,7 @@ public class ReplaceTextWithMapping extends AbstractProcessor {
     public static class ConfigurationState {
 
         final Map<String, String> mapping = new HashMap<>();
+        private volatile MultiLiteralReplacer literalReplacer;
 
         public ConfigurationState(final Map<String, String> mapping) {
             if (mapping != null) {
@@ -311,6 +362,24 @@ public class ReplaceTextWithMapping extends AbstractProcessor {
         public boolean isConfigured() {
             return !mapping.isEmpty();
         }
+
+        /**
+         * @return the automaton that replaces all keys of the mapping, which is built on first use as it is not needed
+         * for matching with a Regular Expression
+         */
+        public MultiLiteralReplacer getLiteralReplacer() {
+            MultiLiteralReplacer replacer = literalReplacer;
+            if (replacer == null) {
+                synchronized (this) {
+                    replacer = literalReplacer;
+                    if (replacer == null) {
+                        replacer = new MultiLiteralReplacer(mapping);
+                        literalReplacer = replacer;
+                    }
+                }
+            }
+            return replacer;
+        }
     }
 
     private final class ReplaceTextCallback implements StreamCallback {
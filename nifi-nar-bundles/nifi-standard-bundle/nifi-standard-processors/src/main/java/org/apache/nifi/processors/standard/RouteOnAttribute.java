@@ -77,6 +77,12 @@ public class RouteOnAttribute extends AbstractProcessor {
 
     public static final String ROUTE_ATTRIBUTE_KEY = "RouteOnAttribute.Route";
 
+    /**
+     * The maximum number of FlowFiles that are routed in one invocation. Routing a FlowFile only reads its attributes, and a FlowFile
+     * that cannot be evaluated is penalized and returned to the queue on its own, so the other FlowFiles of the batch are unaffected.
+     */
+    private static final int BATCH_SIZE = 50;
+
     // keep the word 'match' instead of 'matched' to maintain backward compatibility (there was a typo originally)
     private static final String routeAllMatchValue = "Route to 'match' if all match";
     private static final String routeAnyMatches = "Route to 'match' if any matches";
@@ -204,28 +210,68 @@ public class RouteOnAttribute extends AbstractProcessor {
 
     @Override
     public void onTrigger(final ProcessContext context, final ProcessSession session) {
-        FlowFile flowFile = session.get();
-        if (flowFile == null) {
+        final List<FlowFile> flowFiles = session.get(BATCH_SIZE);
+        if (flowFiles.isEmpty()) {
             return;
         }
 
-        final ComponentLog logger = getLogger();
-
         final Map<Relationship, PropertyValue> propMap = this.propertyMap;
-        final Set<Relationship> matchingRelationships = new HashSet<>();
+        final String routeStrategy = context.getProperty(ROUTE_STRATEGY).getValue();
+
+        final Map<Relationship, List<String>> evaluatedValues;
+        try {
+            evaluatedValues = evaluate(propMap, flowFiles);
+        } catch (final RuntimeException e) {
+            // Evaluate each FlowFile on its own, so that only the FlowFiles that cannot be evaluated are penalized
+            for (final FlowFile flowFile : flowFiles) {
+                final Map<Relationship, List<String>> flowFileValues;
+                try {
+                    flowFileValues = evaluate(propMap, Collections.singletonList(flowFile));
+                } catch (final RuntimeException fe) {
+                    getLogger().error("Failed to evaluate routing properties against {}; penalizing it and returning it to the input queue", flowFile, fe);
+                    session.transfer(session.penalize(flowFile));
+                    continue;
+                }
+
+                route(session, flowFile, getMatchingRelationships(flowFileValues, 0), propMap.size(), routeStrategy);
+            }
+            return;
+        }
+
+        for (int i = 0; i < flowFiles.size(); i++) {
+            route(session, flowFiles.get(i), getMatchingRelationships(evaluatedValues, i), propMap.size(), routeStrategy);
+        }
+    }
+
+    /**
+     * Evaluates each Expression against the whole batch at once, so that work that does not depend on the FlowFile is done only once
+     */
+    private Map<Relationship, List<String>> evaluate(final Map<Relationship, PropertyValue> propMap, final List<FlowFile> flowFiles) {
+        final Map<Relationship, List<String>> evaluatedValues = new HashMap<>();
         for (final Map.Entry<Relationship, PropertyValue> entry : propMap.entrySet()) {
-            final PropertyValue value = entry.getValue();
+            evaluatedValues.put(entry.getKey(), entry.getValue().evaluateAttributeExpressions(flowFiles));
+        }
+        return evaluatedValues;
+    }
 
-            final boolean matches = value.evaluateAttributeExpressions(flowFile).asBoolean();
-            if (matches) {
+    private Set<Relationship> getMatchingRelationships(final Map<Relationship, List<String>> evaluatedValues, final int index) {
+        final Set<Relationship> matchingRelationships = new HashSet<>();
+        for (final Map.Entry<Relationship, List<String>> entry : evaluatedValues.entrySet()) {
+            final String value = entry.getValue().get(index);
+            if (value != null && Boolean.parseBoolean(value.trim())) {
                 matchingRelationships.add(entry.getKey());
             }
         }
+        return matchingRelationships;
+    }
+
+    private void route(final ProcessSession session, FlowFile flowFile, final Set<Relationship> matchingRelationships, final int propertyCount, final String routeStrategy) {
+        final ComponentLog logger = getLogger();
 
         final Set<Relationship> destinationRelationships = new HashSet<>();
-        switch (context.getProperty(ROUTE_STRATEGY).getValue()) {
+        switch (routeStrategy) {
             case routeAllMatchValue:
-                if (matchingRelationships.size() == propMap.size()) {
+                if (matchingRelationships.size() == propertyCount) {
                     destinationRelationships.add(REL_MATCH);
                 } else {
                     destinationRelationships.add(REL_NO_MATCH);
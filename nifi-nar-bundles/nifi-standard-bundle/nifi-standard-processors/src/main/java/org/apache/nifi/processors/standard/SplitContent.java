@@ -16,7 +16,6 @@
  */
 package org.apache.nifi.processors.standard;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -59,9 +58,11 @@ import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.ProcessorInitializationContext;
 import org.apache.nifi.processor.Relationship;
-import org.apache.nifi.processor.io.InputStreamCallback;
+import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
-import org.apache.nifi.util.NaiveSearchRingBuffer;
+import org.apache.nifi.processors.standard.util.ByteSequenceScanner;
+import org.apache.nifi.processors.standard.util.SplitBatchProgress;
+import org.apache.nifi.stream.io.StreamUtils;
 import org.apache.nifi.util.Tuple;
 
 @EventDriven
@@ -85,6 +86,7 @@ public class SplitContent extends AbstractProcessor {
     public static final String FRAGMENT_INDEX = FragmentAttributes.FRAGMENT_INDEX.key();
     public static final String FRAGMENT_COUNT = FragmentAttributes.FRAGMENT_COUNT.key();
     public static final String SEGMENT_ORIGINAL_FILENAME = FragmentAttributes.SEGMENT_ORIGINAL_FILENAME.key();
+    public static final String BATCH_PROGRESS_ATTRIBUTE = "split.content.batch.progress";
 
     static final AllowableValue HEX_FORMAT = new AllowableValue("Hexadecimal", "Hexadecimal", "The Byte Sequence will be interpreted as a hexadecimal representation of bytes");
     static final AllowableValue UTF8_FORMAT = new AllowableValue("Text", "Text", "The Byte Sequence will be interpreted as UTF-8 Encoded text");
@@ -120,6 +122,17 @@ public class SplitContent extends AbstractProcessor {
             .allowableValues(TRAILING_POSITION, LEADING_POSITION)
             .defaultValue(TRAILING_POSITION.getValue())
             .build();
+    public static final PropertyDescriptor SPLITS_PER_BATCH = new PropertyDescriptor.Builder()
+            .name("splits-per-batch")
+            .displayName("Splits per Batch")
+            .description("The maximum number of splits to emit for a FlowFile at a time. If not set, all splits of a FlowFile are emitted at once, which requires all of them "
+                    + "to be held in memory until the session is committed. If set, and a FlowFile has more splits than this, its splits are emitted in batches, "
+                    + "each committed on its own, and the FlowFile is returned to its queue in between with its progress stored in the '" + BATCH_PROGRESS_ATTRIBUTE
+                    + "' attribute. The FlowFile is routed to 'original' along with the last batch. Because the total number of splits is determined up front, "
+                    + "the content of such a FlowFile is read one additional time.")
+            .required(false)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .build();
 
     public static final Relationship REL_SPLITS = new Relationship.Builder()
             .name("splits")
@@ -147,6 +160,7 @@ public class SplitContent extends AbstractProcessor {
         properties.add(BYTE_SEQUENCE);
         properties.add(KEEP_SEQUENCE);
         properties.add(BYTE_SEQUENCE_LOCATION);
+        properties.add(SPLITS_PER_BATCH);
         this.properties = Collections.unmodifiableList(properties);
     }
 
@@ -215,77 +229,37 @@ public class SplitContent extends AbstractProcessor {
             return;
         }
 
-        final List<Tuple<Long, Long>> splits = new ArrayList<>();
-
-        final NaiveSearchRingBuffer buffer = new NaiveSearchRingBuffer(byteSequence);
-        session.read(flowFile, new InputStreamCallback() {
-            @Override
-            public void process(final InputStream rawIn) throws IOException {
-                long bytesRead = 0L;
-                long startOffset = 0L;
-
-                try (final InputStream in = new BufferedInputStream(rawIn)) {
-                    while (true) {
-                        final int nextByte = in.read();
-                        if (nextByte == -1) {
-                            return;
-                        }
-
-                        bytesRead++;
-                        boolean matched = buffer.addAndCompare((byte) (nextByte & 0xFF));
-                        if (matched) {
-                            long splitLength;
-
-                            if (keepTrailingSequence) {
-                                splitLength = bytesRead - startOffset;
-                            } else {
-                                splitLength = bytesRead - startOffset - byteSequence.length;
-                            }
-
-                            if (keepLeadingSequence && startOffset > 0) {
-                                splitLength += byteSequence.length;
-                            }
-
-                            final long splitStart = (keepLeadingSequence && startOffset > 0) ? startOffset - byteSequence.length : startOffset;
-                            splits.add(new Tuple<>(splitStart, splitLength));
-                            startOffset = bytesRead;
-                            buffer.clear();
-                        }
-                    }
+        final Integer splitsPerBatch = context.getProperty(SPLITS_PER_BATCH).asInteger();
+        if (splitsPerBatch != null) {
+            SplitBatchProgress progress = SplitBatchProgress.fromAttribute(flowFile.getAttribute(BATCH_PROGRESS_ATTRIBUTE), getIdentifier());
+            if (progress == null) {
+                final long splitCount = findSplits(session, flowFile, byteSequence, keepTrailingSequence, keepLeadingSequence, 0L, Long.MAX_VALUE, null).splitCount;
+                if (splitCount > splitsPerBatch) {
+                    progress = new SplitBatchProgress(getIdentifier(), UUID.randomUUID().toString(), splitCount, 1L, 0L, false);
                 }
             }
-        });
 
-        long lastOffsetPlusSize = -1L;
+            if (progress != null) {
+                splitBatch(session, flowFile, progress, splitsPerBatch, byteSequence, keepTrailingSequence, keepLeadingSequence);
+                return;
+            }
+        }
+
+        final List<Tuple<Long, Long>> splits = new ArrayList<>();
+        final SplitSearchResult result = findSplits(session, flowFile, byteSequence, keepTrailingSequence, keepLeadingSequence, 0L, Long.MAX_VALUE, splits);
+
         final ArrayList<FlowFile> splitList = new ArrayList<>();
 
-        if (splits.isEmpty()) {
+        // Without any occurrence of the Byte Sequence, the whole content is a single split.
+        // Content that consists only of occurrences of the Byte Sequence has no splits.
+        if (!result.sequenceFound) {
             FlowFile clone = session.clone(flowFile);
             // finishFragmentAttributes performs .clear() so List must be mutable
             splitList.add(clone);
             logger.info("Found no match for {}; transferring original 'original' and transferring clone {} to 'splits'", new Object[]{flowFile, clone});
         } else {
             for (final Tuple<Long, Long> tuple : splits) {
-                long offset = tuple.getKey();
-                long size = tuple.getValue();
-                if (size > 0) {
-                    FlowFile split = session.clone(flowFile, offset, size);
-                    splitList.add(split);
-                }
-
-                lastOffsetPlusSize = offset + size;
-            }
-
-            // lastOffsetPlusSize indicates the ending position of the last split.
-            // if the data didn't end with the byte sequence, we need one final split to run from the end
-            // of the last split to the end of the content.
-            long finalSplitOffset = lastOffsetPlusSize;
-            if (!keepTrailingSequence && !keepLeadingSequence) {
-                finalSplitOffset += byteSequence.length;
-            }
-            if (finalSplitOffset > -1L && finalSplitOffset < flowFile.getSize()) {
-                FlowFile finalSplit = session.clone(flowFile, finalSplitOffset, flowFile.getSize() - finalSplitOffset);
-                splitList.add(finalSplit);
+                splitList.add(session.clone(flowFile, tuple.getKey(), tuple.getValue()));
             }
         }
 
@@ -301,6 +275,122 @@ public class SplitContent extends AbstractProcessor {
         }
     }
 
+    /**
+     * Emits the next batch of splits of the given FlowFile. Unless this is the last batch, the FlowFile is returned to its queue with its progress updated.
+     */
+    private void splitBatch(final ProcessSession session, FlowFile flowFile, final SplitBatchProgress progress, final int splitsPerBatch, final byte[] byteSequence,
+                            final boolean keepTrailingSequence, final boolean keepLeadingSequence) {
+        final List<Tuple<Long, Long>> splits = new ArrayList<>();
+        final SplitSearchResult result = findSplits(session, flowFile, byteSequence, keepTrailingSequence, keepLeadingSequence, progress.getOffset(), splitsPerBatch, splits);
+
+        final String originalFilename = flowFile.getAttribute(CoreAttributes.FILENAME.key());
+        final List<FlowFile> splitList = new ArrayList<>(splits.size());
+        long fragmentIndex = progress.getNextFragmentIndex();
+        for (final Tuple<Long, Long> tuple : splits) {
+            FlowFile split = session.clone(flowFile, tuple.getKey(), tuple.getValue());
+            split = session.putAllAttributes(split, createFragmentAttributes(progress.getFragmentId(), fragmentIndex++, progress.getFragmentCount(), originalFilename));
+            splitList.add(session.removeAttribute(split, BATCH_PROGRESS_ATTRIBUTE));
+        }
+        session.transfer(splitList, REL_SPLITS);
+
+        if (result.resumeOffset < 0) {
+            flowFile = session.removeAttribute(flowFile, BATCH_PROGRESS_ATTRIBUTE);
+            flowFile = FragmentAttributes.copyAttributesToOriginal(session, flowFile, progress.getFragmentId(), (int) progress.getFragmentCount());
+            session.transfer(flowFile, REL_ORIGINAL);
+            getLogger().info("Split {} into {} files in batches of up to {}", new Object[]{flowFile, progress.getFragmentCount(), splitsPerBatch});
+        } else {
+            final SplitBatchProgress nextProgress = progress.next(splitList.size(), result.resumeOffset, false);
+            flowFile = session.putAttribute(flowFile, BATCH_PROGRESS_ATTRIBUTE, nextProgress.toAttribute());
+            session.transfer(flowFile);
+            getLogger().debug("Emitted {} splits of {}; returning it to its queue at {}", new Object[]{splitList.size(), flowFile, nextProgress});
+        }
+    }
+
+    /**
+     * Finds the non-empty splits of the content of the given FlowFile, starting at the given offset.
+     *
+     * @param startOffset 0, or the offset just after an occurrence of the Byte Sequence at which a previous search stopped
+     * @param maxSplits the number of splits after which to stop searching
+     * @param splits the list to add the offset and length of each split to, or <code>null</code> to only count the splits
+     * @return the number of splits found and the offset at which to continue, if the search stopped before the end of the content
+     */
+    private SplitSearchResult findSplits(final ProcessSession session, final FlowFile flowFile, final byte[] byteSequence, final boolean keepTrailingSequence,
+                                         final boolean keepLeadingSequence, final long startOffset, final long maxSplits, final List<Tuple<Long, Long>> splits) {
+        long splitCount = 0L;
+        long splitOffset = startOffset;
+        try (final InputStream in = session.read(flowFile)) {
+            StreamUtils.skip(in, startOffset);
+
+            final ByteSequenceScanner scanner = new ByteSequenceScanner(in, byteSequence, startOffset);
+            while (splitCount < maxSplits) {
+                final long matchOffset = scanner.nextMatch();
+                if (matchOffset < 0) {
+                    break;
+                }
+
+                final long matchEnd = matchOffset + byteSequence.length;
+                long splitLength = keepTrailingSequence ? matchEnd - splitOffset : matchOffset - splitOffset;
+                if (keepLeadingSequence && splitOffset > 0) {
+                    splitLength += byteSequence.length;
+                }
+
+                final long splitStart = (keepLeadingSequence && splitOffset > 0) ? splitOffset - byteSequence.length : splitOffset;
+                if (splitLength > 0) {
+                    splitCount++;
+                    if (splits != null) {
+                        splits.add(new Tuple<>(splitStart, splitLength));
+                    }
+                }
+
+                splitOffset = matchEnd;
+            }
+        } catch (final IOException e) {
+            throw new ProcessException("Failed to read " + flowFile, e);
+        }
+
+        if (splitCount >= maxSplits) {
+            return new SplitSearchResult(splitCount, splitOffset, true);
+        }
+
+        // If the data didn't end with the byte sequence, we need one final split to run from the end
+        // of the last occurrence to the end of the content.
+        if (splitOffset > 0) {
+            final long finalSplitOffset = keepLeadingSequence ? splitOffset - byteSequence.length : splitOffset;
+            if (finalSplitOffset < flowFile.getSize()) {
+                splitCount++;
+                if (splits != null) {
+                    splits.add(new Tuple<>(finalSplitOffset, flowFile.getSize() - finalSplitOffset));
+                }
+            }
+        } else if (splits == null) {
+            // Without any occurrence, the FlowFile is emitted as a single split
+            splitCount = 1L;
+        }
+
+        return new SplitSearchResult(splitCount, -1L, splitOffset > 0);
+    }
+
+    private static class SplitSearchResult {
+        private final long splitCount;
+        private final long resumeOffset;
+        private final boolean sequenceFound;
+
+        private SplitSearchResult(final long splitCount, final long resumeOffset, final boolean sequenceFound) {
+            this.splitCount = splitCount;
+            this.resumeOffset = resumeOffset;
+            this.sequenceFound = sequenceFound;
+        }
+    }
+
+    private Map<String, String> createFragmentAttributes(final String fragmentId, final long fragmentIndex, final long fragmentCount, final String originalFilename) {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put(FRAGMENT_ID, fragmentId);
+        attributes.put(FRAGMENT_INDEX, String.valueOf(fragmentIndex));
+        attributes.put(FRAGMENT_COUNT, String.valueOf(fragmentCount));
+        attributes.put(SEGMENT_ORIGINAL_FILENAME, originalFilename);
+        return attributes;
+    }
+
     /**
      * Apply split index, count and other attributes.
      *
@@ -317,12 +407,7 @@ public class SplitContent extends AbstractProcessor {
         splits.clear();
         for (int i = 1; i <= newList.size(); i++) {
             FlowFile ff = newList.get(i - 1);
-            final Map<String, String> attributes = new HashMap<>();
-            attributes.put(FRAGMENT_ID, fragmentId);
-            attributes.put(FRAGMENT_INDEX, String.valueOf(i));
-            attributes.put(FRAGMENT_COUNT, String.valueOf(newList.size()));
-            attributes.put(SEGMENT_ORIGINAL_FILENAME, originalFilename);
-            FlowFile newFF = session.putAllAttributes(ff, attributes);
+            FlowFile newFF = session.putAllAttributes(ff, createFragmentAttributes(fragmentId, i, newList.size(), originalFilename));
             splits.add(newFF);
         }
         return fragmentId;
@@ -45,6 +45,8 @@ import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.InputStreamCallback;
 import org.apache.nifi.processor.io.OutputStreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.util.SplitBatchProgress;
+import org.apache.nifi.stream.io.StreamUtils;
 import org.apache.nifi.stream.io.util.TextLineDemarcator;
 import org.apache.nifi.stream.io.util.TextLineDemarcator.OffsetInfo;
 
@@ -101,6 +103,7 @@ public class SplitText extends AbstractProcessor {
     public static final String FRAGMENT_INDEX = FragmentAttributes.FRAGMENT_INDEX.key();
     public static final String FRAGMENT_COUNT = FragmentAttributes.FRAGMENT_COUNT.key();
     public static final String SEGMENT_ORIGINAL_FILENAME = FragmentAttributes.SEGMENT_ORIGINAL_FILENAME.key();
+    public static final String BATCH_PROGRESS_ATTRIBUTE = "split.text.batch.progress";
 
     public static final PropertyDescriptor LINE_SPLIT_COUNT = new PropertyDescriptor.Builder()
             .name("Line Split Count")
@@ -142,6 +145,17 @@ public class SplitText extends AbstractProcessor {
             .allowableValues("true", "false")
             .defaultValue("true")
             .build();
+    public static final PropertyDescriptor SPLITS_PER_BATCH = new PropertyDescriptor.Builder()
+            .name("splits-per-batch")
+            .displayName("Splits per Batch")
+            .description("The maximum number of splits to emit for a FlowFile at a time. If not set, all splits of a FlowFile are emitted at once, which requires all of them "
+                    + "to be held in memory until the session is committed. If set, and a FlowFile has more splits than this, its splits are emitted in batches, "
+                    + "each committed on its own, and the FlowFile is returned to its queue in between with its progress stored in the '" + BATCH_PROGRESS_ATTRIBUTE
+                    + "' attribute. The FlowFile is routed to 'original' along with the last batch. Because the total number of splits is determined up front, "
+                    + "the content of such a FlowFile is read one additional time.")
+            .required(false)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .build();
 
     public static final Relationship REL_ORIGINAL = new Relationship.Builder()
             .name("original")
@@ -165,7 +179,8 @@ public class SplitText extends AbstractProcessor {
             FRAGMENT_MAX_SIZE,
             HEADER_LINE_COUNT,
             HEADER_MARKER,
-            REMOVE_TRAILING_NEWLINES));
+            REMOVE_TRAILING_NEWLINES,
+            SPLITS_PER_BATCH));
 
         relationships = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
             REL_ORIGINAL,
@@ -183,6 +198,8 @@ public class SplitText extends AbstractProcessor {
 
     private volatile String headerMarker;
 
+    private volatile Integer splitsPerBatch;
+
     @Override
     public Set<Relationship> getRelationships() {
         return relationships;
@@ -197,10 +214,12 @@ public class SplitText extends AbstractProcessor {
         this.lineCount = context.getProperty(LINE_SPLIT_COUNT).asInteger();
         this.headerLineCount = context.getProperty(HEADER_LINE_COUNT).asInteger();
         this.headerMarker = context.getProperty(HEADER_MARKER).getValue();
+        this.splitsPerBatch = context.getProperty(SPLITS_PER_BATCH).asInteger();
     }
 
     /**
-     * Will split the incoming stream releasing all splits as FlowFile at once.
+     * Will split the incoming stream releasing all splits as FlowFile at once, unless
+     * {@link #SPLITS_PER_BATCH} is set and the FlowFile has more splits than that.
      */
     @Override
     public void onTrigger(ProcessContext context, ProcessSession processSession) throws ProcessException {
@@ -208,6 +227,18 @@ public class SplitText extends AbstractProcessor {
         if (sourceFlowFile == null) {
             return;
         }
+
+        if (this.splitsPerBatch != null) {
+            SplitBatchProgress progress = SplitBatchProgress.fromAttribute(sourceFlowFile.getAttribute(BATCH_PROGRESS_ATTRIBUTE), getIdentifier());
+            if (progress == null) {
+                progress = this.startBatches(sourceFlowFile, processSession);
+            }
+            if (progress != null) {
+                this.splitBatch(sourceFlowFile, processSession, progress);
+                return;
+            }
+        }
+
         AtomicBoolean error = new AtomicBoolean();
         List<SplitInfo> computedSplitsInfo = new ArrayList<>();
         AtomicReference<SplitInfo> headerSplitInfoRef = new AtomicReference<>();
@@ -270,6 +301,148 @@ public class SplitText extends AbstractProcessor {
         }
     }
 
+    /**
+     * Counts the splits of the given FlowFile, without holding on to them, to determine whether they are to be emitted in batches.
+     *
+     * @return the progress before the first batch, or null if the FlowFile is to be split at once, either because it does not have
+     * more than {@link #SPLITS_PER_BATCH} splits or because it cannot be split
+     */
+    private SplitBatchProgress startBatches(FlowFile sourceFlowFile, ProcessSession processSession) {
+        final AtomicReference<SplitBatchProgress> progressRef = new AtomicReference<>();
+        processSession.read(sourceFlowFile, new InputStreamCallback() {
+            @Override
+            public void process(InputStream in) throws IOException {
+                TextLineDemarcator demarcator = new TextLineDemarcator(in);
+                final SplitInfo headerSplitInfo;
+                try {
+                    headerSplitInfo = SplitText.this.computeHeader(demarcator);
+                } catch (IllegalStateException e) {
+                    return; // routed to failure when the FlowFile is split at once
+                }
+                if (SplitText.this.headerLineCount > 0 && (headerSplitInfo == null || headerSplitInfo.lineCount < SplitText.this.headerLineCount)) {
+                    return;
+                }
+
+                long headerLength = headerSplitInfo == null ? 0 : headerSplitInfo.length;
+                long splitCount = 0;
+                long startOffset = headerLength;
+                SplitInfo splitInfo = headerSplitInfo;
+                while ((splitInfo = SplitText.this.nextSplit(demarcator, startOffset, SplitText.this.lineCount, splitInfo, headerLength)) != null) {
+                    if (SplitText.this.isEmitted(splitInfo, headerSplitInfo != null)) {
+                        splitCount++;
+                    }
+                    startOffset += splitInfo.length;
+                }
+
+                if (splitCount > SplitText.this.splitsPerBatch) {
+                    boolean carryOver = headerSplitInfo != null && headerSplitInfo.remaningOffsetInfo != null;
+                    progressRef.set(new SplitBatchProgress(getIdentifier(), UUID.randomUUID().toString(), splitCount, 1, headerLength, carryOver));
+                }
+            }
+        });
+        return progressRef.get();
+    }
+
+    /**
+     * Emits the next batch of splits of the given FlowFile. Unless this is the last batch, the FlowFile is returned to its queue
+     * with its progress updated. The header is computed again for every batch rather than stored with the progress.
+     */
+    private void splitBatch(FlowFile sourceFlowFile, ProcessSession processSession, SplitBatchProgress progress) {
+        AtomicReference<SplitInfo> headerSplitInfoRef = new AtomicReference<>();
+        processSession.read(sourceFlowFile, new InputStreamCallback() {
+            @Override
+            public void process(InputStream in) throws IOException {
+                headerSplitInfoRef.set(SplitText.this.computeHeader(new TextLineDemarcator(in)));
+            }
+        });
+        final SplitInfo headerSplitInfo = headerSplitInfoRef.get();
+        final long headerLength = headerSplitInfo == null ? 0 : headerSplitInfo.length;
+
+        final List<SplitInfo> batchSplitsInfo = new ArrayList<>();
+        long nextOffset = progress.getOffset();
+        boolean carryOver = progress.isCarryOver();
+        boolean finished = false;
+        try (InputStream in = processSession.read(sourceFlowFile)) {
+            StreamUtils.skip(in, progress.getOffset());
+            TextLineDemarcator demarcator = new TextLineDemarcator(in);
+
+            // the line at the offset was read as part of the last split of the previous batch, so it is carried over into the first split of this batch
+            SplitInfo splitInfo = null;
+            if (carryOver) {
+                splitInfo = new SplitInfo(progress.getOffset(), 0, 0, 0, demarcator.nextOffsetInfo());
+            }
+            while (batchSplitsInfo.size() < this.splitsPerBatch) {
+                splitInfo = this.nextSplit(demarcator, nextOffset, this.lineCount, splitInfo, headerLength);
+                if (splitInfo == null) {
+                    finished = true;
+                    break;
+                }
+                if (this.isEmitted(splitInfo, headerSplitInfo != null)) {
+                    batchSplitsInfo.add(splitInfo);
+                }
+                nextOffset += splitInfo.length;
+                carryOver = splitInfo.remaningOffsetInfo != null;
+            }
+        } catch (IOException e) {
+            throw new ProcessException("Failed to read " + sourceFlowFile, e);
+        }
+
+        FlowFile headerFlowFile = null;
+        if (headerSplitInfo != null) {
+            headerFlowFile = processSession.clone(sourceFlowFile, headerSplitInfo.startOffset, headerSplitInfo.length);
+        }
+
+        final String fragmentCount = String.valueOf(progress.getFragmentCount());
+        final String originalFilename = sourceFlowFile.getAttribute(CoreAttributes.FILENAME.key());
+        final List<FlowFile> splitFlowFiles = new ArrayList<>(batchSplitsInfo.size());
+        int fragmentIndex = (int) progress.getNextFragmentIndex();
+        for (SplitInfo splitInfo : batchSplitsInfo) {
+            FlowFile splitFlowFile = this.createSplitFlowFile(processSession, sourceFlowFile, headerFlowFile, headerSplitInfo, splitInfo);
+            splitFlowFile = this.updateAttributes(processSession, splitFlowFile, splitInfo.lineCount, splitFlowFile.getSize(), progress.getFragmentId(), fragmentIndex++, originalFilename);
+            splitFlowFile = processSession.putAttribute(splitFlowFile, FRAGMENT_COUNT, fragmentCount);
+            splitFlowFiles.add(processSession.removeAttribute(splitFlowFile, BATCH_PROGRESS_ATTRIBUTE));
+        }
+        if (headerFlowFile != null) {
+            processSession.remove(headerFlowFile);
+        }
+        processSession.transfer(splitFlowFiles, REL_SPLITS);
+
+        if (finished) {
+            sourceFlowFile = processSession.removeAttribute(sourceFlowFile, BATCH_PROGRESS_ATTRIBUTE);
+            sourceFlowFile = FragmentAttributes.copyAttributesToOriginal(processSession, sourceFlowFile, progress.getFragmentId(), (int) progress.getFragmentCount());
+            processSession.transfer(sourceFlowFile, REL_ORIGINAL);
+            getLogger().info("Split {} into {} FlowFiles in batches of up to {}", new Object[] {sourceFlowFile, progress.getFragmentCount(), this.splitsPerBatch});
+        } else {
+            final SplitBatchProgress nextProgress = progress.next(splitFlowFiles.size(), nextOffset, carryOver);
+            sourceFlowFile = processSession.putAttribute(sourceFlowFile, BATCH_PROGRESS_ATTRIBUTE, nextProgress.toAttribute());
+            processSession.transfer(sourceFlowFile);
+            getLogger().debug("Emitted {} splits of {}; returning it to its queue at {}", new Object[] {splitFlowFiles.size(), sourceFlowFile, nextProgress});
+        }
+    }
+
+    /**
+     * Computes the header according to {@link #HEADER_LINE_COUNT} or {@link #HEADER_MARKER}.
+     *
+     * @return the header or null if no header is configured or found
+     */
+    private SplitInfo computeHeader(TextLineDemarcator demarcator) throws IOException {
+        if (this.headerLineCount > 0) {
+            return this.computeHeader(demarcator, 0, this.headerLineCount, null, null);
+        } else if (this.headerMarker != null) {
+            return this.computeHeader(demarcator, 0, Long.MAX_VALUE, this.headerMarker.getBytes(StandardCharsets.UTF_8), null);
+        }
+        return null;
+    }
+
+    /**
+     * Whether a FlowFile is created for the given split, which is not the case for splits that consist only
+     * of new lines if these are removed and there is no header.
+     */
+    private boolean isEmitted(SplitInfo splitInfo, boolean hasHeader) {
+        long length = this.removeTrailingNewLines ? splitInfo.trimmedLength : splitInfo.length;
+        return hasHeader || length > 0;
+    }
+
     @Override
     protected Collection<ValidationResult> customValidate(ValidationContext validationContext) {
         List<ValidationResult> results = new ArrayList<>();
@@ -313,21 +486,8 @@ public class SplitText extends AbstractProcessor {
                 final SplitInfo computedSplitInfo = itr.next();
                 itr.remove();
 
-                long length = this.removeTrailingNewLines ? computedSplitInfo.trimmedLength : computedSplitInfo.length;
-                boolean proceedWithClone = headerFlowFile != null || length > 0;
-                if (proceedWithClone) {
-                    FlowFile splitFlowFile = null;
-                    if (headerFlowFile != null) {
-                        if (length > 0) {
-                            splitFlowFile = processSession.clone(sourceFlowFile, computedSplitInfo.startOffset, length);
-                            splitFlowFile = this.concatenateContents(sourceFlowFile, processSession, headerFlowFile, splitFlowFile);
-                        } else {
-                            splitFlowFile = processSession.clone(sourceFlowFile, 0, headerFlowFile.getSize() - headerCrlfLength); // trim the last CRLF if split consists of only HEADER
-                        }
-                    } else {
-                        splitFlowFile = processSession.clone(sourceFlowFile, computedSplitInfo.startOffset, length);
-                    }
-
+                if (this.isEmitted(computedSplitInfo, headerFlowFile != null)) {
+                    FlowFile splitFlowFile = this.createSplitFlowFile(processSession, sourceFlowFile, headerFlowFile, splitInfo, computedSplitInfo);
                     splitFlowFile = this.updateAttributes(processSession, splitFlowFile, computedSplitInfo.lineCount, splitFlowFile.getSize(), fragmentId, fragmentIndex++,
                             sourceFlowFile.getAttribute(CoreAttributes.FILENAME.key()));
                     splitFlowFiles.add(splitFlowFile);
@@ -354,6 +514,21 @@ public class SplitText extends AbstractProcessor {
         return splitFlowFiles;
     }
 
+    /**
+     * Creates the {@link FlowFile} for the given split, prepending the header if there is one.
+     */
+    private FlowFile createSplitFlowFile(ProcessSession processSession, FlowFile sourceFlowFile, FlowFile headerFlowFile, SplitInfo headerSplitInfo, SplitInfo splitInfo) {
+        long length = this.removeTrailingNewLines ? splitInfo.trimmedLength : splitInfo.length;
+        if (headerFlowFile == null) {
+            return processSession.clone(sourceFlowFile, splitInfo.startOffset, length);
+        } else if (length > 0) {
+            FlowFile splitFlowFile = processSession.clone(sourceFlowFile, splitInfo.startOffset, length);
+            return this.concatenateContents(sourceFlowFile, processSession, headerFlowFile, splitFlowFile);
+        } else {
+            return processSession.clone(sourceFlowFile, 0, headerFlowFile.getSize() - headerSplitInfo.trimmedLength); // trim the last CRLF if split consists of only HEADER
+        }
+    }
+
     /**
      * Will concatenate the contents of the provided array of {@link FlowFile}s
      * into a single {@link FlowFile}. While this operation is as general as it
@@ -49,6 +49,7 @@ import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.OutputStreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.processors.standard.TailFile.TailFileState.StateKeys;
+import org.apache.nifi.processors.standard.util.FileChangeTracker;
 import org.apache.nifi.stream.io.NullOutputStream;
 import org.apache.nifi.stream.io.StreamUtils;
 
@@ -73,6 +74,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -136,6 +138,14 @@ public class TailFile extends AbstractProcessor {
             "Start with the data at the end of the File to Tail. Do not ingest any data thas has already been rolled over or any "
             + "data in the File to Tail that has already been written.");
 
+    static final AllowableValue CHANGE_DETECTION_CHECK_ALL = new AllowableValue("check-all-files", "Check All Files",
+            "Each time the Processor runs, every file to tail is checked for new data and for files that it has been rolled over to.");
+    static final AllowableValue CHANGE_DETECTION_NOTIFICATIONS = new AllowableValue("file-system-notifications", "File System Notifications",
+            "The directories of the files to tail are watched for changes using the notification service of the file system. A file is only checked when a change "
+            + "to the file, or to a file whose name matches its Rolling Filename Pattern, has been reported since it was last found to be fully consumed, so that files that "
+            + "are not written to cost nothing. All files are checked when the Processor is started, when the files to tail are looked up again and whenever the file system "
+            + "reports that notifications were lost. Network file systems generally do not report changes that are made by other hosts.");
+
     static final PropertyDescriptor BASE_DIRECTORY = new Builder()
             .name("tail-base-directory")
             .displayName("Base directory")
@@ -281,6 +291,16 @@ public class TailFile extends AbstractProcessor {
         .dependsOn(LINE_START_PATTERN)
         .build();
 
+    static final PropertyDescriptor CHANGE_DETECTION = new Builder()
+        .name("tail-change-detection")
+        .displayName("Change Detection")
+        .description("Specifies how the Processor determines which files to check for new data. Watching for notifications of changes "
+            + "greatly reduces the cost of tailing a large number of files of which only a few are written to at any time.")
+        .required(true)
+        .allowableValues(CHANGE_DETECTION_CHECK_ALL, CHANGE_DETECTION_NOTIFICATIONS)
+        .defaultValue(CHANGE_DETECTION_CHECK_ALL.getValue())
+        .build();
+
     static final Relationship REL_SUCCESS = new Relationship.Builder()
             .name("success")
             .description("All FlowFiles are routed to this Relationship.")
@@ -291,6 +311,10 @@ public class TailFile extends AbstractProcessor {
     private volatile AtomicBoolean isMultiChanging = new AtomicBoolean(false);
     private volatile boolean requireStateLookup = true;
 
+    private volatile FileChangeTracker changeTracker;
+    // The state of the files that are tailed in one run of the Processor, which is stored at once when the run completes
+    private final Map<String, String> stateUpdates = new HashMap<>();
+
     private volatile ByteArrayOutputStream linesBuffer = new ByteArrayOutputStream();
     private volatile Pattern lineStartPattern;
     private volatile long maxBufferBytes;
@@ -311,6 +335,7 @@ public class TailFile extends AbstractProcessor {
         properties.add(REREAD_ON_NUL);
         properties.add(LINE_START_PATTERN);
         properties.add(MAX_BUFFER_LENGTH);
+        properties.add(CHANGE_DETECTION);
         return properties;
     }
 
@@ -448,9 +473,10 @@ public class TailFile extends AbstractProcessor {
             }
 
             // first, we remove the files that are no longer present
+            final Set<String> filesToTailSet = new HashSet<>(filesToTail);
             final List<String> toBeRemoved = new ArrayList<String>();
             for (String file : states.keySet()) {
-                if(!filesToTail.contains(file)) {
+                if(!filesToTailSet.contains(file)) {
                     toBeRemoved.add(file);
                     cleanReader(states.get(file));
                 }
@@ -637,6 +663,19 @@ public class TailFile extends AbstractProcessor {
         linesBuffer.reset();
     }
 
+    @OnStopped
+    public void closeChangeTracker() {
+        if (changeTracker != null) {
+            try {
+                changeTracker.close();
+            } catch (final IOException ioe) {
+                getLogger().warn("Failed to stop watching the directories of the tailed files", ioe);
+            }
+
+            changeTracker = null;
+        }
+    }
+
     private void cleanReader(TailFileObject tfo) {
         if (tfo.getState() == null) {
             return;
@@ -665,6 +704,7 @@ public class TailFile extends AbstractProcessor {
                     final Scope scope = getStateScope(context);
                     final StateMap stateMap = session.getState(scope);
                     initStates(filesToTail, stateMap.toMap(), false, context.getProperty(START_POSITION).getValue());
+                    trackFiles(context);
                 } catch (IOException e) {
                     getLogger().error("Exception raised while attempting to recover state about where the tailing last left off", e);
                     context.yield();
@@ -683,6 +723,7 @@ public class TailFile extends AbstractProcessor {
             }
 
             requireStateLookup = false;
+            trackFiles(context);
         }
 
         if (states.isEmpty()) {
@@ -690,14 +731,51 @@ public class TailFile extends AbstractProcessor {
             return;
         }
 
-        for (final String tailFile : states.keySet()) {
+        if (changeTracker == null && CHANGE_DETECTION_NOTIFICATIONS.getValue().equals(context.getProperty(CHANGE_DETECTION).getValue())) {
             try {
-                processTailFile(context, session, tailFile);
-            } catch (NulCharacterEncounteredException e) {
-                getLogger().warn("NUL character encountered in " + tailFile + " and '" + REREAD_ON_NUL.getDisplayName() + "' is set to 'true', yielding.");
+                changeTracker = new FileChangeTracker();
+            } catch (final IOException e) {
+                getLogger().error("Failed to watch the directories of the files to tail for changes", e);
                 context.yield();
                 return;
             }
+
+            trackFiles(context);
+        }
+
+        final FileChangeTracker tracker = changeTracker;
+        if (tracker != null) {
+            tracker.pollChanges();
+        }
+
+        boolean anyFileChecked = false;
+        try {
+            for (final String tailFile : states.keySet()) {
+                if (tracker != null && !tracker.isChanged(tailFile)) {
+                    continue;
+                }
+
+                anyFileChecked = true;
+                try {
+                    processTailFile(context, session, tailFile);
+                } catch (NulCharacterEncounteredException e) {
+                    getLogger().warn("NUL character encountered in " + tailFile + " and '" + REREAD_ON_NUL.getDisplayName() + "' is set to 'true', yielding.");
+                    context.yield();
+                    return;
+                }
+
+                if (tracker != null && isFullyConsumed(states.get(tailFile))) {
+                    tracker.markUnchanged(tailFile);
+                }
+            }
+        } finally {
+            storeStateUpdates(session, context);
+        }
+
+        if (!anyFileChecked) {
+            getLogger().debug("No changes were reported for any of the files to tail");
+            context.yield();
+            return;
         }
 
         // If a Line Start Pattern is being used and data is buffered, the Position that has been stored in the state will
@@ -707,6 +785,35 @@ public class TailFile extends AbstractProcessor {
         }
     }
 
+    /**
+     * Starts tracking changes to the current files to tail, if File System Notifications are used to detect changes
+     */
+    private void trackFiles(final ProcessContext context) {
+        if (changeTracker == null) {
+            return;
+        }
+
+        final Map<String, String> files = new HashMap<>();
+        for (final String tailFile : states.keySet()) {
+            files.put(tailFile, getRollingPattern(context, new File(tailFile)));
+        }
+
+        changeTracker.setFiles(files);
+    }
+
+    /**
+     * @return <code>true</code> if all data of the file has been consumed, so that it only needs to be checked again when it changes
+     */
+    private boolean isFullyConsumed(final TailFileObject tfo) {
+        final TailFileState state = tfo.getState();
+        if (tfo.isTailFileChanged() || tfo.getExpectedRecoveryChecksum() != null || state.isTailingPostRollover()
+                || state.getReader() == null || state.getFile() == null) {
+            return false;
+        }
+
+        return state.getFile().length() == state.getPosition();
+    }
+
     private void processTailFile(final ProcessContext context, final ProcessSession session, final String tailFile) {
         // If user changes the file that is being tailed, we need to consume the already-rolled-over data according
         // to the Initial Start Position property
@@ -1110,11 +1217,9 @@ public class TailFile extends AbstractProcessor {
             directory = new File(".");
         }
 
-        String rollingPattern = context.getProperty(ROLLING_FILENAME_PATTERN).getValue();
+        final String rollingPattern = getRollingPattern(context, tailFile);
         if (rollingPattern == null) {
             return Collections.emptyList();
-        } else {
-            rollingPattern = rollingPattern.replace("${filename}", StringUtils.substringBeforeLast(tailFile.getName(), "."));
         }
 
         final List<File> rolledOffFiles = new ArrayList<>();
@@ -1154,6 +1259,18 @@ public class TailFile extends AbstractProcessor {
         return rolledOffFiles;
     }
 
+    /**
+     * @return the glob pattern of the names of the files that the given file is rolled over to, or <code>null</code> if no Rolling Filename Pattern is set
+     */
+    private String getRollingPattern(final ProcessContext context, final File tailFile) {
+        final String rollingPattern = context.getProperty(ROLLING_FILENAME_PATTERN).getValue();
+        if (rollingPattern == null) {
+            return null;
+        }
+
+        return rollingPattern.replace("${filename}", StringUtils.substringBeforeLast(tailFile.getName(), "."));
+    }
+
     private Scope getStateScope(final ProcessContext context) {
         final String location = context.getProperty(STATE_LOCATION).getValue();
         if (LOCATION_REMOTE.getValue().equalsIgnoreCase(location)) {
@@ -1168,6 +1285,25 @@ public class TailFile extends AbstractProcessor {
     }
 
     private void persistState(final Map<String, String> state, final ProcessSession session, final ProcessContext context) {
+        if (session != null) {
+            // Copying the whole state for each file would take time quadratic in the number of files, so store it once all files have been processed
+            stateUpdates.putAll(state);
+            return;
+        }
+
+        storeState(state, null, context);
+    }
+
+    private void storeStateUpdates(final ProcessSession session, final ProcessContext context) {
+        if (stateUpdates.isEmpty()) {
+            return;
+        }
+
+        storeState(stateUpdates, session, context);
+        stateUpdates.clear();
+    }
+
+    private void storeState(final Map<String, String> state, final ProcessSession session, final ProcessContext context) {
         try {
             final Scope scope = getStateScope(context);
             final StateMap oldState = session == null ? context.getStateManager().getState(scope) : session.getState(scope);
@@ -17,6 +17,7 @@
 
 package org.apache.nifi.processors.standard.calcite;
 
+import org.apache.nifi.record.path.CompiledRecordPath;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.RecordPathResult;
@@ -34,6 +35,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -81,6 +83,12 @@ public class RecordPathFunction {
 
     private <T> T eval(final Record record, final String recordPath, final Function<Object, T> transform) {
         final RecordPath compiled = RECORD_PATH_CACHE.getCompiled(recordPath);
+        final Optional<CompiledRecordPath> compiledPath = compiled.getCompiledPath();
+        if (compiledPath.isPresent()) {
+            final Object value = compiledPath.get().getValue(record);
+            return value == null ? null : transform.apply(value);
+        }
+
         final RecordPathResult result = compiled.evaluate((Record) record);
 
         return evalResults(result.getSelectedFields(), transform,
@@ -20,6 +20,7 @@ package org.apache.nifi.processors.standard.calcite;
 import org.apache.calcite.jdbc.CalciteConnection;
 import org.apache.calcite.schema.SchemaPlus;
 import org.apache.calcite.schema.impl.ScalarFunctionImpl;
+import org.apache.nifi.record.path.CompiledRecordPath;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.RecordPathResult;
@@ -36,6 +37,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class RecordPathFunctions {
@@ -92,6 +94,11 @@ public class RecordPathFunctions {
 
         private Object eval(final Record record, final String recordPath) {
             final RecordPath compiled = RECORD_PATH_CACHE.getCompiled(recordPath);
+            final Optional<CompiledRecordPath> compiledPath = compiled.getCompiledPath();
+            if (compiledPath.isPresent()) {
+                return compiledPath.get().getValue(record);
+            }
+
             final RecordPathResult result = compiled.evaluate(record);
 
             final List<FieldValue> selectedFields = result.getSelectedFields().collect(Collectors.toList());
@@ -82,6 +82,13 @@ public class RecordBin {
         this.thresholds = thresholds;
     }
 
+    /**
+     * @return an identifier that is unique to this bin and greater than the identifiers of all bins that were created before it
+     */
+    public long getId() {
+        return id;
+    }
+
     public boolean isOlderThan(final RecordBin other) {
         return creationNanos < other.creationNanos;
     }
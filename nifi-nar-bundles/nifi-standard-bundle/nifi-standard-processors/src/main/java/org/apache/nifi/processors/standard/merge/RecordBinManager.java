@@ -34,6 +34,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -53,6 +55,11 @@ public class RecordBinManager {
     private final Map<String, List<RecordBin>> groupBinMap = new HashMap<>(); // guarded by lock
     private final Lock lock = new ReentrantLock();
 
+    // Indexes of the bins in groupBinMap, keyed by bin id and so ordered by age, that allow expired, oldest and ready bins
+    // to be found without traversing every bin of every group
+    private final ConcurrentNavigableMap<Long, GroupedBin> binsByAge = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Long, GroupedBin> possiblyReadyBins = new ConcurrentSkipListMap<>();
+
     private final AtomicInteger binCount = new AtomicInteger(0);
 
     public RecordBinManager(final ProcessContext context, final ProcessSessionFactory sessionFactory, final ComponentLog logger) {
@@ -76,6 +83,8 @@ public class RecordBinManager {
                 }
             }
             groupBinMap.clear();
+            binsByAge.clear();
+            possiblyReadyBins.clear();
             binCount.set(0);
         } finally {
             lock.unlock();
@@ -140,6 +149,8 @@ public class RecordBinManager {
         if (acceptedBin != null) {
             if (acceptedBin.isComplete()) {
                 removeBins(groupIdentifier, Collections.singletonList(acceptedBin));
+            } else {
+                updatePossiblyReady(binsByAge.get(acceptedBin.getId()));
             }
 
             return;
@@ -169,6 +180,10 @@ public class RecordBinManager {
                 // track of a Bin. If we don't lose this, we could completely lose a Bin.
                 final List<RecordBin> bins = groupBinMap.computeIfAbsent(groupIdentifier, grpId -> new CopyOnWriteArrayList<>());
                 bins.add(bin);
+
+                final GroupedBin groupedBin = new GroupedBin(groupIdentifier, bin);
+                binsByAge.put(bin.getId(), groupedBin);
+                updatePossiblyReady(groupedBin);
             } finally {
                 lock.unlock();
             }
@@ -180,6 +195,22 @@ public class RecordBinManager {
     }
 
 
+    private void updatePossiblyReady(final GroupedBin groupedBin) {
+        if (groupedBin == null || !groupedBin.bin.isFullEnough()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            // The bin may have been removed concurrently, in which case it must not be added to the index again
+            if (binsByAge.containsKey(groupedBin.bin.getId())) {
+                possiblyReadyBins.put(groupedBin.bin.getId(), groupedBin);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private RecordBinThresholds createThresholds(FlowFile flowfile) {
         int minRecords = context.getProperty(MergeRecord.MIN_RECORDS).evaluateAttributeExpressions().asInteger();
         final int maxRecords = context.getProperty(MergeRecord.MAX_RECORDS).evaluateAttributeExpressions().asInteger();
@@ -211,22 +242,13 @@ public class RecordBinManager {
 
         lock.lock();
         try {
-            String oldestBinGroup = null;
-
-            for (final Map.Entry<String, List<RecordBin>> group : groupBinMap.entrySet()) {
-                for (final RecordBin bin : group.getValue()) {
-                    if (oldestBin == null || bin.isOlderThan(oldestBin)) {
-                        oldestBin = bin;
-                        oldestBinGroup = group.getKey();
-                    }
-                }
-            }
-
-            if (oldestBin == null) {
+            final Map.Entry<Long, GroupedBin> oldest = binsByAge.firstEntry();
+            if (oldest == null) {
                 return;
             }
 
-            removeBins(oldestBinGroup, Collections.singletonList(oldestBin));
+            oldestBin = oldest.getValue().bin;
+            removeBins(oldest.getValue().groupIdentifier, Collections.singletonList(oldestBin));
         } finally {
             lock.unlock();
         }
@@ -238,7 +260,18 @@ public class RecordBinManager {
 
     public int completeExpiredBins() throws IOException {
         final long maxNanos = maxBinAgeNanos.get();
-        return handleCompletedBins(bin -> bin.isOlderThan(maxNanos, TimeUnit.NANOSECONDS), "Bin has reached Max Bin Age");
+        final Map<String, List<RecordBin>> completedBinMap = new HashMap<>();
+
+        // Bins are ordered by age, so there are no more expired bins once a bin that has not expired has been found
+        for (final GroupedBin groupedBin : binsByAge.values()) {
+            if (!groupedBin.bin.isOlderThan(maxNanos, TimeUnit.NANOSECONDS)) {
+                break;
+            }
+
+            completedBinMap.computeIfAbsent(groupedBin.groupIdentifier, ignore -> new ArrayList<>()).add(groupedBin.bin);
+        }
+
+        return handleCompletedBins(completedBinMap, "Bin has reached Max Bin Age");
     }
 
     public int completeFullEnoughBins() throws IOException {
@@ -252,23 +285,18 @@ public class RecordBinManager {
     private int handleCompletedBins(final Predicate<RecordBin> completionTest, final String completionReason) throws IOException {
         final Map<String, List<RecordBin>> completedBinMap = new HashMap<>();
 
-        lock.lock();
-        try {
-            for (final Map.Entry<String, List<RecordBin>> entry : groupBinMap.entrySet()) {
-                final String key = entry.getKey();
-                final List<RecordBin> bins = entry.getValue();
-
-                for (final RecordBin bin : bins) {
-                    if (completionTest.test(bin)) {
-                        final List<RecordBin> expiredBinsForKey = completedBinMap.computeIfAbsent(key, ignore -> new ArrayList<>());
-                        expiredBinsForKey.add(bin);
-                    }
-                }
+        // Only bins that were full enough when a FlowFile was last added to them can be full or full enough
+        for (final GroupedBin groupedBin : possiblyReadyBins.values()) {
+            if (completionTest.test(groupedBin.bin)) {
+                completedBinMap.computeIfAbsent(groupedBin.groupIdentifier, ignore -> new ArrayList<>()).add(groupedBin.bin);
             }
-        } finally {
-            lock.unlock();
         }
 
+        return handleCompletedBins(completedBinMap, completionReason);
+    }
+
+    private int handleCompletedBins(final Map<String, List<RecordBin>> completedBinMap, final String completionReason) throws IOException {
+
         int completed = 0;
         for (final Map.Entry<String, List<RecordBin>> entry : completedBinMap.entrySet()) {
             final String key = entry.getKey();
@@ -304,8 +332,23 @@ public class RecordBinManager {
                     groupBinMap.remove(key);
                 }
             }
+
+            for (final RecordBin bin : bins) {
+                binsByAge.remove(bin.getId());
+                possiblyReadyBins.remove(bin.getId());
+            }
         } finally {
             lock.unlock();
         }
     }
+
+    private static class GroupedBin {
+        private final String groupIdentifier;
+        private final RecordBin bin;
+
+        private GroupedBin(final String groupIdentifier, final RecordBin bin) {
+            this.groupIdentifier = groupIdentifier;
+            this.bin = bin;
+        }
+    }
 }
@@ -45,9 +45,11 @@ import org.eclipse.jetty.server.Request;
 
 import javax.servlet.AsyncContext;
 import javax.servlet.MultipartConfigElement;
+import javax.servlet.ReadListener;
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -56,17 +58,20 @@ import javax.ws.rs.Path;
 import javax.ws.rs.core.MediaType;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -104,6 +109,10 @@ public class ListenHTTPServlet extends HttpServlet {
 
     private final AtomicLong filesReceived = new AtomicLong(0L);
     private final AtomicBoolean spaceAvailable = new AtomicBoolean(true);
+    private final Object batchLock = new Object();
+    private int committingBatches;
+    private ProcessSession batchSession;
+    private List<AsyncContext> batchRequests = new ArrayList<>();
 
     private ComponentLog logger;
     private AtomicReference<ProcessSessionFactory> sessionFactoryHolder;
@@ -118,6 +127,8 @@ public class ListenHTTPServlet extends HttpServlet {
     private long multipartRequestMaxSize;
     private int multipartReadBufferSize;
     private int port;
+    private int requestBatchSize;
+    private long maxBufferedRequestSize;
     private RecordReaderFactory readerFactory;
     private RecordSetWriterFactory writerFactory;
 
@@ -138,6 +149,8 @@ public class ListenHTTPServlet extends HttpServlet {
         this.multipartRequestMaxSize = (long) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_MULTIPART_REQUEST_MAX_SIZE);
         this.multipartReadBufferSize = (int) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_MULTIPART_READ_BUFFER_SIZE);
         this.port = (int) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_PORT);
+        this.requestBatchSize = (int) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_REQUEST_BATCH_SIZE);
+        this.maxBufferedRequestSize = (long) context.getAttribute(ListenHTTP.CONTEXT_ATTRIBUTE_MAX_BUFFERED_REQUEST_SIZE);
         this.readerFactory = processContext.getProperty(ListenHTTP.RECORD_READER).asControllerService(RecordReaderFactory.class);
         this.writerFactory = processContext.getProperty(ListenHTTP.RECORD_WRITER).asControllerService(RecordSetWriterFactory.class);
     }
@@ -232,6 +245,13 @@ public class ListenHTTPServlet extends HttpServlet {
             final boolean createHold = Boolean.parseBoolean(request.getHeader(FLOWFILE_CONFIRMATION_HEADER));
             final String contentType = request.getContentType();
 
+            if (isBufferedRequest(request, createHold)) {
+                // The FlowFiles of the request are created in the session of the batch that they are committed with
+                session.rollback();
+                receiveBufferedRequest(request, foundSubject, foundIssuer, destinationIsLegacyNiFi, contentGzipped);
+                return;
+            }
+
             final InputStream unthrottled = contentGzipped ? new GZIPInputStream(request.getInputStream()) : request.getInputStream();
 
             final InputStream in = (streamThrottler == null) ? unthrottled : streamThrottler.newThrottledInputStream(unthrottled);
@@ -252,9 +272,169 @@ public class ListenHTTPServlet extends HttpServlet {
         }
     }
 
+    private boolean isBufferedRequest(final HttpServletRequest request, final boolean createHold) {
+        final long contentLength = request.getContentLengthLong();
+        return requestBatchSize > 1
+                && streamThrottler == null
+                && !createHold
+                && contentLength >= 0
+                && contentLength <= maxBufferedRequestSize
+                && !StringUtils.contains(request.getContentType(), "multipart/form-data");
+    }
+
+    /**
+     * Reads the body of the request into memory as it arrives, without blocking a thread of the server while waiting for it, and then
+     * creates the FlowFiles of the request in the batch of FlowFiles that are committed together
+     */
+    private void receiveBufferedRequest(final HttpServletRequest request, final String foundSubject, final String foundIssuer,
+                                        final boolean destinationIsLegacyNiFi, final boolean contentGzipped) throws IOException {
+        final AsyncContext asyncContext = request.startAsync();
+        // A body that stops arriving is ended by the idle timeout of the connection, and a request that has been read is completed
+        // once its batch is committed, so the request must not be completed by the container while it waits for the commit
+        asyncContext.setTimeout(0);
+        final ServletInputStream inputStream = request.getInputStream();
+        final byte[] content = new byte[(int) request.getContentLengthLong()];
+
+        inputStream.setReadListener(new ReadListener() {
+            private int length;
+
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (inputStream.isReady() && !inputStream.isFinished()) {
+                    if (length == content.length) {
+                        if (inputStream.read() >= 0) {
+                            throw new IOException("Request body is larger than the Content-Length of " + content.length + " bytes");
+                        }
+                    } else {
+                        final int read = inputStream.read(content, length, content.length - length);
+                        if (read < 0) {
+                            return;
+                        }
+                        length += read;
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                Throwable failure;
+                try {
+                    final InputStream bufferedContent = new ByteArrayInputStream(content, 0, length);
+                    final InputStream in = contentGzipped ? new GZIPInputStream(bufferedContent) : bufferedContent;
+                    failure = addToBatch(request, asyncContext, in, foundSubject, foundIssuer, destinationIsLegacyNiFi);
+                } catch (final IOException e) {
+                    failure = e;
+                }
+
+                if (failure == null) {
+                    logger.info("Received from Remote Host: [{}] Port [{}] SubjectDN [{}] IssuerDN [{}]; transferring to 'success'",
+                            request.getRemoteHost(), request.getRemotePort(), foundSubject, foundIssuer);
+                } else {
+                    onError(failure);
+                }
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                try {
+                    sendErrorResponse(request, (HttpServletResponse) asyncContext.getResponse(), foundSubject, foundIssuer, t);
+                } catch (final IOException e) {
+                    logger.debug("Failed to send error response to Remote Host: [{}]", request.getRemoteHost(), e);
+                } finally {
+                    asyncContext.complete();
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates the FlowFiles of a request whose body has been read in the session of the current batch. The batch is committed right away
+     * unless another batch is being committed, in which case it is committed as soon as that commit has finished or once it is full.
+     * Requests that are still being read are not waited for, so the requests that are received while a commit is running are
+     * committed together, and a request is never delayed by another one that has not been read yet.
+     *
+     * @return the failure that prevented the FlowFiles of the request from being created, or <code>null</code> if they were added to the batch
+     */
+    private Throwable addToBatch(final HttpServletRequest request, final AsyncContext asyncContext, final InputStream content,
+                                 final String foundSubject, final String foundIssuer, final boolean destinationIsLegacyNiFi) {
+        Throwable failure = null;
+        ProcessSession sessionToCommit = null;
+        List<AsyncContext> requestsToComplete = null;
+        synchronized (batchLock) {
+            try {
+                if (batchSession == null) {
+                    batchSession = sessionFactoryHolder.get().createSession();
+                }
+                final Set<FlowFile> flowFileSet = handleRequest(request, batchSession, foundSubject, foundIssuer, destinationIsLegacyNiFi, request.getContentType(), content);
+                batchSession.transfer(flowFileSet, ListenHTTP.RELATIONSHIP_SUCCESS);
+                batchRequests.add(asyncContext);
+            } catch (final Throwable t) {
+                failure = t;
+            }
+
+            // The session is also committed when all of its requests failed, so that the content written for them is released
+            if (batchSession != null && (committingBatches == 0 || batchRequests.size() >= requestBatchSize)) {
+                sessionToCommit = batchSession;
+                requestsToComplete = batchRequests;
+                batchSession = null;
+                batchRequests = new ArrayList<>();
+                committingBatches++;
+            }
+        }
+
+        if (sessionToCommit != null) {
+            commitBatches(sessionToCommit, requestsToComplete);
+        }
+        return failure;
+    }
+
+    /**
+     * Commits the given batch, and then the batches of the requests that were added while it was being committed, until no request is waiting
+     */
+    private void commitBatches(final ProcessSession session, final List<AsyncContext> requests) {
+        ProcessSession sessionToCommit = session;
+        List<AsyncContext> requestsToComplete = requests;
+        while (sessionToCommit != null) {
+            commitBatch(sessionToCommit, requestsToComplete);
+
+            synchronized (batchLock) {
+                if (batchSession == null) {
+                    committingBatches--;
+                    sessionToCommit = null;
+                } else {
+                    sessionToCommit = batchSession;
+                    requestsToComplete = batchRequests;
+                    batchSession = null;
+                    batchRequests = new ArrayList<>();
+                }
+            }
+        }
+    }
+
+    private void commitBatch(final ProcessSession session, final List<AsyncContext> requests) {
+        session.commitAsync(() -> {
+                    for (final AsyncContext asyncContext : requests) {
+                        ((HttpServletResponse) asyncContext.getResponse()).setStatus(this.returnCode);
+                        asyncContext.complete();
+                    }
+                }, t -> {
+                    logger.error("Failed to commit session. Returning error response to the {} requests in the batch", requests.size(), t);
+                    for (final AsyncContext asyncContext : requests) {
+                        ((HttpServletResponse) asyncContext.getResponse()).setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                        asyncContext.complete();
+                    }
+                }
+        );
+    }
+
     private void handleException(final HttpServletRequest request, final HttpServletResponse response,
                                  final ProcessSession session, final String foundSubject, final String foundIssuer, final Throwable t) throws IOException {
         session.rollback();
+        sendErrorResponse(request, response, foundSubject, foundIssuer, t);
+    }
+
+    private void sendErrorResponse(final HttpServletRequest request, final HttpServletResponse response,
+                                   final String foundSubject, final String foundIssuer, final Throwable t) throws IOException {
         logger.error("Unable to receive file from Remote Host: [{}] SubjectDN [{}] IssuerDN [{}] due to {}", request.getRemoteHost(), foundSubject, foundIssuer, t);
         if (t instanceof ListenHttpException) {
             final int returnCode = ((ListenHttpException) t).getReturnCode();
@@ -306,78 +486,88 @@ public class ListenHTTPServlet extends HttpServlet {
 
     private Set<FlowFile> handleRequest(final HttpServletRequest request, final ProcessSession session, String foundSubject, String foundIssuer,
                                         final boolean destinationIsLegacyNiFi, final String contentType, final InputStream in) throws IOException {
-        FlowFile flowFile;
+        FlowFile flowFile = null;
         String holdUuid = null;
         final AtomicBoolean hasMoreData = new AtomicBoolean(false);
         final FlowFileUnpackager unpackager = getFlowFileUnpackager(contentType);
 
         final Set<FlowFile> flowFileSet = new HashSet<>();
 
-        do {
-            final long startNanos = System.nanoTime();
-            final Map<String, String> attributes = new HashMap<>();
-            flowFile = session.create();
+        try {
+            do {
+                final long startNanos = System.nanoTime();
+                final Map<String, String> attributes = new HashMap<>();
+                flowFile = session.create();
 
-            final OutputStream out = session.write(flowFile);
+                final OutputStream out = session.write(flowFile);
 
-            try (final BufferedOutputStream bos = new BufferedOutputStream(out, 65536)) {
-                if (unpackager == null) {
-                    if (isRecordProcessing()) {
-                        processRecord(in, flowFile, out);
+                try (final BufferedOutputStream bos = new BufferedOutputStream(out, 65536)) {
+                    if (unpackager == null) {
+                        if (isRecordProcessing()) {
+                            processRecord(in, flowFile, out);
+                        } else {
+                            IOUtils.copy(in, bos);
+                            hasMoreData.set(false);
+                        }
                     } else {
-                        IOUtils.copy(in, bos);
-                        hasMoreData.set(false);
-                    }
-                } else {
-                    if (isRecordProcessing()) {
-                        logger.debug("Record processing will not be utilized while processing with unpackager. Request URI: {}", request.getRequestURI());
-                    }
-                    attributes.putAll(unpackager.unpackageFlowFile(in, bos));
-
-                    if (destinationIsLegacyNiFi) {
-                        if (attributes.containsKey("nf.file.name")) {
-                            // for backward compatibility with old nifi...
-                            attributes.put(CoreAttributes.FILENAME.key(), attributes.remove("nf.file.name"));
+                        if (isRecordProcessing()) {
+                            logger.debug("Record processing will not be utilized while processing with unpackager. Request URI: {}", request.getRequestURI());
                         }
+                        attributes.putAll(unpackager.unpackageFlowFile(in, bos));
 
-                        if (attributes.containsKey("nf.file.path")) {
-                            attributes.put(CoreAttributes.PATH.key(), attributes.remove("nf.file.path"));
+                        if (destinationIsLegacyNiFi) {
+                            if (attributes.containsKey("nf.file.name")) {
+                                // for backward compatibility with old nifi...
+                                attributes.put(CoreAttributes.FILENAME.key(), attributes.remove("nf.file.name"));
+                            }
+
+                            if (attributes.containsKey("nf.file.path")) {
+                                attributes.put(CoreAttributes.PATH.key(), attributes.remove("nf.file.path"));
+                            }
                         }
-                    }
 
-                    hasMoreData.set(unpackager.hasMoreData());
+                        hasMoreData.set(unpackager.hasMoreData());
+                    }
                 }
-            }
 
 
-            final long transferNanos = System.nanoTime() - startNanos;
-            final long transferMillis = TimeUnit.MILLISECONDS.convert(transferNanos, TimeUnit.NANOSECONDS);
+                final long transferNanos = System.nanoTime() - startNanos;
+                final long transferMillis = TimeUnit.MILLISECONDS.convert(transferNanos, TimeUnit.NANOSECONDS);
 
-            // put metadata on flowfile
-            final String nameVal = request.getHeader(CoreAttributes.FILENAME.key());
-            if (StringUtils.isNotBlank(nameVal)) {
-                attributes.put(CoreAttributes.FILENAME.key(), nameVal);
-            }
+                // put metadata on flowfile
+                final String nameVal = request.getHeader(CoreAttributes.FILENAME.key());
+                if (StringUtils.isNotBlank(nameVal)) {
+                    attributes.put(CoreAttributes.FILENAME.key(), nameVal);
+                }
 
-            String sourceSystemFlowFileIdentifier = attributes.get(CoreAttributes.UUID.key());
-            if (sourceSystemFlowFileIdentifier != null) {
-                sourceSystemFlowFileIdentifier = "urn:nifi:" + sourceSystemFlowFileIdentifier;
+                String sourceSystemFlowFileIdentifier = attributes.get(CoreAttributes.UUID.key());
+                if (sourceSystemFlowFileIdentifier != null) {
+                    sourceSystemFlowFileIdentifier = "urn:nifi:" + sourceSystemFlowFileIdentifier;
 
-                // If we receveied a UUID, we want to give the FlowFile a new UUID and register the sending system's
-                // identifier as the SourceSystemFlowFileIdentifier field in the Provenance RECEIVE event
-                attributes.put(CoreAttributes.UUID.key(), UUID.randomUUID().toString());
-            }
+                    // If we receveied a UUID, we want to give the FlowFile a new UUID and register the sending system's
+                    // identifier as the SourceSystemFlowFileIdentifier field in the Provenance RECEIVE event
+                    attributes.put(CoreAttributes.UUID.key(), UUID.randomUUID().toString());
+                }
 
-            flowFile = session.putAllAttributes(flowFile, attributes);
-            flowFile = saveRequestDetailsAsAttributes(request, session, foundSubject, foundIssuer, flowFile);
-            final String details = String.format("Remote DN=%s, Issuer DN=%s", foundSubject, foundIssuer);
-            session.getProvenanceReporter().receive(flowFile, request.getRequestURL().toString(), sourceSystemFlowFileIdentifier, details, transferMillis);
-            flowFileSet.add(flowFile);
+                flowFile = session.putAllAttributes(flowFile, attributes);
+                flowFile = saveRequestDetailsAsAttributes(request, session, foundSubject, foundIssuer, flowFile);
+                final String details = String.format("Remote DN=%s, Issuer DN=%s", foundSubject, foundIssuer);
+                session.getProvenanceReporter().receive(flowFile, request.getRequestURL().toString(), sourceSystemFlowFileIdentifier, details, transferMillis);
+                flowFileSet.add(flowFile);
 
-            if (holdUuid == null) {
-                holdUuid = flowFile.getAttribute(CoreAttributes.UUID.key());
+                if (holdUuid == null) {
+                    holdUuid = flowFile.getAttribute(CoreAttributes.UUID.key());
+                }
+                flowFile = null;
+            } while (hasMoreData.get());
+        } catch (final IOException | RuntimeException e) {
+            // Remove the FlowFiles of the request, so that a session that is shared with other requests can still be committed
+            if (flowFile != null) {
+                session.remove(flowFile);
             }
-        } while (hasMoreData.get());
+            session.remove(flowFileSet);
+            throw e;
+        }
         return flowFileSet;
     }
 
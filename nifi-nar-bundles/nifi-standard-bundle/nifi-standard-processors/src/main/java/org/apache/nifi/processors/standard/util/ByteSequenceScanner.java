@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.processors.standard.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>
+ * Finds the occurrences of a byte sequence in an InputStream. The stream is read in large blocks and each block is searched
+ * in a tight loop over the array for the first byte of the sequence, so that the bytes are not handled one at a time through
+ * a stream or a ring buffer.
+ * </p>
+ *
+ * <p>
+ * Occurrences do not overlap: once the sequence is found, searching continues after its last byte, so that the sequence
+ * <code>aa</code> occurs once in <code>aaa</code>. The scanner is not thread-safe.
+ * </p>
+ */
+public class ByteSequenceScanner {
+    private static final int DEFAULT_BUFFER_SIZE = 65536;
+
+    private final InputStream in;
+    private final byte[] sequence;
+    private final byte[] buffer;
+    private long bufferOffset;
+    private int position = 0;
+    private int limit = 0;
+    private boolean endOfStream = false;
+
+    /**
+     * @param in the stream to search
+     * @param sequence the non-empty sequence to search for
+     * @param streamOffset the offset of the first byte of the stream, which is added to the offsets that are returned
+     */
+    public ByteSequenceScanner(final InputStream in, final byte[] sequence, final long streamOffset) {
+        if (sequence.length == 0) {
+            throw new IllegalArgumentException("Cannot search for an empty byte sequence");
+        }
+
+        this.in = in;
+        this.sequence = sequence.clone();
+        this.buffer = new byte[Math.max(DEFAULT_BUFFER_SIZE, sequence.length * 2)];
+        this.bufferOffset = streamOffset;
+    }
+
+    /**
+     * Finds the next occurrence of the sequence
+     *
+     * @return the offset of the first byte of the next occurrence, or <code>-1</code> if the sequence does not occur again
+     * @throws IOException if unable to read from the stream
+     */
+    public long nextMatch() throws IOException {
+        final byte first = sequence[0];
+        while (true) {
+            final int lastStart = limit - sequence.length;
+            for (int i = position; i <= lastStart; i++) {
+                if (buffer[i] == first && matchesAt(i)) {
+                    position = i + sequence.length;
+                    return bufferOffset + i;
+                }
+            }
+
+            if (endOfStream) {
+                position = limit;
+                return -1L;
+            }
+
+            // Keep the bytes that may start an occurrence that continues in the next block
+            fill(Math.max(position, lastStart + 1));
+        }
+    }
+
+    /**
+     * @return the offset up to which the stream has been searched, which is the end of the last occurrence that was returned,
+     * or the end of the stream once {@link #nextMatch()} has returned <code>-1</code>
+     */
+    public long getOffset() {
+        return bufferOffset + position;
+    }
+
+    private boolean matchesAt(final int index) {
+        for (int i = 1; i < sequence.length; i++) {
+            if (buffer[index + i] != sequence[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void fill(final int keepFrom) throws IOException {
+        final int kept = limit - keepFrom;
+        System.arraycopy(buffer, keepFrom, buffer, 0, kept);
+        bufferOffset += keepFrom;
+        position = 0;
+        limit = kept;
+
+        while (limit < buffer.length) {
+            final int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfStream = true;
+                return;
+            }
+
+            limit += read;
+            if (limit >= sequence.length) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Keeps track of which of a set of files may have changed, by watching the directories that contain them with the file system's
+ * {@link WatchService}. A file is considered changed when the file itself, or a file in the same directory whose name matches the file's
+ * related file pattern (such as the pattern of the files it is rolled over to), is created, deleted or modified.
+ * </p>
+ *
+ * <p>
+ * A file remains changed until {@link #markUnchanged(String)} is called for it. Files are considered changed whenever changes may have been
+ * missed: when they start to be tracked, when the file system reports that events were lost, and for as long as their directory cannot be watched.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class FileChangeTracker implements Closeable {
+    private final WatchService watchService;
+    private final Map<Path, WatchedDirectory> directories = new HashMap<>();
+    private final Set<String> changedFiles = new HashSet<>();
+    private final Set<String> unwatchedFiles = new HashSet<>();
+
+    public FileChangeTracker() throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Replaces the files that are tracked, all of which are considered changed afterwards
+     *
+     * @param files the paths of the files to track, mapped to the glob pattern of the names of their related files in the same directory,
+     *              or to <code>null</code> if a file has no related files
+     */
+    public void setFiles(final Map<String, String> files) {
+        final Map<Path, WatchedDirectory> previousDirectories = new HashMap<>(directories);
+        directories.clear();
+        changedFiles.clear();
+        unwatchedFiles.clear();
+
+        for (final Map.Entry<String, String> entry : files.entrySet()) {
+            final String filePath = entry.getKey();
+            final Path file = Paths.get(filePath).toAbsolutePath();
+            final Path directory = file.getParent();
+            changedFiles.add(filePath);
+
+            WatchedDirectory watchedDirectory = directories.get(directory);
+            if (watchedDirectory == null) {
+                watchedDirectory = previousDirectories.remove(directory);
+                if (watchedDirectory == null || !watchedDirectory.key.isValid()) {
+                    try {
+                        watchedDirectory = new WatchedDirectory(directory.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
+                    } catch (final IOException | RuntimeException e) {
+                        unwatchedFiles.add(filePath);
+                        continue;
+                    }
+                } else {
+                    watchedDirectory.clear();
+                }
+
+                directories.put(directory, watchedDirectory);
+            }
+
+            final String relatedFilePattern = entry.getValue();
+            final PathMatcher relatedFileMatcher = relatedFilePattern == null ? null : file.getFileSystem().getPathMatcher("glob:" + relatedFilePattern);
+            watchedDirectory.add(file.getFileName(), filePath, relatedFileMatcher);
+        }
+
+        for (final WatchedDirectory unusedDirectory : previousDirectories.values()) {
+            unusedDirectory.key.cancel();
+        }
+    }
+
+    /**
+     * Consumes the events that the file system has reported since the last call, marking the files they affect as changed
+     */
+    public void pollChanges() {
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            final WatchedDirectory watchedDirectory = directories.get((Path) key.watchable());
+            if (watchedDirectory == null || watchedDirectory.key != key) {
+                key.cancel();
+                continue;
+            }
+
+            for (final WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    changedFiles.addAll(watchedDirectory.files.values());
+                } else {
+                    watchedDirectory.addChangedFiles((Path) event.context(), changedFiles);
+                }
+            }
+
+            if (!key.reset()) {
+                // The directory is no longer accessible, so its files can only be checked by polling them until they are tracked again
+                directories.remove((Path) key.watchable());
+                unwatchedFiles.addAll(watchedDirectory.files.values());
+            }
+        }
+
+        changedFiles.addAll(unwatchedFiles);
+    }
+
+    /**
+     * @param filePath the path of a tracked file
+     * @return <code>true</code> if the file may have changed since {@link #markUnchanged(String)} was last called for it
+     */
+    public boolean isChanged(final String filePath) {
+        return changedFiles.contains(filePath);
+    }
+
+    /**
+     * Indicates that the current content of the given file has been processed, so that it is not considered changed until a change is reported
+     *
+     * @param filePath the path of a tracked file
+     */
+    public void markUnchanged(final String filePath) {
+        changedFiles.remove(filePath);
+    }
+
+    @Override
+    public void close() throws IOException {
+        directories.clear();
+        watchService.close();
+    }
+
+    private static class WatchedDirectory {
+        private final WatchKey key;
+        private final Map<Path, String> files = new HashMap<>();
+        private final Map<PathMatcher, String> relatedFileMatchers = new HashMap<>();
+
+        WatchedDirectory(final WatchKey key) {
+            this.key = key;
+        }
+
+        void add(final Path fileName, final String filePath, final PathMatcher relatedFileMatcher) {
+            files.put(fileName, filePath);
+            if (relatedFileMatcher != null) {
+                relatedFileMatchers.put(relatedFileMatcher, filePath);
+            }
+        }
+
+        void clear() {
+            files.clear();
+            relatedFileMatchers.clear();
+        }
+
+        void addChangedFiles(final Path fileName, final Set<String> changedFiles) {
+            final String filePath = files.get(fileName);
+            if (filePath != null) {
+                changedFiles.add(filePath);
+            }
+
+            for (final Map.Entry<PathMatcher, String> entry : relatedFileMatchers.entrySet()) {
+                if (entry.getKey().matches(fileName)) {
+                    changedFiles.add(entry.getValue());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.processors.standard.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>
+ * Replaces every occurrence of any of a set of literal keys with the key's value, finding all keys in a single pass over the text
+ * by means of an Aho-Corasick automaton. The time it takes does not depend on the number of keys, as opposed to searching for each
+ * key, or for an alternation of all keys, with a regular expression.
+ * </p>
+ *
+ * <p>
+ * Occurrences are replaced from left to right without overlapping. Where occurrences of several keys overlap, the one that starts first
+ * is replaced, and of those that start at the same position, the longest. This is the same as searching for an alternation of all keys
+ * sorted from longest to shortest.
+ * </p>
+ *
+ * <p>
+ * Text is streamed: only as much of it is held in memory as may still turn out to be part of an occurrence, plus a small buffer.
+ * The automaton is immutable and can be shared by threads, whereas each call to {@link #replace(Reader, Writer)} uses its own state.
+ * </p>
+ */
+public class MultiLiteralReplacer {
+    private static final int ROOT = 0;
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    // The transitions of the root node for every char, so that text that does not start a key is handled with a single lookup
+    private final int[] rootTransitions = new int[Character.MAX_VALUE + 1];
+    // The transitions of all other nodes as sorted labels and their targets
+    private final char[][] transitionLabels;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // The node of the longest key that ends at the node itself or at one of its suffixes, or -1
+    private final int[] longestMatch;
+    private final int[] depth;
+    private final String[] values;
+    private final int keyCount;
+
+    /**
+     * @param replacements the value to replace each key with; empty keys are ignored
+     */
+    public MultiLiteralReplacer(final Map<String, String> replacements) {
+        final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        final List<Integer> depths = new ArrayList<>();
+        final List<String> nodeValues = new ArrayList<>();
+        children.add(new TreeMap<>());
+        depths.add(0);
+        nodeValues.add(null);
+
+        int keys = 0;
+        for (final Map.Entry<String, String> entry : replacements.entrySet()) {
+            final String key = entry.getKey();
+            if (key == null || key.isEmpty()) {
+                continue;
+            }
+
+            int node = ROOT;
+            for (int i = 0; i < key.length(); i++) {
+                final Integer child = children.get(node).get(key.charAt(i));
+                if (child == null) {
+                    final int newNode = children.size();
+                    children.add(new TreeMap<>());
+                    depths.add(i + 1);
+                    nodeValues.add(null);
+                    children.get(node).put(key.charAt(i), newNode);
+                    node = newNode;
+                } else {
+                    node = child;
+                }
+            }
+
+            nodeValues.set(node, entry.getValue() == null ? "" : entry.getValue());
+            keys++;
+        }
+
+        final int nodeCount = children.size();
+        this.keyCount = keys;
+        this.transitionLabels = new char[nodeCount][];
+        this.transitionTargets = new int[nodeCount][];
+        this.failure = new int[nodeCount];
+        this.longestMatch = new int[nodeCount];
+        this.depth = new int[nodeCount];
+        this.values = nodeValues.toArray(new String[0]);
+
+        for (int node = 0; node < nodeCount; node++) {
+            final TreeMap<Character, Integer> nodeChildren = children.get(node);
+            final char[] labels = new char[nodeChildren.size()];
+            final int[] targets = new int[nodeChildren.size()];
+            int i = 0;
+            for (final Map.Entry<Character, Integer> child : nodeChildren.entrySet()) {
+                labels[i] = child.getKey();
+                targets[i] = child.getValue();
+                i++;
+            }
+
+            transitionLabels[node] = labels;
+            transitionTargets[node] = targets;
+            depth[node] = depths.get(node);
+        }
+
+        for (int i = 0; i < transitionLabels[ROOT].length; i++) {
+            rootTransitions[transitionLabels[ROOT][i]] = transitionTargets[ROOT][i];
+        }
+
+        // Compute the failure links breadth-first, so that the links of shallower nodes are known
+        final Deque<Integer> queue = new ArrayDeque<>();
+        longestMatch[ROOT] = -1;
+        for (final int child : transitionTargets[ROOT]) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            final int node = queue.poll();
+            longestMatch[node] = values[node] != null ? node : longestMatch[failure[node]];
+
+            for (int i = 0; i < transitionLabels[node].length; i++) {
+                final int child = transitionTargets[node][i];
+                failure[child] = next(failure[node], transitionLabels[node][i]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * @return the number of keys that are replaced
+     */
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Copies the text from the given Reader to the given Writer, replacing all occurrences of the keys. Neither is closed.
+     *
+     * @param in the text to replace the keys in
+     * @param out the Writer to write the text with the keys replaced to
+     * @return the number of occurrences that were replaced
+     * @throws IOException if unable to read or write the text
+     */
+    public long replace(final Reader in, final Writer out) throws IOException {
+        final Replacement replacement = new Replacement(out);
+        final char[] buffer = new char[FLUSH_THRESHOLD];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                replacement.feed(buffer[i]);
+            }
+        }
+
+        replacement.finish();
+        return replacement.replacedCount;
+    }
+
+    /**
+     * @param text the text to replace the keys in
+     * @return the text with all occurrences of the keys replaced
+     */
+    public String replace(final CharSequence text) {
+        final StringWriter writer = new StringWriter(text.length());
+        final Replacement replacement = new Replacement(writer);
+        try {
+            for (int i = 0; i < text.length(); i++) {
+                replacement.feed(text.charAt(i));
+            }
+            replacement.finish();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return writer.toString();
+    }
+
+    private int next(int node, final char c) {
+        while (true) {
+            if (node == ROOT) {
+                return rootTransitions[c];
+            }
+
+            final int index = Arrays.binarySearch(transitionLabels[node], c);
+            if (index >= 0) {
+                return transitionTargets[node][index];
+            }
+
+            node = failure[node];
+        }
+    }
+
+    /**
+     * The state of replacing keys in one text. Characters are held in a pending buffer until it is known whether they are part of
+     * the occurrence that is to be replaced. When an occurrence is replaced, the characters after it that were already consumed
+     * by the automaton are fed again from the root, because the automaton may have matched them together with part of the occurrence.
+     */
+    private class Replacement {
+        private final Writer out;
+        private final StringBuilder pending = new StringBuilder();
+        private long pendingStart = 0;
+        // the position of the next character to feed
+        private long position = 0;
+        private int state = ROOT;
+
+        // the leftmost-longest occurrence found so far that may still be replaced, if candidateStart is not -1
+        private long candidateStart = -1;
+        private long candidateEnd;
+        private int candidateNode;
+
+        private final StringBuilder replay = new StringBuilder();
+        private int replayIndex = 0;
+        private long replacedCount = 0;
+
+        private Replacement(final Writer out) {
+            this.out = out;
+        }
+
+        private void feed(final char c) throws IOException {
+            consume(c);
+            while (replayIndex < replay.length()) {
+                consume(replay.charAt(replayIndex++));
+            }
+        }
+
+        private void consume(final char c) throws IOException {
+            pending.append(c);
+            state = next(state, c);
+
+            final int match = longestMatch[state];
+            if (match != -1) {
+                final long matchStart = position - depth[match] + 1;
+                // of two occurrences with the same start, the one found later is longer
+                if (candidateStart == -1 || matchStart <= candidateStart) {
+                    candidateStart = matchStart;
+                    candidateEnd = position + 1;
+                    candidateNode = match;
+                }
+            }
+
+            position++;
+
+            // no occurrence can start before the longest prefix of a key that the automaton is in
+            final long earliestStart = position - depth[state];
+            if (candidateStart != -1) {
+                if (earliestStart > candidateStart) {
+                    replaceCandidate();
+                }
+            } else if (earliestStart - pendingStart >= FLUSH_THRESHOLD) {
+                writePending(earliestStart);
+            }
+        }
+
+        private void replaceCandidate() throws IOException {
+            writePending(candidateStart);
+            out.write(values[candidateNode]);
+            replacedCount++;
+
+            // The characters after the occurrence have to be fed again, before any that are still waiting to be fed again
+            final int consumedAfter = (int) (position - candidateEnd);
+            final String remainingReplay = replay.substring(replayIndex);
+            replay.setLength(0);
+            replay.append(pending, pending.length() - consumedAfter, pending.length());
+            replay.append(remainingReplay);
+            replayIndex = 0;
+
+            pending.setLength(0);
+            pendingStart = candidateEnd;
+            position = candidateEnd;
+            state = ROOT;
+            candidateStart = -1;
+        }
+
+        private void writePending(final long end) throws IOException {
+            final int length = (int) (end - pendingStart);
+            if (length <= 0) {
+                return;
+            }
+
+            out.append(pending, 0, length);
+            pending.delete(0, length);
+            pendingStart = end;
+        }
+
+        private void finish() throws IOException {
+            while (candidateStart != -1) {
+                replaceCandidate();
+                while (replayIndex < replay.length()) {
+                    consume(replay.charAt(replayIndex++));
+                }
+            }
+
+            writePending(position);
+        }
+    }
+}
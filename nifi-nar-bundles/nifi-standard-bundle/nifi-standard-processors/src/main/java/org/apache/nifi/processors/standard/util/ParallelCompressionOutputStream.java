@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.processors.standard.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * An OutputStream that splits the data written to it into blocks of a fixed size and compresses the blocks concurrently,
+ * writing each block as a separate, complete compressed stream. The compressed blocks are written in their original order,
+ * so the output is the concatenation of the compressed streams of the blocks. This is only readable as a whole by
+ * decompressors that support concatenated streams, such as gzip members, bzip2 streams, LZ4 frames and zstd frames.
+ * </p>
+ *
+ * <p>
+ * At most the given number of blocks are compressed or waiting to be written at the same time, which bounds the memory used
+ * to roughly twice that number of blocks. The stream is not thread-safe.
+ * </p>
+ */
+public class ParallelCompressionOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final CompressorFactory compressorFactory;
+    private final ExecutorService executor;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+
+    private final Deque<Future<Block>> pendingBlocks = new ArrayDeque<>();
+    private final Deque<byte[]> freeBuffers = new ArrayDeque<>();
+    private byte[] buffer;
+    private int bufferLength = 0;
+    private long blockCount = 0;
+    private boolean closed = false;
+
+    /**
+     * @param out the stream to write the compressed blocks to
+     * @param compressorFactory creates the stream that compresses a single block
+     * @param executor the threads that compress the blocks
+     * @param blockSize the number of uncompressed bytes in each block
+     * @param maxPendingBlocks the maximum number of blocks that are compressed or waiting to be written at any time
+     */
+    public ParallelCompressionOutputStream(final OutputStream out, final CompressorFactory compressorFactory, final ExecutorService executor,
+                                           final int blockSize, final int maxPendingBlocks) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive but was " + blockSize);
+        }
+        if (maxPendingBlocks < 1) {
+            throw new IllegalArgumentException("Maximum number of pending blocks must be positive but was " + maxPendingBlocks);
+        }
+
+        this.out = out;
+        this.compressorFactory = compressorFactory;
+        this.executor = executor;
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = maxPendingBlocks;
+        this.buffer = new byte[blockSize];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        buffer[bufferLength++] = (byte) b;
+        if (bufferLength == blockSize) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            final int count = Math.min(remaining, blockSize - bufferLength);
+            System.arraycopy(b, offset, buffer, bufferLength, count);
+            bufferLength += count;
+            offset += count;
+            remaining -= count;
+
+            if (bufferLength == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    /**
+     * Flushes the blocks that have already been compressed. Data that does not yet fill a block is not flushed,
+     * because ending a block early would reduce the compression ratio.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        while (!pendingBlocks.isEmpty() && pendingBlocks.peekFirst().isDone()) {
+            writeNextBlock();
+        }
+
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            // Even empty content is written as a compressed stream, so that the output is valid
+            if (bufferLength > 0 || blockCount == 0) {
+                submitBlock();
+            }
+
+            while (!pendingBlocks.isEmpty()) {
+                writeNextBlock();
+            }
+        } finally {
+            for (final Future<Block> pendingBlock : pendingBlocks) {
+                pendingBlock.cancel(true);
+            }
+
+            pendingBlocks.clear();
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        while (pendingBlocks.size() >= maxPendingBlocks) {
+            writeNextBlock();
+        }
+
+        final byte[] data = buffer;
+        final int length = bufferLength;
+        pendingBlocks.addLast(executor.submit(() -> compress(data, length)));
+        blockCount++;
+
+        final byte[] freeBuffer = freeBuffers.pollFirst();
+        buffer = freeBuffer == null ? new byte[blockSize] : freeBuffer;
+        bufferLength = 0;
+    }
+
+    private Block compress(final byte[] data, final int length) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(32, length / 2));
+        try (final OutputStream compressorOut = compressorFactory.create(compressed)) {
+            compressorOut.write(data, 0, length);
+        }
+
+        return new Block(data, compressed);
+    }
+
+    private void writeNextBlock() throws IOException {
+        final Future<Block> pendingBlock = pendingBlocks.removeFirst();
+
+        final Block block;
+        try {
+            block = pendingBlock.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingBlock.cancel(true);
+            throw new InterruptedIOException("Interrupted while waiting for a block to be compressed");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+
+            throw new IOException("Failed to compress block", cause);
+        }
+
+        block.compressed.writeTo(out);
+        freeBuffers.addLast(block.data);
+    }
+
+    /**
+     * Creates the stream that compresses a single block. Closing the returned stream must complete the compressed stream
+     * and close the given stream.
+     */
+    public interface CompressorFactory {
+        OutputStream create(OutputStream out) throws IOException;
+    }
+
+    private static class Block {
+        private final byte[] data;
+        private final ByteArrayOutputStream compressed;
+
+        private Block(final byte[] data, final ByteArrayOutputStream compressed) {
+            this.data = data;
+            this.compressed = compressed;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.processors.standard.util;
+
+/**
+ * <p>
+ * The progress of a processor that emits the splits of a FlowFile in batches, each in its own session. The progress is stored
+ * in an attribute of the FlowFile that is being split while it waits in its queue between batches, so that it is committed together
+ * with each batch and splitting resumes where it left off, even after a restart.
+ * </p>
+ *
+ * <p>
+ * The progress records the identifier of the processor that stored it, so that progress left on a FlowFile by another processor is ignored.
+ * </p>
+ */
+public class SplitBatchProgress {
+    private static final String SEPARATOR = ",";
+
+    private final String processorId;
+    private final String fragmentId;
+    private final long fragmentCount;
+    private final long nextFragmentIndex;
+    private final long offset;
+    private final boolean carryOver;
+
+    /**
+     * @param processorId the identifier of the processor that splits the FlowFile
+     * @param fragmentId the value of the fragment.identifier attribute of all splits
+     * @param fragmentCount the total number of splits
+     * @param nextFragmentIndex the fragment.index of the next split to emit
+     * @param offset the offset in the content of the FlowFile at which to continue
+     * @param carryOver whether the content at the offset was already read as part of the previous batch and has to be carried over
+     * into the next split, which is specific to the splitting processor
+     */
+    public SplitBatchProgress(final String processorId, final String fragmentId, final long fragmentCount, final long nextFragmentIndex,
+                              final long offset, final boolean carryOver) {
+        this.processorId = processorId;
+        this.fragmentId = fragmentId;
+        this.fragmentCount = fragmentCount;
+        this.nextFragmentIndex = nextFragmentIndex;
+        this.offset = offset;
+        this.carryOver = carryOver;
+    }
+
+    /**
+     * Parses the progress that was stored in an attribute
+     *
+     * @param attributeValue the value of the attribute, may be <code>null</code>
+     * @param processorId the identifier of the processor that is splitting the FlowFile
+     * @return the progress, or <code>null</code> if the attribute is not set or was not stored by the given processor
+     */
+    public static SplitBatchProgress fromAttribute(final String attributeValue, final String processorId) {
+        if (attributeValue == null) {
+            return null;
+        }
+
+        final String[] values = attributeValue.split(SEPARATOR);
+        if (values.length != 6 || !values[0].equals(processorId)) {
+            return null;
+        }
+
+        try {
+            return new SplitBatchProgress(values[0], values[1], Long.parseLong(values[2]), Long.parseLong(values[3]), Long.parseLong(values[4]), Boolean.parseBoolean(values[5]));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String toAttribute() {
+        return String.join(SEPARATOR, processorId, fragmentId, String.valueOf(fragmentCount), String.valueOf(nextFragmentIndex), String.valueOf(offset), String.valueOf(carryOver));
+    }
+
+    /**
+     * @return the progress after another batch of splits has been emitted
+     */
+    public SplitBatchProgress next(final long emittedCount, final long nextOffset, final boolean nextCarryOver) {
+        return new SplitBatchProgress(processorId, fragmentId, fragmentCount, nextFragmentIndex + emittedCount, nextOffset, nextCarryOver);
+    }
+
+    public String getFragmentId() {
+        return fragmentId;
+    }
+
+    public long getFragmentCount() {
+        return fragmentCount;
+    }
+
+    public long getNextFragmentIndex() {
+        return nextFragmentIndex;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public boolean isCarryOver() {
+        return carryOver;
+    }
+
+    @Override
+    public String toString() {
+        return "SplitBatchProgress[fragment " + nextFragmentIndex + " of " + fragmentCount + " at offset " + offset + "]";
+    }
+}
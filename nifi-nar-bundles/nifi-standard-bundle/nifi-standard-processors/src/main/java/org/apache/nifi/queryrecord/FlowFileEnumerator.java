@@ -24,6 +24,7 @@ import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
+import org.apache.nifi.serialization.record.ArrayRecord;
 import org.apache.nifi.serialization.record.Record;
 
 import java.io.InputStream;
@@ -37,6 +38,7 @@ public class FlowFileEnumerator implements Enumerator<Object> {
     private final ComponentLog logger;
     private final RecordReaderFactory recordParserFactory;
     private final int[] fields;
+    private final RecordFieldFilter filter;
 
     private InputStream rawIn;
     private Object currentRow;
@@ -44,11 +46,17 @@ public class FlowFileEnumerator implements Enumerator<Object> {
     private int recordsRead = 0;
 
     public FlowFileEnumerator(final ProcessSession session, final FlowFile flowFile, final ComponentLog logger, final RecordReaderFactory parserFactory, final int[] fields) {
+        this(session, flowFile, logger, parserFactory, fields, null);
+    }
+
+    public FlowFileEnumerator(final ProcessSession session, final FlowFile flowFile, final ComponentLog logger, final RecordReaderFactory parserFactory, final int[] fields,
+                              final RecordFieldFilter filter) {
         this.session = session;
         this.flowFile = flowFile;
         this.recordParserFactory = parserFactory;
         this.logger = logger;
         this.fields = fields;
+        this.filter = filter;
         reset();
     }
 
@@ -61,27 +69,36 @@ public class FlowFileEnumerator implements Enumerator<Object> {
     public boolean moveNext() {
         currentRow = null;
         try {
-            final Record record = recordParser.nextRecord();
-            if (record == null) {
-                // If we are out of data, close the InputStream. We do this because
-                // Calcite does not necessarily call our close() method.
-                close();
-                try {
-                    onFinish();
-                } catch (final Exception e) {
-                    logger.error("Failed to perform tasks when enumerator was finished", e);
+            while (true) {
+                final Record record = recordParser.nextRecord();
+                if (record == null) {
+                    // If we are out of data, close the InputStream. We do this because
+                    // Calcite does not necessarily call our close() method.
+                    close();
+                    try {
+                        onFinish();
+                    } catch (final Exception e) {
+                        logger.error("Failed to perform tasks when enumerator was finished", e);
+                    }
+
+                    return false;
                 }
 
-                return false;
-            }
+                recordsRead++;
 
-            currentRow = filterColumns(record);
+                // Records of the array-backed implementation can provide the value of a single field without
+                // the values of all other fields being gathered, which matters for wide Records.
+                final Object[] values = isIndexed(record) ? null : record.getValues();
+                if (filter != null && !filter.test(fieldIndex -> getValue(record, values, fieldIndex))) {
+                    continue;
+                }
+
+                currentRow = filterColumns(record, values);
+                return true;
+            }
         } catch (final Exception e) {
             throw new ProcessException("Failed to read next record in stream for " + flowFile + " due to " + e.getMessage(), e);
         }
-
-        recordsRead++;
-        return true;
     }
 
     protected int getRecordsRead() {
@@ -91,30 +108,32 @@ public class FlowFileEnumerator implements Enumerator<Object> {
     protected void onFinish() {
     }
 
-    private Object filterColumns(final Record record) {
-        if (record == null) {
-            return null;
-        }
+    private static boolean isIndexed(final Record record) {
+        return record instanceof ArrayRecord && ((ArrayRecord) record).isIndexedBy(record.getSchema());
+    }
 
-        final Object[] row = record.getValues();
+    private static Object getValue(final Record record, final Object[] values, final int fieldIndex) {
+        return values == null ? ((ArrayRecord) record).getValue(fieldIndex) : values[fieldIndex];
+    }
 
-        // If we want no fields or if the row is null, just return null
-        if (fields == null || row == null) {
-            return row;
+    private Object filterColumns(final Record record, final Object[] values) {
+        // If we want no fields, just return the entire row
+        if (fields == null) {
+            return values == null ? record.getValues() : values;
         }
 
         // If we want only a single field, then Calcite is going to expect us to return
         // the actual value, NOT a 1-element array of values.
         if (fields.length == 1) {
             final int desiredCellIndex = fields[0];
-            return cast(row[desiredCellIndex]);
+            return cast(getValue(record, values, desiredCellIndex));
         }
 
         // Create a new Object array that contains only the desired fields.
         final Object[] filtered = new Object[fields.length];
         for (int i = 0; i < fields.length; i++) {
             final int indexToKeep = fields[i];
-            filtered[i] = cast(row[indexToKeep]);
+            filtered[i] = cast(getValue(record, values, indexToKeep));
         }
 
         return filtered;
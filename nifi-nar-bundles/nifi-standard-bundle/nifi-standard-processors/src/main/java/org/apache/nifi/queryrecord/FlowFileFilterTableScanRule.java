@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.queryrecord;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.logical.LogicalFilter;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeFamily;
+import org.apache.calcite.sql.type.SqlTypeName;
+
+/**
+ * Planner rule that pushes the simple conditions of a filter, such as <code>age &gt; 30</code> or <code>name IS NOT NULL</code>,
+ * into the {@link FlowFileTableScan} beneath it so that Records that do not satisfy them are discarded before they are converted
+ * into rows. The filter itself is kept, because only a subset of its conditions may have been pushed down.
+ */
+public class FlowFileFilterTableScanRule extends RelOptRule {
+    public static final FlowFileFilterTableScanRule INSTANCE = new FlowFileFilterTableScanRule();
+
+    private FlowFileFilterTableScanRule() {
+        super(
+            operand(LogicalFilter.class,
+                operand(FlowFileTableScan.class, none())),
+            "FlowFileFilterTableScanRule");
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        final LogicalFilter filter = call.rel(0);
+        final FlowFileTableScan scan = call.rel(1);
+        if (scan.filter != null) {
+            return;
+        }
+
+        final List<RecordFieldFilter.Condition> conditions = new ArrayList<>();
+        for (final RexNode conjunction : RelOptUtil.conjunctions(filter.getCondition())) {
+            final RecordFieldFilter.Condition condition = toCondition(conjunction, scan.fields);
+            if (condition != null) {
+                conditions.add(condition);
+            }
+        }
+
+        if (conditions.isEmpty()) {
+            return;
+        }
+
+        final FlowFileTableScan filteredScan = new FlowFileTableScan(
+            scan.getCluster(),
+            scan.getTable(),
+            scan.flowFileTable,
+            scan.fields,
+            new RecordFieldFilter(conditions));
+
+        call.transformTo(filter.copy(filter.getTraitSet(), filteredScan, filter.getCondition()));
+    }
+
+    private RecordFieldFilter.Condition toCondition(final RexNode node, final int[] fields) {
+        if (!(node instanceof RexCall)) {
+            return null;
+        }
+
+        final RexCall call = (RexCall) node;
+        final List<RexNode> operands = call.getOperands();
+        switch (call.getKind()) {
+            case IS_NULL:
+            case IS_NOT_NULL:
+                if (operands.get(0) instanceof RexInputRef) {
+                    final int fieldIndex = fields[((RexInputRef) operands.get(0)).getIndex()];
+                    final RecordFieldFilter.Operator operator = call.getKind() == SqlKind.IS_NULL ? RecordFieldFilter.Operator.IS_NULL : RecordFieldFilter.Operator.IS_NOT_NULL;
+                    return new RecordFieldFilter.Condition(fieldIndex, operator, null);
+                }
+                return null;
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                if (operands.get(0) instanceof RexInputRef && operands.get(1) instanceof RexLiteral) {
+                    return toComparison((RexInputRef) operands.get(0), call.getKind(), (RexLiteral) operands.get(1), fields);
+                }
+                if (operands.get(0) instanceof RexLiteral && operands.get(1) instanceof RexInputRef) {
+                    return toComparison((RexInputRef) operands.get(1), call.getKind().reverse(), (RexLiteral) operands.get(0), fields);
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private RecordFieldFilter.Condition toComparison(final RexInputRef inputRef, final SqlKind kind, final RexLiteral literal, final int[] fields) {
+        if (literal.isNull()) {
+            return null;
+        }
+
+        final Object value = getLiteralValue(inputRef.getType().getSqlTypeName(), literal);
+        if (value == null) {
+            return null;
+        }
+
+        final RecordFieldFilter.Operator operator = getOperator(kind);
+        if (!(value instanceof Number) && operator != RecordFieldFilter.Operator.EQUALS && operator != RecordFieldFilter.Operator.NOT_EQUALS) {
+            return null;
+        }
+
+        return new RecordFieldFilter.Condition(fields[inputRef.getIndex()], operator, value);
+    }
+
+    /**
+     * Returns the value of the literal in the form that the Record values of a field of the given type are compared to,
+     * or <code>null</code> if the comparison cannot be performed on the Record values
+     */
+    private Object getLiteralValue(final SqlTypeName fieldType, final RexLiteral literal) {
+        final SqlTypeFamily literalFamily = literal.getTypeName().getFamily();
+        switch (fieldType) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                if (literalFamily != SqlTypeFamily.NUMERIC) {
+                    return null;
+                }
+
+                final BigDecimal decimal = literal.getValueAs(BigDecimal.class);
+                try {
+                    return decimal.longValueExact();
+                } catch (final ArithmeticException e) {
+                    return null;
+                }
+            case DOUBLE:
+                return literalFamily == SqlTypeFamily.NUMERIC ? literal.getValueAs(BigDecimal.class).doubleValue() : null;
+            case CHAR:
+            case VARCHAR:
+                return literalFamily == SqlTypeFamily.CHARACTER ? literal.getValueAs(String.class) : null;
+            case BOOLEAN:
+                return literalFamily == SqlTypeFamily.BOOLEAN ? literal.getValueAs(Boolean.class) : null;
+            default:
+                return null;
+        }
+    }
+
+    private RecordFieldFilter.Operator getOperator(final SqlKind kind) {
+        switch (kind) {
+            case EQUALS:
+                return RecordFieldFilter.Operator.EQUALS;
+            case NOT_EQUALS:
+                return RecordFieldFilter.Operator.NOT_EQUALS;
+            case LESS_THAN:
+                return RecordFieldFilter.Operator.LESS_THAN;
+            case LESS_THAN_OR_EQUAL:
+                return RecordFieldFilter.Operator.LESS_THAN_OR_EQUAL;
+            case GREATER_THAN:
+                return RecordFieldFilter.Operator.GREATER_THAN;
+            default:
+                return RecordFieldFilter.Operator.GREATER_THAN_OR_EQUAL;
+        }
+    }
+}
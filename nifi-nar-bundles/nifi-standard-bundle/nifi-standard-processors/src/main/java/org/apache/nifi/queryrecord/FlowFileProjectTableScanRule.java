@@ -16,18 +16,22 @@
  */
 package org.apache.nifi.queryrecord;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.rel.logical.LogicalProject;
 import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
 
 /**
  * Planner rule that projects from a {@link FlowFileTableScan} scan just the columns
  * needed to satisfy a projection. If the projection's expressions are trivial,
- * the projection is removed.
+ * the projection is removed. Otherwise, the projection is kept on top of a scan of
+ * the columns that its expressions reference.
  */
 public class FlowFileProjectTableScanRule extends RelOptRule {
     public static final FlowFileProjectTableScanRule INSTANCE = new FlowFileProjectTableScanRule();
@@ -47,6 +51,7 @@ public class FlowFileProjectTableScanRule extends RelOptRule {
 
         if (fields == null) {
             // Project contains expressions more complex than just field references.
+            pushDownReferencedFields(call, project, scan);
             return;
         }
 
@@ -55,7 +60,51 @@ public class FlowFileProjectTableScanRule extends RelOptRule {
                 scan.getCluster(),
                 scan.getTable(),
                 scan.flowFileTable,
-                fields));
+                getTableFields(scan, fields),
+                scan.filter));
+    }
+
+    private void pushDownReferencedFields(final RelOptRuleCall call, final LogicalProject project, final FlowFileTableScan scan) {
+        final int[] referencedFields = RelOptUtil.InputFinder.bits(project.getProjects(), null).toArray();
+        if (referencedFields.length == 0 || referencedFields.length >= scan.fields.length) {
+            return;
+        }
+
+        final int[] inputMapping = new int[scan.fields.length];
+        for (int i = 0; i < referencedFields.length; i++) {
+            inputMapping[referencedFields[i]] = i;
+        }
+
+        final RexShuttle remapInputs = new RexShuttle() {
+            @Override
+            public RexNode visitInputRef(final RexInputRef inputRef) {
+                return new RexInputRef(inputMapping[inputRef.getIndex()], inputRef.getType());
+            }
+        };
+
+        final List<RexNode> projects = new ArrayList<>();
+        for (final RexNode exp : project.getProjects()) {
+            projects.add(exp.accept(remapInputs));
+        }
+
+        final FlowFileTableScan projectedScan = new FlowFileTableScan(
+            scan.getCluster(),
+            scan.getTable(),
+            scan.flowFileTable,
+            getTableFields(scan, referencedFields),
+            scan.filter);
+
+        call.transformTo(project.copy(project.getTraitSet(), projectedScan, projects, project.getRowType()));
+    }
+
+    private int[] getTableFields(final FlowFileTableScan scan, final int[] scanFields) {
+        // The project refers to the fields of the scan, which may itself be a projection of the table's fields
+        final int[] tableFields = new int[scanFields.length];
+        for (int i = 0; i < scanFields.length; i++) {
+            tableFields[i] = scan.fields[scanFields[i]];
+        }
+
+        return tableFields;
     }
 
     private int[] getProjectFields(List<RexNode> exps) {
@@ -54,6 +54,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class FlowFileTable extends AbstractTable implements QueryableTable, TranslatableTable, Closeable {
 
@@ -68,6 +69,7 @@ public class FlowFileTable extends AbstractTable implements QueryableTable, Tran
     private volatile int maxRecordsRead;
 
     private final Set<FlowFileEnumerator> enumerators = new HashSet<>();
+    private final List<RecordFieldFilter> filters = new CopyOnWriteArrayList<>();
 
     /**
      * Creates a FlowFile table.
@@ -107,11 +109,37 @@ public class FlowFileTable extends AbstractTable implements QueryableTable, Tran
      * Called from generated code.
      */
     public Enumerable<Object> project(final int[] fields) {
+        return createEnumerable(fields, null);
+    }
+
+    /**
+     * Returns an enumerable over a given projection of the fields of the Records that satisfy the filter
+     * with the given index, as returned by {@link #addFilter(RecordFieldFilter)}.
+     *
+     * <p>
+     * Called from generated code.
+     */
+    public Enumerable<Object> project(final int filterIndex, final int[] fields) {
+        return createEnumerable(fields, filters.get(filterIndex));
+    }
+
+    /**
+     * Registers a filter that has been pushed down into a scan of this table so that the code generated for the scan can refer to it
+     *
+     * @param filter the filter
+     * @return the index of the filter
+     */
+    synchronized int addFilter(final RecordFieldFilter filter) {
+        filters.add(filter);
+        return filters.size() - 1;
+    }
+
+    private Enumerable<Object> createEnumerable(final int[] fields, final RecordFieldFilter filter) {
         return new AbstractEnumerable<Object>() {
             @Override
             @SuppressWarnings({"unchecked", "rawtypes"})
             public Enumerator<Object> enumerator() {
-                final FlowFileEnumerator flowFileEnumerator = new FlowFileEnumerator(session, flowFile, logger, recordReaderFactory, fields) {
+                final FlowFileEnumerator flowFileEnumerator = new FlowFileEnumerator(session, flowFile, logger, recordReaderFactory, fields, filter) {
                     @Override
                     protected void onFinish() {
                         final int recordCount = getRecordsRead();
@@ -22,15 +22,18 @@ import org.apache.calcite.adapter.enumerable.EnumerableRelImplementor;
 import org.apache.calcite.adapter.enumerable.PhysType;
 import org.apache.calcite.adapter.enumerable.PhysTypeImpl;
 import org.apache.calcite.linq4j.tree.Blocks;
+import org.apache.calcite.linq4j.tree.Expression;
 import org.apache.calcite.linq4j.tree.Expressions;
 import org.apache.calcite.linq4j.tree.Primitive;
 import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
 import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.plan.RelTraitSet;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelWriter;
 import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
@@ -43,26 +46,47 @@ import java.util.List;
  * <p>
  * Like any table scan, it serves as a leaf node of a query tree.
  * </p>
+ *
+ * <p>
+ * The scan reads only the given fields of each Record and, if a {@link RecordFieldFilter} has been pushed down into it,
+ * only returns the Records that satisfy the filter.
+ * </p>
  */
 public class FlowFileTableScan extends TableScan implements EnumerableRel {
     final FlowFileTable flowFileTable;
     final int[] fields;
+    final RecordFieldFilter filter;
 
     protected FlowFileTableScan(final RelOptCluster cluster, final RelOptTable table, final FlowFileTable flowFileTable, final int[] fields) {
+        this(cluster, table, flowFileTable, fields, null);
+    }
+
+    protected FlowFileTableScan(final RelOptCluster cluster, final RelOptTable table, final FlowFileTable flowFileTable, final int[] fields, final RecordFieldFilter filter) {
         super(cluster, cluster.traitSetOf(EnumerableConvention.INSTANCE), table);
 
         this.flowFileTable = flowFileTable;
         this.fields = fields;
+        this.filter = filter;
     }
 
     @Override
     public RelNode copy(final RelTraitSet traitSet, final List<RelNode> inputs) {
-        return new FlowFileTableScan(getCluster(), table, flowFileTable, fields);
+        return new FlowFileTableScan(getCluster(), table, flowFileTable, fields, filter);
     }
 
     @Override
     public RelWriter explainTerms(final RelWriter pw) {
-        return super.explainTerms(pw).item("fields", Primitive.asList(fields));
+        return super.explainTerms(pw)
+            .item("fields", Primitive.asList(fields))
+            .itemIf("filter", filter, filter != null);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(final RelOptPlanner planner, final RelMetadataQuery mq) {
+        // Prefer scans that convert fewer fields and discard Records before they are converted into rows
+        final double fieldRatio = (fields.length + 2D) / (table.getRowType().getFieldCount() + 2D);
+        final double filterRatio = filter == null ? 1D : 0.5D;
+        return super.computeSelfCost(planner, mq).multiplyBy(fieldRatio * filterRatio);
     }
 
     @Override
@@ -78,14 +102,23 @@ public class FlowFileTableScan extends TableScan implements EnumerableRel {
     @Override
     public void register(RelOptPlanner planner) {
         planner.addRule(FlowFileProjectTableScanRule.INSTANCE);
+        planner.addRule(FlowFileFilterTableScanRule.INSTANCE);
     }
 
     @Override
     public Result implement(EnumerableRelImplementor implementor, Prefer pref) {
         PhysType physType = PhysTypeImpl.of(implementor.getTypeFactory(), getRowType(), pref.preferArray());
 
+        final Expression tableExpression = table.getExpression(FlowFileTable.class);
+        if (filter == null) {
+            return implementor.result(physType, Blocks.toBlock(
+                Expressions.call(tableExpression, "project", Expressions.constant(fields))));
+        }
+
+        // The generated code cannot hold the filter itself, so it refers to the filter by its index within the table
+        final int filterIndex = flowFileTable.addFilter(filter);
         return implementor.result(physType, Blocks.toBlock(
-            Expressions.call(table.getExpression(FlowFileTable.class), "project", Expressions.constant(fields))));
+            Expressions.call(tableExpression, "project", Expressions.constant(filterIndex), Expressions.constant(fields))));
     }
 
 }
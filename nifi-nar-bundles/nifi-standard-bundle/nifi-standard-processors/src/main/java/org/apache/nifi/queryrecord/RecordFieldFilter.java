@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.queryrecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * <p>
+ * A set of simple conditions, each comparing a single field of a FlowFile's Records to a constant, that a Record has to satisfy
+ * in order to be returned to Calcite. The conditions are pushed down from the WHERE clause of a query by {@link FlowFileFilterTableScanRule}
+ * so that Records can be discarded before their values are converted into a row.
+ * </p>
+ *
+ * <p>
+ * The filter is only an optimization: Calcite still evaluates the full WHERE clause on the rows that pass the filter. A condition therefore
+ * rejects a Record only if it is certain that the WHERE clause would reject it as well, and accepts any Record whose value is not of the
+ * expected type.
+ * </p>
+ */
+public class RecordFieldFilter {
+    private final List<Condition> conditions;
+
+    public RecordFieldFilter(final List<Condition> conditions) {
+        this.conditions = Collections.unmodifiableList(new ArrayList<>(conditions));
+    }
+
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * @param fieldValues provides the value of the field at the given index of the FlowFile's schema
+     * @return <code>true</code> if the Record satisfies all conditions
+     */
+    public boolean test(final IntFunction<Object> fieldValues) {
+        for (final Condition condition : conditions) {
+            if (!condition.test(fieldValues.apply(condition.getFieldIndex()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return conditions.toString();
+    }
+
+    public enum Operator {
+        IS_NULL("IS NULL"),
+        IS_NOT_NULL("IS NOT NULL"),
+        EQUALS("="),
+        NOT_EQUALS("<>"),
+        LESS_THAN("<"),
+        LESS_THAN_OR_EQUAL("<="),
+        GREATER_THAN(">"),
+        GREATER_THAN_OR_EQUAL(">=");
+
+        private final String symbol;
+
+        Operator(final String symbol) {
+            this.symbol = symbol;
+        }
+
+        @Override
+        public String toString() {
+            return symbol;
+        }
+    }
+
+    /**
+     * A comparison between the value of a field and a constant. The constant must be a Long, a Double, a String or a Boolean.
+     * Strings and Booleans can only be compared for equality.
+     */
+    public static class Condition {
+        private final int fieldIndex;
+        private final Operator operator;
+        private final Object literal;
+
+        public Condition(final int fieldIndex, final Operator operator, final Object literal) {
+            if (operator != Operator.IS_NULL && operator != Operator.IS_NOT_NULL) {
+                if (!(literal instanceof Long || literal instanceof Double || literal instanceof String || literal instanceof Boolean)) {
+                    throw new IllegalArgumentException("Cannot compare field with index " + fieldIndex + " to " + literal);
+                }
+                if (!(literal instanceof Number) && operator != Operator.EQUALS && operator != Operator.NOT_EQUALS) {
+                    throw new IllegalArgumentException("Cannot compare field with index " + fieldIndex + " to " + literal + " using " + operator);
+                }
+            }
+
+            this.fieldIndex = fieldIndex;
+            this.operator = operator;
+            this.literal = literal;
+        }
+
+        public int getFieldIndex() {
+            return fieldIndex;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        public Object getLiteral() {
+            return literal;
+        }
+
+        boolean test(final Object value) {
+            switch (operator) {
+                case IS_NULL:
+                    return value == null;
+                case IS_NOT_NULL:
+                    return value != null;
+            }
+
+            // A comparison with null is unknown, which the WHERE clause treats as false
+            if (value == null) {
+                return false;
+            }
+
+            final Integer comparison = compare(value);
+            if (comparison == null) {
+                return true;
+            }
+
+            switch (operator) {
+                case EQUALS:
+                    return comparison == 0;
+                case NOT_EQUALS:
+                    return comparison != 0;
+                case LESS_THAN:
+                    return comparison < 0;
+                case LESS_THAN_OR_EQUAL:
+                    return comparison <= 0;
+                case GREATER_THAN:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        private Integer compare(final Object value) {
+            if (literal instanceof Long) {
+                if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    return Long.compare(((Number) value).longValue(), (Long) literal);
+                }
+                return null;
+            }
+
+            if (literal instanceof Double) {
+                if (value instanceof Double && !((Double) value).isNaN()) {
+                    // Unlike Double.compare, treat 0.0 and -0.0 as equal, as SQL does
+                    final double doubleValue = (Double) value;
+                    final double doubleLiteral = (Double) literal;
+                    return doubleValue < doubleLiteral ? -1 : (doubleValue > doubleLiteral ? 1 : 0);
+                }
+                return null;
+            }
+
+            if (value.getClass() == literal.getClass()) {
+                return value.equals(literal) ? 0 : 1;
+            }
+
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            if (operator == Operator.IS_NULL || operator == Operator.IS_NOT_NULL) {
+                return "$" + fieldIndex + " " + operator;
+            }
+
+            return "$" + fieldIndex + " " + operator + " " + (literal instanceof String ? "'" + literal + "'" : literal);
+        }
+    }
+}
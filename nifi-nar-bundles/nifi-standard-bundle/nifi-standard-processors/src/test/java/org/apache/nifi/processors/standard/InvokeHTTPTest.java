@@ -105,6 +105,8 @@ public class InvokeHTTPTest {
 
     private static final String LOCATION_HEADER = "Location";
 
+    private static final int HTTP_TEMPORARY_REDIRECT = 307;
+
     private static final String SET_COOKIE_HEADER = "Set-Cookie";
 
     private static final String COOKIE_HEADER = "Cookie";
@@ -778,6 +780,76 @@ public class InvokeHTTPTest {
         assertRequestMethodSuccess(PUT_METHOD);
     }
 
+    @Test
+    public void testRunPostMaxConcurrentRequests() throws InterruptedException {
+        final int requests = 4;
+        runner.setProperty(InvokeHTTP.PROP_METHOD, POST_METHOD);
+        runner.setProperty(InvokeHTTP.PROP_MAX_CONCURRENT_REQUESTS, Integer.toString(requests));
+        setUrlProperty();
+
+        for (int i = 0; i < requests; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HTTP_OK));
+            runner.enqueue(FLOW_FILE_CONTENT);
+        }
+        runner.enqueue(FLOW_FILE_CONTENT);
+        runner.run();
+
+        runner.assertTransferCount(InvokeHTTP.REL_RESPONSE, requests);
+        runner.assertTransferCount(InvokeHTTP.REL_SUCCESS_REQ, requests);
+        runner.assertTransferCount(InvokeHTTP.REL_FAILURE, 0);
+        runner.assertQueueNotEmpty();
+        for (final MockFlowFile responseFlowFile : runner.getFlowFilesForRelationship(InvokeHTTP.REL_RESPONSE)) {
+            assertStatusCodeEquals(responseFlowFile, HTTP_OK);
+        }
+
+        for (int i = 0; i < requests; i++) {
+            final RecordedRequest request = takeRequestCompleted();
+            assertEquals(POST_METHOD, request.getMethod());
+            assertEquals(FLOW_FILE_CONTENT, request.getBody().readUtf8());
+        }
+    }
+
+    @Test
+    public void testRunPostMaxConcurrentRequestsFollowRedirects() throws InterruptedException {
+        runner.setProperty(InvokeHTTP.PROP_METHOD, POST_METHOD);
+        runner.setProperty(InvokeHTTP.PROP_MAX_CONCURRENT_REQUESTS, "2");
+        setUrlProperty();
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HTTP_TEMPORARY_REDIRECT).setHeader(LOCATION_HEADER, getMockWebServerUrl()));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HTTP_OK));
+        runner.enqueue(FLOW_FILE_CONTENT);
+        runner.run();
+
+        runner.assertTransferCount(InvokeHTTP.REL_FAILURE, 0);
+        assertRelationshipStatusCodeEquals(InvokeHTTP.REL_RESPONSE, HTTP_OK);
+
+        // The request body is sent again to the location of the redirect
+        for (int i = 0; i < 2; i++) {
+            final RecordedRequest request = takeRequestCompleted();
+            assertEquals(POST_METHOD, request.getMethod());
+            assertEquals(FLOW_FILE_CONTENT, request.getBody().readUtf8());
+        }
+    }
+
+    @Test
+    public void testRunGetMaxConcurrentRequestsMalformedUrlExceptionFailure() {
+        final String urlAttributeKey = "request.url";
+        runner.setProperty(InvokeHTTP.PROP_URL, String.format("${%s}", urlAttributeKey));
+        runner.setProperty(InvokeHTTP.PROP_MAX_CONCURRENT_REQUESTS, "2");
+
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put(urlAttributeKey, String.class.getSimpleName());
+        runner.enqueue(FLOW_FILE_CONTENT, attributes);
+        runner.enqueue(FLOW_FILE_CONTENT, attributes);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(InvokeHTTP.REL_FAILURE, 2);
+        runner.assertPenalizeCount(2);
+        final MockFlowFile flowFile = getFailureFlowFile();
+        flowFile.assertAttributeEquals(InvokeHTTP.EXCEPTION_CLASS, MalformedURLException.class.getName());
+        flowFile.assertAttributeExists(InvokeHTTP.EXCEPTION_MESSAGE);
+    }
+
     @ParameterizedTest(name = "{index} => When {0} http://baseUrl/{1}, filename of the response FlowFile should be {2}")
     @MethodSource
     public void testResponseFlowFileFilenameExtractedFromRemoteUrl(String httpMethod, String inputUrl, String expectedFileName) throws MalformedURLException {
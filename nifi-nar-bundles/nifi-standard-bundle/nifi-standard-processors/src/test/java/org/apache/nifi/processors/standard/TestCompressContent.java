@@ -16,17 +16,22 @@
  */
 package org.apache.nifi.processors.standard;
 
+import org.apache.nifi.compression.CompressionDictionaryService;
+import org.apache.nifi.controller.AbstractControllerService;
 import org.apache.nifi.flowfile.attributes.CoreAttributes;
+import org.apache.nifi.reporting.InitializationException;
 import org.apache.nifi.util.MockFlowFile;
 import org.apache.nifi.util.TestRunner;
 import org.apache.nifi.util.TestRunners;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 
 public class TestCompressContent {
@@ -347,4 +352,133 @@ public class TestCompressContent {
         flowFile.assertContentEquals(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
         flowFile.assertAttributeEquals("filename", "SampleFile.txt");
     }
+
+    @Test
+    public void testZstdCompressAndDecompress() throws Exception {
+        final TestRunner runner = TestRunners.newTestRunner(CompressContent.class);
+        runner.setProperty(CompressContent.MODE, CompressContent.MODE_COMPRESS);
+        runner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ZSTD);
+        runner.setProperty(CompressContent.ZSTD_COMPRESSION_LEVEL, "19");
+        runner.setProperty(CompressContent.UPDATE_FILENAME, "true");
+
+        runner.enqueue(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+        MockFlowFile flowFile = runner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0);
+        flowFile.assertAttributeEquals(CoreAttributes.MIME_TYPE.key(), "application/zstd");
+        flowFile.assertAttributeEquals("filename", "SampleFile.txt.zst");
+
+        final TestRunner decompressRunner = TestRunners.newTestRunner(CompressContent.class);
+        decompressRunner.setProperty(CompressContent.MODE, CompressContent.MODE_DECOMPRESS);
+        decompressRunner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ATTRIBUTE);
+        decompressRunner.setProperty(CompressContent.UPDATE_FILENAME, "true");
+
+        decompressRunner.enqueue(flowFile);
+        decompressRunner.run();
+
+        decompressRunner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+        flowFile = decompressRunner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0);
+        flowFile.assertContentEquals(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
+        flowFile.assertAttributeEquals("filename", "SampleFile.txt");
+    }
+
+    @Test
+    public void testParallelCompression() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            sb.append("This is line ").append(i).append(" of the content to compress\n");
+        }
+        final byte[] content = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        for (final String compressionFormat : new String[] {CompressContent.COMPRESSION_FORMAT_GZIP, CompressContent.COMPRESSION_FORMAT_BZIP2,
+                CompressContent.COMPRESSION_FORMAT_LZ4_FRAMED, CompressContent.COMPRESSION_FORMAT_ZSTD}) {
+            final TestRunner runner = TestRunners.newTestRunner(CompressContent.class);
+            runner.setProperty(CompressContent.MODE, CompressContent.MODE_COMPRESS);
+            runner.setProperty(CompressContent.COMPRESSION_FORMAT, compressionFormat);
+            runner.setProperty(CompressContent.PARALLEL_COMPRESSION_THREADS, "4");
+            runner.setProperty(CompressContent.PARALLEL_COMPRESSION_BLOCK_SIZE, "64 KB");
+
+            runner.enqueue(content);
+            runner.run();
+
+            runner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+            MockFlowFile flowFile = runner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0);
+            assertTrue(flowFile.getSize() < content.length);
+
+            final TestRunner decompressRunner = TestRunners.newTestRunner(CompressContent.class);
+            decompressRunner.setProperty(CompressContent.MODE, CompressContent.MODE_DECOMPRESS);
+            decompressRunner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ATTRIBUTE);
+
+            decompressRunner.enqueue(flowFile);
+            decompressRunner.run();
+
+            decompressRunner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+            flowFile = decompressRunner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0);
+            flowFile.assertContentEquals(content);
+        }
+    }
+
+    @Test
+    public void testZstdWithDictionaryAndLongWindow() throws Exception {
+        final byte[] dictionary = "{\"id\":\"\",\"name\":\"\",\"status\":\"ACTIVE\",\"timestamp\":\"2022-06-01T00:00:00Z\"}".getBytes(StandardCharsets.UTF_8);
+        final byte[] message = "{\"id\":\"1\",\"name\":\"John\",\"status\":\"ACTIVE\",\"timestamp\":\"2022-06-05T10:20:30Z\"}".getBytes(StandardCharsets.UTF_8);
+
+        final TestRunner runner = TestRunners.newTestRunner(CompressContent.class);
+        addDictionaryService(runner, dictionary);
+        runner.setProperty(CompressContent.MODE, CompressContent.MODE_COMPRESS);
+        runner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ZSTD);
+        runner.setProperty(CompressContent.ZSTD_LONG_WINDOW_LOG, "20");
+        runner.setProperty(CompressContent.ZSTD_COMPRESSION_THREADS, "2");
+
+        runner.enqueue(message);
+        runner.enqueue(message);
+        runner.run(2);
+
+        runner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 2);
+        final MockFlowFile compressed = runner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0);
+        assertTrue(compressed.getSize() < message.length);
+        assertArrayEquals(compressed.toByteArray(), runner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(1).toByteArray());
+
+        final TestRunner withoutDictionaryRunner = TestRunners.newTestRunner(CompressContent.class);
+        withoutDictionaryRunner.setProperty(CompressContent.MODE, CompressContent.MODE_DECOMPRESS);
+        withoutDictionaryRunner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ZSTD);
+        withoutDictionaryRunner.setProperty(CompressContent.ZSTD_LONG_WINDOW_LOG, "20");
+
+        withoutDictionaryRunner.enqueue(compressed);
+        withoutDictionaryRunner.run();
+        withoutDictionaryRunner.assertAllFlowFilesTransferred(CompressContent.REL_FAILURE, 1);
+
+        final TestRunner decompressRunner = TestRunners.newTestRunner(CompressContent.class);
+        addDictionaryService(decompressRunner, dictionary);
+        decompressRunner.setProperty(CompressContent.MODE, CompressContent.MODE_DECOMPRESS);
+        decompressRunner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ZSTD);
+        decompressRunner.setProperty(CompressContent.ZSTD_LONG_WINDOW_LOG, "20");
+
+        decompressRunner.enqueue(compressed);
+        decompressRunner.run();
+
+        decompressRunner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+        decompressRunner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0).assertContentEquals(message);
+    }
+
+    private void addDictionaryService(final TestRunner runner, final byte[] dictionary) throws InitializationException {
+        final MockCompressionDictionaryService dictionaryService = new MockCompressionDictionaryService(dictionary);
+        runner.addControllerService("dictionary-service", dictionaryService);
+        runner.enableControllerService(dictionaryService);
+        runner.setProperty(CompressContent.COMPRESSION_DICTIONARY_SERVICE, "dictionary-service");
+    }
+
+    private static class MockCompressionDictionaryService extends AbstractControllerService implements CompressionDictionaryService {
+        private final byte[] dictionary;
+
+        MockCompressionDictionaryService(final byte[] dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public byte[] getDictionary() {
+            return dictionary;
+        }
+    }
 }
@@ -52,10 +52,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -753,6 +755,44 @@ public class TestListFile {
         assertEquals(1, successFiles2.size());
     }
 
+    @Test
+    public void testRecurseWithMultipleListingThreads() throws Exception {
+        final long now = getTestModifiedTime();
+
+        final Set<String> expectedFiles = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 3; j++) {
+                final String relativeDirectory = "subdir" + i + File.separator + "subdir" + j + File.separator;
+                final File directory = new File(testDir, relativeDirectory);
+                assertTrue(directory.mkdirs());
+
+                for (int k = 0; k < 5; k++) {
+                    final File file = new File(directory, "file" + i + j + k + ".txt");
+                    assertTrue(file.createNewFile());
+                    assertTrue(file.setLastModified(now));
+                    expectedFiles.add(relativeDirectory + file.getName());
+                }
+            }
+        }
+
+        final File file = new File(testDir, "file.txt");
+        assertTrue(file.createNewFile());
+        assertTrue(file.setLastModified(now));
+        expectedFiles.add("." + File.separator + file.getName());
+
+        runner.setProperty(ListFile.DIRECTORY, testDir.getAbsolutePath());
+        runner.setProperty(ListFile.RECURSE, "true");
+        runner.setProperty(ListFile.LISTING_THREADS, "4");
+        assertVerificationOutcome(Outcome.SUCCESSFUL, "Successfully listed .* Found 61 objects.  Of those, 61 match the filter.");
+        runNext();
+
+        runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, expectedFiles.size());
+        final Set<String> listedFiles = runner.getFlowFilesForRelationship(ListFile.REL_SUCCESS).stream()
+                .map(mff -> mff.getAttribute(CoreAttributes.PATH.key()) + mff.getAttribute(CoreAttributes.FILENAME.key()))
+                .collect(Collectors.toSet());
+        assertEquals(expectedFiles, listedFiles);
+    }
+
     @Test
     public void testReadable() throws Exception {
         final long now = getTestModifiedTime();
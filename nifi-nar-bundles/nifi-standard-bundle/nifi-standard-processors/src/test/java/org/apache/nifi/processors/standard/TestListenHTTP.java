@@ -28,9 +28,14 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLHandshakeException;
 import javax.net.ssl.SSLSession;
@@ -465,6 +470,78 @@ public class TestListenHTTP {
         assertEquals(maxThreadPoolSize, sizedThreadPool.getMaxThreads());
     }
 
+    @Test
+    public void testPOSTRequestsReceivedWithRequestBatchSize() throws Exception {
+        runner.setProperty(ListenHTTP.PORT, Integer.toString(availablePort));
+        runner.setProperty(ListenHTTP.BASE_PATH, HTTP_BASE_PATH);
+        runner.setProperty(ListenHTTP.REQUEST_BATCH_SIZE, "4");
+
+        testPOSTRequestsReceived(HttpServletResponse.SC_OK, false, false);
+    }
+
+    @Test
+    public void testConcurrentPOSTRequestsReceivedWithRequestBatchSize() throws Exception {
+        runner.setProperty(ListenHTTP.PORT, Integer.toString(availablePort));
+        runner.setProperty(ListenHTTP.BASE_PATH, HTTP_BASE_PATH);
+        runner.setProperty(ListenHTTP.REQUEST_BATCH_SIZE, "4");
+        startWebServer();
+
+        final int requests = 20;
+        final Set<String> messages = new HashSet<>();
+        final List<Future<Integer>> statusCodes = new ArrayList<>();
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < requests; i++) {
+                final String message = "payload " + i;
+                messages.add(message);
+                statusCodes.add(executorService.submit(() -> postMessage(message, false, false)));
+            }
+
+            for (final Future<Integer> statusCode : statusCodes) {
+                assertEquals("HTTP Status Code not matched", HttpServletResponse.SC_OK, statusCode.get().intValue());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        runner.assertTransferCount(RELATIONSHIP_SUCCESS, requests);
+        final Set<String> contents = new HashSet<>();
+        for (final MockFlowFile flowFile : runner.getFlowFilesForRelationship(RELATIONSHIP_SUCCESS)) {
+            contents.add(flowFile.getContent());
+        }
+        assertEquals(messages, contents);
+    }
+
+    @Test
+    public void testPOSTRequestNotDelayedByIncompleteRequestWithRequestBatchSize() throws Exception {
+        runner.setProperty(ListenHTTP.PORT, Integer.toString(availablePort));
+        runner.setProperty(ListenHTTP.BASE_PATH, HTTP_BASE_PATH);
+        runner.setProperty(ListenHTTP.REQUEST_BATCH_SIZE, "4");
+        startWebServer();
+
+        try (final Socket socket = new Socket("localhost", availablePort)) {
+            final String incompleteRequest = String.format("POST /%s HTTP/1.1\r\nHost: localhost\r\nContent-Length: 100\r\n\r\npartial", HTTP_BASE_PATH);
+            socket.getOutputStream().write(incompleteRequest.getBytes(StandardCharsets.UTF_8));
+            socket.getOutputStream().flush();
+
+            assertEquals("HTTP Status Code not matched", HttpServletResponse.SC_OK, postMessage("complete", false, false));
+        }
+
+        runner.assertTransferCount(RELATIONSHIP_SUCCESS, 1);
+        runner.getFlowFilesForRelationship(RELATIONSHIP_SUCCESS).get(0).assertContentEquals("complete");
+    }
+
+    @Test
+    public void testMaxBufferedRequestSizeLimited() {
+        runner.setProperty(ListenHTTP.PORT, Integer.toString(availablePort));
+        runner.setProperty(ListenHTTP.BASE_PATH, HTTP_BASE_PATH);
+        runner.setProperty(ListenHTTP.MAX_BUFFERED_REQUEST_SIZE, "16 MB");
+        runner.assertValid();
+
+        runner.setProperty(ListenHTTP.MAX_BUFFERED_REQUEST_SIZE, "2 GB");
+        runner.assertNotValid();
+    }
+
     @Test
     public void testPOSTRequestsReceivedWithRecordReader() throws Exception {
         final MockRecordParser parser = setupRecordReaderTest();
@@ -516,6 +593,25 @@ public class TestListenHTTP {
         runner.assertTransferCount(RELATIONSHIP_SUCCESS, 0);
     }
 
+    @Test
+    public void testReturn400WhenInvalidPOSTRequestSentWithRecordReaderAndRequestBatchSize() throws Exception {
+        final MockRecordParser parser = setupRecordReaderTest();
+        runner.setProperty(ListenHTTP.REQUEST_BATCH_SIZE, "4");
+        parser.failAfter(2);
+
+        parser.addSchemaField("id", RecordFieldType.INT);
+        parser.addSchemaField("name", RecordFieldType.STRING);
+
+        for (int i = 0; i < 4; i++) {
+            parser.addRecord(i, "rec" + i);
+        }
+
+        startWebServerAndSendMessages(Arrays.asList("", ""), HttpServletResponse.SC_BAD_REQUEST, false, false);
+
+        runner.assertTransferCount(RELATIONSHIP_SUCCESS, 0);
+        runner.assertQueueEmpty();
+    }
+
     private MockRecordParser setupRecordReaderTest() throws InitializationException {
         final MockRecordParser parser = new MockRecordParser();
         final MockRecordWriter writer = new MockRecordWriter();
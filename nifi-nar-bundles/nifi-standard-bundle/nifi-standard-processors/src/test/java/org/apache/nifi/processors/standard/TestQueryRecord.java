@@ -1006,6 +1006,79 @@ public class TestQueryRecord {
         out.assertContentEquals("\"NAME\",\"POINTS\"\n\"100\",\"90.75\"\n");
     }
 
+    @Test
+    public void testFilterAndProjectionPushedDown() throws InitializationException {
+        final MockRecordParser parser = new MockRecordParser();
+        parser.addSchemaField("ID", RecordFieldType.INT);
+        parser.addSchemaField("NAME", RecordFieldType.STRING, true);
+        parser.addSchemaField("CITY", RecordFieldType.STRING, true);
+        parser.addSchemaField("SCORE", RecordFieldType.DOUBLE, true);
+        parser.addSchemaField("ACTIVE", RecordFieldType.BOOLEAN);
+
+        parser.addRecord(1, "Tom", "Paris", 7.5D, true);
+        parser.addRecord(2, "Alice", "Paris", 3.0D, true);
+        parser.addRecord(3, "Bob", "Berlin", 9.0D, true);
+        parser.addRecord(4, null, "Paris", 8.0D, true);
+        parser.addRecord(5, "Eve", null, 9.5D, true);
+        parser.addRecord(6, "Carl", "Paris", null, true);
+        parser.addRecord(7, "Dana", "Paris", 6.0D, false);
+        parser.addRecord(8, "Fred", "Paris", 5.0D, true);
+
+        final MockRecordWriter writer = new MockRecordWriter("\"NAME\",\"NEXT_ID\"");
+
+        TestRunner runner = getRunner();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+        runner.addControllerService("writer", writer);
+        runner.enableControllerService(writer);
+
+        runner.setProperty(REL_NAME, "SELECT NAME, ID + 1 AS NEXT_ID FROM FLOWFILE "
+            + "WHERE 5 <= SCORE AND CITY = 'Paris' AND NAME IS NOT NULL AND ACTIVE = true AND ID <> 3");
+        runner.setProperty(QueryRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(QueryRecord.RECORD_WRITER_FACTORY, "writer");
+
+        runner.enqueue(new byte[0]);
+        runner.run();
+
+        runner.assertTransferCount(REL_NAME, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(REL_NAME).get(0);
+        out.assertContentEquals("\"NAME\",\"NEXT_ID\"\n\"Tom\",\"2\"\n\"Fred\",\"9\"\n");
+        assertEquals(8L, runner.getCounterValue("Records Read").longValue());
+    }
+
+    @Test
+    public void testPushedDownFilterWithPartiallySupportedCondition() throws InitializationException {
+        final MockRecordParser parser = new MockRecordParser();
+        parser.addSchemaField("ID", RecordFieldType.INT);
+        parser.addSchemaField("NAME", RecordFieldType.STRING);
+
+        parser.addRecord(1, "Tom");
+        parser.addRecord(2, "Alice");
+        parser.addRecord(3, "Anna");
+        parser.addRecord(4, "Adam");
+
+        final MockRecordWriter writer = new MockRecordWriter("\"ID\"");
+
+        TestRunner runner = getRunner();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+        runner.addControllerService("writer", writer);
+        runner.enableControllerService(writer);
+
+        runner.setProperty(REL_NAME, "SELECT ID FROM FLOWFILE WHERE ID > 1 AND NAME LIKE 'A%' AND UPPER(NAME) <> 'ANNA'");
+        runner.setProperty(QueryRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(QueryRecord.RECORD_WRITER_FACTORY, "writer");
+
+        runner.enqueue(new byte[0]);
+        runner.enqueue(new byte[0]);
+        runner.run(2);
+
+        runner.assertTransferCount(REL_NAME, 2);
+        for (final MockFlowFile out : runner.getFlowFilesForRelationship(REL_NAME)) {
+            out.assertContentEquals("\"ID\"\n\"2\"\n\"4\"\n");
+        }
+    }
+
     @Test
     public void testHandlingWithInvalidSchema() throws InitializationException {
         final MockRecordParser parser = new MockRecordParser();
@@ -23,6 +23,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.nifi.util.MockFlowFile;
@@ -64,6 +65,28 @@ public class TestReplaceTextWithMapping {
         assertEquals(expected, outputString);
     }
 
+    @Test
+    public void testLiteralKeys() throws IOException {
+        final TestRunner runner = getRunner();
+        final String mappingFile = Paths.get("src/test/resources/TestReplaceTextWithMapping/color-fruit-mapping.txt").toFile().getAbsolutePath();
+        runner.setProperty(ReplaceTextWithMapping.MAPPING_FILE, mappingFile);
+        runner.setProperty(ReplaceTextWithMapping.MATCHING_STRATEGY, ReplaceTextWithMapping.MATCH_LITERAL_KEYS.getValue());
+        runner.setProperty(ReplaceTextWithMapping.MAX_BUFFER_SIZE, "1 B");
+
+        runner.enqueue(Paths.get("src/test/resources/TestReplaceTextWithMapping/colors.txt"));
+        runner.enqueue("bluered ${literal('blue')}$1".getBytes());
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(ReplaceTextWithMapping.REL_SUCCESS, 2);
+        final List<MockFlowFile> out = runner.getFlowFilesForRelationship(ReplaceTextWithMapping.REL_SUCCESS);
+        final String expected = "-roses- are -apple-\n"
+                + "violets are -blueberry-\n"
+                + "something else is -grape-\n"
+                + "I'm not good at writing poems";
+        assertEquals(expected, new String(out.get(0).toByteArray()));
+        assertEquals("blueberryapple ${literal('blueberry')}$1", new String(out.get(1).toByteArray()));
+    }
+
     @Test
     public void testExpressionLanguageInText() throws IOException {
         final TestRunner runner = getRunner();
@@ -68,6 +68,24 @@ public class TestRouteOnAttribute {
         flowFiles.get(0).assertAttributeEquals(RouteOnAttribute.ROUTE_ATTRIBUTE_KEY, "RouteA");
     }
 
+    @Test
+    public void testEvaluationFailurePenalizesOnlyFailedFlowFile() {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteOnAttribute());
+        runner.setProperty("RouteA", "${a:toDate('yyyy-MM-dd'):format('yyyy'):equals('2022')}");
+
+        for (final String value : new String[] {"2022-01-01", "not-a-date", "2022-02-01"}) {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put("a", value);
+            runner.enqueue(new byte[0], attributes);
+        }
+
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(new Relationship.Builder().name("RouteA").build(), 2);
+        runner.assertPenalizeCount(1);
+        assertEquals(1, runner.getQueueSize().getObjectCount());
+    }
+
     @Test
     public void testMatchAll() {
         final TestRunner runner = TestRunners.newTestRunner(new RouteOnAttribute());
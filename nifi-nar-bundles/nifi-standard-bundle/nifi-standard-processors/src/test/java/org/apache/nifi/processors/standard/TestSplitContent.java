@@ -29,6 +29,8 @@ import static org.apache.nifi.processors.standard.SplitContent.FRAGMENT_COUNT;
 import static org.apache.nifi.processors.standard.SplitContent.FRAGMENT_ID;
 import static org.apache.nifi.processors.standard.SplitContent.FRAGMENT_INDEX;
 import static org.apache.nifi.processors.standard.SplitContent.SEGMENT_ORIGINAL_FILENAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TestSplitContent {
 
@@ -374,6 +376,33 @@ public class TestSplitContent {
         packed.get(0).assertContentEquals(new byte[]{1, 2, 3, 4, 5, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 5, 4, 3, 2, 1});
     }
 
+    @Test
+    public void testContentEqualsSequence() {
+        final TestRunner runner = TestRunners.newTestRunner(new SplitContent());
+        runner.setProperty(SplitContent.KEEP_SEQUENCE, "false");
+        runner.setProperty(SplitContent.BYTE_SEQUENCE.getName(), "05050505");
+
+        runner.enqueue(new byte[]{5, 5, 5, 5});
+        runner.enqueue(new byte[]{5, 5, 5, 5, 5, 5, 5, 5});
+        runner.run(2);
+
+        runner.assertTransferCount(SplitContent.REL_ORIGINAL, 2);
+        runner.assertTransferCount(SplitContent.REL_SPLITS, 0);
+        for (final MockFlowFile original : runner.getFlowFilesForRelationship(SplitContent.REL_ORIGINAL)) {
+            original.assertAttributeEquals(FRAGMENT_COUNT, "0");
+        }
+        runner.assertQueueEmpty();
+
+        runner.clearTransferState();
+        runner.setProperty(SplitContent.SPLITS_PER_BATCH, "1");
+        runner.enqueue(new byte[]{5, 5, 5, 5});
+        runner.run();
+
+        runner.assertTransferCount(SplitContent.REL_ORIGINAL, 1);
+        runner.assertTransferCount(SplitContent.REL_SPLITS, 0);
+        runner.assertQueueEmpty();
+    }
+
     @Test
     public void testNoSplitterInString() {
 
@@ -400,4 +429,73 @@ public class TestSplitContent {
         final List<MockFlowFile> splits = runner.getFlowFilesForRelationship(SplitContent.REL_SPLITS);
         splits.get(0).assertContentEquals(content);
     }
+
+    @Test
+    public void testSplitsInBatches() throws IOException {
+        final String content = "rub-a-dub-dub,,and a-dub-dub-dub,ub,ubub,dub";
+        for (final boolean keepSequence : new boolean[] {false, true}) {
+            for (final String location : new String[] {SplitContent.TRAILING_POSITION.getValue(), SplitContent.LEADING_POSITION.getValue()}) {
+                final List<MockFlowFile> expected = split(content, keepSequence, location, null);
+                final List<MockFlowFile> batched = split(content, keepSequence, location, 2);
+
+                assertEquals(expected.size(), batched.size());
+                assertTrue(batched.size() > 2);
+                final String fragmentId = batched.get(0).getAttribute(FRAGMENT_ID);
+                for (int i = 0; i < batched.size(); i++) {
+                    final MockFlowFile split = batched.get(i);
+                    split.assertContentEquals(expected.get(i).toByteArray());
+                    split.assertAttributeEquals(FRAGMENT_ID, fragmentId);
+                    split.assertAttributeEquals(FRAGMENT_INDEX, String.valueOf(i + 1));
+                    split.assertAttributeEquals(FRAGMENT_COUNT, String.valueOf(expected.size()));
+                    split.assertAttributeNotExists(SplitContent.BATCH_PROGRESS_ATTRIBUTE);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSplitsInSingleBatch() {
+        final TestRunner runner = TestRunners.newTestRunner(new SplitContent());
+        runner.setProperty(SplitContent.FORMAT, SplitContent.UTF8_FORMAT.getValue());
+        runner.setProperty(SplitContent.BYTE_SEQUENCE, ",");
+        runner.setProperty(SplitContent.SPLITS_PER_BATCH, "3");
+
+        runner.enqueue("a,b,c");
+        runner.run();
+
+        runner.assertQueueEmpty();
+        runner.assertTransferCount(SplitContent.REL_ORIGINAL, 1);
+        runner.assertTransferCount(SplitContent.REL_SPLITS, 3);
+        runner.getFlowFilesForRelationship(SplitContent.REL_SPLITS).get(2).assertContentEquals("c");
+    }
+
+    private List<MockFlowFile> split(final String content, final boolean keepSequence, final String location, final Integer splitsPerBatch) {
+        final TestRunner runner = TestRunners.newTestRunner(new SplitContent());
+        runner.setProperty(SplitContent.FORMAT, SplitContent.UTF8_FORMAT.getValue());
+        runner.setProperty(SplitContent.BYTE_SEQUENCE, "ub");
+        runner.setProperty(SplitContent.KEEP_SEQUENCE, String.valueOf(keepSequence));
+        runner.setProperty(SplitContent.BYTE_SEQUENCE_LOCATION, location);
+        if (splitsPerBatch != null) {
+            runner.setProperty(SplitContent.SPLITS_PER_BATCH, String.valueOf(splitsPerBatch));
+        }
+
+        runner.enqueue(content);
+        int batches = 0;
+        while (!runner.isQueueEmpty()) {
+            runner.run();
+            batches++;
+            if (splitsPerBatch != null) {
+                assertTrue(runner.getFlowFilesForRelationship(SplitContent.REL_SPLITS).size() <= batches * splitsPerBatch);
+            }
+        }
+
+        runner.assertTransferCount(SplitContent.REL_ORIGINAL, 1);
+        final MockFlowFile original = runner.getFlowFilesForRelationship(SplitContent.REL_ORIGINAL).get(0);
+        original.assertAttributeNotExists(SplitContent.BATCH_PROGRESS_ATTRIBUTE);
+        original.assertContentEquals(content);
+
+        final List<MockFlowFile> splits = runner.getFlowFilesForRelationship(SplitContent.REL_SPLITS);
+        original.assertAttributeEquals(FRAGMENT_COUNT, String.valueOf(splits.size()));
+        return splits;
+    }
 }
@@ -17,6 +17,7 @@
 package org.apache.nifi.processors.standard;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -890,4 +891,82 @@ public class TestSplitText {
         splits.get(1).assertContentEquals("\n");
     }
 
+    @Test
+    public void testSplitsInBatches() throws IOException {
+        final StringBuilder sb = new StringBuilder("# header\n# more header\r\n");
+        for (int i = 0; i < 40; i++) {
+            sb.append("line ").append(i);
+            for (int j = 0; j < i % 7; j++) {
+                sb.append(" with more text");
+            }
+            sb.append(i % 5 == 0 ? "\r\n" : "\n");
+            if (i % 6 == 0) {
+                sb.append("\n\n");
+            }
+        }
+        final String content = sb.toString();
+
+        final String[][] configurations = {
+            // Line Split Count, Maximum Fragment Size, Header Line Count, Header Line Marker Characters
+            {"3", null, "0", null},
+            {"0", "100 B", "0", null},
+            {"4", "90 B", "0", null},
+            {"3", null, "2", null},
+            {"0", "120 B", "0", "#"},
+            {"5", "150 B", "0", "#"},
+        };
+        for (final String[] configuration : configurations) {
+            for (final String removeTrailingNewlines : new String[] {"true", "false"}) {
+                final List<MockFlowFile> expected = split(content, configuration, removeTrailingNewlines, null);
+                final List<MockFlowFile> batched = split(content, configuration, removeTrailingNewlines, 3);
+
+                assertEquals(expected.size(), batched.size());
+                final String fragmentId = batched.get(0).getAttribute(SplitText.FRAGMENT_ID);
+                for (int i = 0; i < batched.size(); i++) {
+                    final MockFlowFile split = batched.get(i);
+                    split.assertContentEquals(expected.get(i).toByteArray());
+                    split.assertAttributeEquals(SplitText.SPLIT_LINE_COUNT, expected.get(i).getAttribute(SplitText.SPLIT_LINE_COUNT));
+                    split.assertAttributeEquals(SplitText.FRAGMENT_ID, fragmentId);
+                    split.assertAttributeEquals(SplitText.FRAGMENT_INDEX, String.valueOf(i + 1));
+                    split.assertAttributeEquals(SplitText.FRAGMENT_COUNT, String.valueOf(expected.size()));
+                    split.assertAttributeNotExists(SplitText.BATCH_PROGRESS_ATTRIBUTE);
+                }
+            }
+        }
+    }
+
+    private List<MockFlowFile> split(final String content, final String[] configuration, final String removeTrailingNewlines, final Integer splitsPerBatch) {
+        final TestRunner runner = TestRunners.newTestRunner(new SplitText());
+        runner.setProperty(SplitText.LINE_SPLIT_COUNT, configuration[0]);
+        if (configuration[1] != null) {
+            runner.setProperty(SplitText.FRAGMENT_MAX_SIZE, configuration[1]);
+        }
+        runner.setProperty(SplitText.HEADER_LINE_COUNT, configuration[2]);
+        if (configuration[3] != null) {
+            runner.setProperty(SplitText.HEADER_MARKER, configuration[3]);
+        }
+        runner.setProperty(SplitText.REMOVE_TRAILING_NEWLINES, removeTrailingNewlines);
+        if (splitsPerBatch != null) {
+            runner.setProperty(SplitText.SPLITS_PER_BATCH, String.valueOf(splitsPerBatch));
+        }
+
+        runner.enqueue(content);
+        int batches = 0;
+        while (!runner.isQueueEmpty()) {
+            runner.run();
+            batches++;
+        }
+        if (splitsPerBatch != null) {
+            assertTrue(batches > 1);
+        }
+
+        runner.assertTransferCount(SplitText.REL_FAILURE, 0);
+        runner.assertTransferCount(SplitText.REL_ORIGINAL, 1);
+        final MockFlowFile original = runner.getFlowFilesForRelationship(SplitText.REL_ORIGINAL).get(0);
+        original.assertAttributeNotExists(SplitText.BATCH_PROGRESS_ATTRIBUTE);
+
+        final List<MockFlowFile> splits = runner.getFlowFilesForRelationship(SplitText.REL_SPLITS);
+        original.assertAttributeEquals(SplitText.FRAGMENT_COUNT, String.valueOf(splits.size()));
+        return splits;
+    }
 }
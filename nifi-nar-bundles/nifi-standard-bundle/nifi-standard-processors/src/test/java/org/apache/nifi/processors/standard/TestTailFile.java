@@ -1121,6 +1121,61 @@ public class TestTailFile {
         runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 2);
     }
 
+    @Test
+    public void testMultipleFilesWithFileSystemNotifications() throws IOException, InterruptedException {
+        runner.setProperty(TailFile.BASE_DIRECTORY, "target");
+        runner.setProperty(TailFile.MODE, TailFile.MODE_MULTIFILE);
+        runner.setProperty(TailFile.FILENAME, File.separator.equals("/") ? "(testDir/)?log.txt" : "(testDir" + Pattern.quote(File.separator) + ")?log.txt");
+        runner.setProperty(TailFile.ROLLING_FILENAME_PATTERN, "${filename}.?");
+        runner.setProperty(TailFile.START_POSITION, TailFile.START_CURRENT_FILE);
+        runner.setProperty(TailFile.RECURSIVE, "true");
+        runner.setProperty(TailFile.CHANGE_DETECTION, TailFile.CHANGE_DETECTION_NOTIFICATIONS);
+
+        runner.run(1, false, true);
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 0);
+
+        // No changes have been reported, so no file is checked
+        runner.run(1, false, false);
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 0);
+
+        raf.write("hello\n".getBytes());
+        runUntilTransferred(1);
+        runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).get(0).assertContentEquals("hello\n");
+        runner.clearTransferState();
+
+        otherRaf.write("hi\n".getBytes());
+        raf.write("world\n".getBytes());
+        runUntilTransferred(2);
+        assertTrue(runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).stream().anyMatch(mockFlowFile -> mockFlowFile.isContentEqual("hi\n")));
+        assertTrue(runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).stream().anyMatch(mockFlowFile -> mockFlowFile.isContentEqual("world\n")));
+        runner.clearTransferState();
+
+        // Data written before the rollover is recovered from the rolled over file
+        otherRaf.write("rolled\n".getBytes());
+        otherRaf.close();
+        assertTrue(otherFile.renameTo(new File("target/testDir/log.1")));
+        otherRaf = new RandomAccessFile(otherFile, "rw");
+        otherRaf.write("new\n".getBytes());
+
+        runUntilTransferred(2);
+        assertTrue(runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).stream().anyMatch(mockFlowFile -> mockFlowFile.isContentEqual("rolled\n")));
+        assertTrue(runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).stream().anyMatch(mockFlowFile -> mockFlowFile.isContentEqual("new\n")));
+
+        runner.run(1, true, false);
+        new File("target/testDir/log.1").delete();
+    }
+
+    private void runUntilTransferred(final int count) throws InterruptedException {
+        // Notifications are delivered asynchronously
+        final long giveUpTime = System.currentTimeMillis() + 10_000L;
+        while (runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).size() < count && System.currentTimeMillis() < giveUpTime) {
+            runner.run(1, false, false);
+            Thread.sleep(10L);
+        }
+
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, count);
+    }
+
     /**
      * This test is used to check the case where we have multiple files in the same directory
      * and where it is not possible to specify a single rolling pattern for all files.
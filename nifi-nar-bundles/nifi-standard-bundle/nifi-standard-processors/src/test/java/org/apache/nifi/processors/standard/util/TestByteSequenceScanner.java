@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.processors.standard.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class TestByteSequenceScanner {
+
+    @Test
+    public void testMatchesDoNotOverlap() throws IOException {
+        assertEquals(Arrays.asList(0L, 2L), findMatches("aaaaa", "aa", 0L));
+        assertEquals(Arrays.asList(1L, 7L, 11L), findMatches("rub-a-dub-dub", "ub", 0L));
+        assertEquals(Arrays.asList(), findMatches("rub-a-dub-dub", "x", 0L));
+        assertEquals(Arrays.asList(), findMatches("", "x", 0L));
+    }
+
+    @Test
+    public void testOffsetsIncludeStreamOffset() throws IOException {
+        assertEquals(Arrays.asList(101L, 107L, 111L), findMatches("rub-a-dub-dub", "ub", 100L));
+    }
+
+    @Test
+    public void testMatchesAcrossBlocks() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        final List<Long> expected = new ArrayList<>();
+        while (sb.length() < 300_000) {
+            sb.append("some text that is long enough to cross blocks ");
+            expected.add((long) sb.length());
+            sb.append("<split>");
+        }
+        final byte[] content = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        // Return only a few bytes from each read so that occurrences are split between reads
+        final InputStream in = new ByteArrayInputStream(content) {
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+                return super.read(b, off, Math.min(len, 5));
+            }
+        };
+
+        final ByteSequenceScanner scanner = new ByteSequenceScanner(in, "<split>".getBytes(StandardCharsets.UTF_8), 0L);
+        final List<Long> matches = new ArrayList<>();
+        long match;
+        while ((match = scanner.nextMatch()) >= 0) {
+            matches.add(match);
+            assertEquals(match + 7, scanner.getOffset());
+        }
+
+        assertEquals(expected, matches);
+        assertEquals(content.length, scanner.getOffset());
+    }
+
+    @Test
+    public void testEmptySequence() {
+        assertThrows(IllegalArgumentException.class, () -> new ByteSequenceScanner(new ByteArrayInputStream(new byte[0]), new byte[0], 0L));
+    }
+
+    private List<Long> findMatches(final String content, final String sequence, final long streamOffset) throws IOException {
+        final InputStream in = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        final ByteSequenceScanner scanner = new ByteSequenceScanner(in, sequence.getBytes(StandardCharsets.UTF_8), streamOffset);
+        final List<Long> matches = new ArrayList<>();
+        long match;
+        while ((match = scanner.nextMatch()) >= 0) {
+            matches.add(match);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.processors.standard.util;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestMultiLiteralReplacer {
+
+    @Test
+    public void testReplacesLeftmostLongest() {
+        final Map<String, String> replacements = new HashMap<>();
+        replacements.put("he", "1");
+        replacements.put("she", "2");
+        replacements.put("his", "3");
+        replacements.put("hers", "4");
+        final MultiLiteralReplacer replacer = new MultiLiteralReplacer(replacements);
+
+        assertEquals(4, replacer.getKeyCount());
+        assertEquals("u2rs", replacer.replace("ushers"));
+        assertEquals("t3 and 4", replacer.replace("this and hers"));
+        assertEquals("nothing to replace", replacer.replace("nothing to replace"));
+        assertEquals("", replacer.replace(""));
+    }
+
+    @Test
+    public void testEarlierStartWinsOverEarlierEnd() {
+        final Map<String, String> replacements = new HashMap<>();
+        replacements.put("abcd", "X");
+        replacements.put("bc", "Y");
+        replacements.put("cde", "Z");
+        final MultiLiteralReplacer replacer = new MultiLiteralReplacer(replacements);
+
+        assertEquals("X", replacer.replace("abcd"));
+        assertEquals("aYe", replacer.replace("abce"));
+        assertEquals("XeX", replacer.replace("abcdeabcd"));
+        assertEquals("Yde", replacer.replace("bcde"));
+    }
+
+    @Test
+    public void testMatchesRegexAlternation() throws IOException {
+        final Random random = new Random(42L);
+        for (int iteration = 0; iteration < 500; iteration++) {
+            final Map<String, String> replacements = new LinkedHashMap<>();
+            final int keyCount = 1 + random.nextInt(8);
+            for (int i = 0; i < keyCount; i++) {
+                replacements.put(randomText(random, 1 + random.nextInt(5)), "<" + i + ">");
+            }
+
+            final String text = randomText(random, random.nextInt(200));
+            final String expected = replaceWithRegex(text, replacements);
+            final MultiLiteralReplacer replacer = new MultiLiteralReplacer(replacements);
+
+            assertEquals("Keys " + replacements.keySet() + " in " + text, expected, replacer.replace(text));
+
+            final StringWriter writer = new StringWriter();
+            replacer.replace(new StringReader(text), writer);
+            assertEquals(expected, writer.toString());
+        }
+    }
+
+    @Test
+    public void testStreamsLongText() throws IOException {
+        final Map<String, String> replacements = new HashMap<>();
+        replacements.put("needle", "pin");
+        final MultiLiteralReplacer replacer = new MultiLiteralReplacer(replacements);
+
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            sb.append("hay hay hay ").append(i % 3 == 0 ? "needle " : "needl ");
+        }
+        final String text = sb.toString();
+
+        final StringWriter writer = new StringWriter();
+        assertEquals(3334L, replacer.replace(new StringReader(text), writer));
+        assertEquals(text.replace("needle", "pin"), writer.toString());
+    }
+
+    @Test
+    @Ignore("Intended for manual performance testing")
+    public void testThroughput() throws IOException {
+        final Map<String, String> replacements = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            replacements.put("key-" + i + ";", "value-" + i);
+        }
+        final MultiLiteralReplacer replacer = new MultiLiteralReplacer(replacements);
+
+        final String line = "some text with key-42; and key-9999; and key-12345; in it, and some more text without any keys at all\n";
+        final long textLength = 2L * 1024 * 1024 * 1024;
+        final Reader reader = new Reader() {
+            private long offset = 0;
+
+            @Override
+            public int read(final char[] cbuf, final int off, final int len) {
+                if (offset >= textLength) {
+                    return -1;
+                }
+
+                final int count = (int) Math.min(len, textLength - offset);
+                for (int i = 0; i < count; i++) {
+                    cbuf[off + i] = line.charAt((int) ((offset + i) % line.length()));
+                }
+                offset += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        final Writer writer = new Writer() {
+            @Override
+            public void write(final char[] cbuf, final int off, final int len) {
+            }
+
+            @Override
+            public void write(final String str, final int off, final int len) {
+            }
+
+            @Override
+            public Writer append(final CharSequence csq, final int start, final int end) {
+                return this;
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        final long start = System.nanoTime();
+        final long replaced = replacer.replace(reader, writer);
+        final long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Replaced " + replaced + " occurrences of " + replacements.size() + " keys in " + textLength + " chars in " + millis + " millis ("
+            + (textLength / 1024 / 1024 * 1000 / Math.max(1, millis)) + " M chars/second)");
+    }
+
+    private static String randomText(final Random random, final int length) {
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(3)));
+        }
+        return sb.toString();
+    }
+
+    private static String replaceWithRegex(final String text, final Map<String, String> replacements) {
+        final List<String> keys = new ArrayList<>(replacements.keySet());
+        keys.sort(Comparator.comparingInt(String::length).reversed());
+        final Pattern pattern = Pattern.compile(keys.stream().map(Pattern::quote).collect(Collectors.joining("|")));
+
+        final Matcher matcher = pattern.matcher(text);
+        final StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacements.get(matcher.group())));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.processors.standard.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class TestParallelCompressionOutputStream {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBlocksAreConcatenatedGzipMembers() throws IOException {
+        final byte[] content = createContent(100_000);
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (final OutputStream out = new ParallelCompressionOutputStream(compressed, GZIPOutputStream::new, executor, 4096, 3)) {
+            // Write in pieces that do not line up with the blocks
+            for (int offset = 0; offset < content.length; offset += 1000) {
+                out.write(content, offset, Math.min(1000, content.length - offset));
+            }
+            out.write('!');
+        }
+
+        final byte[] expected = new byte[content.length + 1];
+        System.arraycopy(content, 0, expected, 0, content.length);
+        expected[content.length] = '!';
+        assertArrayEquals(expected, decompress(compressed.toByteArray()));
+        assertEquals((content.length + 1 + 4095) / 4096, countGzipMembers(compressed.toByteArray()));
+    }
+
+    @Test
+    public void testEmptyContent() throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        new ParallelCompressionOutputStream(compressed, GZIPOutputStream::new, executor, 4096, 3).close();
+
+        assertTrue(compressed.size() > 0);
+        assertEquals(0, decompress(compressed.toByteArray()).length);
+    }
+
+    @Test
+    public void testCompressionFailure() {
+        final ParallelCompressionOutputStream out = new ParallelCompressionOutputStream(new ByteArrayOutputStream(), compressedOut -> {
+            throw new IOException("Intentional Unit Test Exception");
+        }, executor, 16, 2);
+
+        final IOException e = assertThrows(IOException.class, () -> {
+            out.write(createContent(100));
+            out.close();
+        });
+        assertEquals("Intentional Unit Test Exception", e.getMessage());
+    }
+
+    private byte[] createContent(final int length) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < length; i++) {
+            sb.append("line ").append(i).append('\n');
+        }
+
+        return sb.substring(0, length).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] decompress(final byte[] compressed) throws IOException {
+        try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            final ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int len;
+            while ((len = in.read(buffer)) > 0) {
+                decompressed.write(buffer, 0, len);
+            }
+
+            return decompressed.toByteArray();
+        }
+    }
+
+    private int countGzipMembers(final byte[] compressed) {
+        int count = 0;
+        for (int i = 0; i < compressed.length - 2; i++) {
+            // gzip header magic followed by the deflate compression method
+            if ((compressed[i] & 0xFF) == 0x1F && (compressed[i + 1] & 0xFF) == 0x8B && compressed[i + 2] == 8) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
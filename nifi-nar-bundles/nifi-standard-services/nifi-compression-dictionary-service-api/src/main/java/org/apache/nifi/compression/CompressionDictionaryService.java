@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.compression;
+
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.controller.ControllerService;
+
+/**
+ * Provides a dictionary that compressors use to compress small, similar pieces of content, such as individual JSON messages,
+ * much better than they could without one. The same dictionary is required to decompress the content again.
+ */
+public interface CompressionDictionaryService extends ControllerService {
+
+    PropertyDescriptor COMPRESSION_DICTIONARY_SERVICE = new PropertyDescriptor.Builder()
+            .name("compression-dictionary-service")
+            .displayName("Compression Dictionary Service")
+            .description("Specifies the Controller Service that provides the dictionary to compress and decompress content with."
+                    + " Content that was compressed with a dictionary can only be decompressed with the same dictionary.")
+            .identifiesControllerService(CompressionDictionaryService.class)
+            .required(false)
+            .build();
+
+    /**
+     * Returns the dictionary. Implementations return the same array for as long as the dictionary does not change,
+     * so that callers can cache anything that they derive from it, and callers must not modify the array.
+     *
+     * @return the dictionary
+     */
+    byte[] getDictionary();
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.compression;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+import org.apache.nifi.annotation.documentation.CapabilityDescription;
+import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
+import org.apache.nifi.annotation.lifecycle.OnEnabled;
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.ValidationContext;
+import org.apache.nifi.components.ValidationResult;
+import org.apache.nifi.components.resource.ResourceCardinality;
+import org.apache.nifi.components.resource.ResourceType;
+import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.expression.ExpressionLanguageScope;
+import org.apache.nifi.processor.DataUnit;
+import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.reporting.InitializationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@CapabilityDescription("Provides a dictionary for compressing small, similar pieces of content, such as individual JSON messages, with Zstandard. "
+        + "The dictionary is either read from a file, such as one created by 'zstd --train', or trained from the sample files in a directory "
+        + "when the service is enabled. Content must be decompressed with the same dictionary that it was compressed with, so a trained dictionary "
+        + "should be saved to a file if content is to be decompressed after the samples change.")
+@Tags({"compression", "dictionary", "zstd", "zstandard"})
+public class StandardCompressionDictionaryService extends AbstractControllerService implements CompressionDictionaryService {
+
+    // Limits the memory that is used for training; zstd recommends about 100 times the dictionary size in samples
+    static final int MAX_TRAINING_SAMPLES_SIZE = 128 * 1024 * 1024;
+
+    static final PropertyDescriptor DICTIONARY_FILE = new PropertyDescriptor.Builder()
+            .name("dictionary-file")
+            .displayName("Dictionary File")
+            .description("The file that contains the dictionary. Exactly one of Dictionary File and Training Samples Directory must be set.")
+            .identifiesExternalResource(ResourceCardinality.SINGLE, ResourceType.FILE)
+            .expressionLanguageSupported(ExpressionLanguageScope.VARIABLE_REGISTRY)
+            .required(false)
+            .build();
+
+    static final PropertyDescriptor TRAINING_SAMPLES_DIRECTORY = new PropertyDescriptor.Builder()
+            .name("training-samples-directory")
+            .displayName("Training Samples Directory")
+            .description("A directory of files, each of which is a typical piece of the content that is to be compressed, such as a single JSON message. "
+                    + "A dictionary is trained from these files when the service is enabled. Training needs at least several dozen samples and works best "
+                    + "with thousands of them. Exactly one of Dictionary File and Training Samples Directory must be set.")
+            .identifiesExternalResource(ResourceCardinality.SINGLE, ResourceType.DIRECTORY)
+            .expressionLanguageSupported(ExpressionLanguageScope.VARIABLE_REGISTRY)
+            .required(false)
+            .build();
+
+    static final PropertyDescriptor DICTIONARY_SIZE = new PropertyDescriptor.Builder()
+            .name("dictionary-size")
+            .displayName("Dictionary Size")
+            .description("The maximum size of the dictionary that is trained from the samples")
+            .addValidator(StandardValidators.createDataSizeBoundsValidator(1024, 16 * 1024 * 1024))
+            .defaultValue("112 KB")
+            .required(true)
+            .dependsOn(TRAINING_SAMPLES_DIRECTORY)
+            .build();
+
+    private volatile byte[] dictionary;
+
+    @Override
+    protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+        final List<PropertyDescriptor> properties = new ArrayList<>();
+        properties.add(DICTIONARY_FILE);
+        properties.add(TRAINING_SAMPLES_DIRECTORY);
+        properties.add(DICTIONARY_SIZE);
+        return properties;
+    }
+
+    @Override
+    protected Collection<ValidationResult> customValidate(final ValidationContext validationContext) {
+        final List<ValidationResult> results = new ArrayList<>();
+        final boolean fileSet = validationContext.getProperty(DICTIONARY_FILE).isSet();
+        final boolean directorySet = validationContext.getProperty(TRAINING_SAMPLES_DIRECTORY).isSet();
+        if (fileSet == directorySet) {
+            results.add(new ValidationResult.Builder().subject(DICTIONARY_FILE.getDisplayName())
+                    .explanation("exactly one of " + DICTIONARY_FILE.getDisplayName() + " and " + TRAINING_SAMPLES_DIRECTORY.getDisplayName() + " must be set")
+                    .valid(false).build());
+        }
+        return results;
+    }
+
+    @OnEnabled
+    public void loadDictionary(final ConfigurationContext context) throws InitializationException {
+        try {
+            if (context.getProperty(DICTIONARY_FILE).isSet()) {
+                final File dictionaryFile = context.getProperty(DICTIONARY_FILE).evaluateAttributeExpressions().asResource().asFile();
+                dictionary = Files.readAllBytes(dictionaryFile.toPath());
+            } else {
+                final File samplesDirectory = context.getProperty(TRAINING_SAMPLES_DIRECTORY).evaluateAttributeExpressions().asResource().asFile();
+                final int dictionarySize = context.getProperty(DICTIONARY_SIZE).asDataSize(DataUnit.B).intValue();
+                dictionary = trainDictionary(samplesDirectory.toPath(), dictionarySize);
+            }
+        } catch (final IOException | RuntimeException e) {
+            throw new InitializationException("Failed to load compression dictionary", e);
+        }
+
+        getLogger().info("Loaded compression dictionary of {} bytes", dictionary.length);
+    }
+
+    @OnDisabled
+    public void clearDictionary() {
+        dictionary = null;
+    }
+
+    private byte[] trainDictionary(final Path samplesDirectory, final int dictionarySize) throws IOException {
+        final List<Path> samples;
+        try (final Stream<Path> files = Files.list(samplesDirectory)) {
+            samples = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        long samplesSize = 0;
+        for (final Path sample : samples) {
+            samplesSize += Files.size(sample);
+        }
+
+        final ZstdDictTrainer trainer = new ZstdDictTrainer((int) Math.min(samplesSize, MAX_TRAINING_SAMPLES_SIZE), dictionarySize);
+        int sampleCount = 0;
+        for (final Path sample : samples) {
+            if (!trainer.addSample(Files.readAllBytes(sample))) {
+                break;
+            }
+            sampleCount++;
+        }
+
+        getLogger().debug("Training compression dictionary from {} of {} samples in {}", sampleCount, samples.size(), samplesDirectory);
+        return trainer.trainSamples();
+    }
+
+    @Override
+    public byte[] getDictionary() {
+        return dictionary;
+    }
+}
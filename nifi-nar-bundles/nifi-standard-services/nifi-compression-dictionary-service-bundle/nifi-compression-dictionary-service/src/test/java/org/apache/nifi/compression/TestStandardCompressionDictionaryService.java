@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.compression;
+
+import org.apache.nifi.reporting.InitializationException;
+import org.apache.nifi.util.NoOpProcessor;
+import org.apache.nifi.util.TestRunner;
+import org.apache.nifi.util.TestRunners;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestStandardCompressionDictionaryService {
+    private static final String SERVICE_ID = "dictionary-service";
+
+    @TempDir
+    Path tempDir;
+
+    private TestRunner runner;
+    private StandardCompressionDictionaryService service;
+
+    @BeforeEach
+    void setUp() throws InitializationException {
+        runner = TestRunners.newTestRunner(NoOpProcessor.class);
+        service = new StandardCompressionDictionaryService();
+        runner.addControllerService(SERVICE_ID, service);
+    }
+
+    @Test
+    void testDictionaryFile() throws IOException {
+        final byte[] dictionary = "{\"id\":\"\",\"name\":\"\",\"timestamp\":\"\"}".getBytes(StandardCharsets.UTF_8);
+        final Path dictionaryFile = Files.write(tempDir.resolve("dictionary"), dictionary);
+
+        runner.setProperty(service, StandardCompressionDictionaryService.DICTIONARY_FILE, dictionaryFile.toString());
+        runner.enableControllerService(service);
+
+        assertArrayEquals(dictionary, service.getDictionary());
+
+        runner.disableControllerService(service);
+        assertNull(service.getDictionary());
+    }
+
+    @Test
+    void testTrainDictionary() throws IOException {
+        final Path samplesDirectory = Files.createDirectory(tempDir.resolve("samples"));
+        for (int i = 0; i < 2000; i++) {
+            final String sample = "{\"id\":" + i + ",\"name\":\"user-" + (i * 7919 % 1000) + "\",\"status\":\"" + (i % 3 == 0 ? "ACTIVE" : "INACTIVE")
+                + "\",\"timestamp\":\"2022-06-" + (10 + i % 20) + "T12:" + (10 + i % 50) + ":00Z\"}";
+            Files.write(samplesDirectory.resolve("sample-" + i + ".json"), sample.getBytes(StandardCharsets.UTF_8));
+        }
+
+        runner.setProperty(service, StandardCompressionDictionaryService.TRAINING_SAMPLES_DIRECTORY, samplesDirectory.toString());
+        runner.setProperty(service, StandardCompressionDictionaryService.DICTIONARY_SIZE, "4 KB");
+        runner.enableControllerService(service);
+
+        final byte[] dictionary = service.getDictionary();
+        assertNotNull(dictionary);
+        assertTrue(dictionary.length > 0 && dictionary.length <= 4096);
+    }
+
+    @Test
+    void testExactlyOneSourceRequired() throws IOException {
+        runner.assertNotValid(service);
+
+        final Path dictionaryFile = Files.write(tempDir.resolve("dictionary"), new byte[] {1, 2, 3});
+        runner.setProperty(service, StandardCompressionDictionaryService.DICTIONARY_FILE, dictionaryFile.toString());
+        runner.assertValid(service);
+
+        runner.setProperty(service, StandardCompressionDictionaryService.TRAINING_SAMPLES_DIRECTORY, tempDir.toString());
+        runner.assertNotValid(service);
+    }
+}
@@ -20,12 +20,12 @@ package org.apache.nifi.avro;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.nifi.serialization.MalformedRecordException;
 import org.apache.nifi.serialization.RecordReader;
-import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.ArrayRecord;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 import java.io.IOException;
-import java.util.Map;
 
 public abstract class AvroRecordReader implements RecordReader {
 
@@ -40,8 +40,8 @@ public abstract class AvroRecordReader implements RecordReader {
             }
 
             final RecordSchema schema = getSchema();
-            final Map<String, Object> values = AvroTypeUtil.convertAvroRecordToMap(record, schema);
-            return new MapRecord(schema, values);
+            final Object[] values = AvroTypeUtil.convertAvroRecordToArray(record, schema);
+            return new ArrayRecord(schema, values);
         } catch (IOException e) {
             throw e;
         } catch (MalformedRecordException e) {
@@ -50,4 +50,27 @@ public abstract class AvroRecordReader implements RecordReader {
             throw new MalformedRecordException("Error while getting next record", e);
         }
     }
+
+    @Override
+    public int nextBatch(final RecordBatch batch, final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        final RecordSchema schema = getSchema();
+        if (!schema.equals(batch.getSchema())) {
+            return RecordReader.super.nextBatch(batch, coerceTypes, dropUnknownFields);
+        }
+
+        batch.clear();
+        try {
+            // Add the values of each Avro Record to the batch directly, rather than creating a Record for each row
+            GenericRecord record;
+            while (!batch.isFull() && (record = nextAvroRecord()) != null) {
+                batch.addRow(AvroTypeUtil.convertAvroRecordToArray(record, schema));
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MalformedRecordException("Error while getting next record", e);
+        }
+
+        return batch.getRowCount();
+    }
 }
@@ -28,6 +28,7 @@ import org.apache.nifi.schema.access.SchemaAccessWriter;
 import org.apache.nifi.serialization.AbstractRecordSetWriter;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
@@ -90,6 +91,19 @@ public class WriteAvroResultWithExternalSchema extends AbstractRecordSetWriter {
         return schemaAccessWriter.getAttributes(recordSchema);
     }
 
+    @Override
+    protected Map<String, String> writeRecords(final RecordBatch batch) throws IOException {
+        // Outside of a record set, the schema information is written for each record
+        if (!isActiveRecordSet()) {
+            return super.writeRecords(batch);
+        }
+
+        for (final GenericRecord rec : AvroTypeUtil.createAvroRecords(batch, avroSchema)) {
+            datumWriter.write(rec, encoder);
+        }
+        return schemaAccessWriter.getAttributes(recordSchema);
+    }
+
     @Override
     public void flush() throws IOException {
         encoder.flush();
@@ -29,6 +29,7 @@ import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.nifi.serialization.AbstractRecordSetWriter;
 import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 public class WriteAvroResultWithSchema extends AbstractRecordSetWriter {
 
@@ -62,6 +63,14 @@ public class WriteAvroResultWithSchema extends AbstractRecordSetWriter {
         return Collections.emptyMap();
     }
 
+    @Override
+    protected Map<String, String> writeRecords(final RecordBatch batch) throws IOException {
+        for (final GenericRecord rec : AvroTypeUtil.createAvroRecords(batch, schema)) {
+            dataFileWriter.append(rec);
+        }
+        return Collections.emptyMap();
+    }
+
     @Override
     public String getMimeType() {
         return "application/avro-binary";
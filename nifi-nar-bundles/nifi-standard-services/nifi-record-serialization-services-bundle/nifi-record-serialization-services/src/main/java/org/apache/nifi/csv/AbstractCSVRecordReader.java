@@ -22,6 +22,7 @@ import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.record.DataType;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.ValueConverter;
 import java.text.DateFormat;
 import java.util.function.Supplier;
 
@@ -86,6 +87,19 @@ abstract public class AbstractCSVRecordReader implements RecordReader {
         return DataTypeUtils.convertType(trimmed, dataType, LAZY_DATE_FORMAT, LAZY_TIME_FORMAT, LAZY_TIMESTAMP_FORMAT, fieldName);
     }
 
+    protected final Object convert(final String value, final ValueConverter converter) {
+        if (value == null) {
+            return null;
+        }
+
+        final String trimmed = trim(value);
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+
+        return converter.convert(trimmed);
+    }
+
     protected final Object convertSimpleIfPossible(final String value, final DataType dataType, final String fieldName) {
         if (dataType == null || value == null) {
             return value;
@@ -20,6 +20,7 @@ package org.apache.nifi.csv;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
 import org.apache.nifi.annotation.lifecycle.OnEnabled;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
@@ -37,6 +38,7 @@ import org.apache.nifi.schema.inference.SchemaInferenceUtil;
 import org.apache.nifi.schema.inference.TimeValueInference;
 import org.apache.nifi.schemaregistry.services.SchemaRegistry;
 import org.apache.nifi.serialization.DateTimeUtils;
+import org.apache.nifi.serialization.ParallelRecordParsing;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
 import org.apache.nifi.serialization.SchemaRegistryService;
@@ -45,6 +47,7 @@ import org.apache.nifi.stream.io.NonCloseableInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -88,6 +91,7 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
     private volatile boolean firstLineIsHeader;
     private volatile boolean ignoreHeader;
     private volatile String charSet;
+    private volatile ParallelRecordParsing parallelParsing;
 
     // it will be initialized only if there are no dynamic csv formatting properties
     private volatile CSVFormat csvFormat;
@@ -111,6 +115,8 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         properties.add(CSVUtils.TRIM_FIELDS);
         properties.add(CSVUtils.CHARSET);
         properties.add(CSVUtils.ALLOW_DUPLICATE_HEADER_NAMES);
+        properties.add(ParallelRecordParsing.PARSING_THREADS);
+        properties.add(ParallelRecordParsing.CHUNK_SIZE);
         return properties;
     }
 
@@ -138,6 +144,15 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         } else {
             this.csvFormat = null;
         }
+
+        this.parallelParsing = ParallelRecordParsing.create(context, "CSVReader[id=" + getIdentifier() + "]");
+    }
+
+    @OnDisabled
+    public void shutdownParallelParsing() {
+        if (parallelParsing != null) {
+            parallelParsing.shutdown();
+        }
     }
 
     @Override
@@ -154,6 +169,14 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
             format = CSVUtils.createCSVFormat(context, variables);
         }
 
+        if (parallelParsing.isParallel(inputLength) && isSplittable(format)) {
+            return parallelParsing.createRecordReader(in, schema, firstLineIsHeader, chunk -> createCSVRecordReader(chunk, logger, schema, format));
+        }
+
+        return createCSVRecordReader(in, logger, schema, format);
+    }
+
+    private RecordReader createCSVRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema, final CSVFormat format) throws IOException {
         if (APACHE_COMMONS_CSV.getValue().equals(csvParser)) {
             return new CSVRecordReader(in, logger, schema, format, firstLineIsHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, charSet);
         } else if (JACKSON_CSV.getValue().equals(csvParser)) {
@@ -163,6 +186,18 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         }
     }
 
+    /**
+     * Content can be split into chunks at line feeds only if the line feed is a single byte in the configured character set. If the content
+     * has a header, comment lines may precede the header, in which case the first line of the content cannot be repeated for each chunk.
+     */
+    private boolean isSplittable(final CSVFormat format) {
+        if (firstLineIsHeader && format.isCommentMarkerSet()) {
+            return false;
+        }
+
+        return ParallelRecordParsing.isLineFeedDelimited(Charset.forName(charSet));
+    }
+
     @Override
     protected SchemaAccessStrategy getSchemaAccessStrategy(final String allowableValue, final SchemaRegistry schemaRegistry, final PropertyContext context) {
         if (allowableValue.equalsIgnoreCase(HEADER_DERIVED.getValue())) {
@@ -22,6 +22,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,17 +37,24 @@ import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.serialization.MalformedRecordException;
-import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.SchemaValidationException;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.ArrayRecord;
 import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.RecordConversionPlan;
 
 public class CSVRecordReader extends AbstractCSVRecordReader {
     private final CSVParser csvParser;
 
     private List<RecordField> recordFields;
+    private boolean recordFieldsMatchSchema;
+    private RecordConversionPlan conversionPlan;
 
     public CSVRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema, final CSVFormat csvFormat, final boolean hasHeader, final boolean ignoreHeader,
                            final String dateFormat, final String timeFormat, final String timestampFormat, final String encoding) throws IOException {
@@ -76,47 +85,135 @@ public class CSVRecordReader extends AbstractCSVRecordReader {
             final RecordSchema schema = getSchema();
 
             final List<RecordField> recordFields = getRecordFields();
+            final Iterator<CSVRecord> csvRecords = csvParser.iterator();
+            if (csvRecords.hasNext()) {
+                return createRecord(csvRecords.next(), schema, recordFields, coerceTypes, dropUnknownFields);
+            }
+        } catch (Exception e) {
+            throw new MalformedRecordException("Error while getting next record", e);
+        }
+
+        return null;
+    }
+
+    @Override
+    public int nextBatch(final RecordBatch batch, final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        final RecordSchema schema = getSchema();
+        final List<RecordField> recordFields = getRecordFields();
+        if (!recordFieldsMatchSchema || !schema.equals(batch.getSchema())) {
+            return super.nextBatch(batch, coerceTypes, dropUnknownFields);
+        }
+
+        batch.clear();
+        try {
+            // Rows that have a value for every field are added to the batch directly, rather than creating a Record for each row
             final int numFieldNames = recordFields.size();
-            for (final CSVRecord csvRecord : csvParser) {
-                final Map<String, Object> values = new LinkedHashMap<>(recordFields.size() * 2);
-                for (int i = 0; i < csvRecord.size(); i++) {
-                    final String rawValue = csvRecord.get(i);
-
-                    final String rawFieldName;
-                    final DataType dataType;
-                    if (i >= numFieldNames) {
-                        if (!dropUnknownFields) {
-                            values.put("unknown_field_index_" + i, rawValue);
-                        }
-
-                        continue;
-                    } else {
-                        final RecordField recordField = recordFields.get(i);
-                        rawFieldName = recordField.getFieldName();
-                        dataType = recordField.getDataType();
-                    }
-
-
-                    final Object value;
-                    if (coerceTypes) {
-                        value = convert(rawValue, dataType, rawFieldName);
-                    } else {
-                        // The CSV Reader is going to return all fields as Strings, because CSV doesn't have any way to
-                        // dictate a field type. As a result, we will use the schema that we have to attempt to convert
-                        // the value into the desired type if it's a simple type.
-                        value = convertSimpleIfPossible(rawValue, dataType, rawFieldName);
-                    }
-
-                    values.put(rawFieldName, value);
+            final Object[] values = new Object[numFieldNames];
+            final Iterator<CSVRecord> csvRecords = csvParser.iterator();
+            while (!batch.isFull() && csvRecords.hasNext()) {
+                final CSVRecord csvRecord = csvRecords.next();
+                if (csvRecord.size() != numFieldNames) {
+                    batch.addRecord(createRecord(csvRecord, schema, recordFields, coerceTypes, dropUnknownFields));
+                    continue;
+                }
+
+                for (int i = 0; i < numFieldNames; i++) {
+                    values[i] = convertValue(csvRecord.get(i), i, recordFields.get(i), coerceTypes);
                 }
 
-                return new MapRecord(schema, values, coerceTypes, dropUnknownFields);
+                // Rows are validated against the schema in the same way as the Records that are created when coercing types
+                if (coerceTypes) {
+                    checkTypes(values, recordFields);
+                }
+                batch.addRow(values);
             }
         } catch (Exception e) {
             throw new MalformedRecordException("Error while getting next record", e);
         }
 
-        return null;
+        return batch.getRowCount();
+    }
+
+    private void checkTypes(final Object[] values, final List<RecordField> recordFields) {
+        for (int i = 0; i < values.length; i++) {
+            final RecordField field = recordFields.get(i);
+            final Object value = values[i];
+
+            if (value == null) {
+                if (field.isNullable() || field.getDefaultValue() != null) {
+                    continue;
+                }
+
+                throw new SchemaValidationException("Field " + field.getFieldName() + " cannot be null");
+            }
+
+            if (!DataTypeUtils.isCompatibleDataType(value, field.getDataType())) {
+                throw new SchemaValidationException("Field " + field.getFieldName() + " has a value of " + value
+                    + ", which cannot be coerced into the appropriate data type of " + field.getDataType());
+            }
+        }
+    }
+
+    private Record createRecord(final CSVRecord csvRecord, final RecordSchema schema, final List<RecordField> recordFields,
+                                final boolean coerceTypes, final boolean dropUnknownFields) {
+        final int numFieldNames = recordFields.size();
+        if (recordFieldsMatchSchema && csvRecord.size() <= numFieldNames) {
+            return createArrayRecord(csvRecord, schema, recordFields, coerceTypes, dropUnknownFields);
+        }
+
+        final Map<String, Object> values = new LinkedHashMap<>(recordFields.size() * 2);
+        for (int i = 0; i < csvRecord.size(); i++) {
+            final String rawValue = csvRecord.get(i);
+
+            if (i >= numFieldNames) {
+                if (!dropUnknownFields) {
+                    values.put("unknown_field_index_" + i, rawValue);
+                }
+
+                continue;
+            }
+
+            final RecordField recordField = recordFields.get(i);
+            values.put(recordField.getFieldName(), convertValue(rawValue, i, recordField, coerceTypes));
+        }
+
+        return new MapRecord(schema, values, coerceTypes, dropUnknownFields);
+    }
+
+    /**
+     * Creates a Record whose values are held in the order of the schema's fields. This is possible only when the columns of the CSV
+     * are in the same order as the fields of the schema, and the CSV Record has no more columns than the schema has fields.
+     */
+    private Record createArrayRecord(final CSVRecord csvRecord, final RecordSchema schema, final List<RecordField> recordFields,
+                                     final boolean coerceTypes, final boolean dropUnknownFields) {
+        final Object[] values = new Object[recordFields.size()];
+        for (int i = 0; i < csvRecord.size(); i++) {
+            values[i] = convertValue(csvRecord.get(i), i, recordFields.get(i), coerceTypes);
+        }
+
+        // Fields for which the CSV Record has no column are missing, rather than null
+        BitSet presentFields = null;
+        if (csvRecord.size() < values.length) {
+            presentFields = new BitSet(values.length);
+            presentFields.set(0, csvRecord.size());
+        }
+
+        return new ArrayRecord(schema, values, presentFields, null, coerceTypes, dropUnknownFields);
+    }
+
+    private Object convertValue(final String rawValue, final int fieldIndex, final RecordField recordField, final boolean coerceTypes) {
+        if (coerceTypes) {
+            if (conversionPlan == null) {
+                return convert(rawValue, recordField.getDataType(), recordField.getFieldName());
+            }
+
+            return convert(rawValue, conversionPlan.getConverter(fieldIndex));
+        }
+
+        // The CSV Reader is going to return all fields as Strings, because CSV doesn't have any way to
+        // dictate a field type. As a result, we will use the schema that we have to attempt to convert
+        // the value into the desired type if it's a simple type.
+        return convertSimpleIfPossible(rawValue, recordField.getDataType(), recordField.getFieldName());
     }
 
 
@@ -143,6 +240,16 @@ public class CSVRecordReader extends AbstractCSVRecordReader {
         }
 
         this.recordFields = fields;
+        this.recordFieldsMatchSchema = fields.equals(schema.getFields());
+
+        // The plan converts the value of each column, in the order of the columns, into the type of the corresponding field.
+        // Columns that resolve to the same field cannot form a schema, in which case values are converted without a plan.
+        try {
+            final RecordSchema columnSchema = recordFieldsMatchSchema ? schema : new SimpleRecordSchema(fields);
+            this.conversionPlan = RecordConversionPlan.getPlan(columnSchema, columnSchema, dateFormat, timeFormat, timestampFormat);
+        } catch (final IllegalArgumentException e) {
+            this.conversionPlan = null;
+        }
         return fields;
     }
 
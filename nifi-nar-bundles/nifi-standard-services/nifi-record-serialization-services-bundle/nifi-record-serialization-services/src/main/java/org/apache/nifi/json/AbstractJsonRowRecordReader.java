@@ -62,6 +62,7 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
     private static final ObjectMapper codec = new ObjectMapper();
     private JsonParser jsonParser;
     private JsonNode firstJsonNode;
+    private boolean firstObjectPending = false;
     private StartingFieldStrategy strategy;
 
 
@@ -103,6 +104,12 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
 
     protected AbstractJsonRowRecordReader(final InputStream in, final ComponentLog logger, final String dateFormat, final String timeFormat, final String timestampFormat,
                                           final StartingFieldStrategy strategy, final String nestedFieldName) throws IOException, MalformedRecordException {
+        this(in, logger, dateFormat, timeFormat, timestampFormat, strategy, nestedFieldName, ParsingStrategy.TREE);
+    }
+
+    protected AbstractJsonRowRecordReader(final InputStream in, final ComponentLog logger, final String dateFormat, final String timeFormat, final String timestampFormat,
+                                          final StartingFieldStrategy strategy, final String nestedFieldName, final ParsingStrategy parsingStrategy)
+            throws IOException, MalformedRecordException {
 
         this(logger, dateFormat, timeFormat, timestampFormat);
 
@@ -123,7 +130,12 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
                 token = jsonParser.nextToken(); // advance to START_OBJECT token
             }
             if (token == JsonToken.START_OBJECT) { // could be END_ARRAY also
-                firstJsonNode = jsonParser.readValueAsTree();
+                if (parsingStrategy == ParsingStrategy.STREAMING) {
+                    // Leave the parser positioned at the start of the first object so that its tokens can be read by nextJsonObject()
+                    firstObjectPending = true;
+                } else {
+                    firstJsonNode = jsonParser.readValueAsTree();
+                }
             } else {
                 firstJsonNode = null;
             }
@@ -185,23 +197,7 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
         }
 
         if (fieldNode.isTextual()) {
-            final String textValue = fieldNode.textValue();
-            if (dataType == null) {
-                return textValue;
-            }
-
-            switch (dataType.getFieldType()) {
-                case DATE:
-                case TIME:
-                case TIMESTAMP:
-                    try {
-                        return DataTypeUtils.convertType(textValue, dataType, LAZY_DATE_FORMAT, LAZY_TIME_FORMAT, LAZY_TIMESTAMP_FORMAT, fieldName);
-                    } catch (final Exception e) {
-                        return textValue;
-                    }
-                default:
-                    return textValue;
-            }
+            return getRawTextValue(fieldNode.textValue(), dataType, fieldName);
         }
 
         if (fieldNode.isArray()) {
@@ -261,6 +257,25 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
         return null;
     }
 
+    protected Object getRawTextValue(final String textValue, final DataType dataType, final String fieldName) {
+        if (dataType == null) {
+            return textValue;
+        }
+
+        switch (dataType.getFieldType()) {
+            case DATE:
+            case TIME:
+            case TIMESTAMP:
+                try {
+                    return DataTypeUtils.convertType(textValue, dataType, LAZY_DATE_FORMAT, LAZY_TIME_FORMAT, LAZY_TIMESTAMP_FORMAT, fieldName);
+                } catch (final Exception e) {
+                    return textValue;
+                }
+            default:
+                return textValue;
+        }
+    }
+
     private Map<String, Object> getMapFromRawValue(final JsonNode fieldNode, final DataType dataType, final String fieldName) throws IOException {
         if (dataType == null || dataType.getFieldType() != RecordFieldType.MAP) {
             return null;
@@ -360,11 +375,37 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
 
     }
 
+    /**
+     * Advances the JSON Parser to the start of the next JSON Object. This allows readers that were created with the {@link ParsingStrategy#STREAMING}
+     * strategy to convert the tokens of each JSON Object directly into a Record instead of reading the object into a tree of JSON nodes.
+     *
+     * @return the JSON Parser, positioned at the START_OBJECT token of the next JSON Object, or <code>null</code> if there are no more JSON Objects
+     * @throws IOException if unable to read from the underlying stream
+     * @throws MalformedRecordException if a token other than a JSON Object is encountered
+     */
+    protected JsonParser nextJsonObject() throws IOException, MalformedRecordException {
+        if (!firstObjectConsumed) {
+            firstObjectConsumed = true;
+            return firstObjectPending ? jsonParser : null;
+        }
+
+        final boolean objectFound = strategy == StartingFieldStrategy.NESTED_FIELD ? advanceToNestedObject() : advanceToObject();
+        return objectFound ? jsonParser : null;
+    }
+
     private JsonNode getJsonNodeWithNestedNodeStrategy() throws IOException, MalformedRecordException {
+        return advanceToNestedObject() ? jsonParser.readValueAsTree() : null;
+    }
+
+    private JsonNode getJsonNode() throws IOException, MalformedRecordException {
+        return advanceToObject() ? jsonParser.readValueAsTree() : null;
+    }
+
+    private boolean advanceToNestedObject() throws IOException, MalformedRecordException {
         while (true) {
             final JsonToken token = jsonParser.nextToken();
             if (token == null) {
-                return null;
+                return false;
             }
 
             switch (token) {
@@ -373,20 +414,20 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
                 case END_ARRAY:
                 case END_OBJECT:
                 case FIELD_NAME:
-                    return null;
+                    return false;
                 case START_OBJECT:
-                    return jsonParser.readValueAsTree();
+                    return true;
                 default:
                     throw new MalformedRecordException("Expected to get a JSON Object but got a token of type " + token.name());
             }
         }
     }
 
-    private JsonNode getJsonNode() throws IOException, MalformedRecordException {
+    private boolean advanceToObject() throws IOException, MalformedRecordException {
         while (true) {
             final JsonToken token = jsonParser.nextToken();
             if (token == null) {
-                return null;
+                return false;
             }
 
             switch (token) {
@@ -395,7 +436,7 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
                 case END_OBJECT:
                     break;
                 case START_OBJECT:
-                    return jsonParser.readValueAsTree();
+                    return true;
                 default:
                     throw new MalformedRecordException("Expected to get a JSON Object but got a token of type " + token.name());
             }
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.SeeAlso;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
 import org.apache.nifi.annotation.lifecycle.OnEnabled;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
@@ -37,10 +38,12 @@ import org.apache.nifi.schema.inference.TimeValueInference;
 import org.apache.nifi.schemaregistry.services.SchemaRegistry;
 import org.apache.nifi.serialization.DateTimeUtils;
 import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.ParallelRecordParsing;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
 import org.apache.nifi.serialization.SchemaRegistryService;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.stream.io.StreamUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -70,6 +73,8 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
     private volatile String timestampFormat;
     private volatile String startingFieldName;
     private volatile StartingFieldStrategy startingFieldStrategy;
+    private volatile ParsingStrategy parsingStrategy;
+    private volatile ParallelRecordParsing parallelParsing;
 
     public static final PropertyDescriptor STARTING_FIELD_STRATEGY = new PropertyDescriptor.Builder()
             .name("starting-field-strategy")
@@ -95,6 +100,19 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
             .dependsOn(STARTING_FIELD_STRATEGY, StartingFieldStrategy.NESTED_FIELD.name())
             .build();
 
+    public static final PropertyDescriptor PARSING_STRATEGY = new PropertyDescriptor.Builder()
+            .name("parsing-strategy")
+            .displayName("Parsing Strategy")
+            .description("Specifies how each JSON object is converted into a Record. The Streaming strategy avoids building a tree of JSON nodes for each object, "
+                + "which reduces memory usage and garbage collection when reading large amounts of JSON.")
+            .required(true)
+            .defaultValue(ParsingStrategy.TREE.name())
+            .allowableValues(
+                    Arrays.stream(ParsingStrategy.values()).map(parsingStrategy ->
+                            new AllowableValue(parsingStrategy.name(), parsingStrategy.getDisplayName(), parsingStrategy.getDescription())
+                    ).toArray(AllowableValue[]::new))
+            .build();
+
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
@@ -104,6 +122,9 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
                 .build());
         properties.add(STARTING_FIELD_STRATEGY);
         properties.add(STARTING_FIELD_NAME);
+        properties.add(PARSING_STRATEGY);
+        properties.add(ParallelRecordParsing.PARSING_THREADS);
+        properties.add(ParallelRecordParsing.CHUNK_SIZE);
         properties.add(DateTimeUtils.DATE_FORMAT);
         properties.add(DateTimeUtils.TIME_FORMAT);
         properties.add(DateTimeUtils.TIMESTAMP_FORMAT);
@@ -117,6 +138,15 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
         this.timestampFormat = context.getProperty(DateTimeUtils.TIMESTAMP_FORMAT).getValue();
         this.startingFieldStrategy = StartingFieldStrategy.valueOf(context.getProperty(STARTING_FIELD_STRATEGY).getValue());
         this.startingFieldName = context.getProperty(STARTING_FIELD_NAME).getValue();
+        this.parsingStrategy = ParsingStrategy.valueOf(context.getProperty(PARSING_STRATEGY).getValue());
+        this.parallelParsing = ParallelRecordParsing.create(context, "JsonTreeReader[id=" + getIdentifier() + "]");
+    }
+
+    @OnDisabled
+    public void shutdownParallelParsing() {
+        if (parallelParsing != null) {
+            parallelParsing.shutdown();
+        }
     }
 
     @Override
@@ -148,6 +178,44 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
     public RecordReader createRecordReader(final Map<String, String> variables, final InputStream in, final long inputLength, final ComponentLog logger)
             throws IOException, MalformedRecordException, SchemaNotFoundException {
         final RecordSchema schema = getSchema(variables, in, null);
-        return new JsonTreeRowRecordReader(in, logger, schema, dateFormat, timeFormat, timestampFormat, startingFieldStrategy, startingFieldName);
+
+        if (parallelParsing.isParallel(inputLength) && startingFieldStrategy == StartingFieldStrategy.ROOT_NODE && isJsonLines(in)) {
+            return parallelParsing.createRecordReader(in, schema, false,
+                chunk -> new JsonTreeRowRecordReader(chunk, logger, schema, dateFormat, timeFormat, timestampFormat, startingFieldStrategy, startingFieldName, parsingStrategy));
+        }
+
+        return new JsonTreeRowRecordReader(in, logger, schema, dateFormat, timeFormat, timestampFormat, startingFieldStrategy, startingFieldName, parsingStrategy);
+    }
+
+    /**
+     * Determines whether the content starts with a UTF-8 encoded JSON object, rather than a JSON array, so that it may consist of one JSON object per line
+     * and can be split into chunks at line feeds. The content is reset to its original position afterwards.
+     */
+    private static boolean isJsonLines(final InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            return false;
+        }
+
+        final byte[] start = new byte[1024];
+        in.mark(start.length);
+        final int length;
+        try {
+            length = StreamUtils.fillBuffer(in, start, false);
+        } finally {
+            in.reset();
+        }
+
+        int index = 0;
+        // Skip the UTF-8 Byte Order Mark
+        if (length >= 3 && start[0] == (byte) 0xEF && start[1] == (byte) 0xBB && start[2] == (byte) 0xBF) {
+            index = 3;
+        }
+
+        while (index < length && Character.isWhitespace(start[index])) {
+            index++;
+        }
+
+        // A zero byte following the opening brace indicates UTF-16 or UTF-32 encoded content
+        return index + 1 < length && start[index] == '{' && start[index + 1] != 0;
     }
 }
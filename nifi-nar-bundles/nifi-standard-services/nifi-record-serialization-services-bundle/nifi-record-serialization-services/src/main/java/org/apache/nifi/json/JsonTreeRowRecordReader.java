@@ -17,11 +17,15 @@
 
 package org.apache.nifi.json;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.serialization.MalformedRecordException;
 import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.ArrayRecord;
 import org.apache.nifi.serialization.record.DataType;
 import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
@@ -37,6 +41,8 @@ import org.apache.nifi.serialization.record.util.DataTypeUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -45,19 +51,53 @@ import java.util.function.Supplier;
 
 public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
     private final RecordSchema schema;
+    private final ParsingStrategy parsingStrategy;
 
 
     public JsonTreeRowRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema,
         final String dateFormat, final String timeFormat, final String timestampFormat) throws IOException, MalformedRecordException {
         super(in, logger, dateFormat, timeFormat, timestampFormat);
         this.schema = schema;
+        this.parsingStrategy = ParsingStrategy.TREE;
     }
 
     public JsonTreeRowRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema,
                                    final String dateFormat, final String timeFormat, final String timestampFormat,
                                    final StartingFieldStrategy strategy, final String startingFieldName) throws IOException, MalformedRecordException {
-        super(in, logger, dateFormat, timeFormat, timestampFormat, strategy, startingFieldName);
+        this(in, logger, schema, dateFormat, timeFormat, timestampFormat, strategy, startingFieldName, ParsingStrategy.TREE);
+    }
+
+    public JsonTreeRowRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema,
+                                   final String dateFormat, final String timeFormat, final String timestampFormat,
+                                   final StartingFieldStrategy strategy, final String startingFieldName, final ParsingStrategy parsingStrategy)
+            throws IOException, MalformedRecordException {
+        super(in, logger, dateFormat, timeFormat, timestampFormat, strategy, startingFieldName, parsingStrategy);
         this.schema = schema;
+        this.parsingStrategy = parsingStrategy;
+    }
+
+    @Override
+    public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        if (parsingStrategy != ParsingStrategy.STREAMING) {
+            return super.nextRecord(coerceTypes, dropUnknownFields);
+        }
+
+        final JsonParser parser = nextJsonObject();
+        if (parser == null) {
+            return null;
+        }
+
+        try {
+            return readRecord(parser, schema, null, coerceTypes, dropUnknownFields);
+        } catch (final MalformedRecordException mre) {
+            throw mre;
+        } catch (final JsonParseException e) {
+            throw new MalformedRecordException("Could not parse data as JSON", e);
+        } catch (final IOException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new MalformedRecordException("Successfully parsed a JSON object from input but failed to convert into a Record object with the given schema", e);
+        }
     }
 
     @Override
@@ -92,10 +132,16 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
     private Record convertJsonNodeToRecord(final JsonNode jsonNode, final RecordSchema schema, final String fieldNamePrefix,
             final boolean coerceTypes, final boolean dropUnknown) throws IOException, MalformedRecordException {
 
-        final Map<String, Object> values = new HashMap<>(schema.getFieldCount() * 2);
+        final Supplier<String> supplier = jsonNode::toString;
 
         if (dropUnknown) {
-            for (final RecordField recordField : schema.getFields()) {
+            // Only the fields of the schema are kept, so the values can be held in the order of the schema's fields
+            final List<RecordField> recordFields = schema.getFields();
+            final Object[] values = new Object[recordFields.size()];
+            final BitSet presentFields = new BitSet(values.length);
+
+            for (int i = 0; i < values.length; i++) {
+                final RecordField recordField = recordFields.get(i);
                 final JsonNode childNode = getChildNode(jsonNode, recordField);
                 if (childNode == null) {
                     continue;
@@ -112,30 +158,33 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
                     value = getRawNodeValue(childNode, recordField.getDataType(), fieldName);
                 }
 
-                values.put(fieldName, value);
+                values[i] = value;
+                presentFields.set(i);
             }
-        } else {
-            final Iterator<String> fieldNames = jsonNode.fieldNames();
-            while (fieldNames.hasNext()) {
-                final String fieldName = fieldNames.next();
-                final JsonNode childNode = jsonNode.get(fieldName);
 
-                final RecordField recordField = schema.getField(fieldName).orElse(null);
-
-                final Object value;
-                if (coerceTypes && recordField != null) {
-                    final DataType desiredType = recordField.getDataType();
-                    final String fullFieldName = fieldNamePrefix == null ? fieldName : fieldNamePrefix + fieldName;
-                    value = convertField(childNode, fullFieldName, desiredType, dropUnknown);
-                } else {
-                    value = getRawNodeValue(childNode, recordField == null ? null : recordField.getDataType(), fieldName);
-                }
+            return new ArrayRecord(schema, values, presentFields, SerializedForm.of(supplier, "application/json"), false, true);
+        }
 
-                values.put(fieldName, value);
+        final Map<String, Object> values = new HashMap<>(schema.getFieldCount() * 2);
+        final Iterator<String> fieldNames = jsonNode.fieldNames();
+        while (fieldNames.hasNext()) {
+            final String fieldName = fieldNames.next();
+            final JsonNode childNode = jsonNode.get(fieldName);
+
+            final RecordField recordField = schema.getField(fieldName).orElse(null);
+
+            final Object value;
+            if (coerceTypes && recordField != null) {
+                final DataType desiredType = recordField.getDataType();
+                final String fullFieldName = fieldNamePrefix == null ? fieldName : fieldNamePrefix + fieldName;
+                value = convertField(childNode, fullFieldName, desiredType, dropUnknown);
+            } else {
+                value = getRawNodeValue(childNode, recordField == null ? null : recordField.getDataType(), fieldName);
             }
+
+            values.put(fieldName, value);
         }
 
-        final Supplier<String> supplier = jsonNode::toString;
         return new MapRecord(schema, values, SerializedForm.of(supplier, "application/json"), false, dropUnknown);
     }
 
@@ -223,6 +272,229 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
         return null;
     }
 
+    /**
+     * Reads the JSON Object that the given parser is positioned at into a Record, leaving the parser positioned at the end of the object.
+     * This mirrors the conversion of a JSON node tree, but reads the values directly from the parser's tokens.
+     */
+    private Record readRecord(final JsonParser parser, final RecordSchema schema, final String fieldNamePrefix, final boolean coerceTypes, final boolean dropUnknown)
+        throws IOException, MalformedRecordException {
+
+        if (dropUnknown) {
+            final List<RecordField> recordFields = schema.getFields();
+            final Object[] values = new Object[recordFields.size()];
+            final BitSet presentFields = new BitSet(values.length);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                parser.nextToken();
+
+                final int fieldIndex = schema.getFieldIndex(name);
+                if (fieldIndex < 0) {
+                    // The field would be dropped anyway, so its value does not need to be read at all
+                    parser.skipChildren();
+                    continue;
+                }
+
+                final RecordField recordField = recordFields.get(fieldIndex);
+                final String fieldName = recordField.getFieldName();
+                if (presentFields.get(fieldIndex) && !fieldName.equals(name)) {
+                    // A value given for the field's own name takes precedence over a value given for one of its aliases
+                    parser.skipChildren();
+                    continue;
+                }
+
+                values[fieldIndex] = readFieldValue(parser, recordField, fieldName, fieldNamePrefix, coerceTypes, dropUnknown);
+                presentFields.set(fieldIndex);
+            }
+
+            return new ArrayRecord(schema, values, presentFields, null, false, true);
+        }
+
+        final Map<String, Object> values = new HashMap<>(schema.getFieldCount() * 2);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            parser.nextToken();
+
+            final RecordField recordField = schema.getField(fieldName).orElse(null);
+            values.put(fieldName, readFieldValue(parser, recordField, fieldName, fieldNamePrefix, coerceTypes, dropUnknown));
+        }
+
+        return new MapRecord(schema, values, false, dropUnknown);
+    }
+
+    private Object readFieldValue(final JsonParser parser, final RecordField recordField, final String fieldName, final String fieldNamePrefix,
+                                  final boolean coerceTypes, final boolean dropUnknown) throws IOException, MalformedRecordException {
+        if (coerceTypes && recordField != null) {
+            final String fullFieldName = fieldNamePrefix == null ? fieldName : fieldNamePrefix + fieldName;
+            return readField(parser, fullFieldName, recordField.getDataType(), dropUnknown);
+        }
+
+        return readRawValue(parser, recordField == null ? null : recordField.getDataType(), fieldName);
+    }
+
+    private Object readField(final JsonParser parser, final String fieldName, final DataType desiredType, final boolean dropUnknown) throws IOException, MalformedRecordException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        switch (desiredType.getFieldType()) {
+            case BOOLEAN:
+            case BYTE:
+            case CHAR:
+            case DECIMAL:
+            case DOUBLE:
+            case FLOAT:
+            case INT:
+            case BIGINT:
+            case LONG:
+            case SHORT:
+            case STRING:
+            case ENUM:
+            case DATE:
+            case TIME:
+            case TIMESTAMP: {
+                final Object rawValue = readRawValue(parser, null, fieldName);
+                return DataTypeUtils.convertType(rawValue, desiredType, getLazyDateFormat(), getLazyTimeFormat(), getLazyTimestampFormat(), fieldName);
+            }
+            case MAP: {
+                final Map<String, Object> map = new HashMap<>();
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    return map;
+                }
+
+                final DataType valueType = ((MapDataType) desiredType).getValueType();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String childName = parser.currentName();
+                    parser.nextToken();
+                    map.put(childName, readField(parser, fieldName, valueType, dropUnknown));
+                }
+
+                return map;
+            }
+            case ARRAY: {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new MalformedRecordException("Expected a JSON Array for field " + fieldName + " but got a token of type " + token.name());
+                }
+
+                final DataType elementType = ((ArrayDataType) desiredType).getElementType();
+                final List<Object> elements = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    elements.add(readField(parser, fieldName, elementType, dropUnknown));
+                }
+
+                return elements.toArray();
+            }
+            case RECORD: {
+                if (token != JsonToken.START_OBJECT || !(desiredType instanceof RecordDataType)) {
+                    parser.skipChildren();
+                    return null;
+                }
+
+                final RecordSchema childSchema = ((RecordDataType) desiredType).getChildSchema();
+                if (childSchema == null) {
+                    // The child schema is derived from the names of all of the object's fields, so the object is read as a tree
+                    return convertField(parser.readValueAsTree(), fieldName, desiredType, dropUnknown);
+                }
+
+                return readRecord(parser, childSchema, fieldName + ".", true, dropUnknown);
+            }
+            case CHOICE: {
+                // Choosing among the possible types may require inspecting the value more than once, so the value is read as a tree
+                return convertField(parser.readValueAsTree(), fieldName, desiredType, dropUnknown);
+            }
+        }
+
+        parser.skipChildren();
+        return null;
+    }
+
+    private Object readRawValue(final JsonParser parser, final DataType dataType, final String fieldName) throws IOException {
+        final JsonToken token = parser.currentToken();
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_STRING:
+                return getRawTextValue(parser.getText(), dataType, fieldName);
+            case START_ARRAY:
+            case START_OBJECT:
+                if (dataType != null && dataType.getFieldType() == RecordFieldType.CHOICE) {
+                    // Choosing among the possible types may require inspecting the value more than once, so the value is read as a tree
+                    return getRawNodeValue(parser.readValueAsTree(), dataType, fieldName);
+                }
+
+                if (token == JsonToken.START_ARRAY) {
+                    return readRawArray(parser, dataType, fieldName);
+                }
+
+                if (dataType != null && dataType.getFieldType() == RecordFieldType.MAP) {
+                    return readRawMap(parser, ((MapDataType) dataType).getValueType(), fieldName);
+                }
+
+                return readRawRecord(parser, dataType);
+            default:
+                parser.skipChildren();
+                return null;
+        }
+    }
+
+    private Object[] readRawArray(final JsonParser parser, final DataType dataType, final String fieldName) throws IOException {
+        final DataType elementDataType;
+        if (dataType != null && dataType.getFieldType() == RecordFieldType.ARRAY) {
+            elementDataType = ((ArrayDataType) dataType).getElementType();
+        } else {
+            elementDataType = dataType;
+        }
+
+        final List<Object> elements = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            elements.add(readRawValue(parser, elementDataType, fieldName));
+        }
+
+        return elements.toArray();
+    }
+
+    private Map<String, Object> readRawMap(final JsonParser parser, final DataType valueType, final String fieldName) throws IOException {
+        final Map<String, Object> mapValue = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String elementName = parser.currentName();
+            parser.nextToken();
+            mapValue.put(elementName, readRawValue(parser, valueType, fieldName + "['" + elementName + "']"));
+        }
+
+        return mapValue;
+    }
+
+    private Record readRawRecord(final JsonParser parser, final DataType dataType) throws IOException {
+        RecordSchema childSchema = null;
+        if (dataType != null && RecordFieldType.RECORD == dataType.getFieldType()) {
+            childSchema = ((RecordDataType) dataType).getChildSchema();
+        }
+
+        if (childSchema == null) {
+            childSchema = new SimpleRecordSchema(Collections.emptyList());
+        }
+
+        final Map<String, Object> childValues = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String childFieldName = parser.currentName();
+            parser.nextToken();
+
+            final DataType childDataType = childSchema.getDataType(childFieldName).orElse(null);
+            childValues.put(childFieldName, readRawValue(parser, childDataType, childFieldName));
+        }
+
+        return new MapRecord(childSchema, childValues);
+    }
+
     @Override
     public RecordSchema getSchema() {
         return schema;
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.json;
+
+public enum ParsingStrategy {
+    TREE("Tree", "Reads each JSON object into a tree of JSON nodes and then converts the tree into a Record."),
+    STREAMING("Streaming", "Converts the tokens of each JSON object directly into a Record according to the schema, without building a tree of JSON nodes. "
+        + "Fields that are not in the schema are skipped entirely when unknown fields are dropped. The original JSON text of each object is not retained, "
+        + "so writers must always serialize the Record rather than copying its original form.");
+
+    private final String displayName;
+    private final String description;
+
+    ParsingStrategy(final String displayName, final String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.nifi.schema.access.SchemaAccessWriter;
 import org.apache.nifi.serialization.AbstractRecordSetWriter;
 import org.apache.nifi.serialization.RecordSetWriter;
 import org.apache.nifi.serialization.WriteResult;
+import org.apache.nifi.serialization.record.ArrayRecord;
 import org.apache.nifi.serialization.record.DataType;
 import org.apache.nifi.serialization.record.RawRecordWriter;
 import org.apache.nifi.serialization.record.Record;
@@ -39,12 +40,16 @@ import org.apache.nifi.serialization.record.type.ChoiceDataType;
 import org.apache.nifi.serialization.record.type.MapDataType;
 import org.apache.nifi.serialization.record.type.RecordDataType;
 import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.RecordConversionPlan;
+import org.apache.nifi.serialization.record.util.ValueConverter;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -60,6 +65,10 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
     private final Supplier<DateFormat> LAZY_DATE_FORMAT;
     private final Supplier<DateFormat> LAZY_TIME_FORMAT;
     private final Supplier<DateFormat> LAZY_TIMESTAMP_FORMAT;
+    private final String dateFormat;
+    private final String timeFormat;
+    private final String timestampFormat;
+    private final Map<RecordSchema, RecordConversionPlan> conversionPlans = new IdentityHashMap<>();
     private String mimeType = "application/json";
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
@@ -89,6 +98,9 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
         LAZY_DATE_FORMAT = () -> df;
         LAZY_TIME_FORMAT = () -> tf;
         LAZY_TIMESTAMP_FORMAT = () -> tsf;
+        this.dateFormat = dateFormat;
+        this.timeFormat = timeFormat;
+        this.timestampFormat = timestampFormat;
 
         final JsonFactory factory = new JsonFactory();
         factory.setCodec(objectMapper);
@@ -184,11 +196,16 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
             startTask.apply(generator);
 
             if (schemaAware) {
-                for (final RecordField field : writeSchema.getFields()) {
+                final RecordConversionPlan conversionPlan = getConversionPlan(writeSchema);
+                // A Record whose values are held in the order of the write schema can be read by position instead of looking up each field by name
+                final ArrayRecord indexedRecord = record instanceof ArrayRecord && ((ArrayRecord) record).isIndexedBy(writeSchema) ? (ArrayRecord) record : null;
+                final List<RecordField> fields = writeSchema.getFields();
+                for (int i = 0; i < fields.size(); i++) {
+                    final RecordField field = fields.get(i);
                     final String fieldName = field.getFieldName();
-                    final Object value = record.getValue(field);
+                    final Object value = indexedRecord == null ? record.getValue(field) : indexedRecord.getValue(i);
                     if (value == null) {
-                        if (nullSuppression == NullSuppression.NEVER_SUPPRESS || (nullSuppression == NullSuppression.SUPPRESS_MISSING) && isFieldPresent(field, record)) {
+                        if (nullSuppression == NullSuppression.NEVER_SUPPRESS || (nullSuppression == NullSuppression.SUPPRESS_MISSING) && isFieldPresent(field, i, record, indexedRecord)) {
                             generator.writeNullField(fieldName);
                         }
 
@@ -197,8 +214,7 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
 
                     generator.writeFieldName(fieldName);
 
-                    final DataType dataType = writeSchema.getDataType(fieldName).get();
-                    writeValue(generator, value, fieldName, dataType);
+                    writeValue(generator, value, fieldName, field.getDataType(), conversionPlan.getConverter(i));
                 }
             } else {
                 for (final String fieldName : record.getRawFieldNames()) {
@@ -223,6 +239,15 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
         }
     }
 
+    private RecordConversionPlan getConversionPlan(final RecordSchema writeSchema) {
+        // Child schemas of nested Records are written through the same method, so a plan is kept for each schema that is written
+        return conversionPlans.computeIfAbsent(writeSchema, schema -> RecordConversionPlan.getPlan(schema, schema, dateFormat, timeFormat, timestampFormat));
+    }
+
+    private boolean isFieldPresent(final RecordField field, final int fieldIndex, final Record record, final ArrayRecord indexedRecord) {
+        return indexedRecord == null ? isFieldPresent(field, record) : indexedRecord.isFieldPresent(fieldIndex);
+    }
+
     private boolean isFieldPresent(final RecordField field, final Record record) {
         final Set<String> rawFieldNames = record.getRawFieldNames();
         if (rawFieldNames.contains(field.getFieldName())) {
@@ -314,6 +339,11 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
 
     @SuppressWarnings("unchecked")
     private void writeValue(final JsonGenerator generator, final Object value, final String fieldName, final DataType dataType) throws IOException {
+        writeValue(generator, value, fieldName, dataType, null);
+    }
+
+    private void writeValue(final JsonGenerator generator, final Object value, final String fieldName, final DataType dataType,
+                            final ValueConverter converter) throws IOException {
         if (value == null) {
             generator.writeNull();
             return;
@@ -326,7 +356,12 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
             return;
         }
 
-        final Object coercedValue = DataTypeUtils.convertType(value, chosenDataType, LAZY_DATE_FORMAT, LAZY_TIME_FORMAT, LAZY_TIMESTAMP_FORMAT, fieldName);
+        final Object coercedValue;
+        if (converter != null && chosenDataType == dataType) {
+            coercedValue = converter.convert(value);
+        } else {
+            coercedValue = DataTypeUtils.convertType(value, chosenDataType, LAZY_DATE_FORMAT, LAZY_TIME_FORMAT, LAZY_TIMESTAMP_FORMAT, fieldName);
+        }
         if (coercedValue == null) {
             generator.writeNull();
             return;
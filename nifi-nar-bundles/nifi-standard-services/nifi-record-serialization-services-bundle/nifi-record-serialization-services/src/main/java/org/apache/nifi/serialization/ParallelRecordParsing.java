@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization;
+
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.expression.ExpressionLanguageScope;
+import org.apache.nifi.processor.DataUnit;
+import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the configuration and the threads that a Record Reader uses to parse large, line-delimited FlowFiles in parallel
+ * by means of a {@link ParallelRecordReader}.
+ */
+public class ParallelRecordParsing {
+
+    public static final PropertyDescriptor PARSING_THREADS = new PropertyDescriptor.Builder()
+        .name("parallel-parsing-threads")
+        .displayName("Parallel Parsing Threads")
+        .description("The number of threads to use for parsing a single FlowFile. If greater than 1, FlowFiles that are larger than the Parallel Parsing Chunk Size "
+            + "are split into chunks at line boundaries, and the chunks are parsed concurrently while Records are still returned in their original order. "
+            + "This requires that every line break in the content separates two records, so it must not be used if any value may contain a line break. "
+            + "The threads are shared by all components that use this Controller Service.")
+        .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .defaultValue("1")
+        .required(true)
+        .build();
+
+    public static final PropertyDescriptor CHUNK_SIZE = new PropertyDescriptor.Builder()
+        .name("parallel-parsing-chunk-size")
+        .displayName("Parallel Parsing Chunk Size")
+        .description("The approximate amount of content in each chunk that is parsed by a single thread when Parallel Parsing Threads is greater than 1. "
+            + "Up to twice as many chunks as there are threads are held in memory, along with their Records, for each FlowFile that is being read.")
+        .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+        .addValidator(StandardValidators.createDataSizeBoundsValidator(1, Integer.MAX_VALUE / 2))
+        .defaultValue("1 MB")
+        .required(true)
+        .build();
+
+    private final int threadCount;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    private ParallelRecordParsing(final int threadCount, final int chunkSize, final ExecutorService executor) {
+        this.threadCount = threadCount;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates the ParallelRecordParsing for the given configuration, starting its threads if parallel parsing is enabled.
+     * The returned object must be shut down when the Controller Service is disabled.
+     *
+     * @param context the configuration of the Controller Service
+     * @param componentName the name of the Controller Service, used to name the threads
+     * @return the ParallelRecordParsing
+     */
+    public static ParallelRecordParsing create(final ConfigurationContext context, final String componentName) {
+        final int threadCount = context.getProperty(PARSING_THREADS).asInteger();
+        final int chunkSize = context.getProperty(CHUNK_SIZE).asDataSize(DataUnit.B).intValue();
+        if (threadCount < 2) {
+            return new ParallelRecordParsing(threadCount, chunkSize, null);
+        }
+
+        final AtomicInteger threadIndex = new AtomicInteger(0);
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            final Thread thread = new Thread(runnable, componentName + " Parsing Thread-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        return new ParallelRecordParsing(threadCount, chunkSize, executor);
+    }
+
+    /**
+     * Indicates whether content of the given length should be parsed in parallel. Content that fits into a single chunk
+     * cannot benefit from parallel parsing.
+     *
+     * @param inputLength the length of the content, or -1 if unknown
+     * @return <code>true</code> if a {@link ParallelRecordReader} should be used
+     */
+    public boolean isParallel(final long inputLength) {
+        return executor != null && inputLength > chunkSize;
+    }
+
+    /**
+     * Indicates whether the given character set encodes a line feed as the single byte that {@link ParallelRecordReader} splits content on,
+     * without that byte being part of any other character
+     *
+     * @param charset the character set of the content
+     * @return <code>true</code> if content in the given character set can be split into chunks
+     */
+    public static boolean isLineFeedDelimited(final Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return true;
+        }
+
+        final byte[] lineFeed = "\n".getBytes(charset);
+        return charset.newEncoder().maxBytesPerChar() == 1.0F && lineFeed.length == 1 && lineFeed[0] == '\n';
+    }
+
+    public RecordReader createRecordReader(final InputStream in, final RecordSchema schema, final boolean firstLineIsHeader,
+                                           final ParallelRecordReader.ChunkReaderFactory readerFactory) {
+        return new ParallelRecordReader(in, schema, readerFactory, executor, chunkSize, threadCount * 2, firstLineIsHeader);
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
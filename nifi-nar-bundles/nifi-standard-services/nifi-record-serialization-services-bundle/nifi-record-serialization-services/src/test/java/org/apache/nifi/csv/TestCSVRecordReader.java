@@ -27,6 +27,9 @@ import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.DoubleColumnVector;
+import org.apache.nifi.serialization.record.batch.LongColumnVector;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -47,9 +50,11 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestCSVRecordReader {
     private final DataType doubleDataType = RecordFieldType.DOUBLE.getDataType();
@@ -330,6 +335,62 @@ public class TestCSVRecordReader {
         }
     }
 
+    @Test
+    public void testNextBatch() throws IOException, MalformedRecordException {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("balance", doubleDataType));
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+
+        final String csvData = "id,name,balance\n1,John,4.5\n2,Jane\n3,Jimmy,1.25\n";
+
+        try (final InputStream bais = new ByteArrayInputStream(csvData.getBytes(StandardCharsets.UTF_8));
+            final CSVRecordReader reader = createReader(bais, schema, format)) {
+
+            final RecordBatch batch = new RecordBatch(schema, 2);
+            assertEquals(2, reader.nextBatch(batch, true, false));
+            assertEquals(1L, ((LongColumnVector) batch.getColumn(0)).getLong(0));
+            assertEquals(4.5D, ((DoubleColumnVector) batch.getColumn(2)).getDouble(0));
+
+            // The second row has no value for the balance, so its Record is retained
+            assertFalse(batch.isColumnar());
+            assertEquals("Jane", batch.getRecord(1).getValue("name"));
+            assertFalse(batch.getRecord(1).getRawFieldNames().contains("balance"));
+
+            assertEquals(1, reader.nextBatch(batch, true, false));
+            assertTrue(batch.isColumnar());
+            assertArrayEquals(new Object[] {3, "Jimmy", 1.25D}, batch.getRecord(0).getValues());
+
+            assertEquals(0, reader.nextBatch(batch, true, false));
+        }
+    }
+
+    @Test
+    public void testNextBatchValidatesRows() throws IOException, MalformedRecordException {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType(), false));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+
+        final String csvData = "id,name\n1,John\n,Jane\n";
+
+        try (final InputStream bais = new ByteArrayInputStream(csvData.getBytes(StandardCharsets.UTF_8));
+            final CSVRecordReader reader = createReader(bais, schema, format)) {
+
+            final RecordBatch batch = new RecordBatch(schema, 2);
+            assertThrows(MalformedRecordException.class, () -> reader.nextBatch(batch, true, false));
+        }
+
+        try (final InputStream bais = new ByteArrayInputStream(csvData.getBytes(StandardCharsets.UTF_8));
+            final CSVRecordReader reader = createReader(bais, schema, format)) {
+
+            final RecordBatch batch = new RecordBatch(schema, 2);
+            assertEquals(2, reader.nextBatch(batch, false, false));
+            assertNull(batch.getRecord(1).getValue("id"));
+        }
+    }
+
     @Test
     public void testExcelFormat() throws IOException, MalformedRecordException {
         final List<RecordField> fields = new ArrayList<>();
@@ -24,6 +24,8 @@ import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.schema.inference.InferSchemaAccessStrategy;
 import org.apache.nifi.schema.inference.TimeValueInference;
 import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.ParallelRecordReader;
+import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.SimpleRecordSchema;
 import org.apache.nifi.serialization.record.DataType;
 import org.apache.nifi.serialization.record.MapRecord;
@@ -38,6 +40,7 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -50,6 +53,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -1131,6 +1136,104 @@ class TestJsonTreeRowRecordReader {
         testReadRecords(jsonPath, expectedRecordSchema, expected, StartingFieldStrategy.NESTED_FIELD, "accounts");
     }
 
+    @Test
+    void testStreamingParsingStrategyMatchesTree() throws IOException, MalformedRecordException {
+        final List<String> jsonPaths = Arrays.asList("bank-account-array.json", "bank-account-multiline.json", "bank-account-mixed.json", "single-element-nested-array.json",
+            "choice-of-embedded-arrays-and-single-records.json", "choice-of-different-arrays-with-extra-fields.json", "data-types.json", "timestamp.json", "prov-events.json");
+
+        for (final String jsonPath : jsonPaths) {
+            final byte[] json = Files.readAllBytes(new File("src/test/resources/json/" + jsonPath).toPath());
+            final RecordSchema inferredSchema = inferSchema(new ByteArrayInputStream(json), StartingFieldStrategy.ROOT_NODE, null);
+
+            for (final RecordSchema schema : Arrays.asList(inferredSchema, new SimpleRecordSchema(getDefaultFields()))) {
+                for (final boolean coerceTypes : new boolean[] {true, false}) {
+                    for (final boolean dropUnknownFields : new boolean[] {true, false}) {
+                        final List<Record> treeRecords = readRecords(json, schema, ParsingStrategy.TREE, coerceTypes, dropUnknownFields);
+                        final List<Record> streamingRecords = readRecords(json, schema, ParsingStrategy.STREAMING, coerceTypes, dropUnknownFields);
+
+                        assertEquals(treeRecords, streamingRecords, jsonPath);
+                        for (final Record streamingRecord : streamingRecords) {
+                            assertEquals(schema, streamingRecord.getSchema());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStreamingStartsFromNestedField() throws IOException, MalformedRecordException {
+        final byte[] json = Files.readAllBytes(new File("src/test/resources/json/single-element-nested-array.json").toPath());
+        final RecordSchema schema = inferSchema(new ByteArrayInputStream(json), StartingFieldStrategy.NESTED_FIELD, "accounts");
+
+        try (final JsonTreeRowRecordReader reader = new JsonTreeRowRecordReader(new ByteArrayInputStream(json), mock(ComponentLog.class), schema, dateFormat, timeFormat, timestampFormat,
+                StartingFieldStrategy.NESTED_FIELD, "accounts", ParsingStrategy.STREAMING)) {
+
+            assertEquals(42, reader.nextRecord().getValue("id"));
+            assertEquals(43, reader.nextRecord().getValue("id"));
+            assertNull(reader.nextRecord());
+        }
+    }
+
+    @Test
+    void testStreamingMalformedJson() throws IOException, MalformedRecordException {
+        final byte[] json = "[{\"id\": 1}, {\"id\": }]".getBytes(StandardCharsets.UTF_8);
+        final RecordSchema schema = new SimpleRecordSchema(getDefaultFields());
+
+        try (final JsonTreeRowRecordReader reader = new JsonTreeRowRecordReader(new ByteArrayInputStream(json), mock(ComponentLog.class), schema, dateFormat, timeFormat, timestampFormat,
+                StartingFieldStrategy.ROOT_NODE, null, ParsingStrategy.STREAMING)) {
+
+            assertEquals(1, reader.nextRecord().getValue("id"));
+            assertThrows(MalformedRecordException.class, reader::nextRecord);
+        }
+    }
+
+    @Test
+    void testParallelRecordReaderMatchesSerial() throws IOException, MalformedRecordException {
+        final byte[] jsonLine = Files.readAllBytes(new File("src/test/resources/json/bank-account-oneline.json").toPath());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 100; i++) {
+            out.write(jsonLine);
+            out.write('\n');
+        }
+        final byte[] json = out.toByteArray();
+        final RecordSchema schema = inferSchema(new ByteArrayInputStream(json), StartingFieldStrategy.ROOT_NODE, null);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final ParsingStrategy parsingStrategy : ParsingStrategy.values()) {
+                final List<Record> serialRecords = readRecords(json, schema, parsingStrategy, true, false);
+                assertEquals(200, serialRecords.size());
+
+                final ParallelRecordReader.ChunkReaderFactory readerFactory = chunk -> new JsonTreeRowRecordReader(chunk, mock(ComponentLog.class), schema,
+                    dateFormat, timeFormat, timestampFormat, StartingFieldStrategy.ROOT_NODE, null, parsingStrategy);
+                try (final RecordReader reader = new ParallelRecordReader(new ByteArrayInputStream(json), schema, readerFactory, executor, 1024, 8, false)) {
+                    assertEquals(serialRecords, readRecords(reader, true, false));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Record> readRecords(final byte[] json, final RecordSchema schema, final ParsingStrategy parsingStrategy, final boolean coerceTypes, final boolean dropUnknownFields)
+            throws IOException, MalformedRecordException {
+        try (final JsonTreeRowRecordReader reader = new JsonTreeRowRecordReader(new ByteArrayInputStream(json), mock(ComponentLog.class), schema, dateFormat, timeFormat, timestampFormat,
+                StartingFieldStrategy.ROOT_NODE, null, parsingStrategy)) {
+            return readRecords(reader, coerceTypes, dropUnknownFields);
+        }
+    }
+
+    private List<Record> readRecords(final RecordReader reader, final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        final List<Record> records = new ArrayList<>();
+        Record record;
+        while ((record = reader.nextRecord(coerceTypes, dropUnknownFields)) != null) {
+            records.add(record);
+        }
+
+        return records;
+    }
+
     private void testReadRecords(String jsonPath, List<Object> expected) throws IOException, MalformedRecordException {
         // GIVEN
         final File jsonFile = new File(jsonPath);
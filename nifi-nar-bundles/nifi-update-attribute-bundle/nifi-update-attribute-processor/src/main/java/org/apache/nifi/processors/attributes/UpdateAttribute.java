@@ -74,6 +74,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 @EventDriven
@@ -130,6 +131,13 @@ public class UpdateAttribute extends AbstractProcessor implements Searchable {
         statefulRelationshipSet = Collections.unmodifiableSet(tempStatefulSet);
     }
 
+    /**
+     * The maximum number of FlowFiles that the default actions are applied to in one invocation. Batching is only used without state
+     * and rules, when every FlowFile gets the same actions independently of the others, and a FlowFile that cannot be updated is
+     * penalized and returned to the queue on its own, so the other FlowFiles of the batch are unaffected.
+     */
+    private static final int BATCH_SIZE = 50;
+
     private volatile Set<Relationship> relationships;
 
     private static final Validator DELETE_PROPERTY_VALIDATOR = new Validator() {
@@ -442,6 +450,12 @@ public class UpdateAttribute extends AbstractProcessor implements Searchable {
         final ComponentLog logger = getLogger();
         final Criteria criteria = criteriaCache.get();
 
+        // without state or rules, the same actions apply to every FlowFile, so they can be evaluated for a batch of FlowFiles at once
+        if (!stateful && (criteria == null || criteria.getRules().isEmpty())) {
+            onTriggerDefaultActions(context, session);
+            return;
+        }
+
         FlowFile incomingFlowFile = session.get();
         if (incomingFlowFile == null) {
             return;
@@ -553,6 +567,74 @@ public class UpdateAttribute extends AbstractProcessor implements Searchable {
         session.transfer(flowFilesToTransfer, REL_SUCCESS);
     }
 
+    // Applies the default actions to a batch of flowfiles, evaluating each action for all flowfiles at once.
+    private void onTriggerDefaultActions(final ProcessContext context, final ProcessSession session) {
+        final List<FlowFile> flowFiles = session.get(BATCH_SIZE);
+        if (flowFiles.isEmpty()) {
+            return;
+        }
+
+        final List<FlowFile> flowFilesToTransfer = new ArrayList<>(flowFiles.size());
+        try {
+            applyDefaultActions(context, session, flowFiles, flowFilesToTransfer);
+        } catch (final ProcessException e) {
+            // evaluate each flowfile on its own, so that only the flowfiles that cannot be updated are penalized
+            for (final FlowFile flowfile : flowFiles) {
+                try {
+                    applyDefaultActions(context, session, Collections.singletonList(flowfile), flowFilesToTransfer);
+                } catch (final ProcessException fe) {
+                    getLogger().error("Unable to update attributes of {}; penalizing it and returning it to the input queue", flowfile, fe);
+                    session.transfer(session.penalize(flowfile));
+                }
+            }
+        }
+
+        session.transfer(flowFilesToTransfer, REL_SUCCESS);
+    }
+
+    // Evaluates the default actions for the specified flowfiles, and updates the flowfiles only once all of them have been evaluated.
+    private void applyDefaultActions(final ProcessContext context, final ProcessSession session, final List<FlowFile> flowFiles, final List<FlowFile> flowFilesToTransfer) {
+        final Collection<Action> actions = this.defaultActions.values();
+
+        final Map<Action, List<String>> actionValues = new HashMap<>(actions.size());
+        for (final Action action : actions) {
+            final String attribute = action.getAttribute();
+            final boolean deleteAction = DELETE_ATTRIBUTES_EXPRESSION_NAME.equals(attribute);
+            if (deleteAction && action.getValue() == null) {
+                continue;
+            }
+
+            try {
+                actionValues.put(action, getPropertyValue(action.getValue(), context).evaluateAttributeExpressions(flowFiles));
+            } catch (final Exception e) {
+                final String message = deleteAction ? "Unable to delete attribute '%s': %s." : "Unable to evaluate new value for attribute '%s': %s.";
+                throw new ProcessException(String.format(message, attribute, e), e);
+            }
+        }
+
+        final List<Set<String>> attributesToDeleteList = new ArrayList<>(flowFiles.size());
+        final List<Map<String, String>> attributesToUpdateList = new ArrayList<>(flowFiles.size());
+        for (int i = 0; i < flowFiles.size(); i++) {
+            final int index = i;
+            final Set<String> attributesToDelete = new HashSet<>(actions.size());
+            final Map<String, String> attributesToUpdate = new HashMap<>(actions.size());
+            collectAttributeChanges(flowFiles.get(i), actions, "default", action -> actionValues.get(action).get(index), null, null, attributesToUpdate, attributesToDelete);
+
+            attributesToDeleteList.add(attributesToDelete);
+            attributesToUpdateList.add(attributesToUpdate);
+        }
+
+        for (int i = 0; i < flowFiles.size(); i++) {
+            final FlowFile updated = updateAttributes(session, flowFiles.get(i), attributesToUpdateList.get(i), attributesToDeleteList.get(i));
+            if (debugEnabled) {
+                getLogger().debug("Updated attributes for {}; transferring to '{}'", new Object[]{updated, REL_SUCCESS.getName()});
+            }
+
+            session.getProvenanceReporter().modifyAttributes(updated);
+            flowFilesToTransfer.add(updated);
+        }
+    }
+
     //Evaluates the specified Criteria on the specified flowfile. Clones the
     // specified flow file for each rule that is applied.
     private boolean evaluateCriteria(final ProcessSession session, final ProcessContext context, final Criteria criteria, final FlowFile flowfile, final Map<FlowFile,
@@ -653,16 +735,27 @@ public class UpdateAttribute extends AbstractProcessor implements Searchable {
         // attribute values that will be applied to the flow file
         final Map<String, String> attributesToUpdate = new HashMap<>(actions.size());
         final Set<String> attributesToDelete = new HashSet<>(actions.size());
+        collectAttributeChanges(flowfile, actions.values(), ruleName,
+                action -> getPropertyValue(action.getValue(), context).evaluateAttributeExpressions(flowfile, null, null, stateInitialAttributes).getValue(),
+                stateInitialAttributes, stateWorkingAttributes, attributesToUpdate, attributesToDelete);
+
+        return updateAttributes(session, flowfile, attributesToUpdate, attributesToDelete);
+    }
+
+    // Determines the attributes of the specified flowfile that the specified actions update and delete. The value of each action
+    // is provided by the specified function, so that it can either be evaluated here or taken from a batch evaluation.
+    private void collectAttributeChanges(final FlowFile flowfile, final Collection<Action> actions, final String ruleName, final Function<Action, String> actionValues,
+                                         final Map<String, String> stateInitialAttributes, final Map<String, String> stateWorkingAttributes,
+                                         final Map<String, String> attributesToUpdate, final Set<String> attributesToDelete) {
+        final ComponentLog logger = getLogger();
 
         // go through each action
         boolean debugEnabled = this.debugEnabled;
-        for (final Action action : actions.values()) {
+        for (final Action action : actions) {
             String attribute = action.getAttribute();
             if (DELETE_ATTRIBUTES_EXPRESSION_NAME.equals(attribute)) {
                 try {
-                    final String actionValue = action.getValue();
-                    final String regex = (actionValue == null) ? null :
-                            getPropertyValue(actionValue, context).evaluateAttributeExpressions(flowfile).getValue();
+                    final String regex = (action.getValue() == null) ? null : actionValues.apply(action);
                     if (regex != null) {
                         Pattern pattern = Pattern.compile(regex);
                         final Set<String> attributeKeys = flowfile.getAttributes().keySet();
@@ -690,8 +783,7 @@ public class UpdateAttribute extends AbstractProcessor implements Searchable {
 
                 if (notDeleted || setStatefulAttribute) {
                     try {
-                        String newAttributeValue = getPropertyValue(action.getValue(), context).evaluateAttributeExpressions(flowfile, null, null, stateInitialAttributes).getValue();
-                        newAttributeValue = canonicalValueLookup.get(newAttributeValue);
+                        String newAttributeValue = canonicalValueLookup.get(actionValues.apply(action));
 
                         // log if appropriate
                         if (debugEnabled) {
@@ -715,7 +807,10 @@ public class UpdateAttribute extends AbstractProcessor implements Searchable {
                 }
             }
         }
+    }
 
+    // Updates and deletes the attributes of the specified flowfile.
+    private FlowFile updateAttributes(final ProcessSession session, final FlowFile flowfile, final Map<String, String> attributesToUpdate, final Set<String> attributesToDelete) {
         // If the 'alternate.identifier' attribute is added, then we want to create an ADD_INFO provenance event.
         final String alternateIdentifierAdd = attributesToUpdate.get(CoreAttributes.ALTERNATE_IDENTIFIER.key());
         if (alternateIdentifierAdd != null) {
@@ -107,6 +107,54 @@ public class TestUpdateAttribute {
         result.get(0).assertAttributeEquals("attribute.2", "new.value.2");
     }
 
+    @Test
+    public void testDefaultBatch() {
+        final TestRunner runner = TestRunners.newTestRunner(new UpdateAttribute());
+        runner.setProperty("extension", "${filename:substringAfterLast('.')}");
+        runner.setProperty(UpdateAttribute.DELETE_ATTRIBUTES, "tmp\\..*");
+
+        for (final String filename : new String[] {"a.txt", "b.csv", "c.json"}) {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put("filename", filename);
+            attributes.put("tmp.id", filename);
+            runner.enqueue(new byte[0], attributes);
+        }
+
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(UpdateAttribute.REL_SUCCESS, 3);
+        final List<MockFlowFile> result = runner.getFlowFilesForRelationship(UpdateAttribute.REL_SUCCESS);
+        result.get(0).assertAttributeEquals("extension", "txt");
+        result.get(1).assertAttributeEquals("extension", "csv");
+        result.get(2).assertAttributeEquals("extension", "json");
+        result.forEach(flowFile -> flowFile.assertAttributeNotExists("tmp.id"));
+    }
+
+    @Test
+    public void testDefaultBatchPenalizesOnlyFailedFlowFile() {
+        final TestRunner runner = TestRunners.newTestRunner(new UpdateAttribute());
+        runner.setProperty("extension", "${filename:substringAfterLast('.')}");
+        runner.setProperty(UpdateAttribute.DELETE_ATTRIBUTES, "${delete}");
+
+        for (final String delete : new String[] {"tmp\\..*", "(", "tmp\\..*"}) {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put("filename", "a.txt");
+            attributes.put("tmp.id", "a.txt");
+            attributes.put("delete", delete);
+            runner.enqueue(new byte[0], attributes);
+        }
+
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(UpdateAttribute.REL_SUCCESS, 2);
+        runner.assertPenalizeCount(1);
+        assertEquals(1, runner.getQueueSize().getObjectCount());
+        for (final MockFlowFile flowFile : runner.getFlowFilesForRelationship(UpdateAttribute.REL_SUCCESS)) {
+            flowFile.assertAttributeEquals("extension", "txt");
+            flowFile.assertAttributeNotExists("tmp.id");
+        }
+    }
+
     @Test
     public void testDefaultAddAttribute() throws Exception {
         final TestRunner runner = TestRunners.newTestRunner(new UpdateAttribute());